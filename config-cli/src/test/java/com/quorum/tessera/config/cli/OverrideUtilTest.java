@@ -52,6 +52,7 @@ public class OverrideUtilTest {
             "alwaysSendTo",
             "unixSocketFile",
             "useWhiteList",
+            "whiteListRange",
             "disablePeerDiscovery",
             "serverConfigs.sslConfig.serverTrustStore",
             "serverConfigs.influxConfig.dbName",
@@ -63,6 +64,44 @@ public class OverrideUtilTest {
             "serverConfigs.sslConfig.generateKeyStoreIfNotExisted",
             "serverConfigs.influxConfig.pushIntervalInSecs",
             "serverConfigs.bindingAddress",
+            "serverConfigs.httpClientConfig.maxConnectionsPerHost",
+            "serverConfigs.httpClientConfig.connectTimeout",
+            "serverConfigs.httpClientConfig.readTimeout",
+            "serverConfigs.httpClientConfig.idleTimeout",
+            "serverConfigs.httpServerConfig.minThreads",
+            "serverConfigs.httpServerConfig.maxThreads",
+            "serverConfigs.httpServerConfig.queueCapacity",
+            "serverConfigs.httpServerConfig.acceptors",
+            "serverConfigs.httpServerConfig.selectors",
+            "serverConfigs.httpServerConfig.acceptQueueSize",
+            "serverConfigs.httpServerConfig.idleTimeout",
+            "serverConfigs.httpServerConfig.maxRequestBodySize",
+            "serverConfigs.httpServerConfig.asyncThreads",
+            "serverConfigs.httpServerConfig.asyncQueueCapacity",
+            "serverConfigs.httpServerConfig.asyncTimeout",
+            "serverConfigs.rateLimitConfig.requestsPerSecond",
+            "serverConfigs.rateLimitConfig.burst",
+            "serverConfigs.rateLimitConfig.maxConcurrentRequests",
+            "serverConfigs.rateLimitConfig.key",
+            "serverConfigs.http2",
+            "circuitBreakerConfig.failureThreshold",
+            "circuitBreakerConfig.initialBackoff",
+            "circuitBreakerConfig.maxBackoff",
+            "partyInfoConfig.pollInterval",
+            "partyInfoConfig.maxPollInterval",
+            "partyInfoConfig.maxFailureBackoff",
+            "partyInfoConfig.pollThreads",
+            "partyInfoConfig.pollRoundTimeout",
+            "partyInfoConfig.snapshotFile",
+            "enclaveConfig.cryptoParallelism",
+            "enclaveConfig.parallelSealThreshold",
+            "syncConfig.concurrency",
+            "syncConfig.requestsPerSecond",
+            "syncConfig.payloadsPerSecond",
+            "syncConfig.maxPayloadSize",
+            "syncConfig.watermarkFile",
+            "syncConfig.reconcileInterval",
+            "syncConfig.resendTimeout",
             "serverConfigs.sslConfig.serverKeyStore",
             "serverConfigs.sslConfig.serverTrustStorePassword",
             "serverConfigs.sslConfig.serverKeyStorePassword",
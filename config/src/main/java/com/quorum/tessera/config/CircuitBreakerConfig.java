@@ -0,0 +1,68 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CircuitBreakerConfig extends ConfigItem {
+
+    /**
+     * The number of calls in a row to a node that must fail before calls to
+     * it are stopped
+     */
+    @Min(1)
+    @XmlElement
+    private Integer failureThreshold;
+
+    /**
+     * How long calls to a node are stopped for the first time it fails, in
+     * milliseconds. This doubles each time a trial call fails.
+     */
+    @Min(1)
+    @XmlElement
+    private Long initialBackoff;
+
+    /**
+     * The longest calls to a node are stopped for, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long maxBackoff;
+
+    public CircuitBreakerConfig(final Integer failureThreshold, final Long initialBackoff, final Long maxBackoff) {
+        this.failureThreshold = failureThreshold;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public CircuitBreakerConfig() {
+        this(null, null, null);
+    }
+
+    public Integer getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(Integer failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+}
@@ -53,12 +53,35 @@ public class Config extends ConfigItem {
     @XmlAttribute
     private boolean useWhiteList;
 
+    /**
+     * Addresses, or CIDR ranges such as 10.0.0.0/8, that are allowed
+     * through the whitelist as well as the peers
+     */
+    @XmlElement(name = "whiteListRange")
+    private List<String> whiteListRanges = new ArrayList<>();
+
     @XmlAttribute
     private boolean disablePeerDiscovery;
 
     @XmlElement
     private DeprecatedServerConfig server;
 
+    @Valid
+    @XmlElement
+    private EnclaveConfig enclaveConfig;
+
+    @Valid
+    @XmlElement
+    private PartyInfoConfig partyInfoConfig;
+
+    @Valid
+    @XmlElement
+    private CircuitBreakerConfig circuitBreakerConfig;
+
+    @Valid
+    @XmlElement
+    private SyncConfig syncConfig;
+
     @Deprecated
     public Config(final JdbcConfig jdbcConfig,
         final List<ServerConfig> serverConfigs,
@@ -128,6 +151,10 @@ public class Config extends ConfigItem {
         return disablePeerDiscovery;
     }
 
+    public List<String> getWhiteListRanges() {
+        return whiteListRanges;
+    }
+
     public void addPeer(Peer peer) {
         if(peers == null) {
          this.peers = new ArrayList<>();
@@ -154,6 +181,38 @@ public class Config extends ConfigItem {
         this.server = server;
     }
 
+    public EnclaveConfig getEnclaveConfig() {
+        return enclaveConfig;
+    }
+
+    public void setEnclaveConfig(EnclaveConfig enclaveConfig) {
+        this.enclaveConfig = enclaveConfig;
+    }
+
+    public PartyInfoConfig getPartyInfoConfig() {
+        return partyInfoConfig;
+    }
+
+    public void setPartyInfoConfig(PartyInfoConfig partyInfoConfig) {
+        this.partyInfoConfig = partyInfoConfig;
+    }
+
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+    public void setCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+        this.circuitBreakerConfig = circuitBreakerConfig;
+    }
+
+    public SyncConfig getSyncConfig() {
+        return syncConfig;
+    }
+
+    public void setSyncConfig(SyncConfig syncConfig) {
+        this.syncConfig = syncConfig;
+    }
+
     public void setJdbcConfig(JdbcConfig jdbcConfig) {
         this.jdbcConfig = jdbcConfig;
     }
@@ -186,6 +245,10 @@ public class Config extends ConfigItem {
     public void setDisablePeerDiscovery(boolean disablePeerDiscovery) {
         this.disablePeerDiscovery = disablePeerDiscovery;
     }
+
+    public void setWhiteListRanges(List<String> whiteListRanges) {
+        this.whiteListRanges = whiteListRanges;
+    }
     
     
     
@@ -0,0 +1,52 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EnclaveConfig extends ConfigItem {
+
+    /**
+     * The number of recipients at or above which recipient boxes are sealed
+     * in parallel. Sealing is done on the calling thread if not set.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer parallelSealThreshold;
+
+    /**
+     * The number of threads in the crypto pool, defaults to the number of
+     * available processors
+     */
+    @Min(1)
+    @XmlElement
+    private Integer cryptoParallelism;
+
+    public EnclaveConfig(final Integer parallelSealThreshold, final Integer cryptoParallelism) {
+        this.parallelSealThreshold = parallelSealThreshold;
+        this.cryptoParallelism = cryptoParallelism;
+    }
+
+    public EnclaveConfig() {
+        this(null, null);
+    }
+
+    public Integer getParallelSealThreshold() {
+        return parallelSealThreshold;
+    }
+
+    public void setParallelSealThreshold(Integer parallelSealThreshold) {
+        this.parallelSealThreshold = parallelSealThreshold;
+    }
+
+    public Integer getCryptoParallelism() {
+        return cryptoParallelism;
+    }
+
+    public void setCryptoParallelism(Integer cryptoParallelism) {
+        this.cryptoParallelism = cryptoParallelism;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * How HTTP clients calling a server pool and time out their connections
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class HttpClientConfig extends ConfigItem {
+
+    /**
+     * The most connections kept open to a single host. Requests beyond this
+     * wait for a connection to be free.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxConnectionsPerHost;
+
+    /**
+     * How long to wait for a connection to be made, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long connectTimeout;
+
+    /**
+     * How long to wait for a response, or for more of a response to arrive,
+     * in milliseconds. Defaults to 30 seconds.
+     */
+    @Min(1)
+    @XmlElement
+    private Long readTimeout;
+
+    /**
+     * How long an unused connection is kept open for reuse, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long idleTimeout;
+
+    public HttpClientConfig(final Integer maxConnectionsPerHost,
+                            final Long connectTimeout,
+                            final Long readTimeout,
+                            final Long idleTimeout) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public HttpClientConfig() {
+        this(null, null, null, null);
+    }
+
+    public Integer getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(Integer maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public Long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Long connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Long getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Long readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * How many threads and connections a server uses, and how much it accepts
+ * from each request. Anything not set keeps the web server's default.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class HttpServerConfig extends ConfigItem {
+
+    /**
+     * The fewest threads kept ready to handle requests
+     */
+    @Min(1)
+    @XmlElement
+    private Integer minThreads;
+
+    /**
+     * The most threads handling requests and connections at once
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxThreads;
+
+    /**
+     * The most tasks waiting for a free thread. Work beyond this is rejected.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer queueCapacity;
+
+    /**
+     * The number of threads accepting new connections
+     */
+    @Min(1)
+    @XmlElement
+    private Integer acceptors;
+
+    /**
+     * The number of threads watching open connections for activity
+     */
+    @Min(1)
+    @XmlElement
+    private Integer selectors;
+
+    /**
+     * The most connections waiting to be accepted by the operating system
+     */
+    @Min(1)
+    @XmlElement
+    private Integer acceptQueueSize;
+
+    /**
+     * How long a connection may be inactive before it is closed, in
+     * milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long idleTimeout;
+
+    /**
+     * The largest request body accepted, in bytes. Larger requests are
+     * rejected with a 413 status.
+     */
+    @Min(1)
+    @XmlElement
+    private Long maxRequestBodySize;
+
+    /**
+     * The number of threads that run suspended requests, such as sends and
+     * pushes, while they wait on the enclave, database or other nodes
+     */
+    @Min(1)
+    @XmlElement
+    private Integer asyncThreads;
+
+    /**
+     * The most suspended requests waiting for a free thread. Requests beyond
+     * this are rejected with a 503 status.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer asyncQueueCapacity;
+
+    /**
+     * How long a suspended request may take before it is answered with a
+     * 503 status, in milliseconds. Not set by default, so requests are
+     * waited on for as long as they take.
+     * <p>
+     * The work behind a request that times out is not cancelled, so a send
+     * or push answered with a 503 may still have been stored and
+     * distributed, and retrying it can create a duplicate transaction.
+     */
+    @Min(1)
+    @XmlElement
+    private Long asyncTimeout;
+
+    public Integer getMinThreads() {
+        return minThreads;
+    }
+
+    public void setMinThreads(Integer minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    public Integer getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Integer getAcceptors() {
+        return acceptors;
+    }
+
+    public void setAcceptors(Integer acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    public Integer getSelectors() {
+        return selectors;
+    }
+
+    public void setSelectors(Integer selectors) {
+        this.selectors = selectors;
+    }
+
+    public Integer getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    public void setAcceptQueueSize(Integer acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    public Long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Long getMaxRequestBodySize() {
+        return maxRequestBodySize;
+    }
+
+    public void setMaxRequestBodySize(Long maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+    public Integer getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(Integer asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
+
+    public Integer getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    public void setAsyncQueueCapacity(Integer asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+    public Long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(Long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+}
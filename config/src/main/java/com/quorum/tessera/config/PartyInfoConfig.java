@@ -0,0 +1,127 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PartyInfoConfig extends ConfigItem {
+
+    /**
+     * The file that discovered keys and parties are saved to, so that they
+     * can be used straight away after a restart. Nothing is saved if not set.
+     */
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path snapshotFile;
+
+    /**
+     * How often parties are polled for changes, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long pollInterval;
+
+    /**
+     * The longest a party that keeps reporting no changes can go without
+     * being polled, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long maxPollInterval;
+
+    /**
+     * The longest a party that cannot be reached can go without being
+     * retried, in milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long maxFailureBackoff;
+
+    /**
+     * The number of parties that are polled at the same time
+     */
+    @Min(1)
+    @XmlElement
+    private Integer pollThreads;
+
+    /**
+     * The longest a whole round of polling may take, in milliseconds.
+     * Parties not polled by then are left for the next round.
+     */
+    @Min(1)
+    @XmlElement
+    private Long pollRoundTimeout;
+
+    public PartyInfoConfig(final Path snapshotFile,
+                           final Long pollInterval,
+                           final Long maxPollInterval,
+                           final Long maxFailureBackoff,
+                           final Integer pollThreads,
+                           final Long pollRoundTimeout) {
+        this.snapshotFile = snapshotFile;
+        this.pollInterval = pollInterval;
+        this.maxPollInterval = maxPollInterval;
+        this.maxFailureBackoff = maxFailureBackoff;
+        this.pollThreads = pollThreads;
+        this.pollRoundTimeout = pollRoundTimeout;
+    }
+
+    public PartyInfoConfig() {
+        this(null, null, null, null, null, null);
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public Long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Long getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(Long maxPollInterval) {
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    public Long getMaxFailureBackoff() {
+        return maxFailureBackoff;
+    }
+
+    public void setMaxFailureBackoff(Long maxFailureBackoff) {
+        this.maxFailureBackoff = maxFailureBackoff;
+    }
+
+    public Integer getPollThreads() {
+        return pollThreads;
+    }
+
+    public void setPollThreads(Integer pollThreads) {
+        this.pollThreads = pollThreads;
+    }
+
+    public Long getPollRoundTimeout() {
+        return pollRoundTimeout;
+    }
+
+    public void setPollRoundTimeout(Long pollRoundTimeout) {
+        this.pollRoundTimeout = pollRoundTimeout;
+    }
+
+}
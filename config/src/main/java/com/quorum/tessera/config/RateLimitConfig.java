@@ -0,0 +1,78 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * How many requests a server accepts before turning the rest away straight
+ * away, rather than queueing them until they time out
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class RateLimitConfig extends ConfigItem {
+
+    /**
+     * The steady number of requests allowed each second for each key. There
+     * is no rate limit if not set.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer requestsPerSecond;
+
+    /**
+     * The most requests allowed at once for each key after it has been
+     * quiet. Defaults to one seconds worth of requests.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer burst;
+
+    /**
+     * The most requests the server handles at the same time. There is no
+     * limit if not set.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxConcurrentRequests;
+
+    /**
+     * What requests are grouped by for the rate limit. Defaults to the
+     * address of the caller.
+     */
+    @XmlElement
+    private RateLimitKey key;
+
+    public Integer getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(Integer requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Integer getBurst() {
+        return burst;
+    }
+
+    public void setBurst(Integer burst) {
+        this.burst = burst;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public RateLimitKey getKey() {
+        return key;
+    }
+
+    public void setKey(RateLimitKey key) {
+        this.key = key;
+    }
+
+}
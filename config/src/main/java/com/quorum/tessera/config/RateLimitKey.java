@@ -0,0 +1,8 @@
+package com.quorum.tessera.config;
+
+/**
+ * What requests are grouped by when limiting their rate
+ */
+public enum RateLimitKey {
+    REMOTE_ADDRESS, SENDER_KEY, ENDPOINT
+}
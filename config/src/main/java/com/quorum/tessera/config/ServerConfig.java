@@ -1,5 +1,6 @@
 package com.quorum.tessera.config;
 
+import com.quorum.tessera.config.constraints.ValidHttpServerConfig;
 import com.quorum.tessera.config.constraints.ValidSsl;
 
 import javax.validation.Valid;
@@ -43,6 +44,27 @@ public class ServerConfig extends ConfigItem {
     @XmlElement
     private String bindingAddress;
 
+    @Valid
+    @XmlElement
+    private HttpClientConfig httpClientConfig;
+
+    @Valid
+    @ValidHttpServerConfig
+    @XmlElement
+    private HttpServerConfig httpServerConfig;
+
+    @Valid
+    @XmlElement
+    private RateLimitConfig rateLimitConfig;
+
+    /**
+     * Whether HTTP/2 is served, negotiated with ALPN over TLS or used
+     * directly (h2c) without it. Served HTTP/2 is advertised to other nodes,
+     * which are only spoken to over HTTP/2 once they advertise it too.
+     */
+    @XmlElement
+    private boolean http2;
+
     public ServerConfig(final AppType app,
                         final boolean enabled,
                         final ServerSocket serverSocket,
@@ -132,4 +154,36 @@ public class ServerConfig extends ConfigItem {
     public void setBindingAddress(String bindingAddress) {
         this.bindingAddress = bindingAddress;
     }
+
+    public HttpClientConfig getHttpClientConfig() {
+        return httpClientConfig;
+    }
+
+    public void setHttpClientConfig(HttpClientConfig httpClientConfig) {
+        this.httpClientConfig = httpClientConfig;
+    }
+
+    public HttpServerConfig getHttpServerConfig() {
+        return httpServerConfig;
+    }
+
+    public void setHttpServerConfig(HttpServerConfig httpServerConfig) {
+        this.httpServerConfig = httpServerConfig;
+    }
+
+    public RateLimitConfig getRateLimitConfig() {
+        return rateLimitConfig;
+    }
+
+    public void setRateLimitConfig(RateLimitConfig rateLimitConfig) {
+        this.rateLimitConfig = rateLimitConfig;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
 }
@@ -0,0 +1,153 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+public class SyncConfig extends ConfigItem {
+
+    /**
+     * The number of nodes that are asked to resend their transactions at the
+     * same time
+     */
+    @Min(1)
+    @XmlElement
+    private Integer concurrency;
+
+    /**
+     * The most resend requests made each second across all nodes. A single
+     * request can return any number of transactions, which are limited by
+     * {@link #payloadsPerSecond} instead.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer requestsPerSecond;
+
+    /**
+     * The most resent transactions read each second across all nodes, so
+     * that recovering old transactions does not crowd out new ones. Only
+     * applies to nodes that stream their transactions back. Nodes that do not
+     * support streaming push them back as ordinary transactions.
+     */
+    @Min(1)
+    @XmlElement
+    private Integer payloadsPerSecond;
+
+    /**
+     * The largest single transaction, in bytes, accepted from another node
+     * streaming transactions back over REST
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxPayloadSize;
+
+    /**
+     * The file that records how far each node has resent transactions to,
+     * so that only newer transactions are asked for after a restart. All
+     * transactions are asked for after a restart if not set.
+     */
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path watermarkFile;
+
+    /**
+     * How often the transactions shared with each node are compared, in
+     * milliseconds
+     */
+    @Min(1)
+    @XmlElement
+    private Long reconcileInterval;
+
+    /**
+     * The longest to wait for a node to finish pushing back its transactions
+     * after asking it to resend them, in milliseconds. The node only responds
+     * once every transaction has been pushed, so this should be much longer
+     * than an ordinary request.
+     */
+    @Min(1)
+    @XmlElement
+    private Long resendTimeout;
+
+    public SyncConfig(final Integer concurrency,
+                      final Integer requestsPerSecond,
+                      final Integer payloadsPerSecond,
+                      final Integer maxPayloadSize,
+                      final Path watermarkFile,
+                      final Long reconcileInterval,
+                      final Long resendTimeout) {
+        this.concurrency = concurrency;
+        this.requestsPerSecond = requestsPerSecond;
+        this.payloadsPerSecond = payloadsPerSecond;
+        this.maxPayloadSize = maxPayloadSize;
+        this.watermarkFile = watermarkFile;
+        this.reconcileInterval = reconcileInterval;
+        this.resendTimeout = resendTimeout;
+    }
+
+    public SyncConfig() {
+        this(null, null, null, null, null, null, null);
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Integer getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(Integer requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Integer getPayloadsPerSecond() {
+        return payloadsPerSecond;
+    }
+
+    public void setPayloadsPerSecond(Integer payloadsPerSecond) {
+        this.payloadsPerSecond = payloadsPerSecond;
+    }
+
+    public Integer getMaxPayloadSize() {
+        return maxPayloadSize;
+    }
+
+    public void setMaxPayloadSize(Integer maxPayloadSize) {
+        this.maxPayloadSize = maxPayloadSize;
+    }
+
+    public Path getWatermarkFile() {
+        return watermarkFile;
+    }
+
+    public void setWatermarkFile(Path watermarkFile) {
+        this.watermarkFile = watermarkFile;
+    }
+
+    public Long getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Long reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public Long getResendTimeout() {
+        return resendTimeout;
+    }
+
+    public void setResendTimeout(Long resendTimeout) {
+        this.resendTimeout = resendTimeout;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.quorum.tessera.config.constraints;
+
+import com.quorum.tessera.config.HttpServerConfig;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Checks that the fewest threads kept for a server is not more than the
+ * most it may use, when both are given
+ */
+public class HttpServerConfigValidator implements ConstraintValidator<ValidHttpServerConfig, HttpServerConfig> {
+
+    @Override
+    public boolean isValid(HttpServerConfig httpServerConfig, ConstraintValidatorContext cvc) {
+
+        if (httpServerConfig == null) {
+            return true;
+        }
+
+        final Integer minThreads = httpServerConfig.getMinThreads();
+        final Integer maxThreads = httpServerConfig.getMaxThreads();
+
+        return minThreads == null || maxThreads == null || minThreads <= maxThreads;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.quorum.tessera.config.constraints;
+
+import com.quorum.tessera.config.HttpServerConfig;
+import org.junit.Test;
+
+import javax.validation.ConstraintValidatorContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class HttpServerConfigValidatorTest {
+
+    private HttpServerConfigValidator validator = new HttpServerConfigValidator();
+
+    @Test
+    public void nullConfigIsValid() {
+        assertThat(validator.isValid(null, mock(ConstraintValidatorContext.class))).isTrue();
+    }
+
+    @Test
+    public void threadsNotSetIsValid() {
+        assertThat(validator.isValid(new HttpServerConfig(), mock(ConstraintValidatorContext.class))).isTrue();
+    }
+
+    @Test
+    public void onlyOneThreadLimitSetIsValid() {
+        final HttpServerConfig config = new HttpServerConfig();
+        config.setMinThreads(500);
+
+        assertThat(validator.isValid(config, mock(ConstraintValidatorContext.class))).isTrue();
+    }
+
+    @Test
+    public void minThreadsUpToMaxThreadsIsValid() {
+        final HttpServerConfig config = new HttpServerConfig();
+        config.setMinThreads(8);
+        config.setMaxThreads(8);
+
+        assertThat(validator.isValid(config, mock(ConstraintValidatorContext.class))).isTrue();
+    }
+
+    @Test
+    public void minThreadsOverMaxThreadsIsInvalid() {
+        final HttpServerConfig config = new HttpServerConfig();
+        config.setMinThreads(16);
+        config.setMaxThreads(8);
+
+        assertThat(validator.isValid(config, mock(ConstraintValidatorContext.class))).isFalse();
+    }
+
+}
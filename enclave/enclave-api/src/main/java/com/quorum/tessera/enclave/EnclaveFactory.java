@@ -3,16 +3,21 @@ package com.quorum.tessera.enclave;
 import com.quorum.tessera.ServiceLoaderUtil;
 import com.quorum.tessera.config.AppType;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.EnclaveConfig;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.config.util.EnvironmentVariableProvider;
 import com.quorum.tessera.encryption.KeyManagerImpl;
 import com.quorum.tessera.encryption.KeyPair;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.keypairconverter.KeyPairConverter;
+import com.quorum.tessera.nacl.NaclFacade;
 import com.quorum.tessera.nacl.NaclFacadeFactory;
+import com.quorum.tessera.nacl.monitoring.CryptoMetrics;
+import com.quorum.tessera.nacl.monitoring.InstrumentedNaclFacade;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Creates {@link Enclave} instances, which may point to remote services or
@@ -31,7 +36,20 @@ public interface EnclaveFactory {
 
         final Collection<PublicKey> forwardKeys = keyPairConverter.convert(config.getAlwaysSendTo());
 
-        return new EnclaveImpl(NaclFacadeFactory.newFactory().create(), new KeyManagerImpl(keys, forwardKeys));
+        final NaclFacade nacl = new InstrumentedNaclFacade(
+            NaclFacadeFactory.newFactory().create(), CryptoMetrics.getInstance()
+        );
+        final KeyManagerImpl keyManager = new KeyManagerImpl(keys, forwardKeys);
+
+        final EnclaveConfig enclaveConfig = config.getEnclaveConfig();
+        if (enclaveConfig == null || enclaveConfig.getParallelSealThreshold() == null) {
+            return new EnclaveImpl(nacl, keyManager);
+        }
+
+        final int parallelism = Optional.ofNullable(enclaveConfig.getCryptoParallelism())
+            .orElse(Runtime.getRuntime().availableProcessors());
+
+        return new EnclaveImpl(nacl, keyManager, new ForkJoinPool(parallelism), enclaveConfig.getParallelSealThreshold());
     }
 
     /**
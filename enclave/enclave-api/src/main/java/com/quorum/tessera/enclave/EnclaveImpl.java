@@ -4,9 +4,12 @@ import com.quorum.tessera.encryption.*;
 import com.quorum.tessera.nacl.NaclFacade;
 import com.quorum.tessera.nacl.Nonce;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
@@ -17,9 +20,31 @@ public class EnclaveImpl implements Enclave {
 
     private final KeyManager keyManager;
 
+    private final ForkJoinPool cryptoPool;
+
+    private final int parallelSealThreshold;
+
     public EnclaveImpl(NaclFacade nacl, KeyManager keyManager) {
         this.nacl = Objects.requireNonNull(nacl);
         this.keyManager = Objects.requireNonNull(keyManager);
+        this.cryptoPool = null;
+        this.parallelSealThreshold = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates an enclave that seals recipient boxes on the given pool when
+     * a payload has at least {@code parallelSealThreshold} recipients
+     *
+     * @param nacl the crypto provider
+     * @param keyManager the keys held by this enclave
+     * @param cryptoPool the pool on which to compute shared keys and seal boxes
+     * @param parallelSealThreshold the minimum number of recipients to seal in parallel
+     */
+    public EnclaveImpl(NaclFacade nacl, KeyManager keyManager, ForkJoinPool cryptoPool, int parallelSealThreshold) {
+        this.nacl = Objects.requireNonNull(nacl);
+        this.keyManager = Objects.requireNonNull(keyManager);
+        this.cryptoPool = Objects.requireNonNull(cryptoPool);
+        this.parallelSealThreshold = parallelSealThreshold;
     }
 
     @Override
@@ -30,7 +55,7 @@ public class EnclaveImpl implements Enclave {
         final Nonce nonce = nacl.randomNonce();
         final Nonce recipientNonce = nacl.randomNonce();
 
-        final byte[] cipherText = nacl.sealAfterPrecomputation(message, nonce, masterKey);
+        final byte[] cipherText = this.sealCipherText(message, nonce, masterKey);
 
         final List<byte[]> encryptedMasterKeys = buildRecipientMasterKeys(senderPublicKey, recipientPublicKeys, recipientNonce, masterKey);
 
@@ -82,11 +107,45 @@ public class EnclaveImpl implements Enclave {
                                                   final MasterKey masterKey){
         final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(senderPublicKey);
 
-        return recipientPublicKeys
+        if (cryptoPool == null || recipientPublicKeys.size() < parallelSealThreshold) {
+            return recipientPublicKeys
+                .stream()
+                .map(publicKey -> this.sealRecipientBox(publicKey, privateKey, recipientNonce, masterKey))
+                .collect(Collectors.toList());
+        }
+
+        // boxes are joined in submission order so they line up with the recipient keys
+        final List<ForkJoinTask<byte[]>> tasks = recipientPublicKeys
             .stream()
-            .map(publicKey -> nacl.computeSharedKey(publicKey, privateKey))
-            .map(sharedKey -> nacl.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, sharedKey))
+            .map(publicKey -> cryptoPool.submit(() -> this.sealRecipientBox(publicKey, privateKey, recipientNonce, masterKey)))
             .collect(Collectors.toList());
+
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Seals the message in a buffer with headroom reserved for the NaCL
+     * padding, so the provider can seal it in place
+     */
+    private byte[] sealCipherText(final byte[] message, final Nonce nonce, final MasterKey masterKey) {
+        final ByteBuffer buffer = ByteBuffer.allocate(NaclFacade.ZERO_BYTES + message.length);
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(message);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        final ByteBuffer sealed = nacl.sealAfterPrecomputation(buffer, nonce, masterKey);
+
+        final byte[] cipherText = new byte[sealed.remaining()];
+        sealed.get(cipherText);
+        return cipherText;
+    }
+
+    private byte[] sealRecipientBox(final PublicKey recipientPublicKey,
+                                    final PrivateKey senderPrivateKey,
+                                    final Nonce recipientNonce,
+                                    final MasterKey masterKey) {
+        final SharedKey sharedKey = nacl.computeSharedKey(recipientPublicKey, senderPrivateKey);
+        return nacl.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, sharedKey);
     }
 
     @Override
@@ -94,7 +153,7 @@ public class EnclaveImpl implements Enclave {
         final MasterKey masterKey = nacl.createMasterKey();
         final Nonce nonce = nacl.randomNonce();
 
-        final byte[] cipherText = nacl.sealAfterPrecomputation(message, nonce, masterKey);
+        final byte[] cipherText = this.sealCipherText(message, nonce, masterKey);
 
         final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(sender);
 
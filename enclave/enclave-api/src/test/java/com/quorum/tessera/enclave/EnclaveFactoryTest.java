@@ -107,4 +107,23 @@ public class EnclaveFactoryTest {
         assertThat(result).isInstanceOf(EnclaveImpl.class);
 
     }
+
+    @Test
+    public void createLocalWithParallelSealing() {
+
+        Config config = new Config();
+
+        KeyConfiguration keyConfiguration = new KeyConfiguration();
+        ConfigKeyPair pair = new DirectKeyPair("/+UuD63zItL1EbjxkKUljMgG8Z1w0AJ8pNOR4iq2yQc=", "yAWAJjwPqUtNVlqGjSrBmr1/iIkghuOh1803Yzx9jLM=");
+        keyConfiguration.setKeyData(singletonList(pair));
+        config.setKeys(keyConfiguration);
+
+        config.setAlwaysSendTo(new ArrayList<>());
+        config.setEnclaveConfig(new EnclaveConfig(10, 2));
+
+        Enclave result = enclaveFactory.createLocal(config);
+
+        assertThat(result).isInstanceOf(EnclaveImpl.class);
+
+    }
 }
@@ -8,8 +8,11 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -177,7 +180,8 @@ public class EnclaveTest {
         when(nacl.createMasterKey()).thenReturn(masterKey);
         when(nacl.randomNonce()).thenReturn(cipherNonce, recipientNonce);
 
-        when(nacl.sealAfterPrecomputation(message, cipherNonce, masterKey)).thenReturn(cipherText);
+        when(nacl.sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey)))
+            .thenReturn(ByteBuffer.wrap(cipherText));
 
         PrivateKey senderPrivateKey = mock(PrivateKey.class);
         when(keyManager.getPrivateKeyForPublicKey(senderPublicKey)).thenReturn(senderPrivateKey);
@@ -199,7 +203,7 @@ public class EnclaveTest {
 
         verify(nacl).createMasterKey();
         verify(nacl, times(2)).randomNonce();
-        verify(nacl).sealAfterPrecomputation(message, cipherNonce, masterKey);
+        verify(nacl).sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey));
         verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey);
         verify(nacl).computeSharedKey(recipientPublicKey, senderPrivateKey);
         verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
@@ -274,7 +278,8 @@ public class EnclaveTest {
         when(nacl.createMasterKey()).thenReturn(masterKey);
         when(nacl.randomNonce()).thenReturn(cipherNonce);
 
-        when(nacl.sealAfterPrecomputation(message, cipherNonce, masterKey)).thenReturn(cipherText);
+        when(nacl.sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey)))
+            .thenReturn(ByteBuffer.wrap(cipherText));
 
         PrivateKey senderPrivateKey = mock(PrivateKey.class);
         when(keyManager.getPrivateKeyForPublicKey(senderPublicKey)).thenReturn(senderPrivateKey);
@@ -296,7 +301,7 @@ public class EnclaveTest {
 
         verify(nacl).createMasterKey();
         verify(nacl).randomNonce();
-        verify(nacl).sealAfterPrecomputation(message, cipherNonce, masterKey);
+        verify(nacl).sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey));
         verify(nacl).sealAfterPrecomputation(masterKeyBytes, cipherNonce, sharedKey);
         verify(nacl).computeSharedKey(senderPublicKey, senderPrivateKey);
         verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
@@ -358,4 +363,65 @@ public class EnclaveTest {
         verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
     }
 
+    @Test
+    public void encryptPayloadSealsRecipientBoxesInParallelInRecipientOrder() {
+
+        final ForkJoinPool cryptoPool = new ForkJoinPool(4);
+        final Enclave parallelEnclave = new EnclaveImpl(nacl, keyManager, cryptoPool, 2);
+
+        byte[] message = "MESSAGE".getBytes();
+
+        PublicKey senderPublicKey = mock(PublicKey.class);
+        PublicKey firstRecipient = mock(PublicKey.class);
+        PublicKey secondRecipient = mock(PublicKey.class);
+        PublicKey thirdRecipient = mock(PublicKey.class);
+
+        byte[] masterKeyBytes = "masterKeyBytes".getBytes();
+        MasterKey masterKey = MasterKey.from(masterKeyBytes);
+        Nonce cipherNonce = mock(Nonce.class);
+        Nonce recipientNonce = mock(Nonce.class);
+
+        byte[] cipherText = "cipherText".getBytes();
+
+        when(nacl.createMasterKey()).thenReturn(masterKey);
+        when(nacl.randomNonce()).thenReturn(cipherNonce, recipientNonce);
+        when(nacl.sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey)))
+            .thenReturn(ByteBuffer.wrap(cipherText));
+
+        PrivateKey senderPrivateKey = mock(PrivateKey.class);
+        when(keyManager.getPrivateKeyForPublicKey(senderPublicKey)).thenReturn(senderPrivateKey);
+
+        SharedKey firstShared = mock(SharedKey.class);
+        SharedKey secondShared = mock(SharedKey.class);
+        SharedKey thirdShared = mock(SharedKey.class);
+        when(nacl.computeSharedKey(firstRecipient, senderPrivateKey)).thenReturn(firstShared);
+        when(nacl.computeSharedKey(secondRecipient, senderPrivateKey)).thenReturn(secondShared);
+        when(nacl.computeSharedKey(thirdRecipient, senderPrivateKey)).thenReturn(thirdShared);
+
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, firstShared)).thenReturn("first".getBytes());
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, secondShared)).thenReturn("second".getBytes());
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, thirdShared)).thenReturn("third".getBytes());
+
+        final List<PublicKey> recipients = Arrays.asList(firstRecipient, secondRecipient, thirdRecipient);
+
+        EncodedPayload result = parallelEnclave.encryptPayload(message, senderPublicKey, recipients);
+
+        cryptoPool.shutdown();
+
+        assertThat(result.getRecipientKeys()).containsExactly(firstRecipient, secondRecipient, thirdRecipient);
+        assertThat(result.getRecipientBoxes())
+            .containsExactly("first".getBytes(), "second".getBytes(), "third".getBytes());
+
+        verify(nacl).createMasterKey();
+        verify(nacl, times(2)).randomNonce();
+        verify(nacl).sealAfterPrecomputation(any(ByteBuffer.class), eq(cipherNonce), eq(masterKey));
+        verify(nacl).computeSharedKey(firstRecipient, senderPrivateKey);
+        verify(nacl).computeSharedKey(secondRecipient, senderPrivateKey);
+        verify(nacl).computeSharedKey(thirdRecipient, senderPrivateKey);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, firstShared);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, secondShared);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, thirdShared);
+        verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
+    }
+
 }
@@ -6,6 +6,8 @@ import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.encryption.SharedKey;
 
+import java.nio.ByteBuffer;
+
 /**
  * The API provided to the application that all implementation of this API
  * module should extend
@@ -15,6 +17,16 @@ import com.quorum.tessera.encryption.SharedKey;
  */
 public interface NaclFacade {
 
+    /**
+     * The number of zero bytes that NaCL requires in front of a message to be sealed
+     */
+    int ZERO_BYTES = 32;
+
+    /**
+     * The number of zero bytes that NaCL leaves in front of a sealed payload
+     */
+    int BOX_ZERO_BYTES = 16;
+
     /**
      * Compute the shared key from a public/private key combination
      * The keys must be from different keysets.
@@ -67,6 +79,56 @@ public interface NaclFacade {
         return sealAfterPrecomputation(message, nonce, sharedKey);
     }
 
+    /**
+     * Encrypt a payload in place using the shared key
+     * <p>
+     * The message is read from between the buffer's position and limit, and
+     * at least {@link #ZERO_BYTES} bytes of headroom must be reserved in front
+     * of the position. The sealed payload overwrites the message and the end
+     * of the headroom, so no copy of the message needs to be made.
+     * <p>
+     * Implementations that cannot work on the given buffer directly fall back
+     * to copying the message out and sealing it as an array.
+     *
+     * @param message   The buffer holding the payload to be encrypted
+     * @param nonce     A unique nonce for this public/private pair
+     * @param sharedKey The shared key between the sender and recipient of the payload
+     * @return a view of the given buffer positioned at the start of the encrypted payload
+     */
+    default ByteBuffer sealAfterPrecomputation(ByteBuffer message, Nonce nonce, SharedKey sharedKey) {
+        if (message.position() < ZERO_BYTES) {
+            throw new NaclException("Buffer must reserve " + ZERO_BYTES + " bytes in front of the message");
+        }
+
+        final byte[] plainText = new byte[message.remaining()];
+        message.duplicate().get(plainText);
+
+        final byte[] cipherText = sealAfterPrecomputation(plainText, nonce, sharedKey);
+
+        final int boxStart = message.position() - (ZERO_BYTES - BOX_ZERO_BYTES);
+
+        final ByteBuffer output = message.duplicate();
+        output.position(boxStart);
+        output.put(cipherText);
+        output.position(boxStart);
+
+        return output;
+    }
+
+    /**
+     * Encrypt a payload in place using the given {@link MasterKey}
+     *
+     * @param message   The buffer holding the payload to be encrypted
+     * @param nonce     A unique nonce for this payload
+     * @param masterKey the key used to encrypt the payload
+     * @return a view of the given buffer positioned at the start of the encrypted payload
+     * @see NaclFacade#sealAfterPrecomputation(ByteBuffer, Nonce, SharedKey)
+     */
+    default ByteBuffer sealAfterPrecomputation(ByteBuffer message, Nonce nonce, MasterKey masterKey) {
+        SharedKey sharedKey = SharedKey.from(masterKey.getKeyBytes());
+        return sealAfterPrecomputation(message, nonce, sharedKey);
+    }
+
     /**
      * Decrypts a payload using the shared key between the sender and recipient
      *
@@ -0,0 +1,97 @@
+package com.quorum.tessera.nacl.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects timings of crypto operations, grouped by operation, outcome and
+ * payload size.
+ * <p>
+ * Each group is registered as an MBean under the {@code com.quorum.tessera}
+ * domain the first time it is recorded, which is where the metrics resource
+ * reads them from.
+ */
+public class CryptoMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CryptoMetrics.class);
+
+    public static final String DOMAIN = "com.quorum.tessera";
+
+    public static final String TYPE = "crypto";
+
+    private static final CryptoMetrics INSTANCE = new CryptoMetrics(ManagementFactory.getPlatformMBeanServer());
+
+    private static final int OUTCOMES = 2;
+
+    private final MBeanServer mBeanServer;
+
+    private final AtomicReferenceArray<CryptoOperationStats> stats
+        = new AtomicReferenceArray<>(CryptoOperation.values().length * OUTCOMES * PayloadSize.values().length);
+
+    public CryptoMetrics(final MBeanServer mBeanServer) {
+        this.mBeanServer = Objects.requireNonNull(mBeanServer);
+    }
+
+    /**
+     * @return the metrics shared by all instrumented facades in this process
+     */
+    public static CryptoMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void record(final CryptoOperation operation,
+                       final boolean success,
+                       final PayloadSize payloadSize,
+                       final long elapsedNanos) {
+        this.statsFor(operation, success, payloadSize).record(elapsedNanos);
+    }
+
+    CryptoOperationStats statsFor(final CryptoOperation operation, final boolean success, final PayloadSize payloadSize) {
+        final int index = (operation.ordinal() * OUTCOMES + (success ? 0 : 1)) * PayloadSize.values().length
+            + payloadSize.ordinal();
+
+        final CryptoOperationStats existing = stats.get(index);
+        if (existing != null) {
+            return existing;
+        }
+
+        final CryptoOperationStats created = new CryptoOperationStats();
+        if (!stats.compareAndSet(index, null, created)) {
+            return stats.get(index);
+        }
+
+        this.register(created, operation, success, payloadSize);
+
+        return created;
+    }
+
+    private void register(final CryptoOperationStats operationStats,
+                          final CryptoOperation operation,
+                          final boolean success,
+                          final PayloadSize payloadSize) {
+        final Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", TYPE);
+        properties.put("operation", operation.getMetricName());
+        properties.put("outcome", success ? "success" : "failure");
+        properties.put("payloadSize", payloadSize.getMetricName());
+
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN, properties);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(operationStats, objectName);
+            }
+        } catch (final JMException ex) {
+            LOGGER.warn("Unable to register crypto metrics for {}", properties);
+            LOGGER.debug(null, ex);
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.quorum.tessera.nacl.monitoring;
+
+/**
+ * The {@link com.quorum.tessera.nacl.NaclFacade} operations that are
+ * instrumented, along with the name they are reported under
+ */
+public enum CryptoOperation {
+
+    COMPUTE_SHARED_KEY("computeSharedKey"),
+    SEAL("seal"),
+    OPEN("open"),
+    SEAL_AFTER_PRECOMPUTATION("sealAfterPrecomputation"),
+    OPEN_AFTER_PRECOMPUTATION("openAfterPrecomputation");
+
+    private final String metricName;
+
+    CryptoOperation(final String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+}
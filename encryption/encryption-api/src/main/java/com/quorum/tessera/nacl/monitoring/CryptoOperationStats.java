@@ -0,0 +1,88 @@
+package com.quorum.tessera.nacl.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CryptoOperationStats implements CryptoOperationStatsMBean {
+
+    private static final long[] BUCKET_BOUNDS_MICROS = {100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalTimeMicros = new LongAdder();
+
+    private final LongAccumulator maxTimeMicros = new LongAccumulator(Long::max, 0);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length];
+
+    public CryptoOperationStats() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(final long elapsedNanos) {
+        final long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+
+        count.increment();
+        totalTimeMicros.add(elapsedMicros);
+        maxTimeMicros.accumulate(elapsedMicros);
+
+        for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+            if (elapsedMicros <= BUCKET_BOUNDS_MICROS[i]) {
+                buckets[i].increment();
+                return;
+            }
+        }
+    }
+
+    private long cumulativeCount(final int bucket) {
+        long total = 0;
+        for (int i = 0; i <= bucket; i++) {
+            total += buckets[i].sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalTimeMicros() {
+        return totalTimeMicros.sum();
+    }
+
+    @Override
+    public long getMaxTimeMicros() {
+        return maxTimeMicros.get();
+    }
+
+    @Override
+    public long getLatencyLe100Micros() {
+        return cumulativeCount(0);
+    }
+
+    @Override
+    public long getLatencyLe1Millis() {
+        return cumulativeCount(1);
+    }
+
+    @Override
+    public long getLatencyLe10Millis() {
+        return cumulativeCount(2);
+    }
+
+    @Override
+    public long getLatencyLe100Millis() {
+        return cumulativeCount(3);
+    }
+
+    @Override
+    public long getLatencyLe1Second() {
+        return cumulativeCount(4);
+    }
+
+}
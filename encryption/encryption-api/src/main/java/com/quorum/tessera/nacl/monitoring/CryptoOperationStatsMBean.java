@@ -0,0 +1,28 @@
+package com.quorum.tessera.nacl.monitoring;
+
+/**
+ * Counters and a latency histogram for one combination of crypto operation,
+ * outcome and payload size.
+ * <p>
+ * The latency buckets are cumulative, each counting the calls that took
+ * no longer than its bound.
+ */
+public interface CryptoOperationStatsMBean {
+
+    long getCount();
+
+    long getTotalTimeMicros();
+
+    long getMaxTimeMicros();
+
+    long getLatencyLe100Micros();
+
+    long getLatencyLe1Millis();
+
+    long getLatencyLe10Millis();
+
+    long getLatencyLe100Millis();
+
+    long getLatencyLe1Second();
+
+}
@@ -0,0 +1,137 @@
+package com.quorum.tessera.nacl.monitoring;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.MasterKey;
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.Nonce;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link NaclFacade} that records the count, outcome and latency of each
+ * encryption operation made against the delegate
+ */
+public class InstrumentedNaclFacade implements NaclFacade {
+
+    private final NaclFacade delegate;
+
+    private final CryptoMetrics metrics;
+
+    public InstrumentedNaclFacade(final NaclFacade delegate, final CryptoMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public SharedKey computeSharedKey(final PublicKey publicKey, final PrivateKey privateKey) {
+        return this.record(
+            CryptoOperation.COMPUTE_SHARED_KEY, PayloadSize.NONE, () -> delegate.computeSharedKey(publicKey, privateKey)
+        );
+    }
+
+    @Override
+    public byte[] seal(final byte[] message, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
+        return this.record(
+            CryptoOperation.SEAL, PayloadSize.of(message.length), () -> delegate.seal(message, nonce, publicKey, privateKey)
+        );
+    }
+
+    @Override
+    public byte[] open(final byte[] cipherText, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
+        return this.record(
+            CryptoOperation.OPEN, PayloadSize.of(cipherText.length), () -> delegate.open(cipherText, nonce, publicKey, privateKey)
+        );
+    }
+
+    @Override
+    public byte[] sealAfterPrecomputation(final byte[] message, final Nonce nonce, final SharedKey sharedKey) {
+        return this.record(
+            CryptoOperation.SEAL_AFTER_PRECOMPUTATION,
+            PayloadSize.of(message.length),
+            () -> delegate.sealAfterPrecomputation(message, nonce, sharedKey)
+        );
+    }
+
+    @Override
+    public byte[] sealAfterPrecomputation(final byte[] message, final Nonce nonce, final MasterKey masterKey) {
+        return this.record(
+            CryptoOperation.SEAL_AFTER_PRECOMPUTATION,
+            PayloadSize.of(message.length),
+            () -> delegate.sealAfterPrecomputation(message, nonce, masterKey)
+        );
+    }
+
+    @Override
+    public ByteBuffer sealAfterPrecomputation(final ByteBuffer message, final Nonce nonce, final SharedKey sharedKey) {
+        return this.record(
+            CryptoOperation.SEAL_AFTER_PRECOMPUTATION,
+            PayloadSize.of(message.remaining()),
+            () -> delegate.sealAfterPrecomputation(message, nonce, sharedKey)
+        );
+    }
+
+    @Override
+    public ByteBuffer sealAfterPrecomputation(final ByteBuffer message, final Nonce nonce, final MasterKey masterKey) {
+        return this.record(
+            CryptoOperation.SEAL_AFTER_PRECOMPUTATION,
+            PayloadSize.of(message.remaining()),
+            () -> delegate.sealAfterPrecomputation(message, nonce, masterKey)
+        );
+    }
+
+    @Override
+    public byte[] openAfterPrecomputation(final byte[] cipherText, final Nonce nonce, final SharedKey sharedKey) {
+        return this.record(
+            CryptoOperation.OPEN_AFTER_PRECOMPUTATION,
+            PayloadSize.of(cipherText.length),
+            () -> delegate.openAfterPrecomputation(cipherText, nonce, sharedKey)
+        );
+    }
+
+    @Override
+    public byte[] openAfterPrecomputation(final byte[] cipherText, final Nonce cipherTextNonce, final MasterKey masterKey) {
+        return this.record(
+            CryptoOperation.OPEN_AFTER_PRECOMPUTATION,
+            PayloadSize.of(cipherText.length),
+            () -> delegate.openAfterPrecomputation(cipherText, cipherTextNonce, masterKey)
+        );
+    }
+
+    @Override
+    public Nonce randomNonce() {
+        return delegate.randomNonce();
+    }
+
+    @Override
+    public KeyPair generateNewKeys() {
+        return delegate.generateNewKeys();
+    }
+
+    @Override
+    public SharedKey createSingleKey() {
+        return delegate.createSingleKey();
+    }
+
+    @Override
+    public MasterKey createMasterKey() {
+        return delegate.createMasterKey();
+    }
+
+    private <T> T record(final CryptoOperation operation, final PayloadSize payloadSize, final Supplier<T> action) {
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            final T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            metrics.record(operation, success, payloadSize, System.nanoTime() - start);
+        }
+    }
+
+}
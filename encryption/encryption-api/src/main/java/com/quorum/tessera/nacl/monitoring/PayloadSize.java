@@ -0,0 +1,37 @@
+package com.quorum.tessera.nacl.monitoring;
+
+/**
+ * Buckets that payload lengths are grouped into when recording metrics, so
+ * that timings for small and large payloads are not mixed together
+ */
+public enum PayloadSize {
+
+    NONE("none", 0),
+    UP_TO_1KB("upTo1KB", 1024),
+    UP_TO_64KB("upTo64KB", 64 * 1024),
+    UP_TO_1MB("upTo1MB", 1024 * 1024),
+    OVER_1MB("over1MB", Integer.MAX_VALUE);
+
+    private final String metricName;
+
+    private final int maxLength;
+
+    PayloadSize(final String metricName, final int maxLength) {
+        this.metricName = metricName;
+        this.maxLength = maxLength;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public static PayloadSize of(final int length) {
+        for (final PayloadSize size : values()) {
+            if (length <= size.maxLength) {
+                return size;
+            }
+        }
+        return OVER_1MB;
+    }
+
+}
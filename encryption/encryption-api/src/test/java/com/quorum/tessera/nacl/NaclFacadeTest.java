@@ -5,7 +5,9 @@ import com.quorum.tessera.encryption.MasterKey;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.encryption.SharedKey;
+import java.nio.ByteBuffer;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import org.junit.Before;
 import org.junit.Test;
 import static org.mockito.Mockito.mock;
@@ -45,6 +47,37 @@ public class NaclFacadeTest {
         assertThat(result).isEqualTo(outcome);
     }
 
+    @Test
+    public void sealBufferAfterPrecomputationWithMasterKey() {
+        byte[] message = "TWENTY_BYTE_MESSAGE!".getBytes();
+        Nonce nonce = mock(Nonce.class);
+        MasterKey masterKey = MasterKey.from("".getBytes());
+
+        ByteBuffer buffer = ByteBuffer.allocate(NaclFacade.ZERO_BYTES + message.length);
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(message);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        ByteBuffer result = naclFacade.sealAfterPrecomputation(buffer, nonce, masterKey);
+
+        byte[] sealed = new byte[result.remaining()];
+        result.get(sealed);
+
+        assertThat(result.array()).isSameAs(buffer.array());
+        assertThat(sealed).isEqualTo("sealAfterPrecomputationWithSharedKey".getBytes());
+    }
+
+    @Test
+    public void sealBufferWithoutHeadroomFails() {
+        ByteBuffer buffer = ByteBuffer.wrap("MESSAGE".getBytes());
+
+        Throwable throwable = catchThrowable(
+            () -> naclFacade.sealAfterPrecomputation(buffer, mock(Nonce.class), MasterKey.from("".getBytes()))
+        );
+
+        assertThat(throwable).isInstanceOf(NaclException.class);
+    }
+
     @Test
     public void createMasterKey() {
 
@@ -0,0 +1,76 @@
+package com.quorum.tessera.nacl.monitoring;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CryptoMetricsTest {
+
+    private MBeanServer mBeanServer;
+
+    private CryptoMetrics metrics;
+
+    @Before
+    public void onSetUp() {
+        this.mBeanServer = MBeanServerFactory.newMBeanServer();
+        this.metrics = new CryptoMetrics(mBeanServer);
+    }
+
+    @Test
+    public void recordingRegistersLabelledMBean() throws Exception {
+        metrics.record(CryptoOperation.SEAL_AFTER_PRECOMPUTATION, true, PayloadSize.of(100), TimeUnit.MICROSECONDS.toNanos(50));
+        metrics.record(CryptoOperation.SEAL_AFTER_PRECOMPUTATION, true, PayloadSize.of(200), TimeUnit.MILLISECONDS.toNanos(5));
+
+        final ObjectName name = new ObjectName(
+            "com.quorum.tessera:type=crypto,operation=sealAfterPrecomputation,outcome=success,payloadSize=upTo1KB"
+        );
+
+        assertThat(mBeanServer.isRegistered(name)).isTrue();
+        assertThat(mBeanServer.getAttribute(name, "Count")).isEqualTo(2L);
+        assertThat(mBeanServer.getAttribute(name, "TotalTimeMicros")).isEqualTo(5050L);
+        assertThat(mBeanServer.getAttribute(name, "MaxTimeMicros")).isEqualTo(5000L);
+        assertThat(mBeanServer.getAttribute(name, "LatencyLe100Micros")).isEqualTo(1L);
+        assertThat(mBeanServer.getAttribute(name, "LatencyLe1Millis")).isEqualTo(1L);
+        assertThat(mBeanServer.getAttribute(name, "LatencyLe10Millis")).isEqualTo(2L);
+        assertThat(mBeanServer.getAttribute(name, "LatencyLe1Second")).isEqualTo(2L);
+    }
+
+    @Test
+    public void outcomesAndSizesAreRecordedSeparately() {
+        metrics.record(CryptoOperation.OPEN, true, PayloadSize.NONE, 1);
+        metrics.record(CryptoOperation.OPEN, false, PayloadSize.NONE, 1);
+        metrics.record(CryptoOperation.OPEN, false, PayloadSize.OVER_1MB, 1);
+
+        assertThat(metrics.statsFor(CryptoOperation.OPEN, true, PayloadSize.NONE).getCount()).isEqualTo(1);
+        assertThat(metrics.statsFor(CryptoOperation.OPEN, false, PayloadSize.NONE).getCount()).isEqualTo(1);
+        assertThat(metrics.statsFor(CryptoOperation.OPEN, false, PayloadSize.OVER_1MB).getCount()).isEqualTo(1);
+        assertThat(metrics.statsFor(CryptoOperation.SEAL, true, PayloadSize.NONE).getCount()).isZero();
+    }
+
+    @Test
+    public void statsAreSharedBetweenCalls() {
+        assertThat(metrics.statsFor(CryptoOperation.SEAL, true, PayloadSize.UP_TO_64KB))
+            .isSameAs(metrics.statsFor(CryptoOperation.SEAL, true, PayloadSize.UP_TO_64KB));
+    }
+
+    @Test
+    public void payloadSizeBuckets() {
+        assertThat(PayloadSize.of(0)).isEqualTo(PayloadSize.NONE);
+        assertThat(PayloadSize.of(1024)).isEqualTo(PayloadSize.UP_TO_1KB);
+        assertThat(PayloadSize.of(1025)).isEqualTo(PayloadSize.UP_TO_64KB);
+        assertThat(PayloadSize.of(1024 * 1024)).isEqualTo(PayloadSize.UP_TO_1MB);
+        assertThat(PayloadSize.of(1024 * 1024 + 1)).isEqualTo(PayloadSize.OVER_1MB);
+    }
+
+    @Test
+    public void sharedInstance() {
+        assertThat(CryptoMetrics.getInstance()).isNotNull().isSameAs(CryptoMetrics.getInstance());
+    }
+
+}
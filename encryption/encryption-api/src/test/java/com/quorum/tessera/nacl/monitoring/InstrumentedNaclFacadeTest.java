@@ -0,0 +1,144 @@
+package com.quorum.tessera.nacl.monitoring;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.MasterKey;
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.nacl.NaclException;
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.Nonce;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class InstrumentedNaclFacadeTest {
+
+    private static final Nonce NONCE = new Nonce(new byte[24]);
+
+    private static final SharedKey SHARED_KEY = SharedKey.from(new byte[32]);
+
+    private static final MasterKey MASTER_KEY = MasterKey.from(new byte[32]);
+
+    private static final PublicKey PUBLIC_KEY = PublicKey.from(new byte[32]);
+
+    private static final PrivateKey PRIVATE_KEY = PrivateKey.from(new byte[32]);
+
+    private NaclFacade delegate;
+
+    private CryptoMetrics metrics;
+
+    private InstrumentedNaclFacade naclFacade;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(NaclFacade.class);
+        this.metrics = mock(CryptoMetrics.class);
+        this.naclFacade = new InstrumentedNaclFacade(delegate, metrics);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate, metrics);
+    }
+
+    @Test
+    public void computeSharedKey() {
+        when(delegate.computeSharedKey(PUBLIC_KEY, PRIVATE_KEY)).thenReturn(SHARED_KEY);
+
+        assertThat(naclFacade.computeSharedKey(PUBLIC_KEY, PRIVATE_KEY)).isSameAs(SHARED_KEY);
+
+        verify(delegate).computeSharedKey(PUBLIC_KEY, PRIVATE_KEY);
+        verify(metrics).record(eq(CryptoOperation.COMPUTE_SHARED_KEY), eq(true), eq(PayloadSize.NONE), anyLong());
+    }
+
+    @Test
+    public void sealAndOpen() {
+        final byte[] message = new byte[2000];
+        final byte[] cipherText = new byte[10];
+        when(delegate.seal(message, NONCE, PUBLIC_KEY, PRIVATE_KEY)).thenReturn(cipherText);
+        when(delegate.open(cipherText, NONCE, PUBLIC_KEY, PRIVATE_KEY)).thenReturn(message);
+
+        assertThat(naclFacade.seal(message, NONCE, PUBLIC_KEY, PRIVATE_KEY)).isSameAs(cipherText);
+        assertThat(naclFacade.open(cipherText, NONCE, PUBLIC_KEY, PRIVATE_KEY)).isSameAs(message);
+
+        verify(delegate).seal(message, NONCE, PUBLIC_KEY, PRIVATE_KEY);
+        verify(delegate).open(cipherText, NONCE, PUBLIC_KEY, PRIVATE_KEY);
+        verify(metrics).record(eq(CryptoOperation.SEAL), eq(true), eq(PayloadSize.UP_TO_64KB), anyLong());
+        verify(metrics).record(eq(CryptoOperation.OPEN), eq(true), eq(PayloadSize.UP_TO_1KB), anyLong());
+    }
+
+    @Test
+    public void sealAfterPrecomputation() {
+        final byte[] message = new byte[10];
+        final ByteBuffer buffer = ByteBuffer.allocate(NaclFacade.ZERO_BYTES + 10);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        naclFacade.sealAfterPrecomputation(message, NONCE, SHARED_KEY);
+        naclFacade.sealAfterPrecomputation(message, NONCE, MASTER_KEY);
+        naclFacade.sealAfterPrecomputation(buffer, NONCE, SHARED_KEY);
+        naclFacade.sealAfterPrecomputation(buffer, NONCE, MASTER_KEY);
+
+        verify(delegate).sealAfterPrecomputation(message, NONCE, SHARED_KEY);
+        verify(delegate).sealAfterPrecomputation(message, NONCE, MASTER_KEY);
+        verify(delegate).sealAfterPrecomputation(buffer, NONCE, SHARED_KEY);
+        verify(delegate).sealAfterPrecomputation(buffer, NONCE, MASTER_KEY);
+        verify(metrics, times(4))
+            .record(eq(CryptoOperation.SEAL_AFTER_PRECOMPUTATION), eq(true), eq(PayloadSize.UP_TO_1KB), anyLong());
+    }
+
+    @Test
+    public void openAfterPrecomputation() {
+        final byte[] cipherText = new byte[0];
+
+        naclFacade.openAfterPrecomputation(cipherText, NONCE, SHARED_KEY);
+        naclFacade.openAfterPrecomputation(cipherText, NONCE, MASTER_KEY);
+
+        verify(delegate).openAfterPrecomputation(cipherText, NONCE, SHARED_KEY);
+        verify(delegate).openAfterPrecomputation(cipherText, NONCE, MASTER_KEY);
+        verify(metrics, times(2))
+            .record(eq(CryptoOperation.OPEN_AFTER_PRECOMPUTATION), eq(true), eq(PayloadSize.NONE), anyLong());
+    }
+
+    @Test
+    public void failedOperationIsRecordedAndRethrown() {
+        final byte[] cipherText = new byte[10];
+        final NaclException exception = new NaclException("OUCH");
+        when(delegate.openAfterPrecomputation(cipherText, NONCE, SHARED_KEY)).thenThrow(exception);
+
+        final Throwable throwable = catchThrowable(() -> naclFacade.openAfterPrecomputation(cipherText, NONCE, SHARED_KEY));
+
+        assertThat(throwable).isSameAs(exception);
+
+        verify(delegate).openAfterPrecomputation(cipherText, NONCE, SHARED_KEY);
+        verify(metrics).record(eq(CryptoOperation.OPEN_AFTER_PRECOMPUTATION), eq(false), eq(PayloadSize.UP_TO_1KB), anyLong());
+    }
+
+    @Test
+    public void keyGenerationIsNotRecorded() {
+        final KeyPair keyPair = new KeyPair(PUBLIC_KEY, PRIVATE_KEY);
+        when(delegate.generateNewKeys()).thenReturn(keyPair);
+        when(delegate.randomNonce()).thenReturn(NONCE);
+        when(delegate.createSingleKey()).thenReturn(SHARED_KEY);
+        when(delegate.createMasterKey()).thenReturn(MASTER_KEY);
+
+        assertThat(naclFacade.generateNewKeys()).isSameAs(keyPair);
+        assertThat(naclFacade.randomNonce()).isSameAs(NONCE);
+        assertThat(naclFacade.createSingleKey()).isSameAs(SHARED_KEY);
+        assertThat(naclFacade.createMasterKey()).isSameAs(MASTER_KEY);
+
+        verify(delegate).generateNewKeys();
+        verify(delegate).randomNonce();
+        verify(delegate).createSingleKey();
+        verify(delegate).createMasterKey();
+    }
+
+}
@@ -6,6 +6,7 @@ import com.quorum.tessera.nacl.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Objects;
@@ -60,10 +61,12 @@ public class Jnacl implements NaclFacade {
     public byte[] seal(final byte[] message, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
 
         LOGGER.debug("Sealing message using public key {}", publicKey);
-        LOGGER.debug(
-            "Sealing message {} using nonce {}, public key {} and private key {}",
-            Arrays.toString(message), nonce, publicKey, privateKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(message), nonce, publicKey, privateKey
+            );
+        }
 
         try {
 
@@ -72,10 +75,12 @@ public class Jnacl implements NaclFacade {
             final byte[] cipherText = nacl.encrypt(message, nonce.getNonceBytes());
 
             LOGGER.debug("Created sealed payload for public key {}", publicKey);
-            LOGGER.debug(
-                "Created sealed payload {} using nonce {}, public key {} and private key {}",
-                Arrays.toString(cipherText), nonce, publicKey, privateKey
-            );
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(
+                    "Created sealed payload {} using nonce {}, public key {} and private key {}",
+                    Arrays.toString(cipherText), nonce, publicKey, privateKey
+                );
+            }
 
             return extract(cipherText, crypto_secretbox_BOXZEROBYTES);
 
@@ -88,10 +93,12 @@ public class Jnacl implements NaclFacade {
     @Override
     public byte[] open(final byte[] cipherText, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
         LOGGER.debug("Opening message using public key {}", publicKey);
-        LOGGER.debug(
-            "Opening message {} using nonce {}, public key {} and private key {}",
-            Arrays.toString(cipherText), nonce, publicKey, privateKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(cipherText), nonce, publicKey, privateKey
+            );
+        }
 
         try {
 
@@ -102,10 +109,12 @@ public class Jnacl implements NaclFacade {
             final byte[] plaintext = nacl.decrypt(paddedInput, nonce.getNonceBytes());
 
             LOGGER.debug("Created sealed payload for public key {}", publicKey);
-            LOGGER.debug(
-                "Created sealed payload {} using nonce {}, public key {} and private key {}",
-                Arrays.toString(cipherText), nonce, publicKey, privateKey
-            );
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(
+                    "Created sealed payload {} using nonce {}, public key {} and private key {}",
+                    Arrays.toString(cipherText), nonce, publicKey, privateKey
+                );
+            }
 
             return plaintext;
         } catch (final Exception ex) {
@@ -117,17 +126,58 @@ public class Jnacl implements NaclFacade {
     public byte[] sealAfterPrecomputation(final byte[] message, final Nonce nonce, final SharedKey sharedKey) {
 
         final byte[] paddedMessage = new byte[message.length + crypto_secretbox_ZEROBYTES];
-        final byte[] output = new byte[message.length + crypto_secretbox_ZEROBYTES];
 
         LOGGER.debug("Sealing message using public key {}", sharedKey);
-        LOGGER.debug(
-            "Sealing message {} using nonce {} and shared key {}",
-            Arrays.toString(message), nonce, sharedKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {} and shared key {}",
+                Arrays.toString(message), nonce, sharedKey
+            );
+        }
 
         System.arraycopy(message, 0, paddedMessage, crypto_secretbox_ZEROBYTES, message.length);
+
+        this.sealInPlace(paddedMessage, paddedMessage.length, nonce, sharedKey);
+
+        return extract(paddedMessage, crypto_secretbox_BOXZEROBYTES);
+    }
+
+    @Override
+    public ByteBuffer sealAfterPrecomputation(final ByteBuffer message, final Nonce nonce, final SharedKey sharedKey) {
+        final int paddedStart = message.position() - crypto_secretbox_ZEROBYTES;
+
+        /*
+         * jnacl reads and writes from the start of the array, so only a heap buffer
+         * whose headroom starts at the beginning of its backing array can be sealed in place
+         */
+        if (paddedStart < 0 || !message.hasArray() || message.arrayOffset() + paddedStart != 0) {
+            return NaclFacade.super.sealAfterPrecomputation(message, nonce, sharedKey);
+        }
+
+        final byte[] buffer = message.array();
+        Arrays.fill(buffer, 0, crypto_secretbox_ZEROBYTES, (byte) 0);
+
+        LOGGER.debug("Sealing buffer in place using shared key {}", sharedKey);
+
+        this.sealInPlace(buffer, crypto_secretbox_ZEROBYTES + message.remaining(), nonce, sharedKey);
+
+        final ByteBuffer output = message.duplicate();
+        output.position(paddedStart + crypto_secretbox_BOXZEROBYTES);
+        return output;
+    }
+
+    /**
+     * Seals the zero-padded message at the start of the given array,
+     * overwriting it with the sealed payload
+     *
+     * @param paddedMessage the array holding the padded message
+     * @param length the length of the padded message
+     * @param nonce the nonce to seal the message with
+     * @param sharedKey the key to seal the message with
+     */
+    private void sealInPlace(final byte[] paddedMessage, final int length, final Nonce nonce, final SharedKey sharedKey) {
         final int jnaclResult = secretBox.cryptoBoxAfternm(
-            output, paddedMessage, paddedMessage.length, nonce.getNonceBytes(), sharedKey.getKeyBytes()
+            paddedMessage, paddedMessage, length, nonce.getNonceBytes(), sharedKey.getKeyBytes()
         );
 
         if(jnaclResult == -1) {
@@ -137,21 +187,17 @@ public class Jnacl implements NaclFacade {
         }
 
         LOGGER.debug("Created sealed payload for shared key {}", sharedKey);
-        LOGGER.debug(
-            "Created sealed payload {} using nonce {} and shared key {}",
-            Arrays.toString(output), nonce, sharedKey
-        );
-
-        return extract(output, crypto_secretbox_BOXZEROBYTES);
     }
 
     @Override
     public byte[] openAfterPrecomputation(final byte[] cipherText, final Nonce nonce, final SharedKey sharedKey) {
         LOGGER.debug("Opening message using shared key {}", sharedKey);
-        LOGGER.debug(
-            "Opening message {} using nonce {} and shared key {}",
-            Arrays.toString(cipherText), nonce, sharedKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {} and shared key {}",
+                Arrays.toString(cipherText), nonce, sharedKey
+            );
+        }
 
         final byte[] paddedInput = pad(cipherText, crypto_secretbox_BOXZEROBYTES);
         final byte[] paddedOutput = new byte[paddedInput.length];
@@ -167,10 +213,12 @@ public class Jnacl implements NaclFacade {
         }
 
         LOGGER.debug("Opened sealed payload for shared key {}", sharedKey);
-        LOGGER.debug(
-            "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
-            Arrays.toString(cipherText), nonce, sharedKey, REDACTED, Arrays.toString(paddedOutput)
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
+                Arrays.toString(cipherText), nonce, sharedKey, REDACTED, Arrays.toString(paddedOutput)
+            );
+        }
 
         return extract(paddedOutput, crypto_secretbox_ZEROBYTES);
     }
@@ -2,10 +2,12 @@ package com.quorum.tessera.nacl.jnacl;
 
 import com.quorum.tessera.encryption.SharedKey;
 import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.nacl.NaclFacade;
 import com.quorum.tessera.nacl.Nonce;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -85,4 +87,44 @@ public class JnaclIT {
         assertThat(decryptedMessage).isEqualTo(payload);
     }
 
+    @Test
+    public void sealingBufferInPlaceMatchesSealingArray() {
+        final byte[] payloadBytes = "Hello world".getBytes(UTF_8);
+
+        final SharedKey sharedKey = jnacl.computeSharedKey(keypairOne.getPublicKey(), keypairTwo.getPrivateKey());
+        final Nonce nonce = jnacl.randomNonce();
+
+        final ByteBuffer buffer = ByteBuffer.allocate(NaclFacade.ZERO_BYTES + payloadBytes.length);
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(payloadBytes);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        final ByteBuffer sealed = jnacl.sealAfterPrecomputation(buffer, nonce, sharedKey);
+        final byte[] encryptedPayload = new byte[sealed.remaining()];
+        sealed.get(encryptedPayload);
+
+        assertThat(sealed.array()).isSameAs(buffer.array());
+        assertThat(encryptedPayload).isEqualTo(jnacl.sealAfterPrecomputation(payloadBytes, nonce, sharedKey));
+        assertThat(jnacl.openAfterPrecomputation(encryptedPayload, nonce, sharedKey)).isEqualTo(payloadBytes);
+    }
+
+    @Test
+    public void sealingDirectBufferMatchesSealingArray() {
+        final byte[] payloadBytes = "Hello world".getBytes(UTF_8);
+
+        final SharedKey sharedKey = jnacl.computeSharedKey(keypairOne.getPublicKey(), keypairTwo.getPrivateKey());
+        final Nonce nonce = jnacl.randomNonce();
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(NaclFacade.ZERO_BYTES + payloadBytes.length);
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(payloadBytes);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        final ByteBuffer sealed = jnacl.sealAfterPrecomputation(buffer, nonce, sharedKey);
+        final byte[] encryptedPayload = new byte[sealed.remaining()];
+        sealed.get(encryptedPayload);
+
+        assertThat(encryptedPayload).isEqualTo(jnacl.sealAfterPrecomputation(payloadBytes, nonce, sharedKey));
+    }
+
 }
@@ -7,9 +7,12 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 
 import static com.neilalexander.jnacl.crypto.curve25519xsalsa20poly1305.crypto_secretbox_BEFORENMBYTES;
+import static com.neilalexander.jnacl.crypto.curve25519xsalsa20poly1305.crypto_secretbox_BOXZEROBYTES;
+import static com.neilalexander.jnacl.crypto.curve25519xsalsa20poly1305.crypto_secretbox_ZEROBYTES;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.encryption.SharedKey;
@@ -115,6 +118,39 @@ public class JnaclTest {
         );
     }
 
+    @Test
+    public void sealBufferUsingSharedKeySealsInPlace() {
+        doReturn(0)
+            .when(this.secretBox)
+            .cryptoBoxAfternm(
+                any(byte[].class), any(byte[].class), anyInt(), any(byte[].class), eq(sharedKey.getKeyBytes())
+            );
+
+        final ByteBuffer buffer = ByteBuffer.allocate(crypto_secretbox_ZEROBYTES + message.length);
+        buffer.position(crypto_secretbox_ZEROBYTES);
+        buffer.put(message);
+        buffer.position(crypto_secretbox_ZEROBYTES);
+
+        final ByteBuffer result = this.jnacl.sealAfterPrecomputation(buffer, nonce, sharedKey);
+
+        assertThat(result.array()).isSameAs(buffer.array());
+        assertThat(result.position()).isEqualTo(crypto_secretbox_BOXZEROBYTES);
+        assertThat(result.remaining()).isEqualTo(message.length + crypto_secretbox_BOXZEROBYTES);
+
+        verify(this.secretBox).cryptoBoxAfternm(
+            same(buffer.array()), same(buffer.array()), eq(buffer.capacity()), any(byte[].class), any(byte[].class)
+        );
+    }
+
+    @Test
+    public void sealBufferWithoutHeadroomThrowsException() {
+        final ByteBuffer buffer = ByteBuffer.wrap(message);
+
+        final Throwable kaclEx = catchThrowable(() -> this.jnacl.sealAfterPrecomputation(buffer, nonce, sharedKey));
+
+        assertThat(kaclEx).isInstanceOf(NaclException.class);
+    }
+
     @Test
     public void openUsingSharedkeyThrowsExceptionOnFailure() {
         doReturn(-1)
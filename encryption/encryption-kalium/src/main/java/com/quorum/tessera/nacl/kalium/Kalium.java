@@ -11,6 +11,7 @@ import org.abstractj.kalium.NaCl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -39,7 +40,6 @@ public class Kalium implements NaclFacade {
     public SharedKey computeSharedKey(final PublicKey publicKey, final PrivateKey privateKey) {
         final byte[] output = new byte[CRYPTO_BOX_CURVE25519XSALSA20POLY1305_BEFORENMBYTES];
 
-        LOGGER.info("Computing the shared key for public key {} and private key {}", publicKey, REDACTED);
         LOGGER.debug("Computing the shared key for public key {} and private key {}", publicKey, privateKey);
         final int sodiumResult = this.sodium.crypto_box_curve25519xsalsa20poly1305_beforenm(
             output, publicKey.getKeyBytes(), privateKey.getKeyBytes()
@@ -53,7 +53,6 @@ public class Kalium implements NaclFacade {
 
         final SharedKey sharedKey = SharedKey.from(output);
 
-        LOGGER.info("Computed shared key {} for pub {} and priv {}", sharedKey, publicKey, REDACTED);
         LOGGER.debug("Computed shared key {} for pub {} and priv {}", sharedKey, publicKey, privateKey);
 
         return sharedKey;
@@ -68,11 +67,12 @@ public class Kalium implements NaclFacade {
         final byte[] paddedMessage = pad(message, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES);
         final byte[] output = new byte[paddedMessage.length];
 
-        LOGGER.info("Sealing message using public key {}", publicKey);
-        LOGGER.debug(
-            "Sealing message {} using nonce {}, public key {} and private key {}",
-            Arrays.toString(message), nonce, publicKey, privateKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(message), nonce, publicKey, privateKey
+            );
+        }
 
         final int sodiumResult = sodium.crypto_box_curve25519xsalsa20poly1305(
             output, paddedMessage, paddedMessage.length, nonce.getNonceBytes(), publicKey.getKeyBytes(), privateKey.getKeyBytes()
@@ -84,11 +84,12 @@ public class Kalium implements NaclFacade {
             throw new NaclException("Kalium could not seal the payload using the provided keys directly");
         }
 
-        LOGGER.info("Created sealed payload for public key {}", publicKey);
-        LOGGER.debug(
-            "Created sealed payload {} using nonce {}, public key {} and private key {}",
-            Arrays.toString(output), nonce, publicKey, privateKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Created sealed payload {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(output), nonce, publicKey, privateKey
+            );
+        }
 
         /*
          * NaCL C API states that first crypto_secretbox_BOXZEROBYTES must be zero
@@ -99,11 +100,12 @@ public class Kalium implements NaclFacade {
 
     @Override
     public byte[] open(final byte[] cipherText, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
-        LOGGER.info("Opening message using public key {}", publicKey);
-        LOGGER.debug(
-            "Opening message {} using nonce {}, public key {} and private key {}",
-            Arrays.toString(cipherText), nonce, publicKey, privateKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(cipherText), nonce, publicKey, privateKey
+            );
+        }
 
         /*
          * NaCL C API states that first crypto_secretbox_BOXZEROBYTES must be zero
@@ -122,11 +124,12 @@ public class Kalium implements NaclFacade {
             throw new NaclException("Kalium could not open the payload using the provided keys directly");
         }
 
-        LOGGER.info("Opened sealed payload for public key {}", publicKey);
-        LOGGER.debug(
-            "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
-            Arrays.toString(cipherText), nonce, publicKey, privateKey, Arrays.toString(paddedOutput)
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
+                Arrays.toString(cipherText), nonce, publicKey, privateKey, Arrays.toString(paddedOutput)
+            );
+        }
 
         return extract(paddedOutput, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES);
     }
@@ -138,15 +141,63 @@ public class Kalium implements NaclFacade {
          * which expects the first CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES bytes to be zero
          */
         final byte[] paddedMessage = pad(message, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES);
-        final byte[] output = new byte[paddedMessage.length];
 
-        LOGGER.info("Sealing message using public key {}", sharedKey);
-        LOGGER.debug(
-            "Sealing message {} using nonce {} and shared key {}", Arrays.toString(message), nonce, sharedKey
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {} and shared key {}", Arrays.toString(message), nonce, sharedKey
+            );
+        }
+
+        this.sealInPlace(paddedMessage, paddedMessage.length, nonce, sharedKey);
+
+        /*
+         * NaCL C API states that first crypto_secretbox_BOXZEROBYTES must be zero
+         * but these are not part of the message, and must be stripped out
+         */
+        return extract(paddedMessage, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_BOXZEROBYTES);
+    }
+
+    @Override
+    public ByteBuffer sealAfterPrecomputation(final ByteBuffer message, final Nonce nonce, final SharedKey sharedKey) {
+        final int paddedStart = message.position() - CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES;
+
+        /*
+         * The sodium binding passes whole arrays to the C API, so only a heap buffer
+         * whose headroom starts at the beginning of its backing array can be sealed in place
+         */
+        if (paddedStart < 0 || !message.hasArray() || message.arrayOffset() + paddedStart != 0) {
+            return NaclFacade.super.sealAfterPrecomputation(message, nonce, sharedKey);
+        }
+
+        final byte[] buffer = message.array();
+        Arrays.fill(buffer, 0, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES, (byte) 0);
+
+        LOGGER.debug("Sealing buffer in place using shared key {}", sharedKey);
+
+        this.sealInPlace(
+            buffer, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES + message.remaining(), nonce, sharedKey
         );
 
+        final ByteBuffer output = message.duplicate();
+        output.position(paddedStart + CRYPTO_BOX_CURVE25519XSALSA20POLY1305_BOXZEROBYTES);
+        return output;
+    }
+
+    /**
+     * Seals the zero-padded message at the start of the given array,
+     * overwriting it with the sealed payload
+     * <p>
+     * The binding copies the message in and the output back out separately,
+     * so the same array can be used for both
+     *
+     * @param paddedMessage the array holding the padded message
+     * @param length        the length of the padded message
+     * @param nonce         the nonce to seal the message with
+     * @param sharedKey     the key to seal the message with
+     */
+    private void sealInPlace(final byte[] paddedMessage, final int length, final Nonce nonce, final SharedKey sharedKey) {
         final int sodiumResult = this.sodium.crypto_box_curve25519xsalsa20poly1305_afternm(
-            output, paddedMessage, paddedMessage.length, nonce.getNonceBytes(), sharedKey.getKeyBytes()
+            paddedMessage, paddedMessage, length, nonce.getNonceBytes(), sharedKey.getKeyBytes()
         );
 
         if (sodiumResult == -1) {
@@ -154,25 +205,15 @@ public class Kalium implements NaclFacade {
             LOGGER.debug("Could not create sealed payload using shared key {}", sharedKey);
             throw new NaclException("Kalium could not seal the payload using the shared key");
         }
-
-        LOGGER.info("Created sealed payload for shared key {}", sharedKey);
-        LOGGER.debug(
-            "Created sealed payload {} using nonce {} and shared key {}", Arrays.toString(output), nonce, sharedKey
-        );
-
-        /*
-         * NaCL C API states that first crypto_secretbox_BOXZEROBYTES must be zero
-         * but these are not part of the message, and must be stripped out
-         */
-        return extract(output, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_BOXZEROBYTES);
     }
 
     @Override
     public byte[] openAfterPrecomputation(final byte[] encryptedPayload, final Nonce nonce, final SharedKey sharedKey) {
-        LOGGER.info("Opening message using shared key {}", sharedKey);
-        LOGGER.debug(
-            "Opening message {} using nonce {} and shared key {}", Arrays.toString(encryptedPayload), nonce, sharedKey
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {} and shared key {}", Arrays.toString(encryptedPayload), nonce, sharedKey
+            );
+        }
 
         /*
          * NaCL C API states that first crypto_secretbox_BOXZEROBYTES must be zero
@@ -191,11 +232,12 @@ public class Kalium implements NaclFacade {
             throw new NaclException("Kalium could not open the payload using the shared key");
         }
 
-        LOGGER.info("Opened sealed payload for shared key {}", sharedKey);
-        LOGGER.debug(
-            "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
-            Arrays.toString(encryptedPayload), nonce, sharedKey, REDACTED, Arrays.toString(paddedOutput)
-        );
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opened payload {} using nonce {}, public key {} and private key {} to get result {}",
+                Arrays.toString(encryptedPayload), nonce, sharedKey, REDACTED, Arrays.toString(paddedOutput)
+            );
+        }
 
         return extract(paddedOutput, CRYPTO_BOX_CURVE25519XSALSA20POLY1305_ZEROBYTES);
     }
@@ -267,15 +309,12 @@ public class Kalium implements NaclFacade {
 
     @Override
     public SharedKey createSingleKey() {
-        LOGGER.info("Generating random key");
-
         final byte[] keyBytes = new byte[CRYPTO_BOX_CURVE25519XSALSA20POLY1305_PUBLICKEYBYTES];
 
         this.sodium.randombytes(keyBytes, keyBytes.length);
 
         final SharedKey key = SharedKey.from(keyBytes);
 
-        LOGGER.info("Random key generated");
         LOGGER.debug("Generated key with value {}", key);
 
         return key;
@@ -0,0 +1,416 @@
+package com.quorum.tessera.nacl.purejava;
+
+/**
+ * Curve25519 Diffie-Hellman scalar multiplication, as used by NaCl's
+ * crypto_box
+ * <p>
+ * Field elements are held as ten signed limbs of alternating 26 and 25 bits,
+ * so that every product fits in a long without carrying. All temporaries are
+ * owned by the instance, which makes a multiplication allocation-free but
+ * means an instance must not be shared between threads.
+ */
+final class Curve25519 {
+
+    static final int KEY_BYTES = 32;
+
+    private static final byte[] BASE_POINT = new byte[KEY_BYTES];
+
+    static {
+        BASE_POINT[0] = 9;
+    }
+
+    private final byte[] scalar = new byte[KEY_BYTES];
+
+    private final int[] x1 = new int[10];
+
+    private final int[] x2 = new int[10];
+
+    private final int[] z2 = new int[10];
+
+    private final int[] x3 = new int[10];
+
+    private final int[] z3 = new int[10];
+
+    private final int[] tmp0 = new int[10];
+
+    private final int[] tmp1 = new int[10];
+
+    private final int[] tmp2 = new int[10];
+
+    private final int[] tmp3 = new int[10];
+
+    /**
+     * Computes the public key that corresponds to the given private key
+     *
+     * @param publicKey the output array for the public key
+     * @param privateKey the private key
+     */
+    void scalarMultBase(final byte[] publicKey, final byte[] privateKey) {
+        this.scalarMult(publicKey, privateKey, BASE_POINT);
+    }
+
+    /**
+     * Multiplies the point with the given scalar, using a constant-time
+     * Montgomery ladder
+     *
+     * @param output the output array for the resulting point
+     * @param n the scalar, which is clamped before use
+     * @param point the point to multiply
+     */
+    void scalarMult(final byte[] output, final byte[] n, final byte[] point) {
+        System.arraycopy(n, 0, scalar, 0, KEY_BYTES);
+        scalar[0] &= 248;
+        scalar[31] &= 127;
+        scalar[31] |= 64;
+
+        fromBytes(x1, point);
+        one(x2);
+        zero(z2);
+        copy(x3, x1);
+        one(z3);
+
+        int swap = 0;
+        for (int pos = 254; pos >= 0; --pos) {
+            final int b = (scalar[pos >>> 3] >>> (pos & 7)) & 1;
+            swap ^= b;
+            conditionalSwap(x2, x3, swap);
+            conditionalSwap(z2, z3, swap);
+            swap = b;
+
+            sub(tmp0, x3, z3);
+            sub(tmp1, x2, z2);
+            add(x2, x2, z2);
+            add(z2, x3, z3);
+            mul(z3, tmp0, x2);
+            mul(z2, z2, tmp1);
+            square(tmp0, tmp1);
+            square(tmp1, x2);
+            add(x3, z3, z2);
+            sub(z2, z3, z2);
+            mul(x2, tmp1, tmp0);
+            sub(tmp1, tmp1, tmp0);
+            square(z2, z2);
+            mul121666(z3, tmp1);
+            square(x3, x3);
+            add(tmp0, tmp0, z3);
+            mul(z3, x1, z2);
+            mul(z2, tmp1, tmp0);
+        }
+        conditionalSwap(x2, x3, swap);
+        conditionalSwap(z2, z3, swap);
+
+        invert(z2, z2);
+        mul(x2, x2, z2);
+        toBytes(output, x2);
+    }
+
+    /**
+     * Raises z to the power p - 2, which is its inverse in the field
+     */
+    private void invert(final int[] out, final int[] z) {
+        square(tmp0, z);
+        square(tmp1, tmp0);
+        square(tmp1, tmp1);
+        mul(tmp1, z, tmp1);
+        mul(tmp0, tmp0, tmp1);
+        square(tmp2, tmp0);
+        mul(tmp1, tmp1, tmp2);
+        square(tmp2, tmp1);
+        for (int i = 1; i < 5; ++i) {
+            square(tmp2, tmp2);
+        }
+        mul(tmp1, tmp2, tmp1);
+        square(tmp2, tmp1);
+        for (int i = 1; i < 10; ++i) {
+            square(tmp2, tmp2);
+        }
+        mul(tmp2, tmp2, tmp1);
+        square(tmp3, tmp2);
+        for (int i = 1; i < 20; ++i) {
+            square(tmp3, tmp3);
+        }
+        mul(tmp2, tmp3, tmp2);
+        square(tmp2, tmp2);
+        for (int i = 1; i < 10; ++i) {
+            square(tmp2, tmp2);
+        }
+        mul(tmp1, tmp2, tmp1);
+        square(tmp2, tmp1);
+        for (int i = 1; i < 50; ++i) {
+            square(tmp2, tmp2);
+        }
+        mul(tmp2, tmp2, tmp1);
+        square(tmp3, tmp2);
+        for (int i = 1; i < 100; ++i) {
+            square(tmp3, tmp3);
+        }
+        mul(tmp2, tmp3, tmp2);
+        square(tmp2, tmp2);
+        for (int i = 1; i < 50; ++i) {
+            square(tmp2, tmp2);
+        }
+        mul(tmp1, tmp2, tmp1);
+        square(tmp1, tmp1);
+        for (int i = 1; i < 5; ++i) {
+            square(tmp1, tmp1);
+        }
+        mul(out, tmp1, tmp0);
+    }
+
+    private static void zero(final int[] h) {
+        for (int i = 0; i < 10; i++) {
+            h[i] = 0;
+        }
+    }
+
+    private static void one(final int[] h) {
+        zero(h);
+        h[0] = 1;
+    }
+
+    private static void copy(final int[] h, final int[] f) {
+        System.arraycopy(f, 0, h, 0, 10);
+    }
+
+    private static void add(final int[] h, final int[] f, final int[] g) {
+        for (int i = 0; i < 10; i++) {
+            h[i] = f[i] + g[i];
+        }
+    }
+
+    private static void sub(final int[] h, final int[] f, final int[] g) {
+        for (int i = 0; i < 10; i++) {
+            h[i] = f[i] - g[i];
+        }
+    }
+
+    /**
+     * Swaps f and g if b is 1 and leaves them untouched if b is 0, without
+     * branching on b
+     */
+    private static void conditionalSwap(final int[] f, final int[] g, final int b) {
+        final int mask = -b;
+        for (int i = 0; i < 10; i++) {
+            final int x = mask & (f[i] ^ g[i]);
+            f[i] ^= x;
+            g[i] ^= x;
+        }
+    }
+
+    /**
+     * h = f * g, where h may be the same array as f or g
+     */
+    private static void mul(final int[] h, final int[] f, final int[] g) {
+        final long f0 = f[0]; final long f1 = f[1]; final long f2 = f[2]; final long f3 = f[3]; final long f4 = f[4];
+        final long f5 = f[5]; final long f6 = f[6]; final long f7 = f[7]; final long f8 = f[8]; final long f9 = f[9];
+        final long g0 = g[0]; final long g1 = g[1]; final long g2 = g[2]; final long g3 = g[3]; final long g4 = g[4];
+        final long g5 = g[5]; final long g6 = g[6]; final long g7 = g[7]; final long g8 = g[8]; final long g9 = g[9];
+        final long g1x19 = 19 * g1; final long g2x19 = 19 * g2; final long g3x19 = 19 * g3; final long g4x19 = 19 * g4; final long g5x19 = 19 * g5;
+        final long g6x19 = 19 * g6; final long g7x19 = 19 * g7; final long g8x19 = 19 * g8; final long g9x19 = 19 * g9;
+        final long f1x2 = 2 * f1; final long f3x2 = 2 * f3; final long f5x2 = 2 * f5; final long f7x2 = 2 * f7; final long f9x2 = 2 * f9;
+
+        final long[] t = new long[10];
+        t[0] = f0 * g0 + f1x2 * g9x19 + f2 * g8x19 + f3x2 * g7x19 + f4 * g6x19
+            + f5x2 * g5x19 + f6 * g4x19 + f7x2 * g3x19 + f8 * g2x19 + f9x2 * g1x19;
+        t[1] = f0 * g1 + f1 * g0 + f2 * g9x19 + f3 * g8x19 + f4 * g7x19
+            + f5 * g6x19 + f6 * g5x19 + f7 * g4x19 + f8 * g3x19 + f9 * g2x19;
+        t[2] = f0 * g2 + f1x2 * g1 + f2 * g0 + f3x2 * g9x19 + f4 * g8x19
+            + f5x2 * g7x19 + f6 * g6x19 + f7x2 * g5x19 + f8 * g4x19 + f9x2 * g3x19;
+        t[3] = f0 * g3 + f1 * g2 + f2 * g1 + f3 * g0 + f4 * g9x19
+            + f5 * g8x19 + f6 * g7x19 + f7 * g6x19 + f8 * g5x19 + f9 * g4x19;
+        t[4] = f0 * g4 + f1x2 * g3 + f2 * g2 + f3x2 * g1 + f4 * g0
+            + f5x2 * g9x19 + f6 * g8x19 + f7x2 * g7x19 + f8 * g6x19 + f9x2 * g5x19;
+        t[5] = f0 * g5 + f1 * g4 + f2 * g3 + f3 * g2 + f4 * g1
+            + f5 * g0 + f6 * g9x19 + f7 * g8x19 + f8 * g7x19 + f9 * g6x19;
+        t[6] = f0 * g6 + f1x2 * g5 + f2 * g4 + f3x2 * g3 + f4 * g2
+            + f5x2 * g1 + f6 * g0 + f7x2 * g9x19 + f8 * g8x19 + f9x2 * g7x19;
+        t[7] = f0 * g7 + f1 * g6 + f2 * g5 + f3 * g4 + f4 * g3
+            + f5 * g2 + f6 * g1 + f7 * g0 + f8 * g9x19 + f9 * g8x19;
+        t[8] = f0 * g8 + f1x2 * g7 + f2 * g6 + f3x2 * g5 + f4 * g4
+            + f5x2 * g3 + f6 * g2 + f7x2 * g1 + f8 * g0 + f9x2 * g9x19;
+        t[9] = f0 * g9 + f1 * g8 + f2 * g7 + f3 * g6 + f4 * g5
+            + f5 * g4 + f6 * g3 + f7 * g2 + f8 * g1 + f9 * g0;
+
+        reduce(h, t);
+    }
+
+    /**
+     * h = f * f, where h may be the same array as f
+     */
+    private static void square(final int[] h, final int[] f) {
+        final long f0 = f[0]; final long f1 = f[1]; final long f2 = f[2]; final long f3 = f[3]; final long f4 = f[4];
+        final long f5 = f[5]; final long f6 = f[6]; final long f7 = f[7]; final long f8 = f[8]; final long f9 = f[9];
+        final long f0x2 = 2 * f0; final long f1x2 = 2 * f1; final long f2x2 = 2 * f2; final long f3x2 = 2 * f3; final long f4x2 = 2 * f4;
+        final long f5x2 = 2 * f5; final long f6x2 = 2 * f6; final long f7x2 = 2 * f7; final long f8x2 = 2 * f8;
+        final long f6x19 = 19 * f6; final long f7x19 = 19 * f7; final long f8x19 = 19 * f8; final long f9x19 = 19 * f9;
+        final long f5x38 = 38 * f5; final long f7x38 = 38 * f7; final long f9x38 = 38 * f9;
+
+        final long[] t = new long[10];
+        t[0] = f0 * f0 + f1x2 * f9x38 + f2x2 * f8x19 + f3x2 * f7x38 + f4x2 * f6x19 + f5 * f5x38;
+        t[1] = f0x2 * f1 + f2x2 * f9x19 + f3x2 * f8x19 + f4x2 * f7x19 + f5x2 * f6x19;
+        t[2] = f0x2 * f2 + f1x2 * f1 + f3x2 * f9x38 + f4x2 * f8x19 + f5x2 * f7x38 + f6 * f6x19;
+        t[3] = f0x2 * f3 + f1x2 * f2 + f4x2 * f9x19 + f5x2 * f8x19 + f6x2 * f7x19;
+        t[4] = f0x2 * f4 + f1x2 * f3x2 + f2 * f2 + f5x2 * f9x38 + f6x2 * f8x19 + f7 * f7x38;
+        t[5] = f0x2 * f5 + f1x2 * f4 + f2x2 * f3 + f6x2 * f9x19 + f7x2 * f8x19;
+        t[6] = f0x2 * f6 + f1x2 * f5x2 + f2x2 * f4 + f3x2 * f3 + f7x2 * f9x38 + f8 * f8x19;
+        t[7] = f0x2 * f7 + f1x2 * f6 + f2x2 * f5 + f3x2 * f4 + f8x2 * f9x19;
+        t[8] = f0x2 * f8 + f1x2 * f7x2 + f2x2 * f6 + f3x2 * f5x2 + f4 * f4 + f9 * f9x38;
+        t[9] = f0x2 * f9 + f1x2 * f8 + f2x2 * f7 + f3x2 * f6 + f4x2 * f5;
+
+        reduce(h, t);
+    }
+
+    /**
+     * h = f * 121666, the curve constant (A + 2) / 4
+     */
+    private static void mul121666(final int[] h, final int[] f) {
+        final long[] t = new long[10];
+        for (int i = 0; i < t.length; i++) {
+            t[i] = f[i] * 121666L;
+        }
+
+        reduce(h, t);
+    }
+
+    /**
+     * Carries the unreduced limbs back into their 26 and 25 bit ranges
+     */
+    private static void reduce(final int[] h, final long[] t) {
+        long carry;
+        carry = (t[0] + (1L << 25)) >> 26;
+        t[1] += carry;
+        t[0] -= carry << 26;
+        carry = (t[4] + (1L << 25)) >> 26;
+        t[5] += carry;
+        t[4] -= carry << 26;
+        carry = (t[1] + (1L << 24)) >> 25;
+        t[2] += carry;
+        t[1] -= carry << 25;
+        carry = (t[5] + (1L << 24)) >> 25;
+        t[6] += carry;
+        t[5] -= carry << 25;
+        carry = (t[2] + (1L << 25)) >> 26;
+        t[3] += carry;
+        t[2] -= carry << 26;
+        carry = (t[6] + (1L << 25)) >> 26;
+        t[7] += carry;
+        t[6] -= carry << 26;
+        carry = (t[3] + (1L << 24)) >> 25;
+        t[4] += carry;
+        t[3] -= carry << 25;
+        carry = (t[7] + (1L << 24)) >> 25;
+        t[8] += carry;
+        t[7] -= carry << 25;
+        carry = (t[4] + (1L << 25)) >> 26;
+        t[5] += carry;
+        t[4] -= carry << 26;
+        carry = (t[8] + (1L << 25)) >> 26;
+        t[9] += carry;
+        t[8] -= carry << 26;
+        carry = (t[9] + (1L << 24)) >> 25;
+        t[0] += carry * 19;
+        t[9] -= carry << 25;
+        carry = (t[0] + (1L << 25)) >> 26;
+        t[1] += carry;
+        t[0] -= carry << 26;
+
+        for (int i = 0; i < t.length; i++) {
+            h[i] = (int) t[i];
+        }
+    }
+
+    private static long load3(final byte[] in, final int offset) {
+        final long b0 = in[offset] & 0xFFL;
+        final long b1 = (in[offset + 1] & 0xFFL) << 8;
+        final long b2 = (in[offset + 2] & 0xFFL) << 16;
+        return b0 | b1 | b2;
+    }
+
+    private static long load4(final byte[] in, final int offset) {
+        return load3(in, offset) | (in[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static void fromBytes(final int[] h, final byte[] s) {
+        final long[] t = new long[10];
+        t[0] = load4(s, 0);
+        t[1] = load3(s, 4) << 6;
+        t[2] = load3(s, 7) << 5;
+        t[3] = load3(s, 10) << 3;
+        t[4] = load3(s, 13) << 2;
+        t[5] = load4(s, 16);
+        t[6] = load3(s, 20) << 7;
+        t[7] = load3(s, 23) << 5;
+        t[8] = load3(s, 26) << 4;
+        t[9] = (load3(s, 29) & 0x7FFFFF) << 2;
+
+        reduce(h, t);
+    }
+
+    /**
+     * Writes the fully reduced value of h, modulo 2^255 - 19, as 32 little
+     * endian bytes
+     */
+    private static void toBytes(final byte[] s, final int[] f) {
+        final int[] h = f.clone();
+
+        int q = (19 * h[9] + (1 << 24)) >> 25;
+        q = (h[0] + q) >> 26;
+        q = (h[1] + q) >> 25;
+        q = (h[2] + q) >> 26;
+        q = (h[3] + q) >> 25;
+        q = (h[4] + q) >> 26;
+        q = (h[5] + q) >> 25;
+        q = (h[6] + q) >> 26;
+        q = (h[7] + q) >> 25;
+        q = (h[8] + q) >> 26;
+        q = (h[9] + q) >> 25;
+
+        h[0] += 19 * q;
+
+        int carry;
+        carry = h[0] >> 26; h[1] += carry; h[0] -= carry << 26;
+        carry = h[1] >> 25; h[2] += carry; h[1] -= carry << 25;
+        carry = h[2] >> 26; h[3] += carry; h[2] -= carry << 26;
+        carry = h[3] >> 25; h[4] += carry; h[3] -= carry << 25;
+        carry = h[4] >> 26; h[5] += carry; h[4] -= carry << 26;
+        carry = h[5] >> 25; h[6] += carry; h[5] -= carry << 25;
+        carry = h[6] >> 26; h[7] += carry; h[6] -= carry << 26;
+        carry = h[7] >> 25; h[8] += carry; h[7] -= carry << 25;
+        carry = h[8] >> 26; h[9] += carry; h[8] -= carry << 26;
+        carry = h[9] >> 25; h[9] -= carry << 25;
+
+        s[0] = (byte) h[0];
+        s[1] = (byte) (h[0] >> 8);
+        s[2] = (byte) (h[0] >> 16);
+        s[3] = (byte) ((h[0] >> 24) | (h[1] << 2));
+        s[4] = (byte) (h[1] >> 6);
+        s[5] = (byte) (h[1] >> 14);
+        s[6] = (byte) ((h[1] >> 22) | (h[2] << 3));
+        s[7] = (byte) (h[2] >> 5);
+        s[8] = (byte) (h[2] >> 13);
+        s[9] = (byte) ((h[2] >> 21) | (h[3] << 5));
+        s[10] = (byte) (h[3] >> 3);
+        s[11] = (byte) (h[3] >> 11);
+        s[12] = (byte) ((h[3] >> 19) | (h[4] << 6));
+        s[13] = (byte) (h[4] >> 2);
+        s[14] = (byte) (h[4] >> 10);
+        s[15] = (byte) (h[4] >> 18);
+        s[16] = (byte) h[5];
+        s[17] = (byte) (h[5] >> 8);
+        s[18] = (byte) (h[5] >> 16);
+        s[19] = (byte) ((h[5] >> 24) | (h[6] << 1));
+        s[20] = (byte) (h[6] >> 7);
+        s[21] = (byte) (h[6] >> 15);
+        s[22] = (byte) ((h[6] >> 23) | (h[7] << 3));
+        s[23] = (byte) (h[7] >> 5);
+        s[24] = (byte) (h[7] >> 13);
+        s[25] = (byte) ((h[7] >> 21) | (h[8] << 4));
+        s[26] = (byte) (h[8] >> 4);
+        s[27] = (byte) (h[8] >> 12);
+        s[28] = (byte) ((h[8] >> 20) | (h[9] << 6));
+        s[29] = (byte) (h[9] >> 2);
+        s[30] = (byte) (h[9] >> 10);
+        s[31] = (byte) (h[9] >> 18);
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.quorum.tessera.nacl.purejava;
+
+/**
+ * The Poly1305 one-time authenticator
+ * <p>
+ * The accumulator is held as five 26 bit limbs so that products fit in a
+ * long. An instance is reset by {@link #init(byte[], int)} and keeps no
+ * per-message allocations, but must not be shared between threads.
+ */
+final class Poly1305 {
+
+    static final int KEY_BYTES = 32;
+
+    static final int TAG_BYTES = 16;
+
+    private static final int BLOCK_BYTES = 16;
+
+    private static final long MASK = 0x3FFFFFF;
+
+    private final byte[] finalBlock = new byte[BLOCK_BYTES];
+
+    private long r0, r1, r2, r3, r4;
+
+    private long s1, s2, s3, s4;
+
+    private long h0, h1, h2, h3, h4;
+
+    private long pad0, pad1, pad2, pad3;
+
+    /**
+     * Resets the authenticator to use the given one-time key
+     *
+     * @param key the array holding the 32 byte key
+     * @param offset the offset of the key
+     */
+    void init(final byte[] key, final int offset) {
+        r0 = load(key, offset) & 0x3FFFFFF;
+        r1 = (load(key, offset + 3) >>> 2) & 0x3FFFF03;
+        r2 = (load(key, offset + 6) >>> 4) & 0x3FFC0FF;
+        r3 = (load(key, offset + 9) >>> 6) & 0x3F03FFF;
+        r4 = (load(key, offset + 12) >>> 8) & 0x00FFFFF;
+
+        s1 = r1 * 5;
+        s2 = r2 * 5;
+        s3 = r3 * 5;
+        s4 = r4 * 5;
+
+        h0 = h1 = h2 = h3 = h4 = 0;
+
+        pad0 = load(key, offset + 16);
+        pad1 = load(key, offset + 20);
+        pad2 = load(key, offset + 24);
+        pad3 = load(key, offset + 28);
+    }
+
+    /**
+     * Authenticates a whole message and writes the tag
+     *
+     * @param tag the array to write the 16 byte tag to
+     * @param tagOffset the offset to write the tag at
+     * @param message the array holding the message
+     * @param offset the offset of the message
+     * @param length the length of the message
+     */
+    void authenticate(final byte[] tag, final int tagOffset, final byte[] message, final int offset, final int length) {
+        final int fullBlocks = length & ~(BLOCK_BYTES - 1);
+
+        blocks(message, offset, fullBlocks, 1 << 24);
+
+        final int leftover = length - fullBlocks;
+        if (leftover > 0) {
+            System.arraycopy(message, offset + fullBlocks, finalBlock, 0, leftover);
+            finalBlock[leftover] = 1;
+            for (int i = leftover + 1; i < BLOCK_BYTES; i++) {
+                finalBlock[i] = 0;
+            }
+            blocks(finalBlock, 0, BLOCK_BYTES, 0);
+        }
+
+        finish(tag, tagOffset);
+    }
+
+    private void blocks(final byte[] m, final int offset, final int length, final long hibit) {
+        long h0 = this.h0, h1 = this.h1, h2 = this.h2, h3 = this.h3, h4 = this.h4;
+        final long r0 = this.r0, r1 = this.r1, r2 = this.r2, r3 = this.r3, r4 = this.r4;
+        final long s1 = this.s1, s2 = this.s2, s3 = this.s3, s4 = this.s4;
+
+        for (int pos = offset; pos < offset + length; pos += BLOCK_BYTES) {
+            h0 += load(m, pos) & MASK;
+            h1 += (load(m, pos + 3) >>> 2) & MASK;
+            h2 += (load(m, pos + 6) >>> 4) & MASK;
+            h3 += (load(m, pos + 9) >>> 6) & MASK;
+            h4 += (load(m, pos + 12) >>> 8) | hibit;
+
+            final long d0 = h0 * r0 + h1 * s4 + h2 * s3 + h3 * s2 + h4 * s1;
+            final long d1 = h0 * r1 + h1 * r0 + h2 * s4 + h3 * s3 + h4 * s2;
+            final long d2 = h0 * r2 + h1 * r1 + h2 * r0 + h3 * s4 + h4 * s3;
+            final long d3 = h0 * r3 + h1 * r2 + h2 * r1 + h3 * r0 + h4 * s4;
+            final long d4 = h0 * r4 + h1 * r3 + h2 * r2 + h3 * r1 + h4 * r0;
+
+            long c = d0 >>> 26;
+            h0 = d0 & MASK;
+            c += d1;
+            h1 = c & MASK;
+            c >>>= 26;
+            c += d2;
+            h2 = c & MASK;
+            c >>>= 26;
+            c += d3;
+            h3 = c & MASK;
+            c >>>= 26;
+            c += d4;
+            h4 = c & MASK;
+            c >>>= 26;
+            h0 += c * 5;
+            c = h0 >>> 26;
+            h0 &= MASK;
+            h1 += c;
+        }
+
+        this.h0 = h0;
+        this.h1 = h1;
+        this.h2 = h2;
+        this.h3 = h3;
+        this.h4 = h4;
+    }
+
+    private void finish(final byte[] tag, final int offset) {
+        long c = h1 >>> 26;
+        h1 &= MASK;
+        h2 += c;
+        c = h2 >>> 26;
+        h2 &= MASK;
+        h3 += c;
+        c = h3 >>> 26;
+        h3 &= MASK;
+        h4 += c;
+        c = h4 >>> 26;
+        h4 &= MASK;
+        h0 += c * 5;
+        c = h0 >>> 26;
+        h0 &= MASK;
+        h1 += c;
+
+        // compute h - p and select it if it did not underflow, without branching
+        long g0 = h0 + 5;
+        c = g0 >>> 26;
+        g0 &= MASK;
+        long g1 = h1 + c;
+        c = g1 >>> 26;
+        g1 &= MASK;
+        long g2 = h2 + c;
+        c = g2 >>> 26;
+        g2 &= MASK;
+        long g3 = h3 + c;
+        c = g3 >>> 26;
+        g3 &= MASK;
+        final long g4 = h4 + c - (1L << 26);
+
+        final long select = (g4 >>> 63) - 1;
+        h0 = (h0 & ~select) | (g0 & select);
+        h1 = (h1 & ~select) | (g1 & select);
+        h2 = (h2 & ~select) | (g2 & select);
+        h3 = (h3 & ~select) | (g3 & select);
+        h4 = (h4 & ~select) | (g4 & select);
+
+        final long w0 = (h0 | (h1 << 26)) & 0xFFFFFFFFL;
+        final long w1 = ((h1 >>> 6) | (h2 << 20)) & 0xFFFFFFFFL;
+        final long w2 = ((h2 >>> 12) | (h3 << 14)) & 0xFFFFFFFFL;
+        final long w3 = ((h3 >>> 18) | (h4 << 8)) & 0xFFFFFFFFL;
+
+        long f = w0 + pad0;
+        Salsa20.store(tag, offset, (int) f);
+        f = w1 + pad1 + (f >>> 32);
+        Salsa20.store(tag, offset + 4, (int) f);
+        f = w2 + pad2 + (f >>> 32);
+        Salsa20.store(tag, offset + 8, (int) f);
+        f = w3 + pad3 + (f >>> 32);
+        Salsa20.store(tag, offset + 12, (int) f);
+    }
+
+    private static long load(final byte[] in, final int offset) {
+        return Salsa20.load(in, offset) & 0xFFFFFFFFL;
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.quorum.tessera.nacl.purejava;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.nacl.NaclException;
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.Nonce;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A pure Java implementation of NaCl's curve25519xsalsa20poly1305 box, which
+ * needs no native library
+ * <p>
+ * Each thread keeps its own cipher and curve state, so sealing and opening
+ * allocate nothing beyond their result.
+ */
+public class PureJavaNacl implements NaclFacade {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PureJavaNacl.class);
+
+    private static final String REDACTED = "REDACTED";
+
+    private static final ThreadLocal<XSalsa20Poly1305> SECRET_BOX = ThreadLocal.withInitial(XSalsa20Poly1305::new);
+
+    private static final ThreadLocal<Curve25519> CURVE = ThreadLocal.withInitial(Curve25519::new);
+
+    private final SecureRandom secureRandom;
+
+    public PureJavaNacl(final SecureRandom secureRandom) {
+        this.secureRandom = Objects.requireNonNull(secureRandom);
+    }
+
+    @Override
+    public SharedKey computeSharedKey(final PublicKey publicKey, final PrivateKey privateKey) {
+        LOGGER.debug("Computing the shared key for public key {} and private key {}", publicKey, privateKey);
+
+        final byte[] precomputed = new byte[XSalsa20Poly1305.KEY_BYTES];
+
+        CURVE.get().scalarMult(precomputed, privateKey.getKeyBytes(), publicKey.getKeyBytes());
+        XSalsa20Poly1305.deriveBoxKey(precomputed);
+
+        final SharedKey sharedKey = SharedKey.from(precomputed);
+
+        LOGGER.debug("Computed shared key {} for pub {} and priv {}", sharedKey, publicKey, privateKey);
+
+        return sharedKey;
+    }
+
+    @Override
+    public byte[] seal(final byte[] message, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(message), nonce, publicKey, privateKey
+            );
+        }
+
+        final SharedKey sharedKey = this.computeSharedKey(publicKey, privateKey);
+
+        return this.sealAfterPrecomputation(message, nonce, sharedKey);
+    }
+
+    @Override
+    public byte[] open(final byte[] cipherText, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {}, public key {} and private key {}",
+                Arrays.toString(cipherText), nonce, publicKey, privateKey
+            );
+        }
+
+        final SharedKey sharedKey = this.computeSharedKey(publicKey, privateKey);
+
+        try {
+            return this.openAfterPrecomputation(cipherText, nonce, sharedKey);
+        } catch (final NaclException ex) {
+            LOGGER.warn("Could not open sealed payload using public key {} and private key {}", publicKey, REDACTED);
+            throw new NaclException("Could not open the payload using the provided keys directly");
+        }
+    }
+
+    @Override
+    public byte[] sealAfterPrecomputation(final byte[] message, final Nonce nonce, final SharedKey sharedKey) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Sealing message {} using nonce {} and shared key {}", Arrays.toString(message), nonce, sharedKey
+            );
+        }
+
+        final byte[] box = new byte[XSalsa20Poly1305.TAG_BYTES + message.length];
+
+        final XSalsa20Poly1305 secretBox = SECRET_BOX.get();
+        secretBox.init(nonce.getNonceBytes(), sharedKey.getKeyBytes());
+        secretBox.seal(box, 0, message, 0, message.length);
+
+        return box;
+    }
+
+    @Override
+    public ByteBuffer sealAfterPrecomputation(final ByteBuffer message, final Nonce nonce, final SharedKey sharedKey) {
+        if (message.position() < ZERO_BYTES || !message.hasArray() || message.isReadOnly()) {
+            return NaclFacade.super.sealAfterPrecomputation(message, nonce, sharedKey);
+        }
+
+        LOGGER.debug("Sealing buffer in place using shared key {}", sharedKey);
+
+        final int messageOffset = message.arrayOffset() + message.position();
+        final int boxStart = message.position() - XSalsa20Poly1305.TAG_BYTES;
+
+        final XSalsa20Poly1305 secretBox = SECRET_BOX.get();
+        secretBox.init(nonce.getNonceBytes(), sharedKey.getKeyBytes());
+        secretBox.seal(
+            message.array(), messageOffset - XSalsa20Poly1305.TAG_BYTES, message.array(), messageOffset, message.remaining()
+        );
+
+        final ByteBuffer output = message.duplicate();
+        output.position(boxStart);
+        return output;
+    }
+
+    @Override
+    public byte[] openAfterPrecomputation(final byte[] cipherText, final Nonce nonce, final SharedKey sharedKey) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                "Opening message {} using nonce {} and shared key {}", Arrays.toString(cipherText), nonce, sharedKey
+            );
+        }
+
+        if (cipherText.length < XSalsa20Poly1305.TAG_BYTES) {
+            throw new NaclException("Cipher text is shorter than the authentication tag");
+        }
+
+        final byte[] message = new byte[cipherText.length - XSalsa20Poly1305.TAG_BYTES];
+
+        final XSalsa20Poly1305 secretBox = SECRET_BOX.get();
+        secretBox.init(nonce.getNonceBytes(), sharedKey.getKeyBytes());
+        final boolean opened = secretBox.open(message, 0, cipherText, 0, cipherText.length);
+
+        if (!opened) {
+            LOGGER.warn("Could not open sealed payload using shared key {}", sharedKey);
+            throw new NaclException("Could not open the payload using the shared key");
+        }
+
+        return message;
+    }
+
+    @Override
+    public Nonce randomNonce() {
+        final byte[] nonceBytes = new byte[XSalsa20Poly1305.NONCE_BYTES];
+
+        this.secureRandom.nextBytes(nonceBytes);
+
+        final Nonce nonce = new Nonce(nonceBytes);
+
+        LOGGER.debug("Generated random nonce {}", nonce);
+
+        return nonce;
+    }
+
+    @Override
+    public KeyPair generateNewKeys() {
+        LOGGER.info("Generating new keypair...");
+
+        final byte[] privateKey = new byte[Curve25519.KEY_BYTES];
+        this.secureRandom.nextBytes(privateKey);
+
+        final byte[] publicKey = new byte[Curve25519.KEY_BYTES];
+        CURVE.get().scalarMultBase(publicKey, privateKey);
+
+        final PublicKey pubKey = PublicKey.from(publicKey);
+        final PrivateKey privKey = PrivateKey.from(privateKey);
+
+        LOGGER.info("Generated public key {} and private key {}", pubKey, REDACTED);
+        LOGGER.debug("Generated public key {} and private key {}", pubKey, privKey);
+
+        return new KeyPair(pubKey, privKey);
+    }
+
+    @Override
+    public SharedKey createSingleKey() {
+        final byte[] keyBytes = new byte[XSalsa20Poly1305.KEY_BYTES];
+
+        this.secureRandom.nextBytes(keyBytes);
+
+        final SharedKey key = SharedKey.from(keyBytes);
+
+        LOGGER.debug("Generated key with value {}", key);
+
+        return key;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.quorum.tessera.nacl.purejava;
+
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.NaclFacadeFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+
+/**
+ * Provides the pure Java implementation of the {@link NaclFacade}
+ */
+public class PureJavaNaclFactory implements NaclFacadeFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PureJavaNaclFactory.class);
+
+    @Override
+    public NaclFacade create() {
+        LOGGER.debug("Creating a pure Java implementation of NaclFacadeFactory");
+
+        return new PureJavaNacl(new SecureRandom());
+    }
+
+}
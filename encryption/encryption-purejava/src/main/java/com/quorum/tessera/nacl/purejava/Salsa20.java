@@ -0,0 +1,192 @@
+package com.quorum.tessera.nacl.purejava;
+
+/**
+ * The Salsa20/20 core and the HSalsa20 key derivation that XSalsa20 is built
+ * from
+ * <p>
+ * The state is held in locals and each double round is written out in full,
+ * so a block is computed without touching the heap.
+ */
+final class Salsa20 {
+
+    static final int BLOCK_BYTES = 64;
+
+    static final int SIGMA_0 = 0x61707865;
+
+    static final int SIGMA_1 = 0x3320646e;
+
+    static final int SIGMA_2 = 0x79622d32;
+
+    static final int SIGMA_3 = 0x6b206574;
+
+    private Salsa20() {
+    }
+
+    /**
+     * Computes one 64 byte block of key stream from the sixteen word input
+     * state, which holds the constants, key, nonce and block counter
+     *
+     * @param output the array to write the 64 bytes of key stream to
+     * @param input the input state
+     */
+    static void block(final byte[] output, final int[] input) {
+        int x0 = input[0];
+        int x1 = input[1];
+        int x2 = input[2];
+        int x3 = input[3];
+        int x4 = input[4];
+        int x5 = input[5];
+        int x6 = input[6];
+        int x7 = input[7];
+        int x8 = input[8];
+        int x9 = input[9];
+        int x10 = input[10];
+        int x11 = input[11];
+        int x12 = input[12];
+        int x13 = input[13];
+        int x14 = input[14];
+        int x15 = input[15];
+
+        for (int i = 0; i < 10; i++) {
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);
+            x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);
+            x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);
+            x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);
+            x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);
+            x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);
+            x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);
+            x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);
+            x15 ^= Integer.rotateLeft(x11 + x7, 18);
+
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);
+            x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);
+            x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);
+            x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);
+            x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);
+            x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);
+            x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7);
+            x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13);
+            x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+
+        store(output, 0, x0 + input[0]);
+        store(output, 4, x1 + input[1]);
+        store(output, 8, x2 + input[2]);
+        store(output, 12, x3 + input[3]);
+        store(output, 16, x4 + input[4]);
+        store(output, 20, x5 + input[5]);
+        store(output, 24, x6 + input[6]);
+        store(output, 28, x7 + input[7]);
+        store(output, 32, x8 + input[8]);
+        store(output, 36, x9 + input[9]);
+        store(output, 40, x10 + input[10]);
+        store(output, 44, x11 + input[11]);
+        store(output, 48, x12 + input[12]);
+        store(output, 52, x13 + input[13]);
+        store(output, 56, x14 + input[14]);
+        store(output, 60, x15 + input[15]);
+    }
+
+    /**
+     * Derives a 32 byte subkey from a 32 byte key and the first 16 bytes of a
+     * nonce
+     *
+     * @param output the array to write the subkey to
+     * @param input the array holding the 16 byte input
+     * @param inputOffset the offset of the input
+     * @param key the 32 byte key
+     */
+    static void hsalsa20(final byte[] output, final byte[] input, final int inputOffset, final byte[] key) {
+        int x0 = SIGMA_0;
+        int x1 = load(key, 0);
+        int x2 = load(key, 4);
+        int x3 = load(key, 8);
+        int x4 = load(key, 12);
+        int x5 = SIGMA_1;
+        int x6 = load(input, inputOffset);
+        int x7 = load(input, inputOffset + 4);
+        int x8 = load(input, inputOffset + 8);
+        int x9 = load(input, inputOffset + 12);
+        int x10 = SIGMA_2;
+        int x11 = load(key, 16);
+        int x12 = load(key, 20);
+        int x13 = load(key, 24);
+        int x14 = load(key, 28);
+        int x15 = SIGMA_3;
+
+        for (int i = 0; i < 10; i++) {
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);
+            x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);
+            x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);
+            x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);
+            x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);
+            x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);
+            x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);
+            x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);
+            x15 ^= Integer.rotateLeft(x11 + x7, 18);
+
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);
+            x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);
+            x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);
+            x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);
+            x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);
+            x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);
+            x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7);
+            x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13);
+            x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+
+        store(output, 0, x0);
+        store(output, 4, x5);
+        store(output, 8, x10);
+        store(output, 12, x15);
+        store(output, 16, x6);
+        store(output, 20, x7);
+        store(output, 24, x8);
+        store(output, 28, x9);
+    }
+
+    static int load(final byte[] in, final int offset) {
+        final int b0 = in[offset] & 0xFF;
+        final int b1 = (in[offset + 1] & 0xFF) << 8;
+        final int b2 = (in[offset + 2] & 0xFF) << 16;
+        final int b3 = (in[offset + 3] & 0xFF) << 24;
+        return b0 | b1 | b2 | b3;
+    }
+
+    static void store(final byte[] out, final int offset, final int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >>> 8);
+        out[offset + 2] = (byte) (value >>> 16);
+        out[offset + 3] = (byte) (value >>> 24);
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.quorum.tessera.nacl.purejava;
+
+/**
+ * NaCl's crypto_secretbox: XSalsa20 encryption followed by a Poly1305
+ * authenticator over the cipher text
+ * <p>
+ * Boxes are handled without NaCl's zero padding. A sealed box is the 16 byte
+ * tag followed by the cipher text, which is what remains once the
+ * BOXZEROBYTES padding is removed. The message may be sealed in place by
+ * placing the box 16 bytes in front of it in the same array.
+ * <p>
+ * The cipher and authenticator state are reused between calls, so an
+ * instance must not be shared between threads.
+ */
+final class XSalsa20Poly1305 {
+
+    static final int KEY_BYTES = 32;
+
+    static final int NONCE_BYTES = 24;
+
+    static final int TAG_BYTES = Poly1305.TAG_BYTES;
+
+    private static final byte[] ZERO_NONCE_PREFIX = new byte[16];
+
+    private final int[] state = new int[16];
+
+    private final byte[] subKey = new byte[KEY_BYTES];
+
+    private final byte[] keyStream = new byte[Salsa20.BLOCK_BYTES];
+
+    private final byte[] tag = new byte[TAG_BYTES];
+
+    private final Poly1305 poly1305 = new Poly1305();
+
+    /**
+     * Derives the symmetric key that crypto_box uses from a Curve25519
+     * shared secret
+     *
+     * @param sharedKey the array holding the shared secret, which is
+     *                  overwritten with the derived key
+     */
+    static void deriveBoxKey(final byte[] sharedKey) {
+        Salsa20.hsalsa20(sharedKey, ZERO_NONCE_PREFIX, 0, sharedKey);
+    }
+
+    /**
+     * Sets up XSalsa20 for the nonce and key, computes the first block of key
+     * stream and keys the authenticator with its first 32 bytes
+     * <p>
+     * Must be called before each call to {@link #seal} or {@link #open}.
+     *
+     * @param nonce the 24 byte nonce
+     * @param key the 32 byte key
+     */
+    void init(final byte[] nonce, final byte[] key) {
+        Salsa20.hsalsa20(subKey, nonce, 0, key);
+
+        state[0] = Salsa20.SIGMA_0;
+        state[1] = Salsa20.load(subKey, 0);
+        state[2] = Salsa20.load(subKey, 4);
+        state[3] = Salsa20.load(subKey, 8);
+        state[4] = Salsa20.load(subKey, 12);
+        state[5] = Salsa20.SIGMA_1;
+        state[6] = Salsa20.load(nonce, 16);
+        state[7] = Salsa20.load(nonce, 20);
+        state[8] = 0;
+        state[9] = 0;
+        state[10] = Salsa20.SIGMA_2;
+        state[11] = Salsa20.load(subKey, 16);
+        state[12] = Salsa20.load(subKey, 20);
+        state[13] = Salsa20.load(subKey, 24);
+        state[14] = Salsa20.load(subKey, 28);
+        state[15] = Salsa20.SIGMA_3;
+
+        Salsa20.block(keyStream, state);
+        poly1305.init(keyStream, 0);
+    }
+
+    /**
+     * Seals a message, writing the tag and then the cipher text to the output
+     *
+     * @param out the array to write the box to, which may be the message array
+     * @param outOffset the offset to write the box at, which if sealing in place
+     *                  must be {@link #TAG_BYTES} before the message offset
+     * @param message the array holding the message
+     * @param messageOffset the offset of the message
+     * @param length the length of the message
+     */
+    void seal(final byte[] out,
+              final int outOffset,
+              final byte[] message,
+              final int messageOffset,
+              final int length) {
+        this.xorKeyStream(out, outOffset + TAG_BYTES, message, messageOffset, length);
+        poly1305.authenticate(out, outOffset, out, outOffset + TAG_BYTES, length);
+    }
+
+    /**
+     * Verifies and opens a box, writing the message to the output
+     *
+     * @param out the array to write the message to
+     * @param outOffset the offset to write the message at
+     * @param box the array holding the tag followed by the cipher text
+     * @param boxOffset the offset of the box
+     * @param boxLength the length of the box including the tag
+     * @return whether the box was authentic; nothing is written if it was not
+     */
+    boolean open(final byte[] out,
+                 final int outOffset,
+                 final byte[] box,
+                 final int boxOffset,
+                 final int boxLength) {
+        if (boxLength < TAG_BYTES) {
+            return false;
+        }
+
+        poly1305.authenticate(tag, 0, box, boxOffset + TAG_BYTES, boxLength - TAG_BYTES);
+
+        int difference = 0;
+        for (int i = 0; i < TAG_BYTES; i++) {
+            difference |= tag[i] ^ box[boxOffset + i];
+        }
+        if (difference != 0) {
+            return false;
+        }
+
+        this.xorKeyStream(out, outOffset, box, boxOffset + TAG_BYTES, boxLength - TAG_BYTES);
+        return true;
+    }
+
+    /**
+     * XORs the input with the key stream, continuing from the second half of
+     * the first block
+     */
+    private void xorKeyStream(final byte[] out, final int outOffset, final byte[] in, final int inOffset, final int length) {
+        final int firstBlock = Math.min(Poly1305.KEY_BYTES, length);
+        for (int i = 0; i < firstBlock; i++) {
+            out[outOffset + i] = (byte) (in[inOffset + i] ^ keyStream[Poly1305.KEY_BYTES + i]);
+        }
+
+        for (int position = firstBlock; position < length; position += Salsa20.BLOCK_BYTES) {
+            if (++state[8] == 0) {
+                state[9]++;
+            }
+            Salsa20.block(keyStream, state);
+
+            final int blockLength = Math.min(Salsa20.BLOCK_BYTES, length - position);
+            final int outStart = outOffset + position;
+            final int inStart = inOffset + position;
+            for (int i = 0; i < blockLength; i++) {
+                out[outStart + i] = (byte) (in[inStart + i] ^ keyStream[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.quorum.tessera.nacl.purejava;
+
+import org.junit.Test;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Poly1305Test {
+
+    private final Poly1305 poly1305 = new Poly1305();
+
+    /**
+     * Test vector from RFC 8439, section 2.5.2
+     */
+    @Test
+    public void authenticatorMatchesRfcVector() {
+        final byte[] key = parseHexBinary("85d6be7857556d337f4452fe42d506a80103808afb0db2fd4abff6af4149f51b");
+        final byte[] message = "Cryptographic Forum Research Group".getBytes(UTF_8);
+
+        final byte[] tag = new byte[Poly1305.TAG_BYTES];
+        poly1305.init(key, 0);
+        poly1305.authenticate(tag, 0, message, 0, message.length);
+
+        assertThat(tag).isEqualTo(parseHexBinary("a8061dc1305136c6c22b8baf0c0127a9"));
+    }
+
+    @Test
+    public void instanceCanBeReusedForAnotherMessage() {
+        final byte[] key = parseHexBinary("85d6be7857556d337f4452fe42d506a80103808afb0db2fd4abff6af4149f51b");
+        final byte[] message = "Cryptographic Forum Research Group".getBytes(UTF_8);
+
+        final byte[] tag = new byte[Poly1305.TAG_BYTES];
+        poly1305.init(key, 0);
+        poly1305.authenticate(tag, 0, new byte[100], 0, 100);
+        poly1305.init(key, 0);
+        poly1305.authenticate(tag, 0, message, 0, message.length);
+
+        assertThat(tag).isEqualTo(parseHexBinary("a8061dc1305136c6c22b8baf0c0127a9"));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.quorum.tessera.nacl.purejava;
+
+import com.quorum.tessera.nacl.NaclFacade;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PureJavaNaclFactoryTest {
+
+    private PureJavaNaclFactory factory;
+
+    @Before
+    public void setUp() {
+        this.factory = new PureJavaNaclFactory();
+    }
+
+    @Test
+    public void createInstance() {
+        final NaclFacade result = factory.create();
+
+        assertThat(result).isNotNull().isExactlyInstanceOf(PureJavaNacl.class);
+    }
+
+}
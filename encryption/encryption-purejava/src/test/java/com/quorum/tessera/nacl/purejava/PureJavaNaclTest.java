@@ -0,0 +1,210 @@
+package com.quorum.tessera.nacl.purejava;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.nacl.NaclException;
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.Nonce;
+import com.quorum.tessera.nacl.jnacl.Jnacl;
+import com.quorum.tessera.nacl.jnacl.JnaclSecretBox;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PureJavaNaclTest {
+
+    /*
+     * Key pairs and shared secret from RFC 7748, section 6.1
+     */
+    private static final PrivateKey ALICE_PRIVATE
+        = PrivateKey.from(parseHexBinary("77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a"));
+
+    private static final PublicKey ALICE_PUBLIC
+        = PublicKey.from(parseHexBinary("8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a"));
+
+    private static final PrivateKey BOB_PRIVATE
+        = PrivateKey.from(parseHexBinary("5dab087e624a8a4b79e17f8b83800ee66f3bb1292618b6fd1c2f8b27ff88e0eb"));
+
+    private static final PublicKey BOB_PUBLIC
+        = PublicKey.from(parseHexBinary("de9edb7d7b7dc1b4d35b61c2ece435373f8343c85b78674dadfc7e146f882b4f"));
+
+    private PureJavaNacl nacl;
+
+    private Jnacl reference;
+
+    @Before
+    public void init() {
+        this.nacl = new PureJavaNacl(new SecureRandom());
+        this.reference = new Jnacl(new SecureRandom(), new JnaclSecretBox());
+    }
+
+    @Test
+    public void publicKeyIsDerivedFromPrivateKey() {
+        final byte[] publicKey = new byte[Curve25519.KEY_BYTES];
+
+        new Curve25519().scalarMultBase(publicKey, ALICE_PRIVATE.getKeyBytes());
+
+        assertThat(publicKey).isEqualTo(ALICE_PUBLIC.getKeyBytes());
+    }
+
+    @Test
+    public void scalarMultiplicationMatchesRfcVector() {
+        final byte[] sharedSecret = new byte[Curve25519.KEY_BYTES];
+
+        new Curve25519().scalarMult(sharedSecret, ALICE_PRIVATE.getKeyBytes(), BOB_PUBLIC.getKeyBytes());
+
+        assertThat(sharedSecret)
+            .isEqualTo(parseHexBinary("4a5d9d5ba4ce2de1728e3bf480350f25e07e21c947d19e3376f09b3c1e161742"));
+    }
+
+    @Test
+    public void sharedKeyMatchesReference() {
+        final SharedKey sharedKey = nacl.computeSharedKey(BOB_PUBLIC, ALICE_PRIVATE);
+
+        assertThat(sharedKey).isEqualTo(reference.computeSharedKey(BOB_PUBLIC, ALICE_PRIVATE));
+        assertThat(sharedKey).isEqualTo(nacl.computeSharedKey(ALICE_PUBLIC, BOB_PRIVATE));
+    }
+
+    @Test
+    public void generatedKeysAgreeWithReference() {
+        for (int i = 0; i < 20; i++) {
+            final KeyPair ours = nacl.generateNewKeys();
+            final KeyPair theirs = reference.generateNewKeys();
+
+            assertThat(nacl.computeSharedKey(theirs.getPublicKey(), ours.getPrivateKey()))
+                .isEqualTo(reference.computeSharedKey(ours.getPublicKey(), theirs.getPrivateKey()));
+        }
+    }
+
+    @Test
+    public void sealedBoxesMatchReferenceForAllLengths() {
+        final Random random = new Random(1);
+        final SharedKey sharedKey = nacl.createSingleKey();
+        final Nonce nonce = nacl.randomNonce();
+
+        for (int length = 0; length <= 300; length++) {
+            final byte[] message = new byte[length];
+            random.nextBytes(message);
+
+            final byte[] sealed = nacl.sealAfterPrecomputation(message, nonce, sharedKey);
+
+            assertThat(sealed).isEqualTo(reference.sealAfterPrecomputation(message, nonce, sharedKey));
+            assertThat(nacl.openAfterPrecomputation(sealed, nonce, sharedKey)).isEqualTo(message);
+        }
+    }
+
+    @Test
+    public void largeBoxMatchesReference() {
+        final byte[] message = new byte[1024 * 1024 + 7];
+        new Random(2).nextBytes(message);
+
+        final SharedKey sharedKey = nacl.createSingleKey();
+        final Nonce nonce = nacl.randomNonce();
+
+        final byte[] sealed = nacl.sealAfterPrecomputation(message, nonce, sharedKey);
+
+        assertThat(sealed).isEqualTo(reference.sealAfterPrecomputation(message, nonce, sharedKey));
+        assertThat(reference.openAfterPrecomputation(sealed, nonce, sharedKey)).isEqualTo(message);
+    }
+
+    @Test
+    public void sealAndOpenWithKeysMatchesReference() {
+        final byte[] message = "Hello world".getBytes(UTF_8);
+        final Nonce nonce = nacl.randomNonce();
+
+        final byte[] sealed = nacl.seal(message, nonce, BOB_PUBLIC, ALICE_PRIVATE);
+
+        assertThat(sealed).isEqualTo(reference.seal(message, nonce, BOB_PUBLIC, ALICE_PRIVATE));
+        assertThat(nacl.open(sealed, nonce, ALICE_PUBLIC, BOB_PRIVATE)).isEqualTo(message);
+    }
+
+    @Test
+    public void openingTamperedBoxThrowsException() {
+        final SharedKey sharedKey = nacl.createSingleKey();
+        final Nonce nonce = nacl.randomNonce();
+
+        final byte[] sealed = nacl.sealAfterPrecomputation("Hello world".getBytes(UTF_8), nonce, sharedKey);
+        sealed[sealed.length - 1] ^= 1;
+
+        final Throwable throwable = catchThrowable(() -> nacl.openAfterPrecomputation(sealed, nonce, sharedKey));
+
+        assertThat(throwable).isInstanceOf(NaclException.class);
+    }
+
+    @Test
+    public void openingWithWrongKeysThrowsException() {
+        final Nonce nonce = nacl.randomNonce();
+        final byte[] sealed = nacl.seal("Hello world".getBytes(UTF_8), nonce, BOB_PUBLIC, ALICE_PRIVATE);
+
+        final Throwable throwable = catchThrowable(() -> nacl.open(sealed, nonce, ALICE_PUBLIC, ALICE_PRIVATE));
+
+        assertThat(throwable)
+            .isInstanceOf(NaclException.class)
+            .hasMessage("Could not open the payload using the provided keys directly");
+    }
+
+    @Test
+    public void openingTruncatedBoxThrowsException() {
+        final Throwable throwable = catchThrowable(
+            () -> nacl.openAfterPrecomputation(new byte[15], nacl.randomNonce(), nacl.createSingleKey())
+        );
+
+        assertThat(throwable).isInstanceOf(NaclException.class);
+    }
+
+    @Test
+    public void sealingBufferInPlaceMatchesSealingArray() {
+        final byte[] message = "Hello world".getBytes(UTF_8);
+        final SharedKey sharedKey = nacl.createSingleKey();
+        final Nonce nonce = nacl.randomNonce();
+
+        final byte[] backing = new byte[8 + NaclFacade.ZERO_BYTES + message.length];
+        final ByteBuffer buffer = ByteBuffer.wrap(backing, 8, backing.length - 8).slice();
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(message);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        final ByteBuffer sealed = nacl.sealAfterPrecomputation(buffer, nonce, sharedKey);
+        final byte[] box = new byte[sealed.remaining()];
+        sealed.get(box);
+
+        assertThat(sealed.array()).isSameAs(backing);
+        assertThat(box).isEqualTo(reference.sealAfterPrecomputation(message, nonce, sharedKey));
+    }
+
+    @Test
+    public void sealingDirectBufferMatchesSealingArray() {
+        final byte[] message = "Hello world".getBytes(UTF_8);
+        final SharedKey sharedKey = nacl.createSingleKey();
+        final Nonce nonce = nacl.randomNonce();
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(NaclFacade.ZERO_BYTES + message.length);
+        buffer.position(NaclFacade.ZERO_BYTES);
+        buffer.put(message);
+        buffer.position(NaclFacade.ZERO_BYTES);
+
+        final ByteBuffer sealed = nacl.sealAfterPrecomputation(buffer, nonce, sharedKey);
+        final byte[] box = new byte[sealed.remaining()];
+        sealed.get(box);
+
+        assertThat(box).isEqualTo(reference.sealAfterPrecomputation(message, nonce, sharedKey));
+    }
+
+    @Test
+    public void nonceContainsRandomData() {
+        final Nonce nonce = nacl.randomNonce();
+
+        assertThat(nonce.getNonceBytes()).hasSize(24).isNotEqualTo(new byte[24]);
+    }
+
+}
@@ -1,8 +1,12 @@
 
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.grpc.p2p.ReconcileRequest;
+import com.quorum.tessera.grpc.p2p.ReconcileResponse;
 import com.quorum.tessera.grpc.p2p.ResendRequest;
 
+import java.util.function.Consumer;
+
 
 interface GrpcClient {
 
@@ -10,6 +14,10 @@ interface GrpcClient {
 
     boolean makeResendRequest(ResendRequest grpcObj);
 
+    boolean streamResend(ResendRequest grpcObj, Consumer<byte[]> encodedPayloadConsumer);
+
     byte[] push(byte[] data);
+
+    ReconcileResponse reconcile(ReconcileRequest grpcObj);
     
 }
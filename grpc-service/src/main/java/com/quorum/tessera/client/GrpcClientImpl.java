@@ -4,11 +4,15 @@ import com.google.protobuf.ByteString;
 import com.quorum.tessera.grpc.p2p.*;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 final class GrpcClientImpl implements GrpcClient {
 
@@ -20,11 +24,13 @@ final class GrpcClientImpl implements GrpcClient {
 
     private final P2PTransactionGrpc.P2PTransactionBlockingStub transactionBlockingStub;
 
+    private final PushStream pushStream;
 
     GrpcClientImpl(final ManagedChannel channel) {
         this.channel = channel;
         this.partyInfoBlockingStub = PartyInfoGrpc.newBlockingStub(channel);
         this.transactionBlockingStub = P2PTransactionGrpc.newBlockingStub(channel);
+        this.pushStream = new PushStream(P2PTransactionGrpc.newStub(channel));
     }
 
     GrpcClientImpl(final String targetUrl) {
@@ -45,14 +51,37 @@ final class GrpcClientImpl implements GrpcClient {
             final PartyInfoMessage response = partyInfoBlockingStub.getPartyInfo(request);
             return response.getPartyInfo().toByteArray();
         } catch (StatusRuntimeException ex) {
+            rethrowIfUnreachable(ex);
             LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
             LOGGER.debug("RPC failed: {}", ex.getStatus());
         }
         return null;
     }
 
+    /**
+     * Pushes over the shared push stream, falling back to a single push if
+     * the other node does not support the stream
+     */
     @Override
     public byte[] push(final byte[] data) {
+        if (pushStream.isSupported()) {
+            try {
+                final PushAck ack = pushStream.push(data);
+                if (!ack.getError().isEmpty()) {
+                    LOGGER.error("Push rejected: {}", ack.getError());
+                    return null;
+                }
+                return ack.getHash().getBytes(StandardCharsets.UTF_8);
+            } catch (StatusRuntimeException ex) {
+                rethrowIfUnreachable(ex);
+                if (ex.getStatus().getCode() != Status.Code.UNIMPLEMENTED) {
+                    LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
+                    LOGGER.debug("RPC failed: {}", ex.getStatus());
+                    return null;
+                }
+            }
+        }
+
         final PushRequest request = PushRequest.newBuilder()
             .setData(ByteString.copyFrom(data))
             .build();
@@ -60,6 +89,7 @@ final class GrpcClientImpl implements GrpcClient {
             final PushRequest response = transactionBlockingStub.push(request);
             return response.getData().toByteArray();
         } catch (StatusRuntimeException ex) {
+            rethrowIfUnreachable(ex);
             LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
             LOGGER.debug("RPC failed: {}", ex.getStatus());
         }
@@ -73,13 +103,66 @@ final class GrpcClientImpl implements GrpcClient {
             return true;
         }
         catch (StatusRuntimeException ex) {
+            rethrowIfUnreachable(ex);
+            LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
+            LOGGER.debug("RPC failed: {}", ex.getStatus());
+        }
+        return false;
+    }
+
+    /**
+     * A failure once payloads have started to arrive is rethrown rather than
+     * reported as a refusal, so that the stream is asked for again instead of
+     * falling back to having every transaction pushed.
+     */
+    @Override
+    public boolean streamResend(final ResendRequest request, final Consumer<byte[]> encodedPayloadConsumer) {
+        int received = 0;
+        try {
+            //the blocking iterator only asks for more messages as they are read
+            final Iterator<PushRequest> payloads = transactionBlockingStub.resendStream(request);
+            while (payloads.hasNext()) {
+                encodedPayloadConsumer.accept(payloads.next().getData().toByteArray());
+                received++;
+            }
+            return true;
+        } catch (StatusRuntimeException ex) {
+            rethrowIfUnreachable(ex);
+            if (received > 0) {
+                throw ex;
+            }
             LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
             LOGGER.debug("RPC failed: {}", ex.getStatus());
         }
         return false;
     }
 
+    @Override
+    public ReconcileResponse reconcile(final ReconcileRequest request) {
+        try {
+            return transactionBlockingStub.reconcile(request);
+        } catch (StatusRuntimeException ex) {
+            rethrowIfUnreachable(ex);
+            LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
+            LOGGER.debug("RPC failed: {}", ex.getStatus());
+        }
+        return null;
+    }
+
+    /**
+     * Lets a failure to reach the other node propagate, so that it counts
+     * against the node's circuit breaker. A request that the node received
+     * and rejected is still reported as a null or false result.
+     */
+    private static void rethrowIfUnreachable(final StatusRuntimeException ex) {
+        final Status.Code code = ex.getStatus().getCode();
+        if (code == Status.Code.UNAVAILABLE || code == Status.Code.DEADLINE_EXCEEDED) {
+            throw ex;
+        }
+    }
+
     void shutdown() throws InterruptedException {
+        pushStream.close();
         channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     }
 
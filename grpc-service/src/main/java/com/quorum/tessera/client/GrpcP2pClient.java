@@ -1,9 +1,13 @@
 package com.quorum.tessera.client;
 
 import com.quorum.tessera.grpc.p2p.Convertor;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 
 class GrpcP2pClient implements P2pClient {
@@ -33,6 +37,20 @@ class GrpcP2pClient implements P2pClient {
         com.quorum.tessera.grpc.p2p.ResendRequest grpcObj = Convertor.toGrpc(request);
         return grpcClientFactory.getClient(targetUrl).makeResendRequest(grpcObj);
     }
+
+    @Override
+    public boolean streamResend(String targetUrl, ResendRequest request, Consumer<byte[]> encodedPayloadConsumer) {
+        com.quorum.tessera.grpc.p2p.ResendRequest grpcObj = Convertor.toGrpc(request);
+        return grpcClientFactory.getClient(targetUrl).streamResend(grpcObj, encodedPayloadConsumer);
+    }
+
+    @Override
+    public ReconcileResponse reconcile(String targetUrl, ReconcileRequest request) {
+        com.quorum.tessera.grpc.p2p.ReconcileRequest grpcObj = Convertor.toGrpc(request);
+        return Optional.ofNullable(grpcClientFactory.getClient(targetUrl).reconcile(grpcObj))
+            .map(Convertor::toModel)
+            .orElse(null);
+    }
     
     
 }
@@ -0,0 +1,203 @@
+package com.quorum.tessera.client;
+
+import com.google.protobuf.ByteString;
+import com.quorum.tessera.grpc.p2p.P2PTransactionGrpc;
+import com.quorum.tessera.grpc.p2p.PushAck;
+import com.quorum.tessera.grpc.p2p.PushStreamRequest;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes payloads to one node over a single long-lived bidirectional stream
+ * <p>
+ * Each payload is tagged with an id and the caller waits for the
+ * acknowledgement carrying that id, so many callers can have payloads in
+ * flight on the stream at once. The number in flight is capped by a window;
+ * callers wait for a free slot before sending.
+ * <p>
+ * The stream is opened on first use and opened again after it fails, failing
+ * any payloads still waiting for acknowledgement. A stream that leaves a
+ * payload unacknowledged past the timeout is treated as failed. If the other node does not
+ * support the stream, it is marked unsupported so callers can fall back to
+ * single pushes.
+ */
+final class PushStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PushStream.class);
+
+    static final int DEFAULT_WINDOW = 64;
+
+    static final long DEFAULT_ACK_TIMEOUT_MILLIS = 60_000;
+
+    private final P2PTransactionGrpc.P2PTransactionStub stub;
+
+    private final Semaphore window;
+
+    private final long ackTimeoutMillis;
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private Call current;
+
+    private volatile boolean supported = true;
+
+    PushStream(final P2PTransactionGrpc.P2PTransactionStub stub, final int window, final long ackTimeoutMillis) {
+        this.stub = Objects.requireNonNull(stub);
+        this.window = new Semaphore(window);
+        this.ackTimeoutMillis = ackTimeoutMillis;
+    }
+
+    PushStream(final P2PTransactionGrpc.P2PTransactionStub stub) {
+        this(stub, DEFAULT_WINDOW, DEFAULT_ACK_TIMEOUT_MILLIS);
+    }
+
+    boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * @param data the encoded payload to push
+     * @return the acknowledgement from the other node
+     * @throws StatusRuntimeException if the payload was not acknowledged
+     */
+    PushAck push(final byte[] data) {
+        try {
+            if (!window.tryAcquire(ackTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw Status.RESOURCE_EXHAUSTED.withDescription("No free slot in push window").asRuntimeException();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw Status.CANCELLED.withCause(ex).asRuntimeException();
+        }
+
+        final long id = nextId.incrementAndGet();
+        final CompletableFuture<PushAck> ack = new CompletableFuture<>();
+        Call call = null;
+        try {
+            call = this.send(id, ack, PushStreamRequest.newBuilder()
+                .setId(id)
+                .setData(ByteString.copyFrom(data))
+                .build());
+            return ack.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw Status.CANCELLED.withCause(ex).asRuntimeException();
+        } catch (final ExecutionException ex) {
+            throw Status.fromThrowable(ex.getCause()).asRuntimeException();
+        } catch (final TimeoutException ex) {
+            final StatusRuntimeException timeout = Status.DEADLINE_EXCEEDED
+                .withDescription("No acknowledgement for push " + id)
+                .asRuntimeException();
+            this.cancel(call, timeout);
+            throw timeout;
+        } finally {
+            if (call != null) {
+                call.pending.remove(id);
+            }
+            window.release();
+        }
+    }
+
+    private synchronized Call send(final long id, final CompletableFuture<PushAck> ack, final PushStreamRequest request) {
+        final Call call;
+        if (current == null) {
+            call = new Call();
+            current = call;
+            call.requests = stub.pushStream(call);
+        } else {
+            call = current;
+        }
+
+        call.pending.put(id, ack);
+        if (call.failure == null) {
+            call.requests.onNext(request);
+        }
+
+        //the stream may have failed before or while the request was sent
+        if (call.failure != null) {
+            ack.completeExceptionally(call.failure);
+        }
+        return call;
+    }
+
+    private synchronized void closed(final Call call, final Throwable cause) {
+        if (current == call) {
+            current = null;
+        }
+        call.failure = cause;
+        call.pending.values().forEach(ack -> ack.completeExceptionally(cause));
+        call.pending.clear();
+    }
+
+    /**
+     * Cancels a stream that has stopped acknowledging payloads, as the other
+     * node may have hung or the connection silently dropped. Payloads still
+     * waiting on it fail, and the next push opens a new stream.
+     */
+    private synchronized void cancel(final Call call, final StatusRuntimeException cause) {
+        if (call.failure == null) {
+            call.requests.onError(cause);
+        }
+        this.closed(call, cause);
+    }
+
+    /**
+     * Ends the current stream, letting the other node finish acknowledging
+     * any payloads already sent. A later push opens a new stream.
+     */
+    synchronized void close() {
+        if (current != null && current.failure == null) {
+            current.requests.onCompleted();
+        }
+        current = null;
+    }
+
+    private final class Call implements StreamObserver<PushAck> {
+
+        private final ConcurrentMap<Long, CompletableFuture<PushAck>> pending = new ConcurrentHashMap<>();
+
+        private StreamObserver<PushStreamRequest> requests;
+
+        private Throwable failure;
+
+        @Override
+        public void onNext(final PushAck ack) {
+            final CompletableFuture<PushAck> waiting = pending.remove(ack.getId());
+            if (waiting != null) {
+                waiting.complete(ack);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            final Status status = Status.fromThrowable(t);
+            if (status.getCode() == Status.Code.UNIMPLEMENTED) {
+                LOGGER.info("Node does not support streaming pushes");
+                supported = false;
+            } else {
+                LOGGER.debug("Push stream failed: {}", status);
+            }
+            closed(this, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            closed(this, Status.UNAVAILABLE.withDescription("Push stream closed by node").asRuntimeException());
+        }
+
+    }
+
+}
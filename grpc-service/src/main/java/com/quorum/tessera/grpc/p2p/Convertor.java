@@ -1,11 +1,16 @@
 package com.quorum.tessera.grpc.p2p;
 
 import com.quorum.tessera.api.model.DeleteRequest;
+import com.quorum.tessera.api.model.HashBucket;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
 import com.quorum.tessera.api.model.ResendRequestType;
 
+import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Convertor {
@@ -22,9 +27,15 @@ public class Convertor {
                 .map(com.quorum.tessera.grpc.p2p.ResendRequestType::valueOf)
                 .orElse(com.quorum.tessera.grpc.p2p.ResendRequestType.INDIVIDUAL);
 
-        return com.quorum.tessera.grpc.p2p.ResendRequest.newBuilder()
-            .setKey(request.getKey()).setPublicKey(request.getPublicKey())
-            .setType(resendRequestType).build();
+        final com.quorum.tessera.grpc.p2p.ResendRequest.Builder builder
+            = com.quorum.tessera.grpc.p2p.ResendRequest.newBuilder()
+                .setPublicKey(request.getPublicKey())
+                .setType(resendRequestType);
+
+        Optional.ofNullable(request.getKey()).ifPresent(builder::setKey);
+        Optional.ofNullable(request.getSince()).ifPresent(builder::setSince);
+
+        return builder.build();
     }
 
 
@@ -47,6 +58,49 @@ public class Convertor {
             .map(ResendRequestType::valueOf)
             .findAny().ifPresent(resendRequest::setType);
 
+        if (resendRequest.getType() == ResendRequestType.SINCE) {
+            resendRequest.setSince(grpcObject.getSince());
+        }
+
         return resendRequest;
     }
+
+    public static com.quorum.tessera.grpc.p2p.ReconcileRequest toGrpc(ReconcileRequest request) {
+        return com.quorum.tessera.grpc.p2p.ReconcileRequest.newBuilder()
+            .addAllPublicKeys(request.getPublicKeys())
+            .addAllBuckets(request.getBuckets()
+                .stream()
+                .map(bucket -> com.quorum.tessera.grpc.p2p.HashBucket.newBuilder()
+                    .setIndex(bucket.getIndex())
+                    .setCount(bucket.getCount())
+                    .setDigest(bucket.getDigest())
+                    .build())
+                .collect(Collectors.toList()))
+            .addAllMissing(request.getMissing())
+            .setBucketBits(request.getBucketBits())
+            .build();
+    }
+
+    public static ReconcileRequest toModel(com.quorum.tessera.grpc.p2p.ReconcileRequest grpcObject) {
+        ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(new ArrayList<>(grpcObject.getPublicKeysList()));
+        request.setBuckets(grpcObject.getBucketsList()
+            .stream()
+            .map(bucket -> new HashBucket(bucket.getIndex(), bucket.getCount(), bucket.getDigest()))
+            .collect(Collectors.toList()));
+        request.setMissing(new ArrayList<>(grpcObject.getMissingList()));
+        request.setBucketBits(grpcObject.getBucketBits());
+
+        return request;
+    }
+
+    public static com.quorum.tessera.grpc.p2p.ReconcileResponse toGrpc(ReconcileResponse response) {
+        return com.quorum.tessera.grpc.p2p.ReconcileResponse.newBuilder()
+            .addAllHashes(response.getHashes())
+            .build();
+    }
+
+    public static ReconcileResponse toModel(com.quorum.tessera.grpc.p2p.ReconcileResponse grpcObject) {
+        return new ReconcileResponse(new ArrayList<>(grpcObject.getHashesList()));
+    }
 }
@@ -4,8 +4,12 @@ import com.google.protobuf.ByteString;
 import com.quorum.tessera.grpc.StreamObserverTemplate;
 import com.quorum.tessera.transaction.TransactionManager;
 
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,8 +29,11 @@ public class P2PTransactionGrpcService extends P2PTransactionGrpc.P2PTransaction
 
     private final TransactionManager transactionManager;
 
-    public P2PTransactionGrpcService(TransactionManager transactionManager) {
+    private final Executor pushExecutor;
+
+    public P2PTransactionGrpcService(TransactionManager transactionManager, Executor pushExecutor) {
         this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.pushExecutor = Objects.requireNonNull(pushExecutor);
     }
 
     @Override
@@ -68,6 +75,34 @@ public class P2PTransactionGrpcService extends P2PTransactionGrpc.P2PTransaction
 
     }
 
+    /**
+     * Sends each payload that would be resent as its own message on the
+     * response stream. Payloads are sent as the client is ready for them,
+     * so they are not all buffered in memory at once.
+     */
+    @Override
+    public void resendStream(ResendRequest grpcRequest, StreamObserver<PushRequest> responseObserver) {
+        LOGGER.debug("Received streaming resend request");
+
+        final com.quorum.tessera.api.model.ResendRequest request = Convertor.toModel(grpcRequest);
+        if (request.getType() == com.quorum.tessera.api.model.ResendRequestType.INDIVIDUAL) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                .withDescription("Only ALL and SINCE resend requests can be streamed").asRuntimeException());
+            return;
+        }
+
+        final Iterator<byte[]> payloads;
+        try {
+            payloads = transactionManager.streamResend(request);
+        } catch (Exception ex) {
+            LOGGER.error(null, ex);
+            responseObserver.onError(Status.fromThrowable(ex).asRuntimeException());
+            return;
+        }
+
+        new ResendStreamSender((ServerCallStreamObserver<PushRequest>) responseObserver, payloads).start();
+    }
+
     @Override
     public void push(PushRequest request, StreamObserver<PushRequest> responseObserver) {
         LOGGER.debug("Received push request");
@@ -81,4 +116,37 @@ public class P2PTransactionGrpcService extends P2PTransactionGrpc.P2PTransaction
 
     }
 
+    /**
+     * Stores the payloads of the stream on the executor and acknowledges each
+     * with the id the sender gave it, so a sender can keep many payloads in
+     * flight on one stream. A payload that cannot be stored is acknowledged
+     * with an error rather than ending the stream.
+     */
+    @Override
+    public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+        LOGGER.debug("Received push stream");
+
+        final PushStreamReceiver receiver = new PushStreamReceiver(
+            (ServerCallStreamObserver<PushAck>) responseObserver,
+            transactionManager,
+            pushExecutor,
+            PushStreamReceiver.DEFAULT_WINDOW);
+        receiver.start();
+        return receiver;
+    }
+
+    @Override
+    public void reconcile(ReconcileRequest grpcRequest, StreamObserver<ReconcileResponse> responseObserver) {
+        LOGGER.debug("Received reconcile request");
+
+        StreamObserverTemplate template = new StreamObserverTemplate(responseObserver);
+
+        template.handle(() -> {
+            com.quorum.tessera.api.model.ReconcileRequest request = Convertor.toModel(grpcRequest);
+
+            return Convertor.toGrpc(transactionManager.reconcile(request));
+        });
+
+    }
+
 }
@@ -7,6 +7,7 @@ import com.quorum.tessera.grpc.StreamObserverTemplate;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import io.grpc.stub.StreamObserver;
 
@@ -34,8 +35,18 @@ public class PartyInfoGrpcService extends PartyInfoGrpc.PartyInfoImplBase {
         final StreamObserverTemplate template = new StreamObserverTemplate(responseObserver);
 
         template.handle(() -> {
-            
-            final PartyInfo partyInfo = partyInfoParser.from(request.getPartyInfo().toByteArray());
+
+            final byte[] payload = request.getPartyInfo().toByteArray();
+
+            if (partyInfoParser.isDelta(payload)) {
+                final PartyInfoDelta delta = partyInfoParser.fromDelta(payload);
+
+                return PartyInfoMessage.newBuilder()
+                    .setPartyInfo(ByteString.copyFrom(partyInfoParser.toDelta(partyInfoService.updatePartyInfo(delta))))
+                    .build();
+            }
+
+            final PartyInfo partyInfo = partyInfoParser.from(payload);
 
             final PartyInfo updatedPartyInfo = partyInfoService.updatePartyInfo(partyInfo);
 
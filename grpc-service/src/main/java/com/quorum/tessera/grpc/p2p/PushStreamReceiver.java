@@ -0,0 +1,116 @@
+package com.quorum.tessera.grpc.p2p;
+
+import com.quorum.tessera.transaction.TransactionManager;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the payloads of a push stream on an executor and acknowledges each
+ * with the id the sender gave it
+ *
+ * Payloads from one sender are stored concurrently, so acknowledgements may
+ * be sent in a different order to the payloads. Only a window of payloads
+ * is requested from the sender at a time, and another is requested as each
+ * one is stored, so a fast sender cannot queue up more work than the
+ * executor is getting through.
+ */
+class PushStreamReceiver implements StreamObserver<PushStreamRequest> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PushStreamReceiver.class);
+
+    static final int DEFAULT_WINDOW = 64;
+
+    private final ServerCallStreamObserver<PushAck> observer;
+
+    private final TransactionManager transactionManager;
+
+    private final Executor executor;
+
+    private final int window;
+
+    private int inFlight;
+
+    private boolean completed;
+
+    PushStreamReceiver(final ServerCallStreamObserver<PushAck> observer,
+                       final TransactionManager transactionManager,
+                       final Executor executor,
+                       final int window) {
+        this.observer = Objects.requireNonNull(observer);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.executor = Objects.requireNonNull(executor);
+        this.window = window;
+    }
+
+    /**
+     * Takes over flow control from the call and asks for the first window of payloads
+     */
+    void start() {
+        observer.disableAutoInboundFlowControl();
+        observer.request(window);
+    }
+
+    @Override
+    public void onNext(final PushStreamRequest request) {
+        synchronized (this) {
+            inFlight++;
+        }
+
+        try {
+            executor.execute(() -> this.store(request));
+        } catch (final RejectedExecutionException ex) {
+            LOGGER.error(null, ex);
+            this.acknowledge(PushAck.newBuilder().setId(request.getId()).setError("Node is shutting down").build());
+        }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        LOGGER.debug("Push stream closed by sender: {}", Status.fromThrowable(t));
+        synchronized (this) {
+            completed = true;
+        }
+    }
+
+    @Override
+    public synchronized void onCompleted() {
+        completed = true;
+        if (inFlight == 0) {
+            observer.onCompleted();
+        }
+    }
+
+    private void store(final PushStreamRequest request) {
+        final PushAck.Builder ack = PushAck.newBuilder().setId(request.getId());
+        try {
+            ack.setHash(Objects.toString(transactionManager.storePayload(request.getData().toByteArray())));
+        } catch (final RuntimeException ex) {
+            LOGGER.error(null, ex);
+            ack.setError(Objects.toString(ex.getMessage(), ex.getClass().getSimpleName()));
+        }
+        this.acknowledge(ack.build());
+    }
+
+    private synchronized void acknowledge(final PushAck ack) {
+        inFlight--;
+
+        if (observer.isCancelled()) {
+            return;
+        }
+
+        observer.onNext(ack);
+
+        if (!completed) {
+            observer.request(1);
+        } else if (inFlight == 0) {
+            observer.onCompleted();
+        }
+    }
+
+}
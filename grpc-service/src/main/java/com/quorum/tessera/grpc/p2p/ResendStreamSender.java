@@ -0,0 +1,70 @@
+package com.quorum.tessera.grpc.p2p;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import java.util.Iterator;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the payloads of a streamed resend as the client is ready for them
+ *
+ * Runs each time the call becomes ready, sending until the outbound buffer
+ * is full or the payloads run out, and then returns without holding a thread.
+ * Payloads are only taken from the iterator as they are sent, so a slow
+ * client holds back reading from the store instead of payloads building up
+ * in memory.
+ */
+class ResendStreamSender implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResendStreamSender.class);
+
+    private final ServerCallStreamObserver<PushRequest> observer;
+
+    private final Iterator<byte[]> payloads;
+
+    private volatile boolean finished;
+
+    ResendStreamSender(final ServerCallStreamObserver<PushRequest> observer, final Iterator<byte[]> payloads) {
+        this.observer = Objects.requireNonNull(observer);
+        this.payloads = Objects.requireNonNull(payloads);
+    }
+
+    /**
+     * Starts sending once the call is ready, and stops if it is cancelled
+     */
+    void start() {
+        observer.setOnCancelHandler(this::cancel);
+        observer.setOnReadyHandler(this);
+    }
+
+    @Override
+    public void run() {
+        if (finished) {
+            return;
+        }
+
+        try {
+            while (observer.isReady() && payloads.hasNext()) {
+                observer.onNext(PushRequest.newBuilder().setData(ByteString.copyFrom(payloads.next())).build());
+            }
+
+            if (!payloads.hasNext()) {
+                finished = true;
+                observer.onCompleted();
+            }
+        } catch (final RuntimeException ex) {
+            LOGGER.error(null, ex);
+            finished = true;
+            observer.onError(Status.fromThrowable(ex).asRuntimeException());
+        }
+    }
+
+    private void cancel() {
+        LOGGER.debug("Client cancelled the resend");
+        finished = true;
+    }
+
+}
@@ -3,6 +3,8 @@ package com.quorum.tessera.client;
 import com.google.protobuf.ByteString;
 import com.quorum.tessera.grpc.p2p.*;
 import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.stub.StreamObserver;
@@ -13,9 +15,11 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -76,7 +80,19 @@ public class GrpcClientTest {
     public void testGetPartyInfoFailed() throws InterruptedException {
         client.shutdown();
         final byte[] data = "REQUEST".getBytes();
-        byte[] response = client.getPartyInfo(data);
+        final Throwable throwable = catchThrowable(() -> client.getPartyInfo(data));
+        assertUnavailable(throwable);
+    }
+
+    @Test
+    public void testGetPartyInfoRejected() {
+        doAnswer(invocation -> {
+            StreamObserver<PartyInfoMessage> observer = invocation.getArgument(1);
+            observer.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+            return null;
+        }).when(partyInfoService).getPartyInfo(any(), any());
+
+        byte[] response = client.getPartyInfo("REQUEST".getBytes());
         assertThat(response).isNull();
     }
 
@@ -97,8 +113,52 @@ public class GrpcClientTest {
     public void testPushFailed() throws InterruptedException {
         client.shutdown();
         final byte[] data = "REQUEST".getBytes();
-        byte[] response = client.push(data);
-        assertThat(response).isNull();
+        final Throwable throwable = catchThrowable(() -> client.push(data));
+        assertUnavailable(throwable);
+    }
+
+    @Test
+    public void testPushOverStream() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+
+        grpcCleanup.register(InProcessServerBuilder
+            .forName(serverName)
+            .addService(new P2PTransactionGrpc.P2PTransactionImplBase() {
+                @Override
+                public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+                    return new StreamObserver<PushStreamRequest>() {
+                        @Override
+                        public void onNext(PushStreamRequest request) {
+                            PushAck.Builder ack = PushAck.newBuilder().setId(request.getId());
+                            if (request.getData().toStringUtf8().equals("BAD")) {
+                                ack.setError("Invalid payload");
+                            } else {
+                                ack.setHash("HASH");
+                            }
+                            responseObserver.onNext(ack.build());
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            responseObserver.onCompleted();
+                        }
+                    };
+                }
+            })
+            .build()
+            .start());
+
+        final GrpcClientImpl streamingClient = new GrpcClientImpl(grpcCleanup.register(
+            InProcessChannelBuilder.forName(serverName).usePlaintext().build()));
+
+        assertThat(streamingClient.push("REQUEST".getBytes())).isEqualTo("HASH".getBytes());
+        assertThat(streamingClient.push("BAD".getBytes())).isNull();
+
+        streamingClient.shutdown();
     }
 
     @Test
@@ -118,10 +178,82 @@ public class GrpcClientTest {
     public void testResendFail() throws InterruptedException {
         client.shutdown();
         ResendRequest request = ResendRequest.newBuilder().build();
-        boolean result = client.makeResendRequest(request);
+        final Throwable throwable = catchThrowable(() -> client.makeResendRequest(request));
+        assertUnavailable(throwable);
+    }
+
+    @Test
+    public void testResendStream() {
+        java.util.List<byte[]> received = new java.util.ArrayList<>();
+
+        boolean result = client.streamResend(ResendRequest.newBuilder().build(), received::add);
+
+        verify(p2pTransactionService).resendStream(any(), any());
+        assertThat(result).isTrue();
+        assertThat(received).containsExactly("FIRST".getBytes(), "SECOND".getBytes());
+    }
+
+    @Test
+    public void testResendStreamFail() throws InterruptedException {
+        client.shutdown();
+        final Throwable throwable = catchThrowable(
+            () -> client.streamResend(ResendRequest.newBuilder().build(), bytes -> {}));
+        assertUnavailable(throwable);
+    }
+
+    @Test
+    public void testResendStreamRefused() {
+        doAnswer(invocation -> {
+            StreamObserver<PushRequest> observer = invocation.getArgument(1);
+            observer.onError(Status.UNIMPLEMENTED.asRuntimeException());
+            return null;
+        }).when(p2pTransactionService).resendStream(any(), any());
+
+        boolean result = client.streamResend(ResendRequest.newBuilder().build(), bytes -> {});
+
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void testResendStreamFailsPartWay() {
+        doAnswer(invocation -> {
+            StreamObserver<PushRequest> observer = invocation.getArgument(1);
+            observer.onNext(PushRequest.newBuilder().setData(ByteString.copyFromUtf8("FIRST")).build());
+            observer.onError(Status.INTERNAL.asRuntimeException());
+            return null;
+        }).when(p2pTransactionService).resendStream(any(), any());
+        java.util.List<byte[]> received = new java.util.ArrayList<>();
+
+        final Throwable throwable = catchThrowable(
+            () -> client.streamResend(ResendRequest.newBuilder().build(), received::add));
+
+        assertThat(throwable).isInstanceOf(StatusRuntimeException.class);
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode()).isEqualTo(Status.Code.INTERNAL);
+        assertThat(received).containsExactly("FIRST".getBytes());
+    }
+
+    @Test
+    public void testReconcile() {
+        ReconcileRequest request = ReconcileRequest.newBuilder().addPublicKeys("KEY").build();
+
+        ReconcileResponse result = client.reconcile(request);
+
+        verify(p2pTransactionService).reconcile(any(), any());
+        assertThat(result.getHashesList()).containsExactly("HASH");
+    }
+
+    @Test
+    public void testReconcileFail() throws InterruptedException {
+        client.shutdown();
+        final Throwable throwable = catchThrowable(() -> client.reconcile(ReconcileRequest.newBuilder().build()));
+        assertUnavailable(throwable);
+    }
+
+    private static void assertUnavailable(final Throwable throwable) {
+        assertThat(throwable).isInstanceOf(StatusRuntimeException.class);
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+    }
+
     /**
      * Delegate to mock the PartyInfoGrpcService class
      * The focus here is to ensure the client fires requests correctly.
@@ -164,5 +296,18 @@ public class GrpcClientTest {
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         }
+
+        @Override
+        public void resendStream(ResendRequest request, StreamObserver<PushRequest> responseObserver) {
+            responseObserver.onNext(PushRequest.newBuilder().setData(ByteString.copyFromUtf8("FIRST")).build());
+            responseObserver.onNext(PushRequest.newBuilder().setData(ByteString.copyFromUtf8("SECOND")).build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void reconcile(ReconcileRequest request, StreamObserver<ReconcileResponse> responseObserver) {
+            responseObserver.onNext(ReconcileResponse.newBuilder().addHashes("HASH").build());
+            responseObserver.onCompleted();
+        }
     }
 }
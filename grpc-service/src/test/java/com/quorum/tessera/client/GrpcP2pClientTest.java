@@ -1,13 +1,18 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
 import com.quorum.tessera.api.model.ResendRequestType;
 
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -77,6 +82,46 @@ public class GrpcP2pClientTest {
 
     }
     
+    @Test
+    public void streamResend() {
+        ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey("PUBLICKEY");
+        resendRequest.setType(ResendRequestType.ALL);
+
+        java.util.function.Consumer<byte[]> consumer = bytes -> {};
+        when(grpcClient.streamResend(any(), eq(consumer))).thenReturn(true);
+
+        assertThat(p2pClient.streamResend(targetUrl, resendRequest, consumer)).isTrue();
+
+        verify(grpcClientFactory).getClient(targetUrl);
+        verify(grpcClient).streamResend(any(), eq(consumer));
+    }
+
+    @Test
+    public void reconcile() {
+        ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(Arrays.asList("PUBLICKEY"));
+
+        when(grpcClient.reconcile(any())).thenReturn(
+            com.quorum.tessera.grpc.p2p.ReconcileResponse.newBuilder().addHashes("HASH").build()
+        );
+
+        ReconcileResponse response = p2pClient.reconcile(targetUrl, request);
+
+        assertThat(response.getHashes()).containsExactly("HASH");
+        verify(grpcClientFactory).getClient(targetUrl);
+        verify(grpcClient).reconcile(any());
+    }
+
+    @Test
+    public void failedReconcileReturnsNull() {
+        ReconcileResponse response = p2pClient.reconcile(targetUrl, new ReconcileRequest());
+
+        assertThat(response).isNull();
+        verify(grpcClientFactory).getClient(targetUrl);
+        verify(grpcClient).reconcile(any());
+    }
+
     @Test
     public void defaultConstuct() {
         GrpcP2pClient instance = new GrpcP2pClient();
@@ -0,0 +1,212 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.grpc.p2p.P2PTransactionGrpc;
+import com.quorum.tessera.grpc.p2p.PushAck;
+import com.quorum.tessera.grpc.p2p.PushStreamRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PushStreamTest {
+
+    @Rule
+    public final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+    @Test
+    public void concurrentPushesShareOneStream() throws Exception {
+        final AtomicInteger streamsOpened = new AtomicInteger();
+        final PushStream pushStream = this.pushStreamTo(new P2PTransactionGrpc.P2PTransactionImplBase() {
+            @Override
+            public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+                streamsOpened.incrementAndGet();
+                return new EchoingObserver(responseObserver);
+            }
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<PushAck>> acks = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                final byte[] data = ("PAYLOAD" + i).getBytes();
+                acks.add(executor.submit(() -> pushStream.push(data)));
+            }
+            for (int i = 0; i < 50; i++) {
+                assertThat(acks.get(i).get().getHash()).isEqualTo("PAYLOAD" + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(streamsOpened).hasValue(1);
+        assertThat(pushStream.isSupported()).isTrue();
+
+        pushStream.close();
+    }
+
+    @Test
+    public void streamIsOpenedAgainAfterFailure() {
+        final AtomicInteger streamsOpened = new AtomicInteger();
+        final PushStream pushStream = this.pushStreamTo(new P2PTransactionGrpc.P2PTransactionImplBase() {
+            @Override
+            public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+                if (streamsOpened.incrementAndGet() == 1) {
+                    return new FailingObserver(responseObserver);
+                }
+                return new EchoingObserver(responseObserver);
+            }
+        });
+
+        final Throwable throwable = catchThrowable(() -> pushStream.push("FIRST".getBytes()));
+
+        assertThat(throwable).isInstanceOf(StatusRuntimeException.class);
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+
+        assertThat(pushStream.push("SECOND".getBytes()).getHash()).isEqualTo("SECOND");
+        assertThat(streamsOpened).hasValue(2);
+        assertThat(pushStream.isSupported()).isTrue();
+
+        pushStream.close();
+    }
+
+    @Test
+    public void unimplementedStreamIsMarkedUnsupported() {
+        final PushStream pushStream = this.pushStreamTo(new P2PTransactionGrpc.P2PTransactionImplBase() {});
+
+        final Throwable throwable = catchThrowable(() -> pushStream.push("FIRST".getBytes()));
+
+        assertThat(throwable).isInstanceOf(StatusRuntimeException.class);
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode())
+            .isEqualTo(Status.Code.UNIMPLEMENTED);
+        assertThat(pushStream.isSupported()).isFalse();
+    }
+
+    @Test
+    public void unacknowledgedPushTimesOut() {
+        final PushStream pushStream = this.pushStreamTo(new P2PTransactionGrpc.P2PTransactionImplBase() {
+            @Override
+            public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+                return new EchoingObserver(responseObserver) {
+                    @Override
+                    public void onNext(PushStreamRequest request) {
+                    }
+                };
+            }
+        }, 1, 50);
+
+        final Throwable throwable = catchThrowable(() -> pushStream.push("FIRST".getBytes()));
+
+        assertThat(throwable).isInstanceOf(StatusRuntimeException.class);
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode())
+            .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+
+        pushStream.close();
+    }
+
+    @Test
+    public void streamIsOpenedAgainAfterAckTimeout() {
+        final AtomicInteger streamsOpened = new AtomicInteger();
+        final PushStream pushStream = this.pushStreamTo(new P2PTransactionGrpc.P2PTransactionImplBase() {
+            @Override
+            public StreamObserver<PushStreamRequest> pushStream(StreamObserver<PushAck> responseObserver) {
+                if (streamsOpened.incrementAndGet() == 1) {
+                    return new EchoingObserver(responseObserver) {
+                        @Override
+                        public void onNext(PushStreamRequest request) {
+                        }
+                    };
+                }
+                return new EchoingObserver(responseObserver);
+            }
+        }, 1, 200);
+
+        final Throwable throwable = catchThrowable(() -> pushStream.push("FIRST".getBytes()));
+
+        assertThat(((StatusRuntimeException) throwable).getStatus().getCode())
+            .isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+
+        assertThat(pushStream.push("SECOND".getBytes()).getHash()).isEqualTo("SECOND");
+        assertThat(streamsOpened).hasValue(2);
+
+        pushStream.close();
+    }
+
+    private PushStream pushStreamTo(final P2PTransactionGrpc.P2PTransactionImplBase service) {
+        return this.pushStreamTo(service, PushStream.DEFAULT_WINDOW, PushStream.DEFAULT_ACK_TIMEOUT_MILLIS);
+    }
+
+    private PushStream pushStreamTo(final P2PTransactionGrpc.P2PTransactionImplBase service,
+                                    final int window,
+                                    final long ackTimeoutMillis) {
+        final String serverName = InProcessServerBuilder.generateName();
+        try {
+            grpcCleanup.register(InProcessServerBuilder.forName(serverName).addService(service).build().start());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        final ManagedChannel channel = grpcCleanup.register(
+            InProcessChannelBuilder.forName(serverName).usePlaintext().build());
+
+        return new PushStream(P2PTransactionGrpc.newStub(channel), window, ackTimeoutMillis);
+    }
+
+    private static class EchoingObserver implements StreamObserver<PushStreamRequest> {
+
+        private final StreamObserver<PushAck> responseObserver;
+
+        EchoingObserver(final StreamObserver<PushAck> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(PushStreamRequest request) {
+            responseObserver.onNext(PushAck.newBuilder()
+                .setId(request.getId())
+                .setHash(request.getData().toStringUtf8())
+                .build());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+            responseObserver.onCompleted();
+        }
+    }
+
+    private static class FailingObserver extends EchoingObserver {
+
+        private final StreamObserver<PushAck> responseObserver;
+
+        FailingObserver(final StreamObserver<PushAck> responseObserver) {
+            super(responseObserver);
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(PushStreamRequest request) {
+            responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+        }
+    }
+
+}
@@ -101,6 +101,39 @@ public class ConvertorTest {
 
     }
 
+    @Test
+    public void toGrpcResendRequestSince() throws Exception {
+
+        com.quorum.tessera.api.model.ResendRequest request = new com.quorum.tessera.api.model.ResendRequest();
+        request.setPublicKey("PUBLIC_KEY");
+        request.setType(com.quorum.tessera.api.model.ResendRequestType.SINCE);
+        request.setSince(1000L);
+
+        ResendRequest result = Convertor.toGrpc(request);
+        assertThat(result).isNotNull();
+        assertThat(result.getKey()).isEmpty();
+        assertThat(result.getPublicKey()).isEqualTo("PUBLIC_KEY");
+        assertThat(result.getType()).isEqualTo(ResendRequestType.SINCE);
+        assertThat(result.getSince()).isEqualTo(1000L);
+
+    }
+
+    @Test
+    public void toModelResendRequestSince() throws Exception {
+
+        ResendRequest grpcRequest = ResendRequest.newBuilder()
+            .setPublicKey("PUBLIC_KEY")
+            .setType(ResendRequestType.SINCE)
+            .setSince(1000L)
+            .build();
+
+        com.quorum.tessera.api.model.ResendRequest result = Convertor.toModel(grpcRequest);
+        assertThat(result.getPublicKey()).isEqualTo("PUBLIC_KEY");
+        assertThat(result.getType()).isEqualTo(com.quorum.tessera.api.model.ResendRequestType.SINCE);
+        assertThat(result.getSince()).isEqualTo(1000L);
+
+    }
+
     @Test
     public void toGrpcResendRequestNoType() throws Exception {
 
@@ -132,4 +165,42 @@ public class ConvertorTest {
 
     }
 
+    @Test
+    public void reconcileRequestRoundTrip() {
+
+        com.quorum.tessera.api.model.ReconcileRequest request = new com.quorum.tessera.api.model.ReconcileRequest();
+        request.setPublicKeys(java.util.Arrays.asList("KEY"));
+        request.setBuckets(java.util.Arrays.asList(new com.quorum.tessera.api.model.HashBucket(3, 2, "DIGEST")));
+        request.setMissing(java.util.Arrays.asList("HASH"));
+        request.setBucketBits(10);
+
+        ReconcileRequest grpcRequest = Convertor.toGrpc(request);
+        assertThat(grpcRequest.getPublicKeysList()).containsExactly("KEY");
+        assertThat(grpcRequest.getBucketsList()).hasSize(1);
+        assertThat(grpcRequest.getBuckets(0).getIndex()).isEqualTo(3);
+
+        com.quorum.tessera.api.model.ReconcileRequest result = Convertor.toModel(grpcRequest);
+        assertThat(result.getPublicKeys()).containsExactly("KEY");
+        assertThat(result.getBuckets()).hasSize(1);
+        assertThat(result.getBuckets().get(0).getIndex()).isEqualTo(3);
+        assertThat(result.getBuckets().get(0).getCount()).isEqualTo(2);
+        assertThat(result.getBuckets().get(0).getDigest()).isEqualTo("DIGEST");
+        assertThat(result.getMissing()).containsExactly("HASH");
+        assertThat(result.getBucketBits()).isEqualTo(10);
+
+    }
+
+    @Test
+    public void reconcileResponseRoundTrip() {
+
+        com.quorum.tessera.api.model.ReconcileResponse response
+            = new com.quorum.tessera.api.model.ReconcileResponse(java.util.Arrays.asList("HASH"));
+
+        ReconcileResponse grpcResponse = Convertor.toGrpc(response);
+        assertThat(grpcResponse.getHashesList()).containsExactly("HASH");
+
+        assertThat(Convertor.toModel(grpcResponse).getHashes()).containsExactly("HASH");
+
+    }
+
 }
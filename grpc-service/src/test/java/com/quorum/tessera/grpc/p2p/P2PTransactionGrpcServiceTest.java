@@ -2,8 +2,13 @@ package com.quorum.tessera.grpc.p2p;
 
 import com.google.protobuf.ByteString;
 import com.quorum.tessera.transaction.TransactionManagerImpl;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import org.junit.After;
 import org.junit.Before;
@@ -24,9 +29,15 @@ public class P2PTransactionGrpcServiceTest {
     @Mock
     private StreamObserver<PushRequest> pushResponseObserver;
 
+    @Mock
+    private ServerCallStreamObserver<PushRequest> resendStreamObserver;
+
     @Mock
     private StreamObserver<ResendResponse> resendResponseObserver;
 
+    @Mock
+    private StreamObserver<ReconcileResponse> reconcileResponseObserver;
+
     @Mock
     private TransactionManagerImpl enclaveMediator;
 
@@ -35,7 +46,7 @@ public class P2PTransactionGrpcServiceTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        service = new P2PTransactionGrpcService(enclaveMediator);
+        service = new P2PTransactionGrpcService(enclaveMediator, Runnable::run);
     }
 
     @After
@@ -43,7 +54,9 @@ public class P2PTransactionGrpcServiceTest {
         verifyNoMoreInteractions(
                 deleteResponseObserver,
                 pushResponseObserver,
-                resendResponseObserver);
+                resendStreamObserver,
+                resendResponseObserver,
+                reconcileResponseObserver);
     }
 
     @Test
@@ -85,6 +98,93 @@ public class P2PTransactionGrpcServiceTest {
         verify(pushResponseObserver).onCompleted();
     }
 
+    @Test
+    public void testPushStreamAcksEachPayload() {
+
+        @SuppressWarnings("unchecked")
+        ServerCallStreamObserver<PushAck> ackObserver = mock(ServerCallStreamObserver.class);
+        when(enclaveMediator.storePayload(any()))
+                .thenReturn(new com.quorum.tessera.enclave.model.MessageHash("HASH".getBytes()));
+
+        StreamObserver<PushStreamRequest> requests = service.pushStream(ackObserver);
+        requests.onNext(PushStreamRequest.newBuilder().setId(1).setData(ByteString.copyFromUtf8("FIRST")).build());
+        requests.onNext(PushStreamRequest.newBuilder().setId(2).setData(ByteString.copyFromUtf8("SECOND")).build());
+        requests.onCompleted();
+
+        verify(enclaveMediator, times(2)).storePayload(any());
+
+        ArgumentCaptor<PushAck> captor = ArgumentCaptor.forClass(PushAck.class);
+        verify(ackObserver).disableAutoInboundFlowControl();
+        verify(ackObserver).request(PushStreamReceiver.DEFAULT_WINDOW);
+        verify(ackObserver, times(2)).isCancelled();
+        verify(ackObserver, times(2)).onNext(captor.capture());
+        verify(ackObserver, times(2)).request(1);
+        verify(ackObserver).onCompleted();
+        verifyNoMoreInteractions(ackObserver);
+
+        assertThat(captor.getAllValues()).extracting(PushAck::getId).containsExactly(1L, 2L);
+        assertThat(captor.getAllValues()).extracting(PushAck::getHash)
+                .containsOnly(Base64.getEncoder().encodeToString("HASH".getBytes()));
+        assertThat(captor.getAllValues()).extracting(PushAck::getError).containsOnly("");
+    }
+
+    @Test
+    public void testPushStreamFailureIsAcked() {
+
+        @SuppressWarnings("unchecked")
+        ServerCallStreamObserver<PushAck> ackObserver = mock(ServerCallStreamObserver.class);
+        when(enclaveMediator.storePayload(any())).thenThrow(new RuntimeException("bad payload"));
+
+        StreamObserver<PushStreamRequest> requests = service.pushStream(ackObserver);
+        requests.onNext(PushStreamRequest.newBuilder().setId(7).setData(ByteString.copyFromUtf8("BAD")).build());
+        requests.onError(new RuntimeException("gone"));
+
+        verify(enclaveMediator).storePayload(any());
+
+        ArgumentCaptor<PushAck> captor = ArgumentCaptor.forClass(PushAck.class);
+        verify(ackObserver).disableAutoInboundFlowControl();
+        verify(ackObserver).request(PushStreamReceiver.DEFAULT_WINDOW);
+        verify(ackObserver).isCancelled();
+        verify(ackObserver).onNext(captor.capture());
+        verify(ackObserver).request(1);
+        verifyNoMoreInteractions(ackObserver);
+
+        assertThat(captor.getValue().getId()).isEqualTo(7L);
+        assertThat(captor.getValue().getHash()).isEmpty();
+        assertThat(captor.getValue().getError()).isEqualTo("bad payload");
+    }
+
+    @Test
+    public void testPushStreamAcksAsPayloadsAreStored() {
+
+        @SuppressWarnings("unchecked")
+        ServerCallStreamObserver<PushAck> ackObserver = mock(ServerCallStreamObserver.class);
+        when(enclaveMediator.storePayload(any()))
+                .thenReturn(new com.quorum.tessera.enclave.model.MessageHash("HASH".getBytes()));
+
+        List<Runnable> stores = new ArrayList<>();
+        service = new P2PTransactionGrpcService(enclaveMediator, stores::add);
+
+        StreamObserver<PushStreamRequest> requests = service.pushStream(ackObserver);
+        requests.onNext(PushStreamRequest.newBuilder().setId(1).setData(ByteString.copyFromUtf8("FIRST")).build());
+        requests.onNext(PushStreamRequest.newBuilder().setId(2).setData(ByteString.copyFromUtf8("SECOND")).build());
+        requests.onCompleted();
+
+        verify(enclaveMediator, never()).storePayload(any());
+        verify(ackObserver, never()).onCompleted();
+
+        stores.get(1).run();
+        verify(ackObserver, never()).onCompleted();
+        stores.get(0).run();
+
+        ArgumentCaptor<PushAck> captor = ArgumentCaptor.forClass(PushAck.class);
+        verify(ackObserver, times(2)).onNext(captor.capture());
+        verify(ackObserver).onCompleted();
+        verify(ackObserver, never()).request(1);
+
+        assertThat(captor.getAllValues()).extracting(PushAck::getId).containsExactly(2L, 1L);
+    }
+
     @Test
     public void testResendAll() {
 
@@ -106,6 +206,161 @@ public class P2PTransactionGrpcServiceTest {
         verify(resendResponseObserver).onCompleted();
     }
 
+    @Test
+    public void testResendStream() {
+
+        ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.ALL)
+                .setPublicKey("mypublickey")
+                .build();
+
+        when(enclaveMediator.streamResend(any()))
+            .thenReturn(Arrays.asList("FIRST".getBytes(), "SECOND".getBytes()).iterator());
+        when(resendStreamObserver.isReady()).thenReturn(true);
+
+        service.resendStream(request, resendStreamObserver);
+
+        verify(enclaveMediator).streamResend(any());
+        verify(resendStreamObserver).setOnCancelHandler(any(Runnable.class));
+
+        onReadyHandler().run();
+
+        ArgumentCaptor<PushRequest> captor = ArgumentCaptor.forClass(PushRequest.class);
+        verify(resendStreamObserver, times(3)).isReady();
+        verify(resendStreamObserver, times(2)).onNext(captor.capture());
+        verify(resendStreamObserver).onCompleted();
+        assertThat(captor.getAllValues()).extracting(p -> p.getData().toStringUtf8()).containsExactly("FIRST", "SECOND");
+    }
+
+    @Test
+    public void testResendStreamWaitsUntilClientIsReady() {
+
+        ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.ALL)
+                .setPublicKey("mypublickey")
+                .build();
+
+        when(enclaveMediator.streamResend(any()))
+            .thenReturn(Arrays.asList("FIRST".getBytes(), "SECOND".getBytes()).iterator());
+        when(resendStreamObserver.isReady()).thenReturn(true, false, true);
+
+        service.resendStream(request, resendStreamObserver);
+
+        final Runnable onReady = onReadyHandler();
+        verify(resendStreamObserver).setOnCancelHandler(any(Runnable.class));
+
+        onReady.run();
+
+        verify(resendStreamObserver, times(2)).isReady();
+        verify(resendStreamObserver).onNext(any());
+
+        onReady.run();
+
+        verify(resendStreamObserver, times(4)).isReady();
+        verify(resendStreamObserver, times(2)).onNext(any());
+        verify(resendStreamObserver).onCompleted();
+
+        onReady.run();
+    }
+
+    @Test
+    public void testResendStreamStopsWhenCancelled() {
+
+        ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.ALL)
+                .setPublicKey("mypublickey")
+                .build();
+
+        when(enclaveMediator.streamResend(any()))
+            .thenReturn(Arrays.asList("FIRST".getBytes()).iterator());
+
+        service.resendStream(request, resendStreamObserver);
+
+        final Runnable onReady = onReadyHandler();
+        final ArgumentCaptor<Runnable> onCancel = ArgumentCaptor.forClass(Runnable.class);
+        verify(resendStreamObserver).setOnCancelHandler(onCancel.capture());
+
+        onCancel.getValue().run();
+        onReady.run();
+    }
+
+    @Test
+    public void testResendStreamFailure() {
+
+        ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.ALL)
+                .setPublicKey("mypublickey")
+                .build();
+
+        when(enclaveMediator.streamResend(any())).thenThrow(new RuntimeException("down"));
+
+        service.resendStream(request, resendStreamObserver);
+
+        verify(enclaveMediator).streamResend(any());
+        verify(resendStreamObserver).onError(any());
+    }
+
+    @Test
+    public void testResendStreamFailureWhileSending() {
+
+        final ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.ALL)
+                .setPublicKey("mypublickey")
+                .build();
+
+        final Iterator<byte[]> payloads = mock(Iterator.class);
+        when(payloads.hasNext()).thenReturn(true);
+        when(payloads.next()).thenThrow(new RuntimeException("down"));
+        when(enclaveMediator.streamResend(any())).thenReturn(payloads);
+        when(resendStreamObserver.isReady()).thenReturn(true);
+
+        service.resendStream(request, resendStreamObserver);
+
+        final Runnable onReady = onReadyHandler();
+        verify(resendStreamObserver).setOnCancelHandler(any(Runnable.class));
+
+        onReady.run();
+
+        verify(resendStreamObserver).isReady();
+        verify(resendStreamObserver).onError(any());
+
+        onReady.run();
+    }
+
+    @Test
+    public void testResendStreamIndividualIsRejected() {
+
+        ResendRequest request = ResendRequest.newBuilder()
+                .setType(ResendRequestType.INDIVIDUAL)
+                .setPublicKey("mypublickey")
+                .setKey("mykey")
+                .build();
+
+        service.resendStream(request, pushResponseObserver);
+
+        verify(pushResponseObserver).onError(any());
+    }
+
+    @Test
+    public void testReconcile() {
+
+        ReconcileRequest request = ReconcileRequest.newBuilder()
+                .addPublicKeys("mypublickey")
+                .build();
+
+        when(enclaveMediator.reconcile(any()))
+            .thenReturn(new com.quorum.tessera.api.model.ReconcileResponse(java.util.Arrays.asList("HASH")));
+
+        service.reconcile(request, reconcileResponseObserver);
+
+        verify(enclaveMediator).reconcile(any());
+
+        ArgumentCaptor<ReconcileResponse> captor = ArgumentCaptor.forClass(ReconcileResponse.class);
+        verify(reconcileResponseObserver).onNext(captor.capture());
+        verify(reconcileResponseObserver).onCompleted();
+        assertThat(captor.getValue().getHashesList()).containsExactly("HASH");
+    }
+
     @Test
     public void invalidDelete() {
 
@@ -118,6 +373,10 @@ public class P2PTransactionGrpcServiceTest {
 
     }
 
-
+    private Runnable onReadyHandler() {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(resendStreamObserver).setOnReadyHandler(captor.capture());
+        return captor.getValue();
+    }
 
 }
@@ -8,6 +8,7 @@ import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import io.grpc.stub.StreamObserver;
 import org.junit.After;
@@ -75,6 +76,7 @@ public class PartyInfoGrpcServiceTest {
         assertThat(response.getPartyInfo().toByteArray()).isEqualTo(resultData);
 
 
+        verify(partyInfoParser).isDelta(data);
         verify(partyInfoParser).from(data);
         verify(partyInfoService).updatePartyInfo(partyInfo);
         verify(partyInfoParser).to(partyInfo);
@@ -83,6 +85,38 @@ public class PartyInfoGrpcServiceTest {
 
     }
 
+    @Test
+    public void deltaPartyInfoIsAnsweredWithDelta() {
+
+        final byte[] data = "DELTA".getBytes();
+
+        final PartyInfoMessage partyInfoMessage = PartyInfoMessage.newBuilder()
+            .setPartyInfo(ByteString.copyFrom(data))
+            .build();
+
+        final PartyInfoDelta incoming = mock(PartyInfoDelta.class);
+        final PartyInfoDelta outgoing = mock(PartyInfoDelta.class);
+        when(partyInfoParser.isDelta(data)).thenReturn(true);
+        when(partyInfoParser.fromDelta(data)).thenReturn(incoming);
+        when(partyInfoService.updatePartyInfo(incoming)).thenReturn(outgoing);
+
+        final byte[] resultData = "CHANGES".getBytes();
+        when(partyInfoParser.toDelta(outgoing)).thenReturn(resultData);
+
+        service.getPartyInfo(partyInfoMessage, streamObserver);
+
+        final ArgumentCaptor<PartyInfoMessage> responseCaptor = ArgumentCaptor.forClass(PartyInfoMessage.class);
+        verify(streamObserver).onNext(responseCaptor.capture());
+        assertThat(responseCaptor.getValue().getPartyInfo().toByteArray()).isEqualTo(resultData);
+
+        verify(partyInfoParser).isDelta(data);
+        verify(partyInfoParser).fromDelta(data);
+        verify(partyInfoService).updatePartyInfo(incoming);
+        verify(partyInfoParser).toDelta(outgoing);
+
+        verify(streamObserver).onCompleted();
+    }
+
     @Test
     public void partyInfoJsonGet() {
 
@@ -1,5 +1,6 @@
 package com.quorum.tessera.jaxrs.client;
 
+import com.quorum.tessera.config.HttpClientConfig;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.config.UnixServerSocket;
 import com.quorum.tessera.reflect.ReflectCallback;
@@ -8,6 +9,8 @@ import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 import javax.ws.rs.client.Client;
@@ -18,10 +21,38 @@ import javax.ws.rs.core.Configuration;
 /**
  * Creates HTTP clients that can make requests
  * <p>
- * Makes the client SSL enabled if specified
+ * Makes the client SSL enabled if specified. Clients that connect over TCP
+ * keep their connections to each host in a pool for reuse, sized and timed
+ * out as set in the server's HTTP client configuration. If the server
+ * serves HTTP/2, they speak it to the hosts that advertise it as well.
  */
 public class ClientFactory {
 
+    /**
+     * How long to wait for a TCP connection to a remote node, so that a
+     * black-holed peer fails fast instead of waiting on the OS default
+     */
+    static final long CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * How long to wait for a response, or for more of a response, from a
+     * remote node, so that a peer that accepts a connection but never answers
+     * does not hold a pooled connection forever
+     */
+    static final long READ_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    static final String UNIX_SOCKET_CONNECTOR_PROVIDER = "com.quorum.tessera.jaxrs.unixsocket.JerseyUnixSocketConnectorProvider";
+
+    static final String POOLED_CONNECTOR_PROVIDER = "com.quorum.tessera.jaxrs.jetty.JettyPooledConnectorProvider";
+
+    static final String MAX_CONNECTIONS_PER_HOST = "tessera.client.maxConnectionsPerHost";
+
+    static final String IDLE_TIMEOUT = "tessera.client.idleTimeout";
+
+    static final String POOL_NAME = "tessera.client.poolName";
+
+    static final String HTTP2 = "tessera.client.http2";
+
     private final SSLContextFactory sslContextFactory;
 
     public ClientFactory(final SSLContextFactory sslContextFactory) {
@@ -32,11 +63,11 @@ public class ClientFactory {
         this(com.quorum.tessera.ssl.context.ClientSSLContextFactory.create());
     }
 
-    private static Configuration createUnixServerSocketConfig() {
+    private static Configuration createConnectorConfig(final String providerClassName) {
 
         return ReflectCallback.execute(() -> {
             Class configType = Class.forName("org.glassfish.jersey.client.ClientConfig");
-            Class providerClass = Class.forName("com.quorum.tessera.jaxrs.unixsocket.JerseyUnixSocketConnectorProvider");
+            Class providerClass = Class.forName(providerClassName);
             Object config = configType.newInstance();
             Object provider = providerClass.newInstance();
             Method connectorProviderMethod = Arrays.stream(configType.getDeclaredMethods())
@@ -59,21 +90,36 @@ public class ClientFactory {
      */
     public Client buildFrom(final ServerConfig config) {
         if (UnixServerSocket.class.isInstance(config.getServerSocket())) {
-            Configuration clientConfig = createUnixServerSocketConfig();
+            Configuration clientConfig = createConnectorConfig(UNIX_SOCKET_CONNECTOR_PROVIDER);
             Path unixfile = Paths.get(UnixServerSocket.class.cast(config.getServerSocket()).getPath());
             return ClientBuilder.newClient(clientConfig)
                     .property("unixfile", unixfile);
+        }
+
+        final HttpClientConfig httpClientConfig = Optional.ofNullable(config.getHttpClientConfig())
+                .orElseGet(HttpClientConfig::new);
 
-        } else if (config.isSsl()) {
+        final ClientBuilder builder = ClientBuilder.newBuilder()
+                .withConfig(createConnectorConfig(POOLED_CONNECTOR_PROVIDER))
+                .connectTimeout(
+                    Optional.ofNullable(httpClientConfig.getConnectTimeout()).orElse(CONNECT_TIMEOUT_MILLIS),
+                    TimeUnit.MILLISECONDS)
+                .property(MAX_CONNECTIONS_PER_HOST, httpClientConfig.getMaxConnectionsPerHost())
+                .property(IDLE_TIMEOUT, httpClientConfig.getIdleTimeout())
+                .property(POOL_NAME, String.valueOf(config.getApp()))
+                .readTimeout(
+                    Optional.ofNullable(httpClientConfig.getReadTimeout()).orElse(READ_TIMEOUT_MILLIS),
+                    TimeUnit.MILLISECONDS)
+                .property(HTTP2, config.isHttp2());
+
+        if (config.isSsl()) {
             final SSLContext sslContext = sslContextFactory.from(
                     config.getServerUri().toString(),
                     config.getSslConfig());
-            return ClientBuilder.newBuilder()
-                    .sslContext(sslContext)
-                    .build();
-        } else {
-            return ClientBuilder.newClient();
+            builder.sslContext(sslContext);
         }
+
+        return builder.build();
     }
 
 
@@ -1,9 +1,12 @@
 package com.quorum.tessera.jaxrs.client;
 
 
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.HttpClientConfig;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.config.SslConfig;
 import com.quorum.tessera.config.UnixServerSocket;
+import com.quorum.tessera.jaxrs.jetty.JettyPooledConnectorProvider;
 import com.quorum.tessera.jaxrs.unixsocket.JerseyUnixSocketConnectorProvider;
 import com.quorum.tessera.ssl.context.SSLContextFactory;
 import org.junit.After;
@@ -46,6 +49,8 @@ public class ClientFactoryTest {
 
         Client client = factory.buildFrom(serverConfig);
         assertThat(client).isNotNull();
+        assertThat(client.getConfiguration().getProperty("jersey.config.client.connectTimeout"))
+            .isEqualTo((int) ClientFactory.CONNECT_TIMEOUT_MILLIS);
 
     }
 
@@ -77,6 +82,44 @@ public class ClientFactoryTest {
         
     }
     
+    @Test
+    public void tcpClientUsesPooledConnector() {
+        ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.getApp()).thenReturn(AppType.P2P);
+
+        org.glassfish.jersey.client.JerseyClient result = (org.glassfish.jersey.client.JerseyClient) factory.buildFrom(serverConfig);
+
+        assertThat(result.getConfiguration().getConnectorProvider()).isInstanceOf(JettyPooledConnectorProvider.class);
+        assertThat(result.getConfiguration().getProperty(ClientFactory.POOL_NAME)).isEqualTo("P2P");
+        assertThat(result.getConfiguration().getProperty(ClientFactory.MAX_CONNECTIONS_PER_HOST)).isNull();
+        assertThat(result.getConfiguration().getProperty("jersey.config.client.readTimeout"))
+            .isEqualTo((int) ClientFactory.READ_TIMEOUT_MILLIS);
+        assertThat(result.getConfiguration().getProperty(ClientFactory.HTTP2)).isEqualTo(false);
+    }
+
+    @Test
+    public void http2IsPassedToConnector() {
+        ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.isHttp2()).thenReturn(true);
+
+        Client client = factory.buildFrom(serverConfig);
+
+        assertThat(client.getConfiguration().getProperty(ClientFactory.HTTP2)).isEqualTo(true);
+    }
+
+    @Test
+    public void httpClientConfigIsPassedToConnector() {
+        ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.getHttpClientConfig()).thenReturn(new HttpClientConfig(8, 500L, 2000L, 1000L));
+
+        Client client = factory.buildFrom(serverConfig);
+
+        assertThat(client.getConfiguration().getProperty(ClientFactory.MAX_CONNECTIONS_PER_HOST)).isEqualTo(8);
+        assertThat(client.getConfiguration().getProperty(ClientFactory.IDLE_TIMEOUT)).isEqualTo(1000L);
+        assertThat(client.getConfiguration().getProperty("jersey.config.client.connectTimeout")).isEqualTo(500);
+        assertThat(client.getConfiguration().getProperty("jersey.config.client.readTimeout")).isEqualTo(2000);
+    }
+
      @Test
     public void createDefaultInstance() {
         ClientFactory clientFactory = new ClientFactory();
@@ -0,0 +1,108 @@
+package com.quorum.tessera.api.common;
+
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.HttpServerConfig;
+import com.quorum.tessera.config.ServerConfig;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the suspended requests of one server, and says how long they may
+ * take before the client is answered without waiting for them
+ * <p>
+ * By default requests are waited on for as long as they take. A request that
+ * times out is not cancelled, so the client cannot tell whether a send or
+ * push it was told had failed went through in the end.
+ * <p>
+ * Each server has its own executor, so that a busy server cannot starve
+ * another of threads. Work is queued up to a fixed capacity, and anything
+ * beyond that is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public class AsyncExecutor implements Executor {
+
+    static final int DEFAULT_THREADS = 32;
+
+    static final int DEFAULT_QUEUE_CAPACITY = 512;
+
+    static final long NO_TIMEOUT = 0L;
+
+    private final Executor delegate;
+
+    private final long timeoutMillis;
+
+    /**
+     * @param delegate      the executor to run the work on
+     * @param timeoutMillis how long a suspended request may take, or 0 for
+     *                      no limit
+     */
+    public AsyncExecutor(final Executor delegate, final long timeoutMillis) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Creates the executor for a server, sized as set in its HTTP server
+     * configuration
+     *
+     * @param config the node's configuration
+     * @param app    the server the executor runs requests for
+     * @return the server's executor
+     */
+    public static AsyncExecutor from(final Config config, final AppType app) {
+        final HttpServerConfig limits = config.getServerConfigs()
+            .stream()
+            .filter(serverConfig -> serverConfig.getApp() == app)
+            .map(ServerConfig::getHttpServerConfig)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElseGet(HttpServerConfig::new);
+
+        final int threads = Optional.ofNullable(limits.getAsyncThreads()).orElse(DEFAULT_THREADS);
+        final int queueCapacity = Optional.ofNullable(limits.getAsyncQueueCapacity()).orElse(DEFAULT_QUEUE_CAPACITY);
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            namedThreads(app),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        return new AsyncExecutor(executor, Optional.ofNullable(limits.getAsyncTimeout()).orElse(NO_TIMEOUT));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(command);
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Stops running requests, interrupting any that are in progress
+     */
+    public void shutdown() {
+        if (delegate instanceof ExecutorService) {
+            ((ExecutorService) delegate).shutdownNow();
+        }
+    }
+
+    private static ThreadFactory namedThreads(final AppType app) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> new Thread(runnable, app + "-async-" + count.incrementAndGet());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.quorum.tessera.api.common;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the work behind a suspended request on a separate executor, so the
+ * server's request thread is released while it waits on the database, the
+ * enclave or other nodes
+ * <p>
+ * Exceptions are passed back to the suspended response, so they are mapped
+ * by the same exception mappers as a synchronous resource method. If the
+ * executor has a timeout, a response that is not resumed within it is
+ * answered with a 503 status, although the work carries on.
+ */
+public final class AsyncResponses {
+
+    private AsyncResponses() {
+        throw new UnsupportedOperationException("This object should not be constructed.");
+    }
+
+    public static void resume(final AsyncExecutor executor,
+                              final AsyncResponse asyncResponse,
+                              final Callable<Response> action) {
+        if (executor.getTimeoutMillis() > 0) {
+            asyncResponse.setTimeout(executor.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        resume((Executor) executor, asyncResponse, action);
+    }
+
+    public static void resume(final Executor executor,
+                              final AsyncResponse asyncResponse,
+                              final Callable<Response> action) {
+        try {
+            executor.execute(() -> {
+                try {
+                    asyncResponse.resume(action.call());
+                } catch (final Throwable ex) {
+                    asyncResponse.resume(ex);
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            asyncResponse.resume(ex);
+        }
+    }
+
+}
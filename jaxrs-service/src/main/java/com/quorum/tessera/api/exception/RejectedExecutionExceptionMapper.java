@@ -0,0 +1,25 @@
+package com.quorum.tessera.api.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Answers a request that could not be queued, because the server is
+ * already running as much work as it will hold, so the client may try again
+ */
+@Provider
+public class RejectedExecutionExceptionMapper implements ExceptionMapper<RejectedExecutionException> {
+
+    @Override
+    public Response toResponse(RejectedExecutionException e) {
+        return Response.status(Status.SERVICE_UNAVAILABLE)
+                .entity("Server is busy, try again later")
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.quorum.tessera.api.filter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * A block of IPv4 or IPv6 addresses written in CIDR notation, such as
+ * {@code 10.0.0.0/8}. A single address is a block of one.
+ */
+final class AddressRange {
+
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final byte[] network;
+
+    private final int prefixLength;
+
+    private AddressRange(final byte[] network, final int prefixLength) {
+        this.network = network;
+        this.prefixLength = prefixLength;
+    }
+
+    static AddressRange parse(final String range) {
+        final String[] parts = range.trim().split("/", 2);
+
+        final byte[] network = toBytes(parts[0])
+            .orElseThrow(() -> new IllegalArgumentException("Not an IP address range: " + range));
+
+        final int maxPrefixLength = network.length * Byte.SIZE;
+        final int prefixLength;
+        try {
+            prefixLength = parts.length == 2 ? Integer.parseInt(parts[1]) : maxPrefixLength;
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("Not an IP address range: " + range, ex);
+        }
+
+        if (prefixLength < 0 || prefixLength > maxPrefixLength) {
+            throw new IllegalArgumentException("Not an IP address range: " + range);
+        }
+
+        return new AddressRange(network, prefixLength);
+    }
+
+    /**
+     * Reads an IP address literal without looking up any host names
+     *
+     * @return the address, or empty if the value is not an IP address
+     */
+    static Optional<byte[]> toBytes(final String address) {
+        if (address == null || !(address.contains(":") || IPV4_LITERAL.matcher(address).matches())) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(InetAddress.getByName(address).getAddress());
+        } catch (final UnknownHostException ex) {
+            return Optional.empty();
+        }
+    }
+
+    boolean contains(final byte[] address) {
+        if (address.length != network.length) {
+            return false;
+        }
+
+        final int wholeBytes = prefixLength / Byte.SIZE;
+        for (int i = 0; i < wholeBytes; i++) {
+            if (address[i] != network[i]) {
+                return false;
+            }
+        }
+
+        final int remainingBits = prefixLength % Byte.SIZE;
+        if (remainingBits == 0) {
+            return true;
+        }
+
+        final int mask = 0xFF << (Byte.SIZE - remainingBits);
+        return (address[wholeBytes] & mask) == (network[wholeBytes] & mask);
+    }
+
+}
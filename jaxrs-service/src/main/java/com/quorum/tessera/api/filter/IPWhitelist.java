@@ -0,0 +1,95 @@
+package com.quorum.tessera.api.filter;
+
+import com.quorum.tessera.config.Peer;
+import com.quorum.tessera.io.IOCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The addresses allowed through the whitelist, worked out ahead of time so
+ * that checking a caller is a set lookup
+ * <p>
+ * Each peer's host is kept as written and as the addresses it resolved to
+ * when the whitelist was built, so callers are only ever matched on their
+ * IP address.
+ */
+final class IPWhitelist {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IPWhitelist.class);
+
+    @FunctionalInterface
+    interface HostResolver {
+        InetAddress[] resolve(String host) throws UnknownHostException;
+    }
+
+    private final Set<String> addresses;
+
+    private final List<AddressRange> ranges;
+
+    private final int peerCount;
+
+    private final long builtAt;
+
+    private IPWhitelist(final Set<String> addresses,
+                        final List<AddressRange> ranges,
+                        final int peerCount,
+                        final long builtAt) {
+        this.addresses = addresses;
+        this.ranges = ranges;
+        this.peerCount = peerCount;
+        this.builtAt = builtAt;
+    }
+
+    static IPWhitelist build(final List<Peer> peers,
+                             final List<AddressRange> ranges,
+                             final HostResolver resolver,
+                             final long now) {
+        final Set<String> addresses = new HashSet<>();
+
+        for (final Peer peer : peers) {
+            final String host = IOCallback.execute(() -> new URL(peer.getUrl())).getHost();
+            addresses.add(host);
+
+            try {
+                for (final InetAddress address : resolver.resolve(host)) {
+                    addresses.add(address.getHostAddress());
+                }
+            } catch (final UnknownHostException ex) {
+                LOGGER.debug("Unable to resolve whitelisted host {}", host);
+            }
+        }
+
+        return new IPWhitelist(Collections.unmodifiableSet(addresses), ranges, peers.size(), now);
+    }
+
+    boolean allows(final String remoteAddress) {
+        if (addresses.contains(remoteAddress)) {
+            return true;
+        }
+
+        if (ranges.isEmpty()) {
+            return false;
+        }
+
+        final Optional<byte[]> address = AddressRange.toBytes(remoteAddress);
+        return address.isPresent() && ranges.stream().anyMatch(range -> range.contains(address.get()));
+    }
+
+    /**
+     * Whether peers have been added, or the resolved addresses are too old
+     * to trust, since the whitelist was built
+     */
+    boolean isStale(final int currentPeerCount, final long now, final long maxAgeMillis) {
+        return currentPeerCount != peerCount || now - builtAt >= maxAgeMillis;
+    }
+
+}
@@ -2,16 +2,19 @@ package com.quorum.tessera.api.filter;
 
 import com.quorum.tessera.config.Peer;
 import com.quorum.tessera.core.config.ConfigService;
-import com.quorum.tessera.io.IOCallback;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
-import java.net.URL;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,29 +23,60 @@ import org.slf4j.LoggerFactory;
  * Applies a filter to all endpoints that only allows certain IP address and
  * ghost names to get access to the HTTP endpoints
  *
+ * The whitelist is built from the peers and the configured address ranges
+ * ahead of time. It is rebuilt in the background, by running the filter as a
+ * scheduled task, when the peers change or the addresses the peers' hosts
+ * resolved to are more than a minute old. Requests only ever read the
+ * latest whitelist, and callers are matched on their IP address only, so a
+ * request never waits on a host lookup.
+ *
  * If an error occurs whilst checking the whitelist, the filter is disabled.
  * This is done since not all webservers have support for the
  * {@link HttpServletRequest} context class, which is required.
  */
 @GlobalFilter
-public class IPWhitelistFilter implements ContainerRequestFilter {
+public class IPWhitelistFilter implements ContainerRequestFilter, Runnable, Predicate<String> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IPWhitelistFilter.class);
-    
+
+    static final long RESOLVED_ADDRESS_MAX_AGE_MILLIS = 60_000L;
+
     private final ConfigService configService;
 
+    private final List<AddressRange> ranges;
+
+    private final IPWhitelist.HostResolver resolver;
+
+    private final LongSupplier clock;
+
+    private volatile IPWhitelist whitelist;
+
     private boolean disabled;
 
     private HttpServletRequest httpServletRequest;
 
     public IPWhitelistFilter(ConfigService configService) {
+        this(configService, InetAddress::getAllByName, System::currentTimeMillis);
+    }
+
+    IPWhitelistFilter(final ConfigService configService,
+                      final IPWhitelist.HostResolver resolver,
+                      final LongSupplier clock) {
         this.configService = Objects.requireNonNull(configService);
+        this.resolver = Objects.requireNonNull(resolver);
+        this.clock = Objects.requireNonNull(clock);
         this.disabled = !configService.isUseWhiteList();
+        this.ranges = disabled ? Collections.emptyList() : Optional.ofNullable(configService.getWhiteListRanges())
+            .orElse(Collections.emptyList())
+            .stream()
+            .map(AddressRange::parse)
+            .collect(Collectors.toList());
+        this.whitelist = disabled ? null : IPWhitelist.build(configService.getPeers(), ranges, resolver, clock.getAsLong());
     }
 
     /**
      * If the filter is disabled, return immediately Otherwise, extract the
-     * callers hostname and address, and check it against the whitelist
+     * callers address, and check it against the whitelist
      *
      * If a problem occurs, then disable the filter
      *
@@ -65,18 +99,9 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
 
         try {
 
-            final Set<String> whitelisted = configService.getPeers().stream()
-                    .map(Peer::getUrl)
-                    .map(s -> IOCallback.execute(() -> new URL(s)))
-                    .map(URL::getHost)
-                    .collect(Collectors.toSet());
-
             final String remoteAddress = httpServletRequest.getRemoteAddr();
-            final String remoteHost = httpServletRequest.getRemoteHost();
-
-            final boolean allowed = whitelisted.contains(remoteAddress) || whitelisted.contains(remoteHost);
 
-            if (!allowed) {
+            if (!this.test(remoteAddress)) {
                 requestContext.abortWith(Response.status(Response.Status.UNAUTHORIZED).build());
             }
 
@@ -87,6 +112,36 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
 
     }
 
+    /**
+     * Whether a caller at the given address is let through, for servers that
+     * check callers outside of Jersey
+     *
+     * @param remoteAddress the IP address of the caller
+     * @return whether the caller is whitelisted, always true if the
+     * whitelist is not in use
+     */
+    @Override
+    public boolean test(final String remoteAddress) {
+        return disabled || whitelist.allows(remoteAddress);
+    }
+
+    /**
+     * Rebuilds the whitelist if the peers have changed or the addresses their
+     * hosts resolved to are too old, looking up each peer's host again
+     */
+    @Override
+    public void run() {
+        if (disabled) {
+            return;
+        }
+
+        final List<Peer> peers = configService.getPeers();
+
+        if (whitelist.isStale(peers.size(), clock.getAsLong(), RESOLVED_ADDRESS_MAX_AGE_MILLIS)) {
+            this.whitelist = IPWhitelist.build(peers, ranges, resolver, clock.getAsLong());
+        }
+    }
+
     /**
      * Apply the current HTTP context to the filter, to check the remote host
      *
@@ -1,12 +1,20 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.api.model.ApiPath;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.util.PayloadFraming;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Makes HTTP Post calls on behalf of the application
@@ -14,10 +22,30 @@ import java.util.Objects;
  */
 public class PostDelegate {
 
+    /**
+     * The Jersey client property for how long to wait on a response
+     */
+    static final String READ_TIMEOUT = "jersey.config.client.readTimeout";
+
+    /**
+     * How long to wait for a node to finish a resend, if not configured
+     */
+    public static final long DEFAULT_RESEND_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
     private final Client client;
 
-    public PostDelegate(final Client client){
+    private final int maxPayloadSize;
+
+    private final int resendTimeoutMillis;
+
+    public PostDelegate(final Client client, final int maxPayloadSize, final long resendTimeoutMillis) {
         this.client = Objects.requireNonNull(client);
+        this.maxPayloadSize = maxPayloadSize;
+        this.resendTimeoutMillis = (int) Math.min(resendTimeoutMillis, Integer.MAX_VALUE);
+    }
+
+    public PostDelegate(final Client client){
+        this(client, PayloadFraming.DEFAULT_MAX_LENGTH, DEFAULT_RESEND_TIMEOUT_MILLIS);
     }
     
     
@@ -38,18 +66,26 @@ public class PostDelegate {
             .request()
             .post(Entity.entity(data, MediaType.APPLICATION_OCTET_STREAM_TYPE));
 
-        if (Response.Status.OK.getStatusCode() != response.getStatus() &&
-            Response.Status.CREATED.getStatusCode() != response.getStatus()) {
-            return null;
-        }
+        try {
+            if (Response.Status.OK.getStatusCode() != response.getStatus() &&
+                Response.Status.CREATED.getStatusCode() != response.getStatus()) {
+                return null;
+            }
 
-        return response.readEntity(byte[].class);
+            return response.readEntity(byte[].class);
+        } finally {
+            response.close();
+        }
     }
 
     /**
      * Makes a request to resend transactions to the provided node.
      * The request objects is passed in with all the settings that are needed for this request preset.
      *
+     * The node only responds once it has pushed every transaction, so this
+     * request waits up to the resend timeout rather than the client's
+     * usual read timeout.
+     *
      * Does not handle an exceptions that arise.
      *
      * @param url The target url to make the request to
@@ -62,9 +98,86 @@ public class PostDelegate {
             .target(url)
             .path("/resend")
             .request()
+            .property(READ_TIMEOUT, resendTimeoutMillis)
             .post(Entity.entity(resendRequest, MediaType.APPLICATION_JSON));
 
-        return Response.Status.OK.getStatusCode() == response.getStatus();
+        //closing releases the pooled connection even if the body is unread
+        try {
+            return Response.Status.OK.getStatusCode() == response.getStatus();
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Asks the provided node to resend transactions in the response body
+     * rather than pushing them one by one. The body is read as it arrives,
+     * with each length prefixed payload handed to the consumer in turn. A
+     * payload longer than the maximum payload size fails the read.
+     *
+     * Does not handle an exceptions that arise.
+     *
+     * @param url The target url to make the request to
+     * @param resendRequest The request body object that gets serialised
+     * @param encodedPayloadConsumer Receives each encoded payload
+     * @return whether the node accepted the request and the whole body was read
+     */
+    public boolean streamResend(final String url,
+                                final ResendRequest resendRequest,
+                                final Consumer<byte[]> encodedPayloadConsumer) {
+
+        final Response response = client
+            .target(url)
+            .path(ApiPath.RESEND_STREAM)
+            .request()
+            .post(Entity.entity(resendRequest, MediaType.APPLICATION_JSON));
+
+        try {
+            if (Response.Status.OK.getStatusCode() != response.getStatus()) {
+                return false;
+            }
+
+            try (InputStream in = response.readEntity(InputStream.class)) {
+                byte[] payload;
+                while ((payload = PayloadFraming.read(in, maxPayloadSize)) != null) {
+                    encodedPayloadConsumer.accept(payload);
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            return true;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Sends a reconciliation request to the provided node.
+     *
+     * Does not handle an exceptions that arise.
+     *
+     * @param url The target url to make the request to
+     * @param reconcileRequest The request body object that gets serialised
+     * @return the response of the node, or null if it did not respond with 200 OK
+     */
+    public ReconcileResponse reconcile(final String url, final ReconcileRequest reconcileRequest) {
+
+        final Response response = client
+            .target(url)
+            .path(ApiPath.RECONCILE)
+            .request()
+            .post(Entity.entity(reconcileRequest, MediaType.APPLICATION_JSON));
+
+        try {
+            if (Response.Status.OK.getStatusCode() != response.getStatus()) {
+                return null;
+            }
+
+            return response.readEntity(ReconcileResponse.class);
+        } finally {
+            response.close();
+        }
     }
 
 }
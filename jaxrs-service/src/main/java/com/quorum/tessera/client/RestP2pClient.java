@@ -2,8 +2,11 @@
 package com.quorum.tessera.client;
 
 import com.quorum.tessera.api.model.ApiPath;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public class RestP2pClient implements P2pClient {
     
@@ -28,5 +31,15 @@ public class RestP2pClient implements P2pClient {
         return postDelegate.makeResendRequest(targetUrl, request);
     }
 
+    @Override
+    public boolean streamResend(String targetUrl, ResendRequest request, Consumer<byte[]> encodedPayloadConsumer) {
+        return postDelegate.streamResend(targetUrl, request, encodedPayloadConsumer);
+    }
+
+    @Override
+    public ReconcileResponse reconcile(String targetUrl, ReconcileRequest request) {
+        return postDelegate.reconcile(targetUrl, request);
+    }
+
     
 }
@@ -2,9 +2,12 @@ package com.quorum.tessera.client;
 
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.SyncConfig;
 import com.quorum.tessera.jaxrs.client.ClientFactory;
 import com.quorum.tessera.ssl.context.ClientSSLContextFactory;
 import com.quorum.tessera.ssl.context.SSLContextFactory;
+import com.quorum.tessera.util.PayloadFraming;
+import java.util.Optional;
 import javax.ws.rs.client.Client;
 
 public class RestP2pClientFactory implements P2pClientFactory {
@@ -18,7 +21,15 @@ public class RestP2pClientFactory implements P2pClientFactory {
 
         Client client = clientFactory.buildFrom(config.getP2PServerConfig());
 
-        PostDelegate postDelegate = new PostDelegate(client);
+        int maxPayloadSize = Optional.ofNullable(config.getSyncConfig())
+            .map(SyncConfig::getMaxPayloadSize)
+            .orElse(PayloadFraming.DEFAULT_MAX_LENGTH);
+
+        long resendTimeout = Optional.ofNullable(config.getSyncConfig())
+            .map(SyncConfig::getResendTimeout)
+            .orElse(PostDelegate.DEFAULT_RESEND_TIMEOUT_MILLIS);
+
+        PostDelegate postDelegate = new PostDelegate(client, maxPayloadSize, resendTimeout);
 
         return new RestP2pClient(postDelegate);
         
@@ -1,20 +1,25 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.client.CircuitBreakerRegistry;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import com.quorum.tessera.node.model.Recipient;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import javax.json.Json;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
+import java.nio.charset.StandardCharsets;
 
 import static java.util.Objects.requireNonNull;
 
@@ -24,19 +29,29 @@ import static java.util.Objects.requireNonNull;
 @Path("/partyinfo")
 public class PartyInfoResource {
 
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(null);
+
     private final PartyInfoParser partyInfoParser;
 
     private final PartyInfoService partyInfoService;
 
-    public PartyInfoResource(final PartyInfoService partyInfoService, final PartyInfoParser partyInfoParser) {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public PartyInfoResource(final PartyInfoService partyInfoService,
+                             final PartyInfoParser partyInfoParser,
+                             final CircuitBreakerRegistry circuitBreakerRegistry) {
         this.partyInfoService = requireNonNull(partyInfoService, "partyInfoService must not be null");
         this.partyInfoParser = requireNonNull(partyInfoParser, "partyInfoParser must not be null");
+        this.circuitBreakerRegistry = requireNonNull(circuitBreakerRegistry, "circuitBreakerRegistry must not be null");
     }
 
     /**
      * Allows node information to be retrieved in a specific encoded form
      * including other node URLS and public key to URL mappings
      *
+     * If the payload is a delta, only the changes the requester has not yet
+     * seen are returned, also as a delta.
+     *
      * @param payload The encoded node information from the requester
      * @return the merged node information from this node, which may contain new information
      */
@@ -47,6 +62,16 @@ public class PartyInfoResource {
     @ApiResponses({@ApiResponse(code = 200, message = "Encoded PartyInfo Data", response = byte[].class)})
     public Response partyInfo(@ApiParam(required = true) final byte[] payload) {
 
+        if (partyInfoParser.isDelta(payload)) {
+            final PartyInfoDelta delta = partyInfoParser.fromDelta(payload);
+
+            final byte[] encoded = partyInfoParser.toDelta(partyInfoService.updatePartyInfo(delta));
+
+            final StreamingOutput streamingOutput = out -> out.write(encoded);
+
+            return Response.status(Response.Status.OK).entity(streamingOutput).build();
+        }
+
         final PartyInfo partyInfo = partyInfoParser.from(payload);
 
         final PartyInfo updatedPartyInfo = partyInfoService.updatePartyInfo(partyInfo);
@@ -58,50 +83,81 @@ public class PartyInfoResource {
         return Response.status(Response.Status.OK).entity(streamingOutput).build();
     }
 
+    /**
+     * Writes this nodes view of the network as JSON
+     *
+     * The output is generated directly to the response stream. The optional
+     * filters restrict it to a single key or peer, or to only the entries that
+     * changed after a version of the store previously returned by this endpoint.
+     *
+     * @param key only list this public key, encoded in base64
+     * @param url only list this peer and the keys that it hosts
+     * @param since only list keys and peers added after this store version
+     * @return the node information as JSON
+     */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Fetch network/peer information", produces = "public list of peers/publickey mappings")
     @ApiResponses({@ApiResponse(code = 200, message = "Peer/Network information", response = PartyInfo.class)})
-    public Response getPartyInfo() {
-
-        final PartyInfo current = this.partyInfoService.getPartyInfo();
-
-        //TODO: remove the filter when URIs don't need to end with a /
-        final JsonArrayBuilder peersBuilder = Json.createArrayBuilder();
-        current.getParties()
-            .stream()
-            .filter(p -> p.getUrl().endsWith("/"))
-            .map(party -> {
-                final JsonObjectBuilder builder = Json.createObjectBuilder();
-                builder.add("url", party.getUrl());
-                if (party.getLastContacted() != null) {
-                    builder.add("lastContact", party.getLastContacted().toString());
-                } else {
-                    builder.addNull("lastContact");
+    public Response getPartyInfo(@ApiParam("Only list this base64 encoded public key") @QueryParam("key") final String key,
+                                 @ApiParam("Only list this peer and its keys") @QueryParam("url") final String url,
+                                 @ApiParam("Only list entries added after this version") @QueryParam("since") final Long since) {
+
+        final PartyInfoDelta changes = (since == null) ? null : this.partyInfoService.getPartyInfoSince(since);
+        final PartyInfo current = (changes == null) ? this.partyInfoService.getPartyInfo() : changes.getPartyInfo();
+
+        final StreamingOutput streamingOutput = out -> {
+            try (JsonGenerator generator = GENERATOR_FACTORY.createGenerator(out, StandardCharsets.UTF_8)) {
+                generator.writeStartObject();
+                generator.write("url", current.getUrl());
+
+                if (changes != null) {
+                    generator.write("generation", changes.getGeneration());
+                    generator.write("version", changes.getVersion());
+                }
+
+                //TODO: remove the filter when URIs don't need to end with a /
+                generator.writeStartArray("peers");
+                for (final Party party : current.getParties()) {
+                    if (!party.getUrl().endsWith("/") || (url != null && !url.equals(party.getUrl()))) {
+                        continue;
+                    }
+
+                    generator.writeStartObject();
+                    generator.write("url", party.getUrl());
+                    if (party.getLastContacted() != null) {
+                        generator.write("lastContact", party.getLastContacted().toString());
+                    } else {
+                        generator.writeNull("lastContact");
+                    }
+                    generator.write("circuit", circuitBreakerRegistry.getState(party.getUrl()).name());
+                    generator.writeEnd();
+                }
+                generator.writeEnd();
+
+                generator.writeStartArray("keys");
+                for (final Recipient recipient : current.getRecipients()) {
+                    if (url != null && !url.equals(recipient.getUrl())) {
+                        continue;
+                    }
+
+                    final String encodedKey = recipient.getKey().encodeToBase64();
+                    if (key != null && !key.equals(encodedKey)) {
+                        continue;
+                    }
+
+                    generator.writeStartObject()
+                        .write("key", encodedKey)
+                        .write("url", recipient.getUrl())
+                        .writeEnd();
                 }
-                return builder.build();
-            })
-            .forEach(peersBuilder::add);
-
-        final JsonArrayBuilder recipientBuilder = Json.createArrayBuilder();
-        current.getRecipients()
-            .stream()
-            .map(recipient -> Json
-                .createObjectBuilder()
-                .add("key", recipient.getKey().encodeToBase64())
-                .add("url", recipient.getUrl())
-                .build()
-            ).forEach(recipientBuilder::add);
-
-        final String output = Json
-            .createObjectBuilder()
-            .add("url", current.getUrl())
-            .add("peers", peersBuilder.build())
-            .add("keys", recipientBuilder.build())
-            .build()
-            .toString();
-
-        return Response.status(Response.Status.OK).entity(output).build();
+                generator.writeEnd();
+
+                generator.writeEnd();
+            }
+        };
+
+        return Response.status(Response.Status.OK).entity(streamingOutput).build();
     }
 
 }
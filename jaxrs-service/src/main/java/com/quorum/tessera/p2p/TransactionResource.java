@@ -1,10 +1,16 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.api.common.AsyncExecutor;
+import com.quorum.tessera.api.common.AsyncResponses;
 import com.quorum.tessera.api.filter.Logged;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
 import com.quorum.tessera.api.model.ResendResponse;
 import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.util.PayloadFraming;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -18,8 +24,14 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Response.Status;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.Objects;
 
 import static javax.ws.rs.core.MediaType.*;
@@ -29,6 +41,9 @@ import static javax.ws.rs.core.MediaType.*;
  *
  * - creating new transactions and distributing them - deleting transactions -
  * fetching transactions - resending old transactions
+ *
+ * Pushes wait on the database and the enclave, so they are run on a
+ * separate executor and the request is resumed when they finish.
  */
 @Logged
 @Path("/")
@@ -38,8 +53,11 @@ public class TransactionResource {
 
     private final TransactionManager delegate;
 
-    public TransactionResource(TransactionManager delegate) {
+    private final AsyncExecutor executor;
+
+    public TransactionResource(TransactionManager delegate, AsyncExecutor executor) {
         this.delegate = Objects.requireNonNull(delegate);
+        this.executor = Objects.requireNonNull(executor);
     }
 
     @ApiOperation("Resend transactions for given key or message hash/recipient")
@@ -64,6 +82,60 @@ public class TransactionResource {
 
     }
 
+    @ApiOperation("Resend all transactions for a key, or those stored since a time, in the response body")
+    @ApiResponses({
+        @ApiResponse(code = 200, message = "Length prefixed encoded payloads"),
+        @ApiResponse(code = 500, message = "General error")
+    })
+    @POST
+    @Path("resendStream")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_OCTET_STREAM)
+    public Response resendStream(
+            @ApiParam(name = "resendRequest", required = true) @Valid @NotNull final ResendRequest resendRequest
+    ) {
+
+        LOGGER.debug("Received streaming resend request");
+
+        if (resendRequest.getType() == ResendRequestType.INDIVIDUAL) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        final Iterator<byte[]> payloads = delegate.streamResend(resendRequest);
+
+        //stored transactions are only read as fast as the response body is written
+        final StreamingOutput streamingOutput = output -> {
+            final OutputStream out = new BufferedOutputStream(output);
+            while (payloads.hasNext()) {
+                PayloadFraming.write(out, payloads.next());
+            }
+            out.flush();
+        };
+
+        return Response.status(Status.OK).entity(streamingOutput).build();
+
+    }
+
+    @ApiOperation("Compare the transactions shared with another node, or send back the ones it is missing")
+    @ApiResponses({
+        @ApiResponse(code = 200, message = "Hashes in the buckets that differ", response = ReconcileResponse.class),
+        @ApiResponse(code = 500, message = "General error")
+    })
+    @POST
+    @Path("reconcile")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    public Response reconcile(
+            @ApiParam(name = "reconcileRequest", required = true) @Valid @NotNull final ReconcileRequest reconcileRequest
+    ) {
+
+        LOGGER.debug("Received reconcile request");
+
+        final ReconcileResponse response = delegate.reconcile(reconcileRequest);
+        return Response.status(Status.OK).entity(response).build();
+
+    }
+
     @ApiOperation(value = "Transmit encrypted payload between P2PRestApp Nodes")
     @ApiResponses({
         @ApiResponse(code = 201, message = "Key created status"),
@@ -72,18 +144,21 @@ public class TransactionResource {
     @POST
     @Path("push")
     @Consumes(APPLICATION_OCTET_STREAM)
-    public Response push(
-            @ApiParam(name = "payload", required = true, value = "Key data to be stored.") final byte[] payload
+    public void push(
+            @ApiParam(name = "payload", required = true, value = "Key data to be stored.") final byte[] payload,
+            @Suspended final AsyncResponse asyncResponse
     ) {
 
         LOGGER.debug("Received push request");
 
-        final MessageHash messageHash = delegate.storePayload(payload);
-        LOGGER.debug("Push request generated hash {}", Objects.toString(messageHash));
-        //TODO: Return the query url not the string of the messageHAsh
-        return Response.status(Response.Status.CREATED)
-                .entity(Objects.toString(messageHash))
-                .build();
+        AsyncResponses.resume(executor, asyncResponse, () -> {
+            final MessageHash messageHash = delegate.storePayload(payload);
+            LOGGER.debug("Push request generated hash {}", Objects.toString(messageHash));
+            //TODO: Return the query url not the string of the messageHAsh
+            return Response.status(Response.Status.CREATED)
+                    .entity(Objects.toString(messageHash))
+                    .build();
+        });
     }
 
 }
@@ -1,5 +1,7 @@
 package com.quorum.tessera.q2t;
 
+import com.quorum.tessera.api.common.AsyncExecutor;
+import com.quorum.tessera.api.common.AsyncResponses;
 import com.quorum.tessera.api.filter.Logged;
 import com.quorum.tessera.api.model.*;
 import com.quorum.tessera.transaction.TransactionManager;
@@ -14,10 +16,11 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriBuilder;
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -31,6 +34,10 @@ import static javax.ws.rs.core.MediaType.*;
  *
  * - creating new transactions and distributing them - deleting transactions -
  * fetching transactions - resending old transactions
+ *
+ * Sending and receiving wait on the database, the enclave and other nodes,
+ * so they are run on a separate executor and the request is resumed when
+ * they finish.
  */
 @Logged
 @Path("/")
@@ -40,8 +47,11 @@ public class TransactionResource {
 
     private final TransactionManager delegate;
 
-    public TransactionResource(TransactionManager delegate) {
+    private final AsyncExecutor executor;
+
+    public TransactionResource(TransactionManager delegate, AsyncExecutor executor) {
         this.delegate = Objects.requireNonNull(delegate);
+        this.executor = Objects.requireNonNull(executor);
     }
 
     @ApiOperation(value = "Send private transaction payload", produces = "Encrypted payload")
@@ -53,21 +63,25 @@ public class TransactionResource {
     @Path("send")
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON)
-    public Response send(
+    public void send(
             @ApiParam(name = "sendRequest", required = true)
-            @NotNull @Valid final SendRequest sendRequest) throws UnsupportedEncodingException {
+            @NotNull @Valid final SendRequest sendRequest,
+            @Suspended final AsyncResponse asyncResponse) {
 
-        final SendResponse response = delegate.send(sendRequest);
+        AsyncResponses.resume(executor, asyncResponse, () -> {
 
-        URI location = UriBuilder.fromPath("transaction")
-                .path(URLEncoder.encode(response.getKey(), StandardCharsets.UTF_8.toString()))
-                .build();
+            final SendResponse response = delegate.send(sendRequest);
 
-        return Response.status(Status.CREATED)
-                .type(APPLICATION_JSON)
-                .location(location)
-                .entity(response)
-                .build();
+            URI location = UriBuilder.fromPath("transaction")
+                    .path(URLEncoder.encode(response.getKey(), StandardCharsets.UTF_8.toString()))
+                    .build();
+
+            return Response.status(Status.CREATED)
+                    .type(APPLICATION_JSON)
+                    .location(location)
+                    .entity(response)
+                    .build();
+        });
 
     }
 
@@ -80,9 +94,10 @@ public class TransactionResource {
     @Path("sendsignedtx")
     @Consumes(APPLICATION_OCTET_STREAM)
     @Produces(TEXT_PLAIN)
-    public Response sendSignedTransaction(
+    public void sendSignedTransaction(
         @HeaderParam("c11n-to") final String recipientKeys,
-        @NotNull @Size(min = 1) final byte[] signedTransaction) throws UnsupportedEncodingException {
+        @NotNull @Size(min = 1) final byte[] signedTransaction,
+        @Suspended final AsyncResponse asyncResponse) {
 
         SendSignedRequest sendSignedRequest = new SendSignedRequest();
 
@@ -93,21 +108,24 @@ public class TransactionResource {
             .map(v -> v.split(","))
             .ifPresent(sendSignedRequest::setTo);
 
-        final SendResponse response = delegate.sendSignedTransaction(sendSignedRequest);
+        AsyncResponses.resume(executor, asyncResponse, () -> {
 
-        final String encodedKey = response.getKey();
+            final SendResponse response = delegate.sendSignedTransaction(sendSignedRequest);
 
-        LOGGER.debug("Encoded key: {}", encodedKey);
+            final String encodedKey = response.getKey();
 
-        URI location = UriBuilder.fromPath("transaction")
-            .path(URLEncoder.encode(encodedKey, StandardCharsets.UTF_8.toString()))
-            .build();
+            LOGGER.debug("Encoded key: {}", encodedKey);
 
-        //TODO: Quorum expects only 200 responses. When Quorum can handle a 201, change to CREATED
-        return Response.status(Status.OK)
-            .entity(encodedKey)
-            .location(location)
-            .build();
+            URI location = UriBuilder.fromPath("transaction")
+                .path(URLEncoder.encode(encodedKey, StandardCharsets.UTF_8.toString()))
+                .build();
+
+            //TODO: Quorum expects only 200 responses. When Quorum can handle a 201, change to CREATED
+            return Response.status(Status.OK)
+                .entity(encodedKey)
+                .location(location)
+                .build();
+        });
     }
 
     @ApiOperation(value = "Send private transaction payload", produces = "Encrypted payload")
@@ -119,10 +137,11 @@ public class TransactionResource {
     @Path("sendraw")
     @Consumes(APPLICATION_OCTET_STREAM)
     @Produces(TEXT_PLAIN)
-    public Response sendRaw(
+    public void sendRaw(
             @HeaderParam("c11n-from") final String sender,
             @HeaderParam("c11n-to") final String recipientKeys,
-            @NotNull @Size(min = 1) final byte[] payload) throws UnsupportedEncodingException {
+            @NotNull @Size(min = 1) final byte[] payload,
+            @Suspended final AsyncResponse asyncResponse) {
 
         SendRequest sendRequest = new SendRequest();
         sendRequest.setFrom(sender);
@@ -133,21 +152,24 @@ public class TransactionResource {
                 .map(v -> v.split(","))
                 .ifPresent(sendRequest::setTo);
 
-        final SendResponse sendResponse = delegate.send(sendRequest);
+        AsyncResponses.resume(executor, asyncResponse, () -> {
 
-        final String encodedKey = sendResponse.getKey();
+            final SendResponse sendResponse = delegate.send(sendRequest);
 
-        LOGGER.debug("Encoded key: {}", encodedKey);
+            final String encodedKey = sendResponse.getKey();
 
-        URI location = UriBuilder.fromPath("transaction")
-                .path(URLEncoder.encode(encodedKey, StandardCharsets.UTF_8.toString()))
-                .build();
+            LOGGER.debug("Encoded key: {}", encodedKey);
 
-        //TODO: Quorum expects only 200 responses. When Quorum can handle a 201, change to CREATED
-        return Response.status(Status.OK)
-                .entity(encodedKey)
-                .location(location)
-                .build();
+            URI location = UriBuilder.fromPath("transaction")
+                    .path(URLEncoder.encode(encodedKey, StandardCharsets.UTF_8.toString()))
+                    .build();
+
+            //TODO: Quorum expects only 200 responses. When Quorum can handle a 201, change to CREATED
+            return Response.status(Status.OK)
+                    .entity(encodedKey)
+                    .location(location)
+                    .build();
+        });
     }
 
     @ApiOperation(value = "Returns decrypted payload back to Quorum")
@@ -157,38 +179,38 @@ public class TransactionResource {
     @GET
     @Path("/transaction/{hash}")
     @Produces(APPLICATION_JSON)
-    public Response receive(
+    public void receive(
             @ApiParam("Encoded hash used to decrypt the payload")
             @NotNull @Valid @PathParam("hash") final String hash,
             @ApiParam("Encoded recipient key")
-            @Valid @QueryParam("to") final String toStr
+            @Valid @QueryParam("to") final String toStr,
+            @Suspended final AsyncResponse asyncResponse
     ) {
 
         ReceiveRequest receiveRequest = new ReceiveRequest();
         receiveRequest.setKey(hash);
         receiveRequest.setTo(toStr);
-        ReceiveResponse response = delegate.receive(receiveRequest);
 
-        return Response.status(Status.OK)
-                .type(APPLICATION_JSON)
-                .entity(response)
-                .build();
+        this.receive(receiveRequest, asyncResponse);
     }
 
     @GET
     @Path("/receive")
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON)
-    public Response receive(@Valid final ReceiveRequest request) {
+    public void receive(@Valid final ReceiveRequest request, @Suspended final AsyncResponse asyncResponse) {
 
         LOGGER.debug("Received receive request");
 
-        ReceiveResponse response = delegate.receive(request);
+        AsyncResponses.resume(executor, asyncResponse, () -> {
 
-        return Response.status(Status.OK)
-                .type(APPLICATION_JSON)
-                .entity(response)
-                .build();
+            ReceiveResponse response = delegate.receive(request);
+
+            return Response.status(Status.OK)
+                    .type(APPLICATION_JSON)
+                    .entity(response)
+                    .build();
+        });
     }
 
     @ApiOperation(value = "Submit keys to retrieve payload and decrypt it", produces = "Unencrypted payload")
@@ -198,11 +220,12 @@ public class TransactionResource {
     @Path("receiveraw")
     @Consumes(APPLICATION_OCTET_STREAM)
     @Produces(APPLICATION_OCTET_STREAM)
-    public Response receiveRaw(
+    public void receiveRaw(
             @ApiParam("Encoded transaction hash")
             @NotNull @HeaderParam(value = "c11n-key") String hash,
             @ApiParam("Encoded Recipient Public Key")
-            @HeaderParam(value = "c11n-to") String recipientKey) {
+            @HeaderParam(value = "c11n-to") String recipientKey,
+            @Suspended final AsyncResponse asyncResponse) {
 
         LOGGER.debug("Received receiveraw request for hash : {}, recipientKey: {}",hash,recipientKey);
 
@@ -210,13 +233,16 @@ public class TransactionResource {
         receiveRequest.setKey(hash);
         receiveRequest.setTo(recipientKey);
 
-        ReceiveResponse receiveResponse = delegate.receive(receiveRequest);
+        AsyncResponses.resume(executor, asyncResponse, () -> {
 
-        byte[] payload = receiveResponse.getPayload();
+            ReceiveResponse receiveResponse = delegate.receive(receiveRequest);
 
-        return Response.status(Status.OK)
-                .entity(payload)
-                .build();
+            byte[] payload = receiveResponse.getPayload();
+
+            return Response.status(Status.OK)
+                    .entity(payload)
+                    .build();
+        });
     }
 
     @Deprecated
@@ -0,0 +1,91 @@
+package com.quorum.tessera.api.common;
+
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.HttpServerConfig;
+import com.quorum.tessera.config.ServerConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AsyncExecutor executor;
+
+    @After
+    public void onTearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void defaultsAreUsedWithoutHttpServerConfig() {
+        executor = AsyncExecutor.from(config(serverConfig(AppType.P2P, null)), AppType.P2P);
+
+        assertThat(executor.getTimeoutMillis()).isEqualTo(AsyncExecutor.NO_TIMEOUT);
+    }
+
+    @Test
+    public void workBeyondThreadsAndQueueIsRejected() throws Exception {
+        HttpServerConfig limits = new HttpServerConfig();
+        limits.setAsyncThreads(1);
+        limits.setAsyncQueueCapacity(1);
+        limits.setAsyncTimeout(500L);
+
+        executor = AsyncExecutor.from(
+            config(serverConfig(AppType.P2P, null), serverConfig(AppType.Q2T, limits)), AppType.Q2T
+        );
+
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        started.await();
+        executor.execute(this::awaitRelease);
+
+        final Throwable throwable = catchThrowable(() -> executor.execute(this::awaitRelease));
+
+        assertThat(throwable).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getTimeoutMillis()).isEqualTo(500L);
+    }
+
+    @Test
+    public void shutdownOfPlainExecutorDoesNothing() {
+        new AsyncExecutor(Runnable::run, 0L).shutdown();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Config config(ServerConfig... serverConfigs) {
+        Config config = mock(Config.class);
+        when(config.getServerConfigs()).thenReturn(Arrays.asList(serverConfigs));
+        return config;
+    }
+
+    private static ServerConfig serverConfig(AppType app, HttpServerConfig limits) {
+        ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.getApp()).thenReturn(app);
+        when(serverConfig.getHttpServerConfig()).thenReturn(limits);
+        return serverConfig;
+    }
+
+}
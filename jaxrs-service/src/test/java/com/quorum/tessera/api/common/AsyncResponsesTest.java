@@ -0,0 +1,74 @@
+package com.quorum.tessera.api.common;
+
+import org.junit.Test;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class AsyncResponsesTest {
+
+    @Test
+    public void resumesWithResultOfAction() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Response response = Response.ok().build();
+
+        AsyncResponses.resume(Runnable::run, asyncResponse, () -> response);
+
+        verify(asyncResponse).resume(response);
+        verifyNoMoreInteractions(asyncResponse);
+    }
+
+    @Test
+    public void resumesWithExceptionThrownByAction() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Exception exception = new Exception("OUCH");
+
+        AsyncResponses.resume(Runnable::run, asyncResponse, () -> {
+            throw exception;
+        });
+
+        verify(asyncResponse).resume(exception);
+        verifyNoMoreInteractions(asyncResponse);
+    }
+
+    @Test
+    public void resumesWithExceptionWhenExecutorRejectsAction() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        RejectedExecutionException exception = new RejectedExecutionException();
+
+        AsyncResponses.resume(r -> {
+            throw exception;
+        }, asyncResponse, Response.ok()::build);
+
+        verify(asyncResponse).resume(exception);
+        verifyNoMoreInteractions(asyncResponse);
+    }
+
+    @Test
+    public void timeoutOfExecutorIsSetOnResponse() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Response response = Response.ok().build();
+
+        AsyncResponses.resume(new AsyncExecutor(Runnable::run, 1000L), asyncResponse, () -> response);
+
+        verify(asyncResponse).setTimeout(1000L, TimeUnit.MILLISECONDS);
+        verify(asyncResponse).resume(response);
+        verifyNoMoreInteractions(asyncResponse);
+    }
+
+    @Test
+    public void noTimeoutIsSetWhenExecutorHasNone() {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        Response response = Response.ok().build();
+
+        AsyncResponses.resume(new AsyncExecutor(Runnable::run, 0L), asyncResponse, () -> response);
+
+        verify(asyncResponse).resume(response);
+        verifyNoMoreInteractions(asyncResponse);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.quorum.tessera.api.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+import javax.ws.rs.core.Response;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class RejectedExecutionExceptionMapperTest {
+
+    private RejectedExecutionExceptionMapper instance = new RejectedExecutionExceptionMapper();
+
+    @Test
+    public void toResponse() {
+
+        Response result = instance.toResponse(new RejectedExecutionException("Queue full"));
+
+        assertThat(result).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(503);
+        assertThat(result.getEntity()).isEqualTo("Server is busy, try again later");
+
+    }
+}
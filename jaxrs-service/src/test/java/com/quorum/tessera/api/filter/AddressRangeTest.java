@@ -0,0 +1,57 @@
+package com.quorum.tessera.api.filter;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AddressRangeTest {
+
+    @Test
+    public void prefixNotOnByteBoundary() {
+        final AddressRange range = AddressRange.parse("192.168.16.0/20");
+
+        assertThat(range.contains(bytes("192.168.16.1"))).isTrue();
+        assertThat(range.contains(bytes("192.168.31.255"))).isTrue();
+        assertThat(range.contains(bytes("192.168.32.0"))).isFalse();
+        assertThat(range.contains(bytes("192.168.15.255"))).isFalse();
+    }
+
+    @Test
+    public void singleAddressIsRangeOfOne() {
+        final AddressRange range = AddressRange.parse("10.0.0.1");
+
+        assertThat(range.contains(bytes("10.0.0.1"))).isTrue();
+        assertThat(range.contains(bytes("10.0.0.2"))).isFalse();
+    }
+
+    @Test
+    public void zeroPrefixContainsEveryAddressOfSameFamily() {
+        final AddressRange range = AddressRange.parse("0.0.0.0/0");
+
+        assertThat(range.contains(bytes("8.8.8.8"))).isTrue();
+        assertThat(range.contains(bytes("::1"))).isFalse();
+    }
+
+    @Test
+    public void hostNamesAreNotAddresses() {
+        assertThat(AddressRange.toBytes("localhost")).isNotPresent();
+        assertThat(AddressRange.toBytes(null)).isNotPresent();
+
+        final Throwable throwable = catchThrowable(() -> AddressRange.parse("localhost/8"));
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void invalidPrefixIsRejected() {
+        assertThat(catchThrowable(() -> AddressRange.parse("10.0.0.0/x")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> AddressRange.parse("::/129")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(final String address) {
+        return AddressRange.toBytes(address).get();
+    }
+
+}
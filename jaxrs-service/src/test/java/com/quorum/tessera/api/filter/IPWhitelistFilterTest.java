@@ -10,12 +10,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class IPWhitelistFilterTest {
@@ -24,6 +33,12 @@ public class IPWhitelistFilterTest {
 
     private IPWhitelistFilter filter;
 
+    private ConfigService configService;
+
+    private Map<String, InetAddress[]> hosts;
+
+    private long now;
+
     @Before
     public void init() throws URISyntaxException {
 
@@ -32,13 +47,16 @@ public class IPWhitelistFilterTest {
         when(uriInfo.getBaseUri()).thenReturn(new URI("otherhost"));
         when(ctx.getUriInfo()).thenReturn(uriInfo);
 
-        final ConfigService configService = mock(ConfigService.class);
+        this.configService = mock(ConfigService.class);
 
         Peer peer = new Peer("http://whitelistedHost:8080");
         when(configService.getPeers()).thenReturn(singletonList(peer));
         when(configService.isUseWhiteList()).thenReturn(true);
 
-        this.filter = new IPWhitelistFilter(configService);
+        this.hosts = new HashMap<>();
+        this.now = 1000L;
+
+        this.filter = new IPWhitelistFilter(configService, this::resolve, () -> now);
 
     }
 
@@ -75,7 +93,7 @@ public class IPWhitelistFilterTest {
 
         filter.filter(ctx);
 
-        verify(request).getRemoteHost();
+        verify(request, never()).getRemoteHost();
         verify(request).getRemoteAddr();
 
         final ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
@@ -94,7 +112,7 @@ public class IPWhitelistFilterTest {
 
         filter.filter(ctx);
 
-        verify(request).getRemoteHost();
+        verify(request, never()).getRemoteHost();
         verify(request).getRemoteAddr();
         verify(ctx).getUriInfo();
         verifyNoMoreInteractions(ctx);
@@ -109,14 +127,14 @@ public class IPWhitelistFilterTest {
         doReturn("whitelistedHost").when(request).getRemoteAddr();
         filter.setHttpServletRequest(request);
         filter.filter(ctx);
-        verify(request).getRemoteHost();
+        verify(request, never()).getRemoteHost();
         verify(request).getRemoteAddr();
         verify(ctx).getUriInfo();
         verifyNoMoreInteractions(ctx);
 
         //show the second one errors
         final HttpServletRequest requestError = mock(HttpServletRequest.class);
-        doThrow(RuntimeException.class).when(requestError).getRemoteHost();
+        doThrow(RuntimeException.class).when(requestError).getRemoteAddr();
         filter.setHttpServletRequest(requestError);
         filter.filter(ctx);
         verify(ctx, times(2)).getUriInfo();
@@ -148,4 +166,133 @@ public class IPWhitelistFilterTest {
         verifyZeroInteractions(requestError);
     }
 
+    @Test
+    public void addressResolvedFromPeerHostGetsAccepted() throws Exception {
+        hosts.put("whitelistedHost", new InetAddress[]{InetAddress.getByName("10.1.2.3")});
+        now += IPWhitelistFilter.RESOLVED_ADDRESS_MAX_AGE_MILLIS;
+        filter.run();
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("10.1.2.3").when(request).getRemoteAddr();
+        filter.setHttpServletRequest(request);
+
+        filter.filter(ctx);
+
+        verify(ctx, never()).abortWith(any(Response.class));
+    }
+
+    @Test
+    public void addressInWhitelistRangeGetsAccepted() {
+        when(configService.getWhiteListRanges()).thenReturn(Arrays.asList("10.0.0.0/8", "fd00::/8"));
+        final IPWhitelistFilter rangeFilter = new IPWhitelistFilter(configService, this::resolve, () -> now);
+
+        for (final String address : Arrays.asList("10.200.3.4", "fd12:3456::1")) {
+            final HttpServletRequest request = mock(HttpServletRequest.class);
+            doReturn(address).when(request).getRemoteAddr();
+            rangeFilter.setHttpServletRequest(request);
+            rangeFilter.filter(ctx);
+        }
+
+        verify(ctx, never()).abortWith(any(Response.class));
+
+        final HttpServletRequest outside = mock(HttpServletRequest.class);
+        doReturn("11.0.0.1").when(outside).getRemoteAddr();
+        rangeFilter.setHttpServletRequest(outside);
+        rangeFilter.filter(ctx);
+
+        verify(ctx).abortWith(any(Response.class));
+    }
+
+    @Test
+    public void invalidWhitelistRangeIsRejected() {
+        when(configService.getWhiteListRanges()).thenReturn(singletonList("10.0.0.0/33"));
+
+        final Throwable throwable = catchThrowable(() -> new IPWhitelistFilter(configService));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("10.0.0.0/33");
+    }
+
+    @Test
+    public void peerHostsAreOnlyResolvedAgainWhenStale() throws Exception {
+        final IPWhitelist.HostResolver resolver = mock(IPWhitelist.HostResolver.class);
+        when(resolver.resolve("whitelistedHost")).thenReturn(new InetAddress[0]);
+        final IPWhitelistFilter cachingFilter = new IPWhitelistFilter(configService, resolver, () -> now);
+        verify(resolver).resolve("whitelistedHost");
+
+        cachingFilter.run();
+        verify(resolver).resolve("whitelistedHost");
+
+        now += IPWhitelistFilter.RESOLVED_ADDRESS_MAX_AGE_MILLIS;
+        cachingFilter.run();
+        verify(resolver, times(2)).resolve("whitelistedHost");
+    }
+
+    @Test
+    public void requestsNeverResolvePeerHosts() throws Exception {
+        final IPWhitelist.HostResolver resolver = mock(IPWhitelist.HostResolver.class);
+        when(resolver.resolve("whitelistedHost")).thenReturn(new InetAddress[0]);
+        final IPWhitelistFilter cachingFilter = new IPWhitelistFilter(configService, resolver, () -> now);
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("whitelistedHost").when(request).getRemoteAddr();
+        cachingFilter.setHttpServletRequest(request);
+
+        now += IPWhitelistFilter.RESOLVED_ADDRESS_MAX_AGE_MILLIS;
+        cachingFilter.filter(ctx);
+        cachingFilter.filter(ctx);
+
+        verify(resolver).resolve("whitelistedHost");
+        verify(ctx, never()).abortWith(any(Response.class));
+    }
+
+    @Test
+    public void callersOutsideJerseyAreCheckedAgainstTheWhitelist() {
+        assertThat(filter.test("whitelistedHost")).isTrue();
+        assertThat(filter.test("someotherhost")).isFalse();
+
+        final ConfigService disabledConfig = mock(ConfigService.class);
+        when(disabledConfig.isUseWhiteList()).thenReturn(false);
+
+        assertThat(new IPWhitelistFilter(disabledConfig, this::resolve, () -> now).test("someotherhost")).isTrue();
+    }
+
+    @Test
+    public void disabledFilterIsNotRebuilt() {
+        final ConfigService disabledConfig = mock(ConfigService.class);
+        when(disabledConfig.isUseWhiteList()).thenReturn(false);
+
+        new IPWhitelistFilter(disabledConfig, this::resolve, () -> now).run();
+
+        verify(disabledConfig, never()).getPeers();
+    }
+
+    @Test
+    public void addedPeerIsWhitelistedOnceRebuilt() {
+        final List<Peer> peers = new ArrayList<>(singletonList(new Peer("http://whitelistedHost:8080")));
+        when(configService.getPeers()).thenReturn(peers);
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("192.168.0.9").when(request).getRemoteAddr();
+        filter.setHttpServletRequest(request);
+
+        filter.filter(ctx);
+        verify(ctx).abortWith(any(Response.class));
+
+        peers.add(new Peer("http://192.168.0.9:8080"));
+        filter.filter(ctx);
+        verify(ctx, times(2)).abortWith(any(Response.class));
+
+        filter.run();
+
+        filter.filter(ctx);
+        verify(ctx, times(2)).abortWith(any(Response.class));
+    }
+
+    private InetAddress[] resolve(final String host) throws UnknownHostException {
+        if (hosts.containsKey(host)) {
+            return hosts.get(host);
+        }
+        throw new UnknownHostException(host);
+    }
+
 }
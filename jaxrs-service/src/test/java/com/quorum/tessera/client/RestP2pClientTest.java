@@ -1,6 +1,7 @@
 package com.quorum.tessera.client;
 
 import com.quorum.tessera.api.model.ApiPath;
+import com.quorum.tessera.api.model.ReconcileRequest;
 import com.quorum.tessera.api.model.ResendRequest;
 import org.junit.After;
 import org.junit.Before;
@@ -44,6 +45,25 @@ public class RestP2pClientTest {
         verify(postDelegate).makeResendRequest(url, request);
     }
 
+    @Test
+    public void reconcile() {
+        String url = "someurl";
+        ReconcileRequest request = mock(ReconcileRequest.class);
+        p2pClient.reconcile(url, request);
+
+        verify(postDelegate).reconcile(url, request);
+    }
+
+    @Test
+    public void streamResend() {
+        String url = "someurl";
+        ResendRequest request = mock(ResendRequest.class);
+        java.util.function.Consumer<byte[]> consumer = bytes -> {};
+        p2pClient.streamResend(url, request, consumer);
+
+        verify(postDelegate).streamResend(url, request, consumer);
+    }
+
     @Test
     public void push() {
         String url = "someurl";
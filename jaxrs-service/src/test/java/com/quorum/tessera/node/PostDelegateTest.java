@@ -3,6 +3,7 @@ package com.quorum.tessera.node;
 import com.quorum.tessera.api.model.ApiPath;
 import com.quorum.tessera.api.model.ResendRequest;
 import com.quorum.tessera.client.PostDelegate;
+import com.quorum.tessera.util.PayloadFraming;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -11,6 +12,14 @@ import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -22,14 +31,17 @@ public class PostDelegateTest {
 
     private Invocation.Builder builder;
 
+    private Client client;
+
     @Before
     public void onSetup() {
 
-        final Client client = mock(Client.class);
+        this.client = mock(Client.class);
         final WebTarget webTarget = mock(WebTarget.class);
 
         this.builder = mock(Invocation.Builder.class);
         doReturn(builder).when(webTarget).request();
+        doReturn(builder).when(builder).property(anyString(), any());
 
         doReturn(webTarget).when(client).target(anyString());
         doReturn(webTarget).when(webTarget).path(anyString());
@@ -78,6 +90,7 @@ public class PostDelegateTest {
         final byte[] result = delegate.doPost("http://bogus.com", ApiPath.PARTYINFO, data);
         verify(response, never()).readEntity(byte[].class);
         assertThat(result).isNull();
+        verify(response).close();
     }
 
     @Test
@@ -92,6 +105,21 @@ public class PostDelegateTest {
         final boolean success = this.delegate.makeResendRequest("http://example.com", request);
 
         assertThat(success).isTrue();
+        verify(builder).property("jersey.config.client.readTimeout", 30 * 60 * 1000);
+    }
+
+    @Test
+    public void makeResendRequestWaitsForConfiguredTimeout() {
+
+        final Response response = mock(Response.class);
+        doReturn(Response.Status.OK.getStatusCode()).when(response).getStatus();
+        doReturn(response).when(builder).post(any(Entity.class));
+
+        final boolean success = new PostDelegate(client, 10, 5000L)
+            .makeResendRequest("http://example.com", new ResendRequest());
+
+        assertThat(success).isTrue();
+        verify(builder).property("jersey.config.client.readTimeout", 5000);
     }
 
     @Test
@@ -106,6 +134,85 @@ public class PostDelegateTest {
         final boolean success = this.delegate.makeResendRequest("http://example.com", request);
 
         assertThat(success).isFalse();
+        verify(response).close();
+    }
+
+    @Test
+    public void streamResendHandsOverEachPayload() throws IOException {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        PayloadFraming.write(body, "FIRST".getBytes());
+        PayloadFraming.write(body, new byte[0]);
+        PayloadFraming.write(body, "THIRD".getBytes());
+
+        final Response response = mock(Response.class);
+        doReturn(Response.Status.OK.getStatusCode()).when(response).getStatus();
+        doReturn(new ByteArrayInputStream(body.toByteArray())).when(response).readEntity(InputStream.class);
+        doReturn(response).when(builder).post(any(Entity.class));
+
+        final List<byte[]> received = new ArrayList<>();
+        final boolean success = this.delegate.streamResend("http://example.com", new ResendRequest(), received::add);
+
+        assertThat(success).isTrue();
+        assertThat(received).containsExactly("FIRST".getBytes(), new byte[0], "THIRD".getBytes());
+        verify(response).close();
+    }
+
+    @Test
+    public void streamResendRefused() {
+
+        final Response response = mock(Response.class);
+        doReturn(Response.Status.NOT_FOUND.getStatusCode()).when(response).getStatus();
+        doReturn(response).when(builder).post(any(Entity.class));
+
+        final boolean success = this.delegate.streamResend("http://example.com", new ResendRequest(), bytes -> {});
+
+        assertThat(success).isFalse();
+        verify(response, never()).readEntity(InputStream.class);
+        verify(response).close();
+    }
+
+    @Test
+    public void streamResendCutOffPartWayThrows() throws IOException {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        PayloadFraming.write(body, "FIRST".getBytes());
+        final byte[] truncated = Arrays.copyOf(body.toByteArray(), body.size() - 1);
+
+        final Response response = mock(Response.class);
+        doReturn(Response.Status.OK.getStatusCode()).when(response).getStatus();
+        doReturn(new ByteArrayInputStream(truncated)).when(response).readEntity(InputStream.class);
+        doReturn(response).when(builder).post(any(Entity.class));
+
+        final Throwable throwable = catchThrowable(
+            () -> this.delegate.streamResend("http://example.com", new ResendRequest(), bytes -> {})
+        );
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class);
+        verify(response).close();
+    }
+
+    @Test
+    public void streamResendPayloadOverLimitThrows() throws IOException {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        PayloadFraming.write(body, "FIRST".getBytes());
+        PayloadFraming.write(body, new byte[11]);
+
+        final Response response = mock(Response.class);
+        doReturn(Response.Status.OK.getStatusCode()).when(response).getStatus();
+        doReturn(new ByteArrayInputStream(body.toByteArray())).when(response).readEntity(InputStream.class);
+        doReturn(response).when(builder).post(any(Entity.class));
+
+        final List<byte[]> received = new ArrayList<>();
+        final Throwable throwable = catchThrowable(
+            () -> new PostDelegate(client, 10, PostDelegate.DEFAULT_RESEND_TIMEOUT_MILLIS)
+                .streamResend("http://example.com", new ResendRequest(), received::add)
+        );
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class).hasMessageContaining("over the limit");
+        assertThat(received).containsExactly("FIRST".getBytes());
+        verify(response).close();
     }
 
     @Test
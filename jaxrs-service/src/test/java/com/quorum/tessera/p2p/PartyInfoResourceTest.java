@@ -1,19 +1,25 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.client.CircuitBreakerRegistry;
+import com.quorum.tessera.client.CircuitState;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.json.Json;
+import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringReader;
@@ -22,7 +28,10 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashSet;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 public class PartyInfoResourceTest {
@@ -33,17 +42,21 @@ public class PartyInfoResourceTest {
 
     private PartyInfoParser partyInfoParser;
 
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     @Before
     public void onSetup() {
         this.partyInfoService = mock(PartyInfoService.class);
         this.partyInfoParser = mock(PartyInfoParser.class);
 
-        this.partyInfoResource = new PartyInfoResource(partyInfoService, partyInfoParser);
+        this.circuitBreakerRegistry = mock(CircuitBreakerRegistry.class);
+
+        this.partyInfoResource = new PartyInfoResource(partyInfoService, partyInfoParser, circuitBreakerRegistry);
     }
 
     @After
     public void onTearDown() {
-        verifyNoMoreInteractions(partyInfoService, partyInfoParser);
+        verifyNoMoreInteractions(partyInfoService, partyInfoParser, circuitBreakerRegistry);
     }
 
     @Test
@@ -69,21 +82,132 @@ public class PartyInfoResourceTest {
 
         assertThat(o).isNotNull();
 
+        verify(partyInfoParser).isDelta(data);
         verify(partyInfoParser).from(data);
         verify(partyInfoService).updatePartyInfo(partyInfo);
         verify(partyInfoParser).to(partyInfo);
     }
 
     @Test
-    public void partyInfoGet() {
+    public void partyInfoDeltaPost() throws IOException {
+
+        final byte[] data = "DELTA".getBytes();
+
+        final PartyInfoDelta incoming = mock(PartyInfoDelta.class);
+        final PartyInfoDelta outgoing = mock(PartyInfoDelta.class);
+        when(partyInfoParser.isDelta(data)).thenReturn(true);
+        when(partyInfoParser.fromDelta(data)).thenReturn(incoming);
+        when(partyInfoService.updatePartyInfo(incoming)).thenReturn(outgoing);
+
+        final byte[] resultData = "CHANGES".getBytes();
+        when(partyInfoParser.toDelta(outgoing)).thenReturn(resultData);
+
+        final Response response = partyInfoResource.partyInfo(data);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final OutputStream out = mock(OutputStream.class);
+        ((StreamingOutput) response.getEntity()).write(out);
+        verify(out).write(resultData);
+
+        verify(partyInfoParser).isDelta(data);
+        verify(partyInfoParser).fromDelta(data);
+        verify(partyInfoService).updatePartyInfo(incoming);
+        verify(partyInfoParser).toDelta(outgoing);
+    }
+
+    @Test
+    public void partyInfoGet() throws IOException {
+
+        final String partyInfoJson = "{\"url\":\"http://localhost:9001/\",\"peers\":[{\"url\":\"http://localhost:9006/\",\"lastContact\":null,\"circuit\":\"CLOSED\"},{\"url\":\"http://localhost:9005/\",\"lastContact\":\"2019-01-02T15:03:22.875Z\",\"circuit\":\"OPEN\"}],\"keys\":[{\"key\":\"BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=\",\"url\":\"http://localhost:9001/\"},{\"key\":\"QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=\",\"url\":\"http://localhost:9002/\"}]}";
+
+        when(partyInfoService.getPartyInfo()).thenReturn(samplePartyInfo());
+        when(circuitBreakerRegistry.getState("http://localhost:9006/")).thenReturn(CircuitState.CLOSED);
+        when(circuitBreakerRegistry.getState("http://localhost:9005/")).thenReturn(CircuitState.OPEN);
+
+        final Response response = partyInfoResource.getPartyInfo(null, null, null);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final JsonReader expected = Json.createReader(new StringReader(partyInfoJson));
+
+        assertThat(readEntity(response)).isEqualTo(expected.readObject());
+
+        verify(partyInfoService).getPartyInfo();
+        verify(circuitBreakerRegistry).getState("http://localhost:9006/");
+        verify(circuitBreakerRegistry).getState("http://localhost:9005/");
+    }
+
+    @Test
+    public void partyInfoGetFilteredByUrl() throws IOException {
+
+        when(partyInfoService.getPartyInfo()).thenReturn(samplePartyInfo());
+        when(circuitBreakerRegistry.getState("http://localhost:9006/")).thenReturn(CircuitState.CLOSED);
+
+        final Response response = partyInfoResource.getPartyInfo(null, "http://localhost:9006/", null);
+
+        final JsonObject output = readEntity(response);
+
+        assertThat(output.getJsonArray("peers")).hasSize(1);
+        assertThat(output.getJsonArray("peers").getJsonObject(0).getString("url")).isEqualTo("http://localhost:9006/");
+        assertThat(output.getJsonArray("keys")).isEmpty();
+
+        verify(partyInfoService).getPartyInfo();
+        verify(circuitBreakerRegistry).getState("http://localhost:9006/");
+    }
+
+    @Test
+    public void partyInfoGetFilteredByKey() throws IOException {
+
+        when(partyInfoService.getPartyInfo()).thenReturn(samplePartyInfo());
+        when(circuitBreakerRegistry.getState(anyString())).thenReturn(CircuitState.CLOSED);
+
+        final Response response
+            = partyInfoResource.getPartyInfo("QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=", null, null);
+
+        final JsonObject output = readEntity(response);
+
+        assertThat(output.getJsonArray("peers")).hasSize(2);
+        assertThat(output.getJsonArray("keys")).hasSize(1);
+        assertThat(output.getJsonArray("keys").getJsonObject(0).getString("url")).isEqualTo("http://localhost:9002/");
+
+        verify(partyInfoService).getPartyInfo();
+        verify(circuitBreakerRegistry, times(2)).getState(anyString());
+    }
+
+    @Test
+    public void partyInfoGetSinceVersion() throws IOException {
 
-        final String partyInfoJson = "{\"url\":\"http://localhost:9001/\",\"peers\":[{\"url\":\"http://localhost:9006/\",\"lastContact\":null},{\"url\":\"http://localhost:9005/\",\"lastContact\":\"2019-01-02T15:03:22.875Z\"}],\"keys\":[{\"key\":\"BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=\",\"url\":\"http://localhost:9001/\"},{\"key\":\"QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=\",\"url\":\"http://localhost:9002/\"}]}";
+        final PartyInfo changes = new PartyInfo(
+            "http://localhost:9001/",
+            emptySet(),
+            singleton(new Party("http://localhost:9007/"))
+        );
 
+        when(partyInfoService.getPartyInfoSince(4L)).thenReturn(new PartyInfoDelta(changes, 11L, 6L, 0, 0));
+        when(circuitBreakerRegistry.getState("http://localhost:9007/")).thenReturn(CircuitState.HALF_OPEN);
+
+        final Response response = partyInfoResource.getPartyInfo(null, null, 4L);
+
+        final JsonObject output = readEntity(response);
+
+        assertThat(output.getJsonNumber("generation").longValue()).isEqualTo(11L);
+        assertThat(output.getJsonNumber("version").longValue()).isEqualTo(6L);
+        assertThat(output.getJsonArray("peers")).hasSize(1);
+        assertThat(output.getJsonArray("peers").getJsonObject(0).getString("circuit")).isEqualTo("HALF_OPEN");
+        assertThat(output.getJsonArray("keys")).isEmpty();
+
+        verify(partyInfoService).getPartyInfoSince(4L);
+        verify(circuitBreakerRegistry).getState("http://localhost:9007/");
+    }
+
+    private static PartyInfo samplePartyInfo() {
         final Party partyWithoutTimestamp = new Party("http://localhost:9006/");
         final Party partyWithTimestamp = new Party("http://localhost:9005/");
         partyWithTimestamp.setLastContacted(Instant.parse("2019-01-02T15:03:22.875Z"));
 
-        final PartyInfo partyInfo = new PartyInfo(
+        return new PartyInfo(
             "http://localhost:9001/",
             new HashSet<>(Arrays.asList(
                 new Recipient(PublicKey.from(Base64.getDecoder().decode("BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=")), "http://localhost:9001/"),
@@ -91,21 +215,15 @@ public class PartyInfoResourceTest {
             ),
             new HashSet<>(Arrays.asList(partyWithTimestamp, partyWithoutTimestamp))
         );
+    }
 
-        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
-
-        final Response response = partyInfoResource.getPartyInfo();
-
-        assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(200);
-
-        final String output = response.getEntity().toString();
-        final JsonReader expected = Json.createReader(new StringReader(partyInfoJson));
-        final JsonReader actual = Json.createReader(new StringReader(output));
-
-        assertThat(expected.readObject()).isEqualTo(actual.readObject());
+    private static JsonObject readEntity(final Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
 
-        verify(partyInfoService).getPartyInfo();
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(out.toByteArray()))) {
+            return reader.readObject();
+        }
     }
 
 }
@@ -1,13 +1,26 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.api.common.AsyncExecutor;
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
+import com.quorum.tessera.util.PayloadFraming;
 import com.quorum.tessera.api.model.ResendResponse;
 import com.quorum.tessera.transaction.TransactionManager;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -18,11 +31,14 @@ public class TransactionResourceTest {
 
     private TransactionManager transactionManager;
 
+    private AsyncResponse asyncResponse;
+
     @Before
     public void onSetup() {
 
         transactionManager = mock(TransactionManager.class);
-        transactionResource = new TransactionResource(transactionManager);
+        asyncResponse = mock(AsyncResponse.class);
+        transactionResource = new TransactionResource(transactionManager, new AsyncExecutor(Runnable::run, 0L));
 
     }
 
@@ -35,7 +51,8 @@ public class TransactionResourceTest {
     @Test
     public void push() {
         byte[] someData = "SomeData".getBytes();
-        Response result = transactionResource.push(someData);
+        transactionResource.push(someData, asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(201);
         assertThat(result.hasEntity()).isTrue();
         verify(transactionManager).storePayload(someData);
@@ -55,4 +72,58 @@ public class TransactionResourceTest {
         verify(transactionManager).resend(resendRequest);
 
     }
+
+    @Test
+    public void reconcile() {
+
+        ReconcileRequest reconcileRequest = mock(ReconcileRequest.class);
+        ReconcileResponse reconcileResponse = new ReconcileResponse();
+
+        when(transactionManager.reconcile(reconcileRequest)).thenReturn(reconcileResponse);
+
+        Response result = transactionResource.reconcile(reconcileRequest);
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(result.getEntity()).isSameAs(reconcileResponse);
+        verify(transactionManager).reconcile(reconcileRequest);
+
+    }
+
+    @Test
+    public void resendStreamWritesLengthPrefixedPayloads() throws IOException {
+
+        ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.ALL);
+
+        when(transactionManager.streamResend(resendRequest))
+            .thenReturn(Arrays.asList("FIRST".getBytes(), "SECOND".getBytes()).iterator());
+
+        Response result = transactionResource.resendStream(resendRequest);
+        assertThat(result.getStatus()).isEqualTo(200);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) result.getEntity()).write(out);
+
+        InputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertThat(PayloadFraming.read(in, PayloadFraming.DEFAULT_MAX_LENGTH)).isEqualTo("FIRST".getBytes());
+        assertThat(PayloadFraming.read(in, PayloadFraming.DEFAULT_MAX_LENGTH)).isEqualTo("SECOND".getBytes());
+        assertThat(PayloadFraming.read(in, PayloadFraming.DEFAULT_MAX_LENGTH)).isNull();
+
+        verify(transactionManager).streamResend(resendRequest);
+    }
+
+    @Test
+    public void resendStreamRejectsIndividualRequests() {
+
+        ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.INDIVIDUAL);
+
+        Response result = transactionResource.resendStream(resendRequest);
+        assertThat(result.getStatus()).isEqualTo(400);
+    }
+
+    private static Response resumedWith(AsyncResponse asyncResponse) {
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(asyncResponse).resume(captor.capture());
+        return captor.getValue();
+    }
 }
@@ -1,11 +1,14 @@
 package com.quorum.tessera.q2t;
 
+import com.quorum.tessera.api.common.AsyncExecutor;
 import com.quorum.tessera.api.model.*;
 import com.quorum.tessera.transaction.TransactionManager;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
@@ -21,11 +24,14 @@ public class TransactionResourceTest {
 
     private TransactionManager transactionManager;
 
+    private AsyncResponse asyncResponse;
+
     @Before
     public void onSetup() {
 
         transactionManager = mock(TransactionManager.class);
-        transactionResource = new TransactionResource(transactionManager);
+        asyncResponse = mock(AsyncResponse.class);
+        transactionResource = new TransactionResource(transactionManager, new AsyncExecutor(Runnable::run, 0L));
 
     }
 
@@ -40,7 +46,8 @@ public class TransactionResourceTest {
 
         ReceiveRequest receiveRequest = new ReceiveRequest();
 
-        Response result = transactionResource.receive(receiveRequest);
+        transactionResource.receive(receiveRequest, asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         verify(transactionManager).receive(receiveRequest);
     }
@@ -48,7 +55,8 @@ public class TransactionResourceTest {
     @Test
     public void receiveFromParams() {
 
-        Response result = transactionResource.receive("", "");
+        transactionResource.receive("", "", asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         verify(transactionManager).receive(any(ReceiveRequest.class));
     }
@@ -61,7 +69,8 @@ public class TransactionResourceTest {
 
         when(transactionManager.receive(any(ReceiveRequest.class))).thenReturn(receiveResponse);
 
-        Response result = transactionResource.receiveRaw("", "");
+        transactionResource.receiveRaw("", "", asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         verify(transactionManager).receive(any(ReceiveRequest.class));
     }
@@ -75,7 +84,8 @@ public class TransactionResourceTest {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.send(any(SendRequest.class))).thenReturn(sendResponse);
 
-        Response result = transactionResource.send(sendRequest);
+        transactionResource.send(sendRequest, asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(201);
 
         assertThat(result.getLocation().getPath())
@@ -85,11 +95,26 @@ public class TransactionResourceTest {
 
     }
 
+    @Test
+    public void sendFailureResumesWithException() {
+
+        SendRequest sendRequest = new SendRequest();
+
+        RuntimeException exception = new RuntimeException("OUCH");
+        when(transactionManager.send(sendRequest)).thenThrow(exception);
+
+        transactionResource.send(sendRequest, asyncResponse);
+
+        verify(asyncResponse).resume(exception);
+        verify(transactionManager).send(sendRequest);
+    }
+
     @Test
     public void sendSignedTransaction() throws UnsupportedEncodingException {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.sendSignedTransaction(any(SendSignedRequest.class))).thenReturn(sendResponse);
-        Response result = transactionResource.sendSignedTransaction("someone", "".getBytes());
+        transactionResource.sendSignedTransaction("someone", "".getBytes(), asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         assertThat(result.getEntity()).isEqualTo("KEY");
         verify(transactionManager).sendSignedTransaction(any(SendSignedRequest.class));
@@ -100,7 +125,8 @@ public class TransactionResourceTest {
     public void sendSignedTransactionEmptyRecipients() throws UnsupportedEncodingException {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.sendSignedTransaction(any(SendSignedRequest.class))).thenReturn(sendResponse);
-        Response result = transactionResource.sendSignedTransaction("", "".getBytes());
+        transactionResource.sendSignedTransaction("", "".getBytes(), asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         assertThat(result.getEntity()).isEqualTo("KEY");
         verify(transactionManager).sendSignedTransaction(any(SendSignedRequest.class));
@@ -113,7 +139,8 @@ public class TransactionResourceTest {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.send(any(SendRequest.class))).thenReturn(sendResponse);
 
-        Response result = transactionResource.sendRaw("", "someone", "".getBytes());
+        transactionResource.sendRaw("", "someone", "".getBytes(), asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         assertThat(result.getEntity()).isEqualTo("KEY");
         verify(transactionManager).send(any(SendRequest.class));
@@ -126,7 +153,8 @@ public class TransactionResourceTest {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.send(any(SendRequest.class))).thenReturn(sendResponse);
 
-        Response result = transactionResource.sendRaw("", "", "".getBytes());
+        transactionResource.sendRaw("", "", "".getBytes(), asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         assertThat(result.getEntity()).isEqualTo("KEY");
         verify(transactionManager).send(any(SendRequest.class));
@@ -139,7 +167,8 @@ public class TransactionResourceTest {
         SendResponse sendResponse = new SendResponse("KEY");
         when(transactionManager.send(any(SendRequest.class))).thenReturn(sendResponse);
 
-        Response result = transactionResource.sendRaw("", null, "".getBytes());
+        transactionResource.sendRaw("", null, "".getBytes(), asyncResponse);
+        Response result = resumedWith(asyncResponse);
         assertThat(result.getStatus()).isEqualTo(200);
         assertThat(result.getEntity()).isEqualTo("KEY");
         verify(transactionManager).send(any(SendRequest.class));
@@ -179,4 +208,10 @@ public class TransactionResourceTest {
         verify(transactionManager).delete(deleteRequest);
 
     }
+
+    private static Response resumedWith(AsyncResponse asyncResponse) {
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(asyncResponse).resume(captor.capture());
+        return captor.getValue();
+    }
 }
@@ -3,9 +3,11 @@ package com.quorum.tessera.grpc.server;
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.grpc.GrpcApp;
+import com.quorum.tessera.server.RequestLimiter;
 import com.quorum.tessera.server.TesseraServer;
 import com.quorum.tessera.server.TesseraServerFactory;
 import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
@@ -29,7 +31,17 @@ public class GrpcServerFactory implements TesseraServerFactory<Object> {
             if (grpcApp.isPresent()) {
                 final URI serverUri = serverConfig.getServerUri();
                 ServerBuilder serverBuilder = ServerBuilder.forPort(serverUri.getPort());
-                grpcApp.get().getBindableServices().forEach(serverBuilder::addService);
+                final Optional<RateLimitInterceptor> rateLimiter = Optional.ofNullable(serverConfig.getRateLimitConfig())
+                    .map(RequestLimiter::from)
+                    .map(RateLimitInterceptor::new);
+
+                grpcApp.get().getBindableServices().forEach(service -> {
+                    if (rateLimiter.isPresent()) {
+                        serverBuilder.addService(ServerInterceptors.intercept(service, rateLimiter.get()));
+                    } else {
+                        serverBuilder.addService(service);
+                    }
+                });
                 return new GrpcServer(serverUri, serverBuilder.build());
             } else {
                 LOGGER.info("Unable to find grpc app for " + serverConfig.getApp().getIntf().getCanonicalName());
@@ -0,0 +1,108 @@
+package com.quorum.tessera.grpc.server;
+
+import com.quorum.tessera.server.RequestLimiter;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Closes calls with {@link Status#RESOURCE_EXHAUSTED} when the server has
+ * no room for them
+ * <p>
+ * Calls are grouped by the caller's address, the sender key in the
+ * {@code c11n-from} header or the method they call. As the sender key is
+ * whatever the caller chooses to send, a call grouped by it is also charged
+ * to the caller's address. A streaming call counts
+ * as a single request and keeps its place until the stream ends.
+ */
+public class RateLimitInterceptor implements ServerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    static final Metadata.Key<String> SENDER_HEADER = Metadata.Key.of("c11n-from", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final RequestLimiter requestLimiter;
+
+    public RateLimitInterceptor(final RequestLimiter requestLimiter) {
+        this.requestLimiter = Objects.requireNonNull(requestLimiter);
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(final ServerCall<Q, R> call,
+                                                       final Metadata headers,
+                                                       final ServerCallHandler<Q, R> next) {
+        final String[] keys = this.keysFor(call, headers);
+
+        final Optional<RequestLimiter.Permit> permit = requestLimiter.tryAcquire(keys);
+
+        if (!permit.isPresent()) {
+            LOGGER.debug("Turning away call to {} from {}", call.getMethodDescriptor().getFullMethodName(), keys);
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many requests"), new Metadata());
+            return new ServerCall.Listener<Q>() {};
+        }
+
+        final ServerCall.Listener<Q> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (final RuntimeException ex) {
+            permit.get().release();
+            throw ex;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<Q>(listener) {
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    permit.get().release();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    permit.get().release();
+                }
+            }
+        };
+    }
+
+    private String[] keysFor(final ServerCall<?, ?> call, final Metadata headers) {
+        switch (requestLimiter.getKeyType()) {
+            case ENDPOINT:
+                return new String[] {call.getMethodDescriptor().getFullMethodName()};
+            case SENDER_KEY:
+                return Optional.ofNullable(headers.get(SENDER_HEADER))
+                    .filter(s -> !s.isEmpty())
+                    .map(sender -> new String[] {remoteAddress(call), sender})
+                    .orElseGet(() -> new String[] {remoteAddress(call)});
+            default:
+                return new String[] {remoteAddress(call)};
+        }
+    }
+
+    private static String remoteAddress(final ServerCall<?, ?> call) {
+        final SocketAddress address = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+
+        if (address instanceof InetSocketAddress) {
+            return ((InetSocketAddress) address).getAddress().getHostAddress();
+        }
+
+        return Objects.toString(address, "");
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.quorum.tessera.grpc.server;
+
+import com.quorum.tessera.config.RateLimitKey;
+import com.quorum.tessera.server.RequestLimiter;
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RateLimitInterceptorTest {
+
+    private ServerCall<Object, Object> call;
+
+    private ServerCallHandler<Object, Object> next;
+
+    private ServerCall.Listener<Object> delegateListener;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void onSetUp() {
+        MethodDescriptor<Object, Object> method = MethodDescriptor.newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName("P2PTransaction/Push")
+            .setRequestMarshaller(mock(MethodDescriptor.Marshaller.class))
+            .setResponseMarshaller(mock(MethodDescriptor.Marshaller.class))
+            .build();
+
+        call = mock(ServerCall.class);
+        when(call.getMethodDescriptor()).thenReturn(method);
+        when(call.getAttributes()).thenReturn(
+            Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, new InetSocketAddress("10.0.0.1", 9000)).build()
+        );
+
+        delegateListener = mock(ServerCall.Listener.class);
+        next = mock(ServerCallHandler.class);
+        when(next.startCall(any(), any())).thenReturn(delegateListener);
+    }
+
+    @Test
+    public void callsOverTheRateAreClosedAsResourceExhausted() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new RequestLimiter(RateLimitKey.REMOTE_ADDRESS, 1, 1, null, () -> 0L)
+        );
+
+        interceptor.interceptCall(call, new Metadata(), next);
+        verify(next).startCall(any(), any());
+
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any(Metadata.class));
+        assertThat(status.getValue().getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        verifyNoMoreInteractions(next);
+    }
+
+    @Test
+    public void placeIsGivenBackWhenCallCompletes() {
+        RequestLimiter requestLimiter = new RequestLimiter(RateLimitKey.ENDPOINT, null, null, 1, () -> 0L);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(requestLimiter);
+
+        ServerCall.Listener<Object> listener = interceptor.interceptCall(call, new Metadata(), next);
+        assertThat(requestLimiter.tryAcquire("P2PTransaction/Push")).isNotPresent();
+
+        listener.onComplete();
+
+        verify(delegateListener).onComplete();
+        assertThat(requestLimiter.tryAcquire("P2PTransaction/Push")).isPresent();
+    }
+
+    @Test
+    public void placeIsGivenBackWhenCallIsCancelled() {
+        RequestLimiter requestLimiter = new RequestLimiter(RateLimitKey.ENDPOINT, null, null, 1, () -> 0L);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(requestLimiter);
+
+        interceptor.interceptCall(call, new Metadata(), next).onCancel();
+
+        verify(delegateListener).onCancel();
+        assertThat(requestLimiter.tryAcquire("P2PTransaction/Push")).isPresent();
+    }
+
+    @Test
+    public void senderKeyIsTakenFromHeadersAlongWithRemoteAddress() {
+        RequestLimiter requestLimiter = spy(new RequestLimiter(RateLimitKey.SENDER_KEY, 2, 2, null, () -> 0L));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(requestLimiter);
+
+        Metadata headers = new Metadata();
+        headers.put(RateLimitInterceptor.SENDER_HEADER, "SENDER");
+
+        interceptor.interceptCall(call, headers, next);
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        verify(requestLimiter).tryAcquire("10.0.0.1", "SENDER");
+        verify(requestLimiter).tryAcquire("10.0.0.1");
+        verify(next, times(2)).startCall(any(), any());
+    }
+
+    @Test
+    public void changingSenderKeyDoesNotGetPastTheAddressLimit() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new RequestLimiter(RateLimitKey.SENDER_KEY, 1, 1, null, () -> 0L)
+        );
+
+        Metadata first = new Metadata();
+        first.put(RateLimitInterceptor.SENDER_HEADER, "FIRST");
+        interceptor.interceptCall(call, first, next);
+
+        Metadata second = new Metadata();
+        second.put(RateLimitInterceptor.SENDER_HEADER, "SECOND");
+        interceptor.interceptCall(call, second, next);
+
+        verify(next).startCall(any(), any());
+        verify(call).close(any(Status.class), any(Metadata.class));
+    }
+
+}
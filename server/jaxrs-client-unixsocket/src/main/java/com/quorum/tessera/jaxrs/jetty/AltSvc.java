@@ -0,0 +1,59 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Reads the {@code Alt-Svc} header a host sends to advertise the other
+ * protocols it serves
+ */
+final class AltSvc {
+
+    static final String HEADER = "Alt-Svc";
+
+    private AltSvc() {
+        throw new UnsupportedOperationException("This object should not be constructed.");
+    }
+
+    /**
+     * @param header the value of the header, which may be null
+     * @param uri    the address the header was received from
+     * @return whether the header advertises HTTP/2 on the same host and port,
+     * h2 for a TLS address and h2c otherwise
+     */
+    static boolean advertisesHttp2(final String header, final URI uri) {
+        if (header == null) {
+            return false;
+        }
+
+        final String protocol = "https".equalsIgnoreCase(uri.getScheme()) ? "h2" : "h2c";
+        final String sameAuthority = "\":" + port(uri) + "\"";
+
+        for (final String service : header.split(",")) {
+            final String[] alternative = service.split(";")[0].trim().split("=", 2);
+            if (alternative.length == 2
+                && protocol.equals(alternative[0].trim().toLowerCase(Locale.ROOT))
+                && sameAuthority.equals(alternative[1].trim())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param uri the address to identify
+     * @return the scheme, host and port of the address
+     */
+    static String originOf(final URI uri) {
+        return uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port(uri);
+    }
+
+    private static int port(final URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+}
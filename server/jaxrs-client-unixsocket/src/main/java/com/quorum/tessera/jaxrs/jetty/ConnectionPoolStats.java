@@ -0,0 +1,86 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.ConnectionPool;
+import org.eclipse.jetty.client.DuplexConnectionPool;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Adds up the connection pool counts of every host a client has connected to
+ * <p>
+ * A connector that speaks both HTTP/1.1 and HTTP/2 has a client for each,
+ * and the counts of both are added together.
+ */
+public class ConnectionPoolStats implements ConnectionPoolStatsMBean {
+
+    private final List<HttpClient> httpClients;
+
+    /**
+     * @param httpClients the clients to count, where any null clients are
+     *                    left out
+     */
+    public ConnectionPoolStats(final HttpClient... httpClients) {
+        this.httpClients = Arrays.stream(httpClients).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public int getHosts() {
+        //a host spoken to over both protocols is counted once
+        return (int) this.destinations()
+            .map(destination -> destination.getScheme() + "://" + destination.getHost() + ":" + destination.getPort())
+            .distinct()
+            .count();
+    }
+
+    @Override
+    public int getConnections() {
+        return this.sumOfPools(AbstractConnectionPool.class, AbstractConnectionPool::getConnectionCount);
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return this.sumOfPools(DuplexConnectionPool.class, DuplexConnectionPool::getActiveConnectionCount);
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return this.sumOfPools(DuplexConnectionPool.class, DuplexConnectionPool::getIdleConnectionCount);
+    }
+
+    @Override
+    public int getQueuedRequests() {
+        return this.destinations()
+            .mapToInt(HttpDestination::getQueuedRequestCount)
+            .sum();
+    }
+
+    @Override
+    public int getMaxConnectionsPerHost() {
+        return httpClients.get(0).getMaxConnectionsPerDestination();
+    }
+
+    private <T extends ConnectionPool> int sumOfPools(final Class<T> poolType, final ToIntFunction<T> count) {
+        return this.destinations()
+            .map(HttpDestination::getConnectionPool)
+            .filter(poolType::isInstance)
+            .map(poolType::cast)
+            .mapToInt(count)
+            .sum();
+    }
+
+    private Stream<HttpDestination> destinations() {
+        return httpClients.stream()
+            .flatMap(httpClient -> httpClient.getDestinations().stream())
+            .filter(HttpDestination.class::isInstance)
+            .map(HttpDestination.class::cast);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+/**
+ * The state of a pooled HTTP client's connections across all hosts, as
+ * exposed over JMX
+ */
+public interface ConnectionPoolStatsMBean {
+
+    int getHosts();
+
+    int getConnections();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getQueuedRequests();
+
+    int getMaxConnectionsPerHost();
+
+}
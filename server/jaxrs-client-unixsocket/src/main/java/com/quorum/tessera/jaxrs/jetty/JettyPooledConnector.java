@@ -0,0 +1,205 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends requests over a Jetty {@link HttpClient}, which keeps connections
+ * to each host open in a pool for reuse
+ * <p>
+ * Response bodies are read as they arrive rather than buffered, and a
+ * connection goes back to the pool once its response has been read or
+ * closed. A request that times out, is interrupted or otherwise fails while
+ * waiting for its response is aborted, so its connection is released.
+ * <p>
+ * Given an HTTP/2 client as well, requests to a host move over to it once
+ * the host advertises HTTP/2 on an HTTP/1.1 response. A host whose HTTP/2
+ * requests fail for any reason other than a timeout is spoken to over
+ * HTTP/1.1 from then on.
+ */
+public class JettyPooledConnector implements Connector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JettyPooledConnector.class);
+
+    private final HttpClient httpClient;
+
+    private final HttpClient http2Client;
+
+    private final long readTimeoutMillis;
+
+    private final Runnable onClose;
+
+    private final Set<String> http2Hosts = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> http1Hosts = ConcurrentHashMap.newKeySet();
+
+    public JettyPooledConnector(final HttpClient httpClient, final long readTimeoutMillis, final Runnable onClose) {
+        this(httpClient, null, readTimeoutMillis, onClose);
+    }
+
+    /**
+     * @param httpClient        the client for HTTP/1.1 requests
+     * @param http2Client       the client for hosts that serve HTTP/2, or null
+     *                          to only use HTTP/1.1
+     * @param readTimeoutMillis the time to wait for a response, or 0 to
+     *                          wait until the connection is closed
+     * @param onClose           called when the connector is closed
+     */
+    public JettyPooledConnector(final HttpClient httpClient,
+                                final HttpClient http2Client,
+                                final long readTimeoutMillis,
+                                final Runnable onClose) {
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.http2Client = http2Client;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.onClose = Objects.requireNonNull(onClose);
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        try {
+            return doApply(request);
+        } catch (final ProcessingException ex) {
+            throw ex;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(ex);
+        } catch (final Exception ex) {
+            throw new ProcessingException(ex);
+        }
+    }
+
+    private ClientResponse doApply(final ClientRequest request) throws Exception {
+
+        //a request may set its own read timeout in place of the client's
+        final long readTimeoutMillis = Optional
+            .ofNullable(request.resolveProperty(ClientProperties.READ_TIMEOUT, Number.class))
+            .map(Number::longValue)
+            .orElse(this.readTimeoutMillis);
+
+        final String host = AltSvc.originOf(request.getUri());
+        final boolean useHttp2 = http2Client != null && http2Hosts.contains(host);
+
+        final Request clientRequest = (useHttp2 ? http2Client : httpClient).newRequest(request.getUri())
+            .method(HttpMethod.valueOf(request.getMethod()))
+            //a timeout of 0 means the exchange never times out while idle
+            .idleTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        if (request.hasEntity()) {
+            final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            request.setStreamProvider(contentLength -> bout);
+            request.writeEntity();
+
+            final MediaType mediaType = request.getMediaType();
+            clientRequest.content(
+                new BytesContentProvider(bout.toByteArray()),
+                Objects.toString(mediaType, MediaType.APPLICATION_OCTET_STREAM)
+            );
+        }
+
+        request.getStringHeaders().forEach((name, values) -> {
+            if (!HttpHeader.CONTENT_TYPE.is(name) && !HttpHeader.CONTENT_LENGTH.is(name)) {
+                values.forEach(value -> clientRequest.header(name, value));
+            }
+        });
+
+        final InputStreamResponseListener listener = new InputStreamResponseListener();
+        clientRequest.send(listener);
+
+        final org.eclipse.jetty.client.api.Response jettyResponse;
+        try {
+            jettyResponse = listener.get(readTimeoutMillis > 0 ? readTimeoutMillis : Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            clientRequest.abort(ex);
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (final Throwable ex) {
+            //an exchange left running would keep its connection out of the pool
+            clientRequest.abort(ex);
+            if (useHttp2 && !isTimeout(ex)) {
+                this.fallBackToHttp1(host, ex);
+            }
+            throw ex;
+        }
+
+        if (!useHttp2 && http2Client != null && !http1Hosts.contains(host)
+            && AltSvc.advertisesHttp2(jettyResponse.getHeaders().get(AltSvc.HEADER), request.getUri())) {
+            LOGGER.debug("Host {} serves HTTP/2, using it for further requests", host);
+            http2Hosts.add(host);
+        }
+
+        final Response.StatusType status = Statuses.from(jettyResponse.getStatus(), jettyResponse.getReason());
+
+        final ClientResponse response = new ClientResponse(status, request);
+        jettyResponse.getHeaders().forEach(header -> response.headers(header.getName(), header.getValues()));
+        response.setEntityStream(listener.getInputStream());
+        return response;
+    }
+
+    private void fallBackToHttp1(final String host, final Throwable cause) {
+        if (http1Hosts.add(host)) {
+            LOGGER.warn("HTTP/2 request to {} failed, using HTTP/1.1 for it from now on", host);
+            LOGGER.debug(null, cause);
+        }
+        http2Hosts.remove(host);
+    }
+
+    private static boolean isTimeout(final Throwable ex) {
+        return ex instanceof TimeoutException || ex.getCause() instanceof TimeoutException;
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        try {
+            callback.response(doApply(request));
+        } catch (final Throwable t) {
+            callback.failure(t);
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public void close() {
+        onClose.run();
+        try {
+            httpClient.stop();
+            if (http2Client != null) {
+                http2Client.stop();
+            }
+        } catch (final Exception ex) {
+            throw new ProcessingException(ex);
+        }
+    }
+
+}
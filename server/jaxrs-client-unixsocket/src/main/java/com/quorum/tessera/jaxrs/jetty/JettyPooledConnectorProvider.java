@@ -0,0 +1,172 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpClientTransport;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates {@link JettyPooledConnector}s, taking the pool size and timeouts
+ * from the client properties
+ * <p>
+ * The connect and read timeouts are the standard Jersey properties. Each
+ * pool's counts are registered as an MBean under the
+ * {@code com.quorum.tessera} domain, so they are reported with the other
+ * metrics.
+ * <p>
+ * When HTTP/2 is asked for and the Jetty HTTP/2 client is on the classpath,
+ * requests to each host that advertises HTTP/2 are multiplexed over a single
+ * connection instead.
+ */
+public class JettyPooledConnectorProvider implements ConnectorProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JettyPooledConnectorProvider.class);
+
+    public static final String MAX_CONNECTIONS_PER_HOST = "tessera.client.maxConnectionsPerHost";
+
+    public static final String IDLE_TIMEOUT = "tessera.client.idleTimeout";
+
+    public static final String POOL_NAME = "tessera.client.poolName";
+
+    public static final String HTTP2 = "tessera.client.http2";
+
+    public static final String DOMAIN = "com.quorum.tessera";
+
+    public static final String TYPE = "httpClientPool";
+
+    static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 64;
+
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30_000L;
+
+    private static final String HTTP2_CLIENT = "org.eclipse.jetty.http2.client.HTTP2Client";
+
+    private static final String HTTP2_TRANSPORT = "org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2";
+
+    private static final AtomicInteger POOL_IDS = new AtomicInteger();
+
+    private final MBeanServer mBeanServer;
+
+    public JettyPooledConnectorProvider(final MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    public JettyPooledConnectorProvider() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    @Override
+    public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+        final HttpClient httpClient = newHttpClient(client, runtimeConfig, new HttpClientTransportOverHTTP());
+        final HttpClient http2Client = http2Transport(runtimeConfig)
+            .map(transport -> newHttpClient(client, runtimeConfig, transport))
+            .orElse(null);
+
+        final ObjectName objectName = this.register(runtimeConfig, httpClient, http2Client);
+
+        return new JettyPooledConnector(
+            httpClient,
+            http2Client,
+            longValue(runtimeConfig, ClientProperties.READ_TIMEOUT, 0L),
+            () -> this.unregister(objectName)
+        );
+    }
+
+    private static HttpClient newHttpClient(final Client client,
+                                            final Configuration runtimeConfig,
+                                            final HttpClientTransport transport) {
+        final SslContextFactory sslContextFactory = new SslContextFactory();
+        sslContextFactory.setSslContext(client.getSslContext());
+        sslContextFactory.setEndpointIdentificationAlgorithm("HTTPS");
+
+        final HttpClient httpClient = new HttpClient(transport, sslContextFactory);
+        httpClient.setMaxConnectionsPerDestination(
+            intValue(runtimeConfig, MAX_CONNECTIONS_PER_HOST, DEFAULT_MAX_CONNECTIONS_PER_HOST)
+        );
+        httpClient.setIdleTimeout(longValue(runtimeConfig, IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT_MILLIS));
+        httpClient.setConnectTimeout(
+            longValue(runtimeConfig, ClientProperties.CONNECT_TIMEOUT, httpClient.getConnectTimeout())
+        );
+        httpClient.setFollowRedirects(false);
+
+        try {
+            httpClient.start();
+        } catch (final Exception ex) {
+            throw new ProcessingException(ex);
+        }
+
+        return httpClient;
+    }
+
+    private static Optional<HttpClientTransport> http2Transport(final Configuration runtimeConfig) {
+        if (!Boolean.TRUE.equals(runtimeConfig.getProperty(HTTP2))) {
+            return Optional.empty();
+        }
+
+        try {
+            final Object http2Client = Class.forName(HTTP2_CLIENT).getConstructor().newInstance();
+            return Optional.of((HttpClientTransport) Class.forName(HTTP2_TRANSPORT)
+                .getConstructor(http2Client.getClass())
+                .newInstance(http2Client));
+        } catch (final ReflectiveOperationException | LinkageError ex) {
+            LOGGER.warn("HTTP/2 is enabled but the HTTP/2 client is not available, using HTTP/1.1");
+            LOGGER.debug(null, ex);
+            return Optional.empty();
+        }
+    }
+
+    private ObjectName register(final Configuration runtimeConfig, final HttpClient... httpClients) {
+        final Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", TYPE);
+        properties.put("name", ObjectName.quote(String.valueOf(runtimeConfig.getProperty(POOL_NAME))));
+        properties.put("id", String.valueOf(POOL_IDS.incrementAndGet()));
+
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN, properties);
+            mBeanServer.registerMBean(new ConnectionPoolStats(httpClients), objectName);
+            return objectName;
+        } catch (final JMException ex) {
+            LOGGER.warn("Unable to register connection pool metrics");
+            LOGGER.debug(null, ex);
+            return null;
+        }
+    }
+
+    private void unregister(final ObjectName objectName) {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            mBeanServer.unregisterMBean(objectName);
+        } catch (final JMException ex) {
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    private static int intValue(final Configuration config, final String name, final int defaultValue) {
+        final Object value = config.getProperty(name);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    private static long longValue(final Configuration config, final String name, final long defaultValue) {
+        final Object value = config.getProperty(name);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AltSvcTest {
+
+    private static final URI PLAIN = URI.create("http://localhost:8080/push");
+
+    private static final URI SECURE = URI.create("https://localhost/push");
+
+    @Test
+    public void missingHeaderDoesNotAdvertise() {
+        assertThat(AltSvc.advertisesHttp2(null, PLAIN)).isFalse();
+    }
+
+    @Test
+    public void cleartextIsAdvertisedForPlainAddress() {
+        assertThat(AltSvc.advertisesHttp2("h2c=\":8080\"", PLAIN)).isTrue();
+        assertThat(AltSvc.advertisesHttp2("h2=\":8080\"", PLAIN)).isFalse();
+    }
+
+    @Test
+    public void tlsIsAdvertisedForSecureAddress() {
+        assertThat(AltSvc.advertisesHttp2("h2=\":443\"; ma=3600", SECURE)).isTrue();
+        assertThat(AltSvc.advertisesHttp2("h2c=\":443\"", SECURE)).isFalse();
+    }
+
+    @Test
+    public void otherPortOrHostIsIgnored() {
+        assertThat(AltSvc.advertisesHttp2("h2c=\":9090\"", PLAIN)).isFalse();
+        assertThat(AltSvc.advertisesHttp2("h2c=\"other:8080\"", PLAIN)).isFalse();
+    }
+
+    @Test
+    public void anyListedServiceMayAdvertise() {
+        assertThat(AltSvc.advertisesHttp2("h3=\":8080\", h2c=\":8080\"; ma=60", PLAIN)).isTrue();
+    }
+
+    @Test
+    public void originIncludesDefaultPort() {
+        assertThat(AltSvc.originOf(SECURE)).isEqualTo("https://localhost:443");
+        assertThat(AltSvc.originOf(URI.create("HTTP://LocalHost:8080/x"))).isEqualTo("http://localhost:8080");
+    }
+
+}
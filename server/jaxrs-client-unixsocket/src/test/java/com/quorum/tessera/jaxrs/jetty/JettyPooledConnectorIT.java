@@ -0,0 +1,236 @@
+package com.quorum.tessera.jaxrs.jetty;
+
+import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.InetServerSocket;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.jaxrs.unixsocket.SampleApplication;
+import com.quorum.tessera.jaxrs.unixsocket.SamplePayload;
+import com.quorum.tessera.server.JerseyServer;
+import org.eclipse.jetty.client.HttpClient;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class JettyPooledConnectorIT {
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private URI serverUri;
+
+    private JerseyServer server;
+
+    private Client client;
+
+    @Before
+    public void onSetUp() throws Exception {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        serverUri = URI.create("http://localhost:" + port);
+
+        ServerConfig serverConfig = new ServerConfig();
+        serverConfig.setCommunicationType(CommunicationType.REST);
+        serverConfig.setServerSocket(new InetServerSocket("http://localhost", port));
+
+        server = new JerseyServer(serverConfig, new SampleApplication());
+        server.start();
+
+        ClientConfig config = new ClientConfig();
+        config.connectorProvider(new JettyPooledConnectorProvider(mBeanServer));
+
+        client = ClientBuilder.newClient(config)
+            .property(JettyPooledConnectorProvider.POOL_NAME, "sample")
+            .property(JettyPooledConnectorProvider.MAX_CONNECTIONS_PER_HOST, 2);
+    }
+
+    @After
+    public void onTearDown() throws Exception {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void connectionIsReusedAcrossRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Response result = client.target(serverUri).path("ping").request().get();
+
+            assertThat(result.getStatus()).isEqualTo(200);
+            assertThat(result.readEntity(String.class)).isEqualTo("HEllow");
+        }
+
+        ObjectName poolName = this.poolName();
+        assertThat(mBeanServer.getAttribute(poolName, "Hosts")).isEqualTo(1);
+        assertThat(mBeanServer.getAttribute(poolName, "Connections")).isEqualTo(1);
+        assertThat(mBeanServer.getAttribute(poolName, "IdleConnections")).isEqualTo(1);
+        assertThat(mBeanServer.getAttribute(poolName, "ActiveConnections")).isEqualTo(0);
+        assertThat(mBeanServer.getAttribute(poolName, "MaxConnectionsPerHost")).isEqualTo(2);
+    }
+
+    @Test
+    public void entityIsSentAndReceived() {
+        SamplePayload payload = new SamplePayload();
+        payload.setValue("Hellow");
+
+        Response created = client.target(serverUri)
+            .path("create")
+            .request()
+            .post(Entity.entity(payload, MediaType.APPLICATION_JSON));
+
+        assertThat(created.getStatus()).isEqualTo(201);
+        assertThat(created.getLocation()).isNotNull();
+
+        SamplePayload found = client.target(created.getLocation())
+            .request(MediaType.APPLICATION_JSON)
+            .get(SamplePayload.class);
+
+        assertThat(found.getValue()).isEqualTo("Hellow");
+    }
+
+    @Test
+    public void readTimeoutEndsRequestToSilentServer() throws Exception {
+        try (ServerSocket silent = new ServerSocket(0)) {
+            final Throwable throwable = catchThrowable(
+                () -> client.target("http://localhost:" + silent.getLocalPort())
+                    .path("ping")
+                    .request()
+                    .property(ClientProperties.READ_TIMEOUT, 200)
+                    .get()
+            );
+
+            assertThat(throwable).isInstanceOf(ProcessingException.class).hasCauseInstanceOf(TimeoutException.class);
+        }
+    }
+
+    @Test
+    public void interruptedRequestToSilentServerReleasesItsConnection() throws Exception {
+        client.target(serverUri).path("ping").request().get().close();
+        ObjectName poolName = this.poolName();
+
+        try (ServerSocket silent = new ServerSocket(0)) {
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final AtomicBoolean interrupted = new AtomicBoolean();
+
+            final Thread requester = new Thread(() -> {
+                failure.set(catchThrowable(
+                    () -> client.target("http://localhost:" + silent.getLocalPort()).path("ping").request().get()
+                ));
+                interrupted.set(Thread.currentThread().isInterrupted());
+            });
+            requester.start();
+
+            this.awaitAttribute(poolName, "ActiveConnections", 1);
+
+            requester.interrupt();
+            requester.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertThat(requester.isAlive()).isFalse();
+            assertThat(failure.get()).isInstanceOf(ProcessingException.class)
+                .hasCauseInstanceOf(InterruptedException.class);
+            assertThat(interrupted).isTrue();
+
+            this.awaitAttribute(poolName, "ActiveConnections", 0);
+        }
+    }
+
+    @Test
+    public void requestsMoveToHttp2ClientOnceHostAdvertisesIt() throws Exception {
+        HttpClient http1Client = this.startedClient();
+        //stands in for the HTTP/2 client, so it can be seen which is used
+        HttpClient http2Client = this.startedClient();
+        Client direct = this.clientOver(new JettyPooledConnector(http1Client, http2Client, 0L, () -> {}));
+
+        try {
+            assertThat(direct.target(serverUri).path("ping").request().get().getStatus()).isEqualTo(200);
+            assertThat(http2Client.getDestinations()).isEmpty();
+
+            assertThat(direct.target(serverUri).path("advertise").request().get().getStatus()).isEqualTo(200);
+            assertThat(http2Client.getDestinations()).isEmpty();
+
+            assertThat(direct.target(serverUri).path("ping").request().get().getStatus()).isEqualTo(200);
+            assertThat(http2Client.getDestinations()).hasSize(1);
+        } finally {
+            direct.close();
+        }
+    }
+
+    @Test
+    public void hostFallsBackToHttp1WhenHttp2RequestFails() throws Exception {
+        HttpClient http1Client = this.startedClient();
+        HttpClient http2Client = this.startedClient();
+        Client direct = this.clientOver(new JettyPooledConnector(http1Client, http2Client, 0L, () -> {}));
+
+        try {
+            direct.target(serverUri).path("advertise").request().get().close();
+            http2Client.stop();
+
+            final Throwable throwable = catchThrowable(() -> direct.target(serverUri).path("ping").request().get());
+            assertThat(throwable).isInstanceOf(ProcessingException.class);
+
+            assertThat(direct.target(serverUri).path("advertise").request().get().getStatus()).isEqualTo(200);
+            assertThat(direct.target(serverUri).path("ping").request().get().getStatus()).isEqualTo(200);
+        } finally {
+            direct.close();
+        }
+    }
+
+    @Test
+    public void closingClientRemovesPoolMetrics() throws Exception {
+        client.target(serverUri).path("ping").request().get().close();
+        ObjectName poolName = this.poolName();
+
+        client.close();
+
+        assertThat(mBeanServer.isRegistered(poolName)).isFalse();
+    }
+
+    private HttpClient startedClient() throws Exception {
+        HttpClient httpClient = new HttpClient();
+        httpClient.start();
+        return httpClient;
+    }
+
+    private Client clientOver(JettyPooledConnector connector) {
+        return ClientBuilder.newClient(new ClientConfig().connectorProvider((c, runtimeConfig) -> connector));
+    }
+
+    private void awaitAttribute(ObjectName poolName, String attribute, int expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!Integer.valueOf(expected).equals(mBeanServer.getAttribute(poolName, attribute))
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(mBeanServer.getAttribute(poolName, attribute)).isEqualTo(expected);
+    }
+
+    private ObjectName poolName() throws Exception {
+        Set<ObjectName> names = mBeanServer.queryNames(
+            new ObjectName("com.quorum.tessera:type=httpClientPool,name=\"sample\",*"), null
+        );
+        assertThat(names).hasSize(1);
+        return names.iterator().next();
+    }
+
+}
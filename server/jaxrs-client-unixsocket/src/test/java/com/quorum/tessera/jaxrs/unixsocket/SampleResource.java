@@ -31,6 +31,14 @@ public class SampleResource {
     }
     
     
+    @Path("advertise")
+    @GET
+    public Response advertise(@Context UriInfo uriInfo) {
+        return Response.ok("HEllow")
+            .header("Alt-Svc", "h2c=\":" + uriInfo.getBaseUri().getPort() + "\"")
+            .build();
+    }
+
     @Produces(MediaType.APPLICATION_JSON)
     @GET
     @Path("find/{id}")
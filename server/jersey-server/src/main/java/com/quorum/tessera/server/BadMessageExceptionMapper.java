@@ -0,0 +1,25 @@
+package com.quorum.tessera.server;
+
+import org.eclipse.jetty.http.BadMessageException;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Answers with the status Jetty gave a request it could not read, such as a
+ * body found to be over the size limit only once it was being read
+ */
+@Provider
+public class BadMessageExceptionMapper implements ExceptionMapper<BadMessageException> {
+
+    @Override
+    public Response toResponse(final BadMessageException exception) {
+        return Response.status(exception.getCode())
+            .entity(exception.getReason())
+            .type(MediaType.TEXT_PLAIN)
+            .build();
+    }
+
+}
@@ -12,19 +12,30 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 import javax.ws.rs.core.Application;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import javax.websocket.server.ServerContainer;
+import javax.websocket.server.ServerEndpointConfig;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.websocket.jsr356.server.deploy.WebSocketServerContainerInitializer;
 import org.glassfish.jersey.servlet.ServletContainer;
 
 /**
  * Implementation of a RestServer using Jersey and Jetty.
+ *
+ * Any websocket endpoints given are deployed alongside the application, on
+ * the same port.
  */
 public class JerseyServer implements TesseraServer {
 
@@ -42,10 +53,19 @@ public class JerseyServer implements TesseraServer {
 
     private final ServerConfig serverConfig;
 
+    private final List<ServerEndpointConfig> endpoints;
+
     public JerseyServer(final ServerConfig serverConfig, final Application application) {
+        this(serverConfig, application, Collections.emptyList());
+    }
+
+    public JerseyServer(final ServerConfig serverConfig,
+                        final Application application,
+                        final Collection<ServerEndpointConfig> endpoints) {
         this.uri = serverConfig.getBindingUri();
         this.application = Objects.requireNonNull(application);
         this.serverConfig = serverConfig;
+        this.endpoints = new ArrayList<>(endpoints);
 
         this.executor = newSingleThreadScheduledExecutor();
 
@@ -76,16 +96,31 @@ public class JerseyServer implements TesseraServer {
         final ResourceConfig config = ResourceConfig.forApplication(application);
 
         config.addProperties(initParams)
-                .register(MetricsResource.class);
+                .register(MetricsResource.class)
+                .register(BadMessageExceptionMapper.class);
+
+        Optional.ofNullable(serverConfig.getRateLimitConfig())
+                .map(RequestLimiter::from)
+                .map(RateLimitFilter::new)
+                .ifPresent(config::register);
 
         this.server = ServerUtils.buildWebServer(serverConfig);
 
         ServletContextHandler context = new ServletContextHandler(server, "/");
         ServletContainer servletContainer = new ServletContainer(config);
         ServletHolder jerseyServlet = new ServletHolder(servletContainer);
+        //resources may suspend a request and resume it from another thread
+        jerseyServlet.setAsyncSupported(true);
 
         context.addServlet(jerseyServlet, "/*");
 
+        if (!endpoints.isEmpty()) {
+            final ServerContainer websocketsContainer = WebSocketServerContainerInitializer.configureContext(context);
+            for (ServerEndpointConfig endpoint : endpoints) {
+                websocketsContainer.addEndpoint(endpoint);
+            }
+        }
+
         LOGGER.info("Starting {}", uri);
 
         this.server.start();
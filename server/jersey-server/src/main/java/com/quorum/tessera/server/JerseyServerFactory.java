@@ -1,10 +1,15 @@
 package com.quorum.tessera.server;
 
+import com.quorum.tessera.config.AppType;
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.ServerConfig;
 
+import javax.websocket.server.ServerEndpointConfig;
 import javax.ws.rs.core.Application;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Creates Grizzly and Jersey implementations of the {@link TesseraServer}
@@ -20,7 +25,18 @@ public class JerseyServerFactory implements TesseraServerFactory<Object> {
                 .map(Application.class::cast)
                 .get();
 
-        return new JerseyServer(serverConfig, application);
+        //peers open websocket sessions to a party's P2P url
+        final List<ServerEndpointConfig> endpoints;
+        if (serverConfig.getApp() == AppType.P2P) {
+            endpoints = services.stream()
+                    .filter(ServerEndpointConfig.class::isInstance)
+                    .map(ServerEndpointConfig.class::cast)
+                    .collect(Collectors.toList());
+        } else {
+            endpoints = Collections.emptyList();
+        }
+
+        return new JerseyServer(serverConfig, application, endpoints);
     }
 
     @Override
@@ -0,0 +1,114 @@
+package com.quorum.tessera.server;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Turns requests away with a 429 status when the server has no room for
+ * them
+ * <p>
+ * Requests are grouped by the caller's address, the sender key in the
+ * {@code c11n-from} header or the resource method they call. As the sender
+ * key is whatever the caller chooses to send, a request grouped by it is
+ * also charged to the caller's address, so a caller cannot get past its
+ * limit by changing the header. A request's
+ * place is given back once it has finished, including when it was resumed
+ * from another thread.
+ */
+public class RateLimitFilter implements ContainerRequestFilter, ApplicationEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    static final String PERMIT_PROPERTY = RateLimitFilter.class.getName() + ".permit";
+
+    static final String SENDER_HEADER = "c11n-from";
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    private final RequestLimiter requestLimiter;
+
+    private HttpServletRequest httpServletRequest;
+
+    private ResourceInfo resourceInfo;
+
+    public RateLimitFilter(final RequestLimiter requestLimiter) {
+        this.requestLimiter = Objects.requireNonNull(requestLimiter);
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final String[] keys = this.keysFor(requestContext);
+
+        final Optional<RequestLimiter.Permit> permit = requestLimiter.tryAcquire(keys);
+
+        if (!permit.isPresent()) {
+            LOGGER.debug("Turning away request for {} from {}", requestContext.getUriInfo().getPath(), keys);
+            requestContext.abortWith(Response.status(TOO_MANY_REQUESTS).build());
+            return;
+        }
+
+        requestContext.setProperty(PERMIT_PROPERTY, permit.get());
+    }
+
+    private String[] keysFor(final ContainerRequestContext requestContext) {
+        switch (requestLimiter.getKeyType()) {
+            case ENDPOINT:
+                return new String[] {
+                    resourceInfo.getResourceClass().getName() + "#" + resourceInfo.getResourceMethod().getName()
+                };
+            case SENDER_KEY:
+                return Optional.ofNullable(requestContext.getHeaderString(SENDER_HEADER))
+                    .filter(s -> !s.isEmpty())
+                    .map(sender -> new String[] {this.remoteAddress(), sender})
+                    .orElseGet(() -> new String[] {this.remoteAddress()});
+            default:
+                return new String[] {this.remoteAddress()};
+        }
+    }
+
+    private String remoteAddress() {
+        return Objects.toString(httpServletRequest.getRemoteAddr(), "");
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return event -> {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+
+            final Object permit = event.getContainerRequest().getProperty(PERMIT_PROPERTY);
+            if (permit instanceof RequestLimiter.Permit) {
+                ((RequestLimiter.Permit) permit).release();
+            }
+        };
+    }
+
+    @Context
+    public void setHttpServletRequest(final HttpServletRequest request) {
+        this.httpServletRequest = request;
+    }
+
+    @Context
+    public void setResourceInfo(final ResourceInfo resourceInfo) {
+        this.resourceInfo = resourceInfo;
+    }
+
+}
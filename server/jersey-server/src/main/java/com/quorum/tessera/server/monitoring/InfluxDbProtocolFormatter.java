@@ -2,6 +2,7 @@ package com.quorum.tessera.server.monitoring;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 public class InfluxDbProtocolFormatter {
 
@@ -9,6 +10,11 @@ public class InfluxDbProtocolFormatter {
         StringBuilder formattedMetrics = new StringBuilder();
 
         for(MBeanMetric metric : metrics) {
+            if(metric instanceof MBeanLabelledMetric) {
+                formattedMetrics.append(format((MBeanLabelledMetric) metric, uri)).append("\n");
+                continue;
+            }
+
             MBeanResourceMetric resourceMetric = (MBeanResourceMetric) metric;
 
             formattedMetrics.append("tessera_")
@@ -28,6 +34,29 @@ public class InfluxDbProtocolFormatter {
         return formattedMetrics.toString().trim();
     }
 
+    private String format(MBeanLabelledMetric metric, URI uri) {
+        StringBuilder formattedMetric = new StringBuilder("tessera_")
+            .append(metric.getType())
+            .append(",")
+            .append("instance=")
+            .append(uri.getHost())
+            .append(":")
+            .append(uri.getPort());
+
+        for(Map.Entry<String, String> label : metric.getLabels().entrySet()) {
+            formattedMetric.append(",")
+                           .append(label.getKey())
+                           .append("=")
+                           .append(label.getValue());
+        }
+
+        return formattedMetric.append(" ")
+                              .append(metric.getName())
+                              .append("=")
+                              .append(metric.getValue())
+                              .toString();
+    }
+
     private String sanitize(String input) {
         return input.replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
                     .replaceAll("->|\\(|\\[", "_");
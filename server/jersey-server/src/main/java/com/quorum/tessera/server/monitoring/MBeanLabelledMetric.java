@@ -0,0 +1,40 @@
+package com.quorum.tessera.server.monitoring;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A metric read from a Tessera registered MBean, where the {@code type} key
+ * property names the metric family and the remaining key properties are
+ * exported as labels
+ */
+public class MBeanLabelledMetric implements MBeanMetric {
+    private String type;
+    private String name;
+    private Map<String, String> labels;
+    private String value;
+
+    public MBeanLabelledMetric(String type, String name, Map<String, String> labels, String value) {
+        this.type = type;
+        this.name = name;
+        this.labels = Collections.unmodifiableMap(new TreeMap<>(labels));
+        this.value = value;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
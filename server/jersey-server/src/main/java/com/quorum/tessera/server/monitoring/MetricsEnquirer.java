@@ -1,13 +1,15 @@
 package com.quorum.tessera.server.monitoring;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.management.*;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 public class MetricsEnquirer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsEnquirer.class);
+
     private MBeanServer mBeanServer;
 
     public MetricsEnquirer(MBeanServer mBeanServer) {
@@ -25,12 +27,26 @@ public class MetricsEnquirer {
                 List<MBeanMetric> temp;
                 try {
                     temp = getMetricsForMBean(mBeanName);
-                } catch (AttributeNotFoundException | MBeanException | InstanceNotFoundException | ReflectionException | IntrospectionException e) {
+                } catch (InstanceNotFoundException e) {
+                    LOGGER.debug("MBean {} was unregistered while being read", mBeanName);
+                    continue;
+                } catch (AttributeNotFoundException | MBeanException | ReflectionException | IntrospectionException e) {
                     throw new RuntimeException(e);
                 }
                 mBeanMetrics.addAll(temp);
             }
 
+            for(ObjectName mBeanName : getTesseraMBeanNames()) {
+                try {
+                    mBeanMetrics.addAll(getLabelledMetricsForMBean(mBeanName));
+                } catch (InstanceNotFoundException e) {
+                    //such as the circuit breaker of a party that has just been removed
+                    LOGGER.debug("MBean {} was unregistered while being read", mBeanName);
+                } catch (AttributeNotFoundException | MBeanException | ReflectionException | IntrospectionException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
         } catch (MalformedObjectNameException e) {
             throw new RuntimeException(e);
         }
@@ -43,6 +59,41 @@ public class MetricsEnquirer {
         return Collections.unmodifiableSet(this.mBeanServer.queryNames(new ObjectName(pattern), null));
     }
 
+    private Set<ObjectName> getTesseraMBeanNames() throws MalformedObjectNameException {
+        String pattern = "com.quorum.tessera:*";
+        return new TreeSet<>(this.mBeanServer.queryNames(new ObjectName(pattern), null));
+    }
+
+    private List<MBeanMetric> getLabelledMetricsForMBean(ObjectName mBeanName) throws AttributeNotFoundException, MBeanException, ReflectionException, InstanceNotFoundException, IntrospectionException {
+        List<MBeanMetric> mBeanMetrics = new ArrayList<>();
+
+        String type = mBeanName.getKeyProperty("type");
+        if(type == null) {
+            return mBeanMetrics;
+        }
+
+        //quoted values, such as URLs, are reported without the quotes and escapes
+        Map<String, String> labels = new HashMap<>();
+        mBeanName.getKeyPropertyList().forEach((key, value) -> labels.put(key, unquote(value)));
+        labels.remove("type");
+
+        MBeanAttributeInfo[] mBeanAttributes = this.mBeanServer.getMBeanInfo(mBeanName).getAttributes();
+
+        for(MBeanAttributeInfo mBeanAttribute : mBeanAttributes) {
+            Object value = mBeanServer.getAttribute(mBeanName, mBeanAttribute.getName());
+
+            if(value instanceof Number) {
+                mBeanMetrics.add(new MBeanLabelledMetric(type, mBeanAttribute.getName(), labels, value.toString()));
+            }
+        }
+
+        return Collections.unmodifiableList(mBeanMetrics);
+    }
+
+    private static String unquote(String value) {
+        return value.startsWith("\"") ? ObjectName.unquote(value) : value;
+    }
+
     private List<MBeanMetric> getMetricsForMBean(ObjectName mBeanName) throws AttributeNotFoundException, MBeanException, ReflectionException, InstanceNotFoundException, IntrospectionException {
         List<MBeanMetric> mBeanMetrics = new ArrayList<>();
 
@@ -1,6 +1,7 @@
 package com.quorum.tessera.server.monitoring;
 
 import java.util.List;
+import java.util.Map;
 
 public class PrometheusProtocolFormatter {
 
@@ -8,6 +9,11 @@ public class PrometheusProtocolFormatter {
         StringBuilder formattedMetrics = new StringBuilder();
 
         for(MBeanMetric metric : metrics) {
+            if(metric instanceof MBeanLabelledMetric) {
+                formattedMetrics.append(format((MBeanLabelledMetric) metric)).append("\n");
+                continue;
+            }
+
             MBeanResourceMetric resourceMetric = (MBeanResourceMetric) metric;
 
             formattedMetrics.append("tessera_")
@@ -22,10 +28,32 @@ public class PrometheusProtocolFormatter {
         return formattedMetrics.toString().trim();
     }
 
+    private String format(MBeanLabelledMetric metric) {
+        StringBuilder formattedMetric = new StringBuilder("tessera_")
+            .append(metric.getType())
+            .append("_")
+            .append(metric.getName());
+
+        if(!metric.getLabels().isEmpty()) {
+            formattedMetric.append("{");
+            String separator = "";
+            for(Map.Entry<String, String> label : metric.getLabels().entrySet()) {
+                formattedMetric.append(separator)
+                               .append(label.getKey())
+                               .append("=\"")
+                               .append(label.getValue())
+                               .append("\"");
+                separator = ",";
+            }
+            formattedMetric.append("}");
+        }
+
+        return formattedMetric.append(" ").append(metric.getValue()).toString();
+    }
+
     private String sanitize(String input) {
         return input.replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
                     .replaceAll("->|\\(|\\[", "_");
     }
 
-
 }
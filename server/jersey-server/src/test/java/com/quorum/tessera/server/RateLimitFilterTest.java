@@ -0,0 +1,149 @@
+package com.quorum.tessera.server;
+
+import com.quorum.tessera.config.RateLimitKey;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RateLimitFilterTest {
+
+    private RequestLimiter requestLimiter;
+
+    private HttpServletRequest httpServletRequest;
+
+    private ContainerRequestContext requestContext;
+
+    private RateLimitFilter filter;
+
+    @Before
+    public void onSetUp() {
+        requestLimiter = mock(RequestLimiter.class);
+        when(requestLimiter.getKeyType()).thenReturn(RateLimitKey.REMOTE_ADDRESS);
+
+        httpServletRequest = mock(HttpServletRequest.class);
+        when(httpServletRequest.getRemoteAddr()).thenReturn("10.0.0.1");
+
+        requestContext = mock(ContainerRequestContext.class);
+        when(requestContext.getUriInfo()).thenReturn(mock(UriInfo.class));
+
+        filter = new RateLimitFilter(requestLimiter);
+        filter.setHttpServletRequest(httpServletRequest);
+    }
+
+    @Test
+    public void requestWithRoomIsLetThroughAndKeepsItsPermit() {
+        RequestLimiter.Permit permit = permit();
+        when(requestLimiter.tryAcquire("10.0.0.1")).thenReturn(Optional.of(permit));
+
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(RateLimitFilter.PERMIT_PROPERTY, permit);
+        verify(requestContext, never()).abortWith(any());
+    }
+
+    @Test
+    public void requestWithoutRoomIsTurnedAway() {
+        when(requestLimiter.tryAcquire("10.0.0.1")).thenReturn(Optional.empty());
+
+        filter.filter(requestContext);
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(requestContext).abortWith(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo(429);
+        verify(requestContext, never()).setProperty(any(), any());
+    }
+
+    @Test
+    public void senderKeyIsTakenFromHeaderAlongWithRemoteAddress() {
+        when(requestLimiter.getKeyType()).thenReturn(RateLimitKey.SENDER_KEY);
+        when(requestContext.getHeaderString(RateLimitFilter.SENDER_HEADER)).thenReturn("SENDER");
+        when(requestLimiter.tryAcquire("10.0.0.1", "SENDER")).thenReturn(Optional.of(permit()));
+
+        filter.filter(requestContext);
+
+        verify(requestLimiter).tryAcquire("10.0.0.1", "SENDER");
+    }
+
+    @Test
+    public void missingSenderKeyFallsBackToRemoteAddress() {
+        when(requestLimiter.getKeyType()).thenReturn(RateLimitKey.SENDER_KEY);
+        when(requestLimiter.tryAcquire("10.0.0.1")).thenReturn(Optional.of(permit()));
+
+        filter.filter(requestContext);
+
+        verify(requestLimiter).tryAcquire("10.0.0.1");
+    }
+
+    @Test
+    public void endpointKeyIsTheResourceMethod() throws Exception {
+        when(requestLimiter.getKeyType()).thenReturn(RateLimitKey.ENDPOINT);
+
+        ResourceInfo resourceInfo = mock(ResourceInfo.class);
+        doReturn(Object.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(Object.class.getMethod("toString"));
+        filter.setResourceInfo(resourceInfo);
+
+        when(requestLimiter.tryAcquire(any())).thenReturn(Optional.of(permit()));
+
+        filter.filter(requestContext);
+
+        verify(requestLimiter).tryAcquire(eq("java.lang.Object#toString"));
+    }
+
+    @Test
+    public void permitIsReleasedWhenRequestFinishes() {
+        RequestLimiter oneAtATime = new RequestLimiter(null, null, null, 1, System::nanoTime);
+        RequestLimiter.Permit permit = oneAtATime.tryAcquire("A").get();
+
+        ContainerRequest containerRequest = mock(ContainerRequest.class);
+        when(containerRequest.getProperty(RateLimitFilter.PERMIT_PROPERTY)).thenReturn(permit);
+
+        RequestEvent matched = mock(RequestEvent.class);
+        when(matched.getType()).thenReturn(RequestEvent.Type.RESOURCE_METHOD_START);
+        when(matched.getContainerRequest()).thenReturn(containerRequest);
+
+        RequestEvent finished = mock(RequestEvent.class);
+        when(finished.getType()).thenReturn(RequestEvent.Type.FINISHED);
+        when(finished.getContainerRequest()).thenReturn(containerRequest);
+
+        RequestEventListener listener = filter.onRequest(mock(RequestEvent.class));
+        listener.onEvent(matched);
+        assertThat(oneAtATime.tryAcquire("B")).isNotPresent();
+
+        listener.onEvent(finished);
+        assertThat(oneAtATime.tryAcquire("B")).isPresent();
+    }
+
+    @Test
+    public void finishedRequestWithoutPermitIsIgnored() {
+        ContainerRequest containerRequest = mock(ContainerRequest.class);
+
+        RequestEvent finished = mock(RequestEvent.class);
+        when(finished.getType()).thenReturn(RequestEvent.Type.FINISHED);
+        when(finished.getContainerRequest()).thenReturn(containerRequest);
+
+        filter.onRequest(mock(RequestEvent.class)).onEvent(finished);
+
+        verify(containerRequest).getProperty(RateLimitFilter.PERMIT_PROPERTY);
+    }
+
+    private static RequestLimiter.Permit permit() {
+        return new RequestLimiter(null, null, null, null, System::nanoTime).tryAcquire("").get();
+    }
+
+}
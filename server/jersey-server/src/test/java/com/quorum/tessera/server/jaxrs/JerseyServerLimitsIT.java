@@ -0,0 +1,148 @@
+package com.quorum.tessera.server.jaxrs;
+
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.HttpServerConfig;
+import com.quorum.tessera.config.InetServerSocket;
+import com.quorum.tessera.config.RateLimitConfig;
+import com.quorum.tessera.config.RateLimitKey;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.server.JerseyServer;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JerseyServerLimitsIT {
+
+    private URI serverUri = URI.create("http://localhost:8081");
+
+    private JerseyServer server;
+
+    @Before
+    public void onSetUp() throws Exception {
+        HttpServerConfig httpServerConfig = new HttpServerConfig();
+        httpServerConfig.setMinThreads(4);
+        httpServerConfig.setMaxThreads(32);
+        httpServerConfig.setQueueCapacity(100);
+        httpServerConfig.setAcceptors(1);
+        httpServerConfig.setSelectors(1);
+        httpServerConfig.setIdleTimeout(5000L);
+        httpServerConfig.setMaxRequestBodySize(64L);
+
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setKey(RateLimitKey.ENDPOINT);
+        rateLimitConfig.setRequestsPerSecond(1);
+        rateLimitConfig.setBurst(3);
+        rateLimitConfig.setMaxConcurrentRequests(1);
+
+        ServerConfig serverConfig = new ServerConfig();
+        serverConfig.setApp(AppType.P2P);
+        serverConfig.setCommunicationType(CommunicationType.REST);
+        serverConfig.setServerSocket(new InetServerSocket("http://localhost", 8081));
+        serverConfig.setHttpServerConfig(httpServerConfig);
+        serverConfig.setRateLimitConfig(rateLimitConfig);
+
+        server = new JerseyServer(serverConfig, new SampleApplication());
+        server.start();
+    }
+
+    @After
+    public void onTearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void requestWithinBodySizeLimitIsAccepted() {
+        SamplePayload payload = new SamplePayload();
+        payload.setValue("Hellow");
+
+        Response result = ClientBuilder.newClient()
+                .target(serverUri)
+                .path("create")
+                .request()
+                .post(Entity.entity(payload, MediaType.APPLICATION_JSON));
+
+        assertThat(result.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    public void requestOverBodySizeLimitIsRejected() {
+        SamplePayload payload = new SamplePayload();
+        payload.setValue(new String(new char[128]).replace('\0', 'A'));
+
+        Response result = ClientBuilder.newClient()
+                .target(serverUri)
+                .path("create")
+                .request()
+                .post(Entity.entity(payload, MediaType.APPLICATION_JSON));
+
+        assertThat(result.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    public void chunkedRequestOverBodySizeLimitIsRejected() {
+        SamplePayload payload = new SamplePayload();
+        payload.setValue(new String(new char[128]).replace('\0', 'A'));
+
+        Response result = ClientBuilder.newClient()
+                .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.CHUNKED)
+                .target(serverUri)
+                .path("create")
+                .request()
+                .post(Entity.entity(payload, MediaType.APPLICATION_JSON));
+
+        assertThat(result.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    public void requestsOverTheRateLimitAreTurnedAway() {
+        for (int i = 0; i < 3; i++) {
+            Response result = ClientBuilder.newClient()
+                    .target(serverUri)
+                    .path("ping")
+                    .request()
+                    .get();
+
+            assertThat(result.getStatus()).isEqualTo(200);
+        }
+
+        Response result = ClientBuilder.newClient()
+                .target(serverUri)
+                .path("ping")
+                .request()
+                .get();
+
+        assertThat(result.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void threadPoolMetricsAreRegisteredWhileRunning() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName pattern = new ObjectName("com.quorum.tessera:type=serverThreadPool,name=\"P2P\",*");
+
+        Set<ObjectName> names = mBeanServer.queryNames(pattern, null);
+        assertThat(names).hasSize(1);
+
+        ObjectName name = names.iterator().next();
+        assertThat(mBeanServer.getAttribute(name, "MaxThreads")).isEqualTo(32);
+        assertThat(mBeanServer.getAttribute(name, "MinThreads")).isEqualTo(4);
+        assertThat((Double) mBeanServer.getAttribute(name, "Utilisation")).isBetween(0d, 1d);
+
+        server.stop();
+
+        assertThat(mBeanServer.queryNames(pattern, null)).isEmpty();
+    }
+
+}
@@ -6,6 +6,8 @@ import org.junit.Test;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -75,4 +77,16 @@ public class InfluxDbProtocolFormatterTest {
     public void noMetricsToFormatIsHandled() {
         assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEmpty();
     }
+
+    @Test
+    public void labelledMetricCorrectlyFormatted() {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("outcome", "success");
+        labels.put("operation", "seal");
+        mockMetrics.add(new MBeanLabelledMetric("crypto", "Count", labels, "7"));
+
+        String expectedResponse = "tessera_crypto,instance=localhost:8080,operation=seal,outcome=success Count=7";
+
+        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+    }
 }
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -166,4 +167,95 @@ public class MetricsEnquirerTest {
         assertThat(metrics.get(0).getName()).isEqualTo("name3_total");
         assertThat(metrics.get(1).getName()).isEqualTo("name_total");
     }
+
+    @Test
+    public void tesseraMBeanNumericAttributesAreLabelledMetrics() throws MalformedObjectNameException, IntrospectionException, ReflectionException, AttributeNotFoundException, MBeanException, InstanceNotFoundException {
+        ObjectName mBeanName = new ObjectName("com.quorum.tessera:type=crypto,operation=seal,outcome=success");
+        names.add(mBeanName);
+
+        when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null)).thenReturn(names);
+
+        MBeanAttributeInfo[] mBeanAttributes = {
+            new MBeanAttributeInfo("Count", "long", "desc", true, false, false),
+            new MBeanAttributeInfo("Description", "java.lang.String", "desc", true, false, false)
+        };
+        MBeanInfo mBeanInfo = new MBeanInfo(null, null, mBeanAttributes, null, null, null);
+
+        when(mBeanServer.getMBeanInfo(mBeanName)).thenReturn(mBeanInfo);
+        when(mBeanServer.getAttribute(mBeanName, "Count")).thenReturn(5L);
+        when(mBeanServer.getAttribute(mBeanName, "Description")).thenReturn("not a number");
+
+        List<MBeanMetric> metrics = metricsEnquirer.getMBeanMetrics();
+
+        assertThat(metrics).hasSize(1);
+
+        MBeanLabelledMetric metric = (MBeanLabelledMetric) metrics.get(0);
+        assertThat(metric.getType()).isEqualTo("crypto");
+        assertThat(metric.getName()).isEqualTo("Count");
+        assertThat(metric.getValue()).isEqualTo("5");
+        assertThat(metric.getLabels()).containsOnlyKeys("operation", "outcome");
+    }
+
+    @Test
+    public void mBeanUnregisteredWhileBeingReadIsSkipped() throws MalformedObjectNameException, IntrospectionException, ReflectionException, AttributeNotFoundException, MBeanException, InstanceNotFoundException {
+        ObjectName removed = new ObjectName("com.quorum.tessera:type=circuitBreaker,url=removed");
+        ObjectName remaining = new ObjectName("com.quorum.tessera:type=circuitBreaker,url=remaining");
+        names.add(removed);
+        names.add(remaining);
+
+        ObjectName removedResource = new ObjectName("domain", "key", "value");
+        Set<ObjectName> resourceNames = new HashSet<>();
+        resourceNames.add(removedResource);
+
+        when(mBeanServer.queryNames(new ObjectName("org.glassfish.jersey:type=Tessera,subType=Resources,resource=com.quorum.tessera.api.*,executionTimes=RequestTimes,detail=methods,method=*"), null)).thenReturn(resourceNames);
+        when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null)).thenReturn(names);
+
+        MBeanAttributeInfo[] mBeanAttributes = {new MBeanAttributeInfo("State", "int", "desc", true, false, false)};
+        MBeanInfo mBeanInfo = new MBeanInfo(null, null, mBeanAttributes, null, null, null);
+
+        when(mBeanServer.getMBeanInfo(removedResource)).thenThrow(new InstanceNotFoundException());
+        when(mBeanServer.getMBeanInfo(removed)).thenReturn(mBeanInfo);
+        when(mBeanServer.getAttribute(removed, "State")).thenThrow(new InstanceNotFoundException());
+        when(mBeanServer.getMBeanInfo(remaining)).thenReturn(mBeanInfo);
+        when(mBeanServer.getAttribute(remaining, "State")).thenReturn(1);
+
+        List<MBeanMetric> metrics = metricsEnquirer.getMBeanMetrics();
+
+        assertThat(metrics).hasSize(1);
+        assertThat(((MBeanLabelledMetric) metrics.get(0)).getLabels()).containsEntry("url", "remaining");
+    }
+
+    @Test
+    public void quotedLabelValuesAreUnquoted() throws MalformedObjectNameException, IntrospectionException, ReflectionException, AttributeNotFoundException, MBeanException, InstanceNotFoundException {
+        ObjectName mBeanName = new ObjectName("com.quorum.tessera:type=circuitBreaker,url=" + ObjectName.quote("http://other.com:8080/"));
+        names.add(mBeanName);
+
+        when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null)).thenReturn(names);
+
+        MBeanAttributeInfo[] mBeanAttributes = {
+            new MBeanAttributeInfo("StateCode", "int", "desc", true, false, false)
+        };
+        MBeanInfo mBeanInfo = new MBeanInfo(null, null, mBeanAttributes, null, null, null);
+
+        when(mBeanServer.getMBeanInfo(mBeanName)).thenReturn(mBeanInfo);
+        when(mBeanServer.getAttribute(mBeanName, "StateCode")).thenReturn(2);
+
+        List<MBeanMetric> metrics = metricsEnquirer.getMBeanMetrics();
+
+        assertThat(metrics).hasSize(1);
+
+        MBeanLabelledMetric metric = (MBeanLabelledMetric) metrics.get(0);
+        assertThat(metric.getType()).isEqualTo("circuitBreaker");
+        assertThat(metric.getValue()).isEqualTo("2");
+        assertThat(metric.getLabels()).containsOnly(entry("url", "http://other.com:8080/"));
+    }
+
+    @Test
+    public void tesseraMBeanWithoutTypeIsIgnored() throws MalformedObjectNameException {
+        names.add(new ObjectName("com.quorum.tessera", "key", "value"));
+
+        when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null)).thenReturn(names);
+
+        assertThat(metricsEnquirer.getMBeanMetrics()).isEmpty();
+    }
 }
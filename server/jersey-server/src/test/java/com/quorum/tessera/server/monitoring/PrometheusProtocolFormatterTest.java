@@ -1,7 +1,10 @@
 package com.quorum.tessera.server.monitoring;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -70,4 +73,23 @@ public class PrometheusProtocolFormatterTest {
     public void noMetricsToFormatIsHandled() {
         assertThat(protocolFormatter.format(mockMetrics)).isEmpty();
     }
+
+    @Test
+    public void labelledMetricCorrectlyFormatted() {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("outcome", "success");
+        labels.put("operation", "seal");
+        mockMetrics.add(new MBeanLabelledMetric("crypto", "Count", labels, "7"));
+
+        String expectedResponse = "tessera_crypto_Count{operation=\"seal\",outcome=\"success\"} 7";
+
+        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    public void labelledMetricWithoutLabelsCorrectlyFormatted() {
+        mockMetrics.add(new MBeanLabelledMetric("crypto", "Count", Collections.emptyMap(), "7"));
+
+        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo("tessera_crypto_Count 7");
+    }
 }
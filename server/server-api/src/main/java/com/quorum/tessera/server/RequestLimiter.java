@@ -0,0 +1,143 @@
+package com.quorum.tessera.server;
+
+import com.quorum.tessera.config.RateLimitConfig;
+import com.quorum.tessera.config.RateLimitKey;
+import com.quorum.tessera.threading.TokenBucket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a server has room for another request
+ * <p>
+ * Each key, such as the caller's address, gets its own token bucket, and
+ * the server as a whole may have a cap on the requests it handles at once.
+ * Requests over either limit are turned away straight away rather than
+ * queued, and a request that is turned away uses up none of its limits. Only the most recently used keys are tracked, so a quiet key may
+ * be forgotten and start again with a full bucket.
+ */
+public class RequestLimiter {
+
+    static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final RateLimitKey keyType;
+
+    private final Integer requestsPerSecond;
+
+    private final int burst;
+
+    private final LongSupplier nanoClock;
+
+    private final Semaphore concurrentRequests;
+
+    private final Map<String, TokenBucket> buckets = Collections.synchronizedMap(
+        new LinkedHashMap<String, TokenBucket>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, TokenBucket> eldest) {
+                return size() > MAX_TRACKED_KEYS;
+            }
+        }
+    );
+
+    public RequestLimiter(final RateLimitKey keyType,
+                          final Integer requestsPerSecond,
+                          final Integer burst,
+                          final Integer maxConcurrentRequests,
+                          final LongSupplier nanoClock) {
+        this.keyType = Optional.ofNullable(keyType).orElse(RateLimitKey.REMOTE_ADDRESS);
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = Optional.ofNullable(burst).orElseGet(() -> Optional.ofNullable(requestsPerSecond).orElse(1));
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.concurrentRequests = Optional.ofNullable(maxConcurrentRequests).map(Semaphore::new).orElse(null);
+    }
+
+    public static RequestLimiter from(final RateLimitConfig config) {
+        return new RequestLimiter(
+            config.getKey(),
+            config.getRequestsPerSecond(),
+            config.getBurst(),
+            config.getMaxConcurrentRequests(),
+            System::nanoTime
+        );
+    }
+
+    public RateLimitKey getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * Takes a place for a request if there is room for it
+     *
+     * A request with several keys is charged to the rate of each of them,
+     * and is only let through if all of them have room.
+     *
+     * @param keys the values requests are grouped by for the rate limit
+     * @return a permit to release once the request is finished, or empty if
+     * the request should be turned away
+     */
+    public Optional<Permit> tryAcquire(final String... keys) {
+        if (concurrentRequests != null && !concurrentRequests.tryAcquire()) {
+            return Optional.empty();
+        }
+
+        if (requestsPerSecond != null && !this.tryAcquireRate(keys)) {
+            if (concurrentRequests != null) {
+                concurrentRequests.release();
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(new Permit(concurrentRequests));
+    }
+
+    private boolean tryAcquireRate(final String... keys) {
+        final List<TokenBucket> taken = new ArrayList<>(keys.length);
+
+        for (final String key : keys) {
+            final TokenBucket bucket = this.bucketFor(key);
+            if (!bucket.tryAcquire()) {
+                taken.forEach(TokenBucket::refund);
+                return false;
+            }
+            taken.add(bucket);
+        }
+
+        return true;
+    }
+
+    private TokenBucket bucketFor(final String key) {
+        return buckets.computeIfAbsent(
+            Objects.toString(key), k -> new TokenBucket(requestsPerSecond, burst, nanoClock)
+        );
+    }
+
+    /**
+     * A request's place on the server, which is given back once when released
+     */
+    public static final class Permit {
+
+        private final Semaphore concurrentRequests;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(final Semaphore concurrentRequests) {
+            this.concurrentRequests = concurrentRequests;
+        }
+
+        public void release() {
+            if (concurrentRequests != null && released.compareAndSet(false, true)) {
+                concurrentRequests.release();
+            }
+        }
+
+    }
+
+}
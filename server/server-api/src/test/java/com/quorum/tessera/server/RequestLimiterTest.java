@@ -0,0 +1,114 @@
+package com.quorum.tessera.server;
+
+import com.quorum.tessera.config.RateLimitConfig;
+import com.quorum.tessera.config.RateLimitKey;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestLimiterTest {
+
+    private long now = 1000L;
+
+    @Test
+    public void requestsOverTheRateForAKeyAreTurnedAway() {
+        final RequestLimiter limiter = new RequestLimiter(RateLimitKey.REMOTE_ADDRESS, 1, 2, null, () -> now);
+
+        assertThat(limiter.tryAcquire("A")).isPresent();
+        assertThat(limiter.tryAcquire("A")).isPresent();
+        assertThat(limiter.tryAcquire("A")).isNotPresent();
+
+        assertThat(limiter.tryAcquire("B")).isPresent();
+    }
+
+    @Test
+    public void rateIsRestoredOverTime() {
+        final RequestLimiter limiter = new RequestLimiter(RateLimitKey.ENDPOINT, 1, 1, null, () -> now);
+
+        assertThat(limiter.tryAcquire("/push")).isPresent();
+        assertThat(limiter.tryAcquire("/push")).isNotPresent();
+
+        now += TimeUnit.SECONDS.toNanos(1);
+
+        assertThat(limiter.tryAcquire("/push")).isPresent();
+    }
+
+    @Test
+    public void requestsOverTheConcurrencyLimitAreTurnedAwayUntilReleased() {
+        final RequestLimiter limiter = new RequestLimiter(null, null, null, 1, () -> now);
+
+        final Optional<RequestLimiter.Permit> permit = limiter.tryAcquire("A");
+        assertThat(permit).isPresent();
+        assertThat(limiter.tryAcquire("B")).isNotPresent();
+
+        permit.get().release();
+        permit.get().release();
+
+        assertThat(limiter.tryAcquire("B")).isPresent();
+        assertThat(limiter.tryAcquire("C")).isNotPresent();
+    }
+
+    @Test
+    public void requestTurnedAwayForConcurrencyKeepsItsRate() {
+        final RequestLimiter limiter = new RequestLimiter(RateLimitKey.REMOTE_ADDRESS, 1, 1, 1, () -> now);
+
+        final Optional<RequestLimiter.Permit> permit = limiter.tryAcquire("A");
+        assertThat(permit).isPresent();
+        assertThat(limiter.tryAcquire("B")).isNotPresent();
+
+        permit.get().release();
+
+        assertThat(limiter.tryAcquire("B")).isPresent();
+    }
+
+    @Test
+    public void requestTurnedAwayForRateGivesBackItsPlace() {
+        final RequestLimiter limiter = new RequestLimiter(RateLimitKey.REMOTE_ADDRESS, 1, 1, 1, () -> now);
+
+        limiter.tryAcquire("A").get().release();
+        assertThat(limiter.tryAcquire("A")).isNotPresent();
+
+        assertThat(limiter.tryAcquire("B")).isPresent();
+    }
+
+    @Test
+    public void requestIsChargedToEachOfItsKeys() {
+        final RequestLimiter limiter = new RequestLimiter(RateLimitKey.SENDER_KEY, 1, 1, null, () -> now);
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "SENDER")).isPresent();
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "OTHER")).isNotPresent();
+        assertThat(limiter.tryAcquire("10.0.0.2", "SENDER")).isNotPresent();
+
+        assertThat(limiter.tryAcquire("OTHER")).isPresent();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isPresent();
+    }
+
+    @Test
+    public void noLimitsConfiguredAlwaysAllowsRequests() {
+        final RequestLimiter limiter = RequestLimiter.from(new RateLimitConfig());
+
+        assertThat(limiter.getKeyType()).isEqualTo(RateLimitKey.REMOTE_ADDRESS);
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("A")).isPresent();
+        }
+    }
+
+    @Test
+    public void keyTypeIsTakenFromConfig() {
+        final RateLimitConfig config = new RateLimitConfig();
+        config.setKey(RateLimitKey.SENDER_KEY);
+        config.setRequestsPerSecond(5);
+
+        final RequestLimiter limiter = RequestLimiter.from(config);
+
+        assertThat(limiter.getKeyType()).isEqualTo(RateLimitKey.SENDER_KEY);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("A")).isPresent();
+        }
+    }
+
+}
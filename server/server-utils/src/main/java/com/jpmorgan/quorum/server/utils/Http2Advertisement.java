@@ -0,0 +1,39 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.Request;
+
+import java.util.Objects;
+
+/**
+ * Tells clients making HTTP/1.1 requests that HTTP/2 is served on the same
+ * port, using an {@code Alt-Svc} header
+ * <p>
+ * Other nodes only switch to HTTP/2 once a node has advertised it, so nodes
+ * with and without HTTP/2 can be mixed in one network.
+ */
+class Http2Advertisement implements HttpConfiguration.Customizer {
+
+    static final String ALT_SVC = "Alt-Svc";
+
+    private final String protocol;
+
+    /**
+     * @param protocol the ALPN id of the protocol served, h2 over TLS and
+     *                 h2c otherwise
+     */
+    Http2Advertisement(final String protocol) {
+        this.protocol = Objects.requireNonNull(protocol);
+    }
+
+    @Override
+    public void customize(final Connector connector, final HttpConfiguration channelConfig, final Request request) {
+        if (request.getHttpVersion() == HttpVersion.HTTP_2) {
+            return;
+        }
+        request.getResponse().setHeader(ALT_SVC, protocol + "=\":" + request.getLocalPort() + "\"");
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.jpmorgan.quorum.server.utils;
+
+import com.quorum.tessera.reflect.ReflectCallback;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+
+/**
+ * Creates the connection factories for serving HTTP/2 alongside HTTP/1.1
+ * <p>
+ * The HTTP/2 and ALPN modules are only on the classpath when the
+ * application is built with them, so they are loaded reflectively.
+ */
+final class Http2ConnectionFactories {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http2ConnectionFactories.class);
+
+    private static final String HTTP2_FACTORY = "org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory";
+
+    private static final String HTTP2C_FACTORY = "org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory";
+
+    private static final String HTTP2_CIPHER = "org.eclipse.jetty.http2.HTTP2Cipher";
+
+    private static final String ALPN_FACTORY = "org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory";
+
+    private static final String HTTP_1_1 = "http/1.1";
+
+    private Http2ConnectionFactories() {
+        throw new UnsupportedOperationException("This object should not be constructed.");
+    }
+
+    static boolean isCleartextAvailable() {
+        return isPresent(HTTP2C_FACTORY);
+    }
+
+    /**
+     * The ALPN factory can be on the classpath but find no ALPN support to
+     * use, as on Java 8, in which case creating it fails. So one is created
+     * to check that h2 can be negotiated.
+     */
+    static boolean isSecureAvailable() {
+        return isPresent(HTTP2_FACTORY) && canCreate(Http2ConnectionFactories::newAlpnFactory);
+    }
+
+    /**
+     * Serves HTTP/1.1, which may be upgraded to h2c, and h2c with prior
+     * knowledge on the same port
+     */
+    static ConnectionFactory[] cleartext(final HttpConfiguration config) {
+        return new ConnectionFactory[]{
+            new HttpConnectionFactory(config), newFactory(HTTP2C_FACTORY, config)
+        };
+    }
+
+    /**
+     * Serves h2 to clients that ask for it during the TLS handshake, and
+     * HTTP/1.1 to all others
+     */
+    static ConnectionFactory[] secure(final SslContextFactory sslContextFactory, final HttpConfiguration config) {
+        return ReflectCallback.execute(() -> {
+            final Class<?> cipherType = Class.forName(HTTP2_CIPHER);
+            @SuppressWarnings("unchecked")
+            final Comparator<String> comparator = (Comparator<String>) cipherType.getField("COMPARATOR").get(null);
+            sslContextFactory.setCipherComparator(comparator);
+            sslContextFactory.setUseCipherSuitesOrder(true);
+
+            final ConnectionFactory alpn = newAlpnFactory();
+
+            return new ConnectionFactory[]{
+                new SslConnectionFactory(sslContextFactory, alpn.getProtocol()),
+                alpn,
+                newFactory(HTTP2_FACTORY, config),
+                new HttpConnectionFactory(config)
+            };
+        });
+    }
+
+    private static ConnectionFactory newAlpnFactory() throws ReflectiveOperationException {
+        final ConnectionFactory alpn = (ConnectionFactory) Class.forName(ALPN_FACTORY)
+            .getConstructor(String[].class)
+            .newInstance((Object) new String[]{"h2", HTTP_1_1});
+        alpn.getClass().getMethod("setDefaultProtocol", String.class).invoke(alpn, HTTP_1_1);
+        return alpn;
+    }
+
+    static boolean canCreate(final Callable<?> factory) {
+        try {
+            factory.call();
+            return true;
+        } catch (final Exception | LinkageError ex) {
+            LOGGER.debug(null, ex);
+            return false;
+        }
+    }
+
+    private static ConnectionFactory newFactory(final String className, final HttpConfiguration config) {
+        return ReflectCallback.execute(() -> (ConnectionFactory) Class.forName(className)
+            .getConstructor(HttpConfiguration.class)
+            .newInstance(config));
+    }
+
+    private static boolean isPresent(final String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (final ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+}
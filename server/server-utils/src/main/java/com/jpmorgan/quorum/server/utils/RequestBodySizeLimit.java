@@ -0,0 +1,61 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.http.BadMessageException;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpInput;
+import org.eclipse.jetty.server.Request;
+
+/**
+ * Rejects requests with a body larger than the limit with a 413 status
+ * <p>
+ * A request that declares a larger body is rejected before it is passed on
+ * to be read. The body of a request that declares no length, such as a
+ * chunked one, is counted as it is read, and reading fails once it goes
+ * over the limit.
+ */
+class RequestBodySizeLimit implements HttpConfiguration.Customizer {
+
+    private final long maxRequestBodySize;
+
+    RequestBodySizeLimit(final long maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+    @Override
+    public void customize(final Connector connector, final HttpConfiguration channelConfig, final Request request) {
+        final long contentLength = request.getContentLengthLong();
+
+        if (contentLength > maxRequestBodySize) {
+            throw new BadMessageException(HttpStatus.PAYLOAD_TOO_LARGE_413);
+        }
+
+        //a declared length is already enforced while the body is parsed
+        if (contentLength < 0) {
+            request.getHttpInput().addInterceptor(new Limit(maxRequestBodySize));
+        }
+    }
+
+    static final class Limit implements HttpInput.Interceptor {
+
+        private long remaining;
+
+        Limit(final long maxRequestBodySize) {
+            this.remaining = maxRequestBodySize;
+        }
+
+        @Override
+        public HttpInput.Content readFrom(final HttpInput.Content content) {
+            if (content != null) {
+                remaining -= content.remaining();
+                if (remaining < 0) {
+                    throw new BadMessageException(HttpStatus.PAYLOAD_TOO_LARGE_413);
+                }
+            }
+            return content;
+        }
+
+    }
+
+}
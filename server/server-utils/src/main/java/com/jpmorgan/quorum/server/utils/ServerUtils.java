@@ -1,11 +1,16 @@
 package com.jpmorgan.quorum.server.utils;
 
+import com.quorum.tessera.config.HttpServerConfig;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.config.UnixServerSocket;
 import com.quorum.tessera.ssl.context.ServerSSLContextFactory;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import javax.net.ssl.SSLContext;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
@@ -13,13 +18,29 @@ import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.unixsocket.UnixSocketConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ServerUtils {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerUtils.class);
+
+    private static final int DEFAULT_UNIX_ACCEPT_QUEUE_SIZE = 128;
+
     public static Server buildWebServer(ServerConfig serverConfig) {
-        Server server = new Server();
+        final HttpServerConfig limits = Optional.ofNullable(serverConfig.getHttpServerConfig())
+                .orElseGet(HttpServerConfig::new);
+
+        final QueuedThreadPool threadPool = buildThreadPool(limits);
+        Server server = new Server(threadPool);
+        server.addLifeCycleListener(new ThreadPoolMetrics(
+                ManagementFactory.getPlatformMBeanServer(), threadPool, String.valueOf(serverConfig.getApp())
+        ));
+
         URI uri = serverConfig.getBindingUri();
 
         if (Optional.of(serverConfig)
@@ -33,10 +54,16 @@ public class ServerUtils {
                     .filter(s -> UnixServerSocket.class.isInstance(s))
                     .map(UnixServerSocket.class::cast).get();
 
-            HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory();
+            HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(buildHttpConfiguration(limits));
 
-            UnixSocketConnector connector = new UnixSocketConnector(server, httpConnectionFactory);
-            connector.setAcceptQueueSize(128);
+            //unix socket connectors always have a single acceptor
+            UnixSocketConnector connector = new UnixSocketConnector(
+                    server, orDefault(limits.getSelectors()), httpConnectionFactory
+            );
+            connector.setAcceptQueueSize(
+                    Optional.ofNullable(limits.getAcceptQueueSize()).orElse(DEFAULT_UNIX_ACCEPT_QUEUE_SIZE)
+            );
+            applyIdleTimeout(connector, limits);
 
             connector.setUnixSocket(unixServerSocket.getPath());
 
@@ -46,7 +73,7 @@ public class ServerUtils {
         }
 
         if (serverConfig.isSsl()) {
-            HttpConfiguration https = new HttpConfiguration();
+            HttpConfiguration https = buildHttpConfiguration(limits);
             https.addCustomizer(new SecureRequestCustomizer());
 
             SSLContext sslContext = ServerSSLContextFactory.create()
@@ -54,18 +81,95 @@ public class ServerUtils {
 
             SslContextFactory sslContextFactory = new SslContextFactory();
             sslContextFactory.setSslContext(sslContext);
-            ServerConnector connector = new ServerConnector(server,
+
+            final ConnectionFactory[] connectionFactories;
+            if (isHttp2Available(serverConfig, Http2ConnectionFactories.isSecureAvailable())) {
+                connectionFactories = Http2ConnectionFactories.secure(sslContextFactory, https);
+                https.addCustomizer(new Http2Advertisement("h2"));
+            } else {
+                connectionFactories = new ConnectionFactory[]{
                     new SslConnectionFactory(sslContextFactory, "http/1.1"),
-                    new HttpConnectionFactory(https));
+                    new HttpConnectionFactory(https)
+                };
+            }
+            ServerConnector connector = buildServerConnector(server, limits, connectionFactories);
             connector.setPort(uri.getPort());
             server.setConnectors(new Connector[]{connector});
             return server;
         }
 
-        ServerConnector connector = new ServerConnector(server);
+        final HttpConfiguration http = buildHttpConfiguration(limits);
+
+        final ConnectionFactory[] connectionFactories;
+        if (isHttp2Available(serverConfig, Http2ConnectionFactories.isCleartextAvailable())) {
+            connectionFactories = Http2ConnectionFactories.cleartext(http);
+            http.addCustomizer(new Http2Advertisement("h2c"));
+        } else {
+            connectionFactories = new ConnectionFactory[]{new HttpConnectionFactory(http)};
+        }
+        ServerConnector connector = buildServerConnector(server, limits, connectionFactories);
         connector.setPort(uri.getPort());
         server.setConnectors(new Connector[]{connector});
 
         return server;
     }
+
+    private static QueuedThreadPool buildThreadPool(HttpServerConfig limits) {
+        final QueuedThreadPool defaults = new QueuedThreadPool();
+
+        //a null queue is replaced with the default growable one
+        final BlockingQueue<Runnable> queue = Optional.ofNullable(limits.getQueueCapacity())
+                .map(BlockingArrayQueue<Runnable>::new)
+                .orElse(null);
+
+        return new QueuedThreadPool(
+                Optional.ofNullable(limits.getMaxThreads()).orElse(defaults.getMaxThreads()),
+                Optional.ofNullable(limits.getMinThreads()).orElse(defaults.getMinThreads()),
+                defaults.getIdleTimeout(),
+                queue
+        );
+    }
+
+    private static HttpConfiguration buildHttpConfiguration(HttpServerConfig limits) {
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        Optional.ofNullable(limits.getMaxRequestBodySize())
+                .map(RequestBodySizeLimit::new)
+                .ifPresent(httpConfiguration::addCustomizer);
+        return httpConfiguration;
+    }
+
+    private static ServerConnector buildServerConnector(Server server,
+                                                        HttpServerConfig limits,
+                                                        ConnectionFactory... connectionFactories) {
+        final ServerConnector connector = new ServerConnector(
+                server, orDefault(limits.getAcceptors()), orDefault(limits.getSelectors()), connectionFactories
+        );
+        Optional.ofNullable(limits.getAcceptQueueSize()).ifPresent(connector::setAcceptQueueSize);
+        applyIdleTimeout(connector, limits);
+        return connector;
+    }
+
+    private static void applyIdleTimeout(AbstractConnector connector, HttpServerConfig limits) {
+        Optional.ofNullable(limits.getIdleTimeout()).ifPresent(connector::setIdleTimeout);
+    }
+
+    /**
+     * Jetty picks the number of acceptors and selectors from the number of
+     * processors when given -1
+     */
+    private static int orDefault(Integer count) {
+        return Optional.ofNullable(count).orElse(-1);
+    }
+
+    private static boolean isHttp2Available(ServerConfig serverConfig, boolean modulesPresent) {
+        if (!serverConfig.isHttp2()) {
+            return false;
+        }
+
+        if (!modulesPresent) {
+            LOGGER.warn("HTTP/2 is enabled for {} but the HTTP/2 modules are not available, serving HTTP/1.1 only",
+                    serverConfig.getApp());
+        }
+        return modulesPresent;
+    }
 }
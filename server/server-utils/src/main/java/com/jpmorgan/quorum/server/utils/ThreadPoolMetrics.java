@@ -0,0 +1,76 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Hashtable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registers a server's thread pool counts as an MBean under the
+ * {@code com.quorum.tessera} domain while the server is running, so they
+ * are reported with the other metrics
+ */
+class ThreadPoolMetrics extends AbstractLifeCycle.AbstractLifeCycleListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadPoolMetrics.class);
+
+    static final String DOMAIN = "com.quorum.tessera";
+
+    static final String TYPE = "serverThreadPool";
+
+    private static final AtomicInteger POOL_IDS = new AtomicInteger();
+
+    private final MBeanServer mBeanServer;
+
+    private final QueuedThreadPool threadPool;
+
+    private final String name;
+
+    private ObjectName objectName;
+
+    ThreadPoolMetrics(final MBeanServer mBeanServer, final QueuedThreadPool threadPool, final String name) {
+        this.mBeanServer = Objects.requireNonNull(mBeanServer);
+        this.threadPool = Objects.requireNonNull(threadPool);
+        this.name = name;
+    }
+
+    @Override
+    public synchronized void lifeCycleStarted(final LifeCycle event) {
+        final Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", TYPE);
+        properties.put("name", ObjectName.quote(name));
+        properties.put("id", String.valueOf(POOL_IDS.incrementAndGet()));
+
+        try {
+            final ObjectName registered = new ObjectName(DOMAIN, properties);
+            mBeanServer.registerMBean(new ThreadPoolStats(threadPool), registered);
+            this.objectName = registered;
+        } catch (final JMException ex) {
+            LOGGER.warn("Unable to register thread pool metrics for {}", name);
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    @Override
+    public synchronized void lifeCycleStopped(final LifeCycle event) {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            mBeanServer.unregisterMBean(objectName);
+        } catch (final JMException ex) {
+            LOGGER.debug(null, ex);
+        }
+        this.objectName = null;
+    }
+
+}
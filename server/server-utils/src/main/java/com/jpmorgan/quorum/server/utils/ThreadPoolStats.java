@@ -0,0 +1,54 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.util.Objects;
+
+/**
+ * Reads the counts of a server's thread pool. Utilisation is the share of
+ * the most threads the pool may have that are busy.
+ */
+public class ThreadPoolStats implements ThreadPoolStatsMBean {
+
+    private final QueuedThreadPool threadPool;
+
+    public ThreadPoolStats(final QueuedThreadPool threadPool) {
+        this.threadPool = Objects.requireNonNull(threadPool);
+    }
+
+    @Override
+    public int getThreads() {
+        return threadPool.getThreads();
+    }
+
+    @Override
+    public int getBusyThreads() {
+        return threadPool.getBusyThreads();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return threadPool.getIdleThreads();
+    }
+
+    @Override
+    public int getMinThreads() {
+        return threadPool.getMinThreads();
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return threadPool.getMaxThreads();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return threadPool.getQueueSize();
+    }
+
+    @Override
+    public double getUtilisation() {
+        return (double) threadPool.getBusyThreads() / threadPool.getMaxThreads();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.jpmorgan.quorum.server.utils;
+
+/**
+ * The state of a server's request thread pool, as exposed over JMX
+ */
+public interface ThreadPoolStatsMBean {
+
+    int getThreads();
+
+    int getBusyThreads();
+
+    int getIdleThreads();
+
+    int getMinThreads();
+
+    int getMaxThreads();
+
+    int getQueueSize();
+
+    double getUtilisation();
+
+}
@@ -0,0 +1,46 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class Http2AdvertisementTest {
+
+    private Request request;
+
+    private Response response;
+
+    @Before
+    public void onSetUp() {
+        request = mock(Request.class);
+        response = mock(Response.class);
+        when(request.getResponse()).thenReturn(response);
+        when(request.getLocalPort()).thenReturn(8080);
+    }
+
+    @Test
+    public void http1ResponseAdvertisesHttp2OnSamePort() {
+        when(request.getHttpVersion()).thenReturn(HttpVersion.HTTP_1_1);
+
+        new Http2Advertisement("h2c").customize(null, null, request);
+
+        verify(response).setHeader(Http2Advertisement.ALT_SVC, "h2c=\":8080\"");
+    }
+
+    @Test
+    public void http2ResponseIsLeftAlone() {
+        when(request.getHttpVersion()).thenReturn(HttpVersion.HTTP_2);
+
+        new Http2Advertisement("h2").customize(null, null, request);
+
+        verifyZeroInteractions(response);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Http2ConnectionFactoriesTest {
+
+    @Test
+    public void modulesAreNotAvailableWithoutHttp2Build() {
+        assertThat(Http2ConnectionFactories.isCleartextAvailable()).isFalse();
+        assertThat(Http2ConnectionFactories.isSecureAvailable()).isFalse();
+    }
+
+    @Test
+    public void factoryThatCanBeCreatedIsAvailable() {
+        assertThat(Http2ConnectionFactories.canCreate(Object::new)).isTrue();
+    }
+
+    @Test
+    public void factoryThatFailsWhenCreatedIsNotAvailable() {
+        assertThat(Http2ConnectionFactories.canCreate(() -> {
+            throw new IllegalStateException("No Server ALPNProcessors!");
+        })).isFalse();
+    }
+
+    @Test
+    public void factoryThatCannotBeLinkedIsNotAvailable() {
+        assertThat(Http2ConnectionFactories.canCreate(() -> {
+            throw new NoClassDefFoundError("org/eclipse/jetty/alpn/ALPN");
+        })).isFalse();
+    }
+
+}
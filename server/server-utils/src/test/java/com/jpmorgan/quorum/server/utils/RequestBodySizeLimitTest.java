@@ -0,0 +1,80 @@
+package com.jpmorgan.quorum.server.utils;
+
+import org.eclipse.jetty.http.BadMessageException;
+import org.eclipse.jetty.server.HttpInput;
+import org.eclipse.jetty.server.Request;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestBodySizeLimitTest {
+
+    private final RequestBodySizeLimit limit = new RequestBodySizeLimit(10);
+
+    private Request request;
+
+    private HttpInput httpInput;
+
+    @Before
+    public void onSetUp() {
+        request = mock(Request.class);
+        httpInput = mock(HttpInput.class);
+        when(request.getHttpInput()).thenReturn(httpInput);
+    }
+
+    @Test
+    public void declaredLengthOverLimitIsRejected() {
+        when(request.getContentLengthLong()).thenReturn(11L);
+
+        final Throwable throwable = catchThrowable(() -> limit.customize(null, null, request));
+
+        assertThat(throwable).isInstanceOf(BadMessageException.class);
+        assertThat(((BadMessageException) throwable).getCode()).isEqualTo(413);
+    }
+
+    @Test
+    public void declaredLengthWithinLimitIsNotCounted() {
+        when(request.getContentLengthLong()).thenReturn(10L);
+
+        limit.customize(null, null, request);
+
+        verify(httpInput, never()).addInterceptor(any());
+    }
+
+    @Test
+    public void undeclaredLengthIsCountedAsItIsRead() {
+        when(request.getContentLengthLong()).thenReturn(-1L);
+
+        limit.customize(null, null, request);
+
+        final ArgumentCaptor<HttpInput.Interceptor> captor = ArgumentCaptor.forClass(HttpInput.Interceptor.class);
+        verify(httpInput).addInterceptor(captor.capture());
+        final HttpInput.Interceptor interceptor = captor.getValue();
+
+        final HttpInput.Content first = content(6);
+        assertThat(interceptor.readFrom(first)).isSameAs(first);
+        assertThat(interceptor.readFrom(null)).isNull();
+
+        final HttpInput.Content last = content(4);
+        assertThat(interceptor.readFrom(last)).isSameAs(last);
+
+        final Throwable throwable = catchThrowable(() -> interceptor.readFrom(content(1)));
+        assertThat(throwable).isInstanceOf(BadMessageException.class);
+        assertThat(((BadMessageException) throwable).getCode()).isEqualTo(413);
+    }
+
+    private static HttpInput.Content content(final int size) {
+        return new HttpInput.Content(ByteBuffer.allocate(size));
+    }
+
+}
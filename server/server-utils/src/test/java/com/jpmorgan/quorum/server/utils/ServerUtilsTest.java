@@ -0,0 +1,56 @@
+package com.jpmorgan.quorum.server.utils;
+
+import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.InetServerSocket;
+import com.quorum.tessera.config.ServerConfig;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerUtilsTest {
+
+    private ServerConfig serverConfig;
+
+    @Before
+    public void onSetUp() {
+        serverConfig = new ServerConfig();
+        serverConfig.setCommunicationType(CommunicationType.REST);
+        serverConfig.setServerSocket(new InetServerSocket("http://localhost", 8080));
+    }
+
+    @Test
+    public void http1IsServedByDefault() {
+        final ServerConnector connector = this.connectorOf(ServerUtils.buildWebServer(serverConfig));
+
+        assertThat(connector.getPort()).isEqualTo(8080);
+        assertThat(connector.getProtocols()).containsExactly("http/1.1");
+        assertThat(this.httpConfigurationOf(connector).getCustomizers()).isEmpty();
+    }
+
+    @Test
+    public void http2FallsBackToHttp1WithoutModules() {
+        serverConfig.setHttp2(true);
+
+        final ServerConnector connector = this.connectorOf(ServerUtils.buildWebServer(serverConfig));
+
+        assertThat(Http2ConnectionFactories.isCleartextAvailable()).isFalse();
+        assertThat(connector.getProtocols()).containsExactly("http/1.1");
+        assertThat(this.httpConfigurationOf(connector).getCustomizers())
+            .noneMatch(Http2Advertisement.class::isInstance);
+    }
+
+    private ServerConnector connectorOf(final Server server) {
+        assertThat(server.getConnectors()).hasSize(1).allMatch(ServerConnector.class::isInstance);
+        return (ServerConnector) server.getConnectors()[0];
+    }
+
+    private HttpConfiguration httpConfigurationOf(final ServerConnector connector) {
+        return connector.getConnectionFactory(HttpConnectionFactory.class).getHttpConfiguration();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.quorum.tessera.threading;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how often an action can happen
+ *
+ * Permits are added to the bucket at a fixed rate, up to a maximum burst
+ * size. Each action takes one permit, either failing straight away if there
+ * are none left or waiting until the next one is due.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+
+    private final double burst;
+
+    private final LongSupplier nanoClock;
+
+    private double permits;
+
+    private long lastRefill;
+
+    public TokenBucket(final double permitsPerSecond, final double burst, final LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst must be at least 1");
+        }
+
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.permits = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public TokenBucket(final double permitsPerSecond, final double burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Creates a bucket that allows up to one seconds worth of permits at once
+     *
+     * @param permitsPerSecond the rate permits are added at
+     */
+    public TokenBucket(final double permitsPerSecond) {
+        this(permitsPerSecond, Math.max(1, permitsPerSecond));
+    }
+
+    /**
+     * Takes a permit if one is available
+     *
+     * @return whether a permit was taken
+     */
+    public synchronized boolean tryAcquire() {
+        this.refill();
+
+        if (permits < 1) {
+            return false;
+        }
+
+        permits--;
+        return true;
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire()} for an action that
+     * did not go ahead
+     */
+    public synchronized void refund() {
+        this.refill();
+
+        permits = Math.min(burst, permits + 1);
+    }
+
+    /**
+     * Takes a permit, waiting until one is available if need be
+     *
+     * Permits are reserved in the order callers arrive, so a caller that is
+     * interrupted while waiting still uses up its permit.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos = this.reserve();
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes the next permit, allowing the bucket to go into debt
+     *
+     * @return how long to wait until the permit is due, in nanoseconds
+     */
+    synchronized long reserve() {
+        this.refill();
+
+        permits--;
+
+        return permits >= 0 ? 0 : (long) Math.ceil(-permits / permitsPerNano);
+    }
+
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+
+        permits = Math.min(burst, permits + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+
+}
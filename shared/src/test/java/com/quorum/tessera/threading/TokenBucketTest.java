@@ -0,0 +1,111 @@
+package com.quorum.tessera.threading;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.within;
+
+public class TokenBucketTest {
+
+    private long now;
+
+    private TokenBucket tokenBucket;
+
+    @Before
+    public void init() {
+        this.now = 1000L;
+        this.tokenBucket = new TokenBucket(10, 2, () -> now);
+    }
+
+    @Test
+    public void burstIsAvailableStraightAway() {
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void permitsAreAddedOverTime() {
+        tokenBucket.tryAcquire();
+        tokenBucket.tryAcquire();
+
+        now += TimeUnit.MILLISECONDS.toNanos(60);
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+
+        now += TimeUnit.MILLISECONDS.toNanos(60);
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void permitsDoNotBuildUpPastTheBurst() {
+        now += TimeUnit.SECONDS.toNanos(10);
+
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void refundedPermitCanBeTakenAgain() {
+        tokenBucket.tryAcquire();
+        tokenBucket.tryAcquire();
+
+        tokenBucket.refund();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void refundsDoNotBuildUpPastTheBurst() {
+        tokenBucket.refund();
+
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isTrue();
+        assertThat(tokenBucket.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void reservationsQueueBehindEachOther() {
+        assertThat(tokenBucket.reserve()).isZero();
+        assertThat(tokenBucket.reserve()).isZero();
+        assertThat(tokenBucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1L));
+        assertThat(tokenBucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(200), within(1L));
+
+        now += TimeUnit.MILLISECONDS.toNanos(200);
+        assertThat(tokenBucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1L));
+    }
+
+    @Test
+    public void acquireWithAvailablePermitDoesNotWait() throws InterruptedException {
+        final TokenBucket slowBucket = new TokenBucket(0.001);
+
+        final long start = System.nanoTime();
+        slowBucket.acquire();
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void interruptWhileWaitingThrows() {
+        final TokenBucket slowBucket = new TokenBucket(0.001);
+        slowBucket.tryAcquire();
+
+        Thread.currentThread().interrupt();
+        final Throwable throwable = catchThrowable(slowBucket::acquire);
+
+        assertThat(throwable).isInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    public void invalidRateIsRejected() {
+        final Throwable throwable = catchThrowable(() -> new TokenBucket(0));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -13,4 +13,8 @@ public final class ApiPath {
 
     public static final String PUSH = "/push";
 
+    public static final String RECONCILE = "/reconcile";
+
+    public static final String RESEND_STREAM = "/resendStream";
+
 }
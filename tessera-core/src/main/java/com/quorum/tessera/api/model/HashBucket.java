@@ -0,0 +1,58 @@
+package com.quorum.tessera.api.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Model representation of one bucket of a summary of transaction hashes
+ *
+ * Hashes are split into buckets by their leading bits. Each bucket carries the
+ * number of hashes in it and a digest of them, so that two nodes can find the
+ * buckets they disagree on without exchanging every hash.
+ */
+@ApiModel
+public class HashBucket {
+
+    @ApiModelProperty("The position of the bucket, from the leading bits of its hashes")
+    private int index;
+
+    @ApiModelProperty("The number of hashes in the bucket")
+    private int count;
+
+    @ApiModelProperty("Base64 encoded digest of the hashes in the bucket")
+    private String digest;
+
+    public HashBucket(final int index, final int count, final String digest) {
+        this.index = index;
+        this.count = count;
+        this.digest = digest;
+    }
+
+    public HashBucket() {
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(final int index) {
+        this.index = index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(final int count) {
+        this.count = count;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(final String digest) {
+        this.digest = digest;
+    }
+
+}
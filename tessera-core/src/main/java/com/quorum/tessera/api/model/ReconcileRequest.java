@@ -0,0 +1,69 @@
+package com.quorum.tessera.api.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model representation of a JSON body on incoming HTTP requests.
+ * Used by a node to check that it holds every transaction it shares with
+ * the receiving node. Contains:
+ * <ul>
+ *     <li>the public keys of the requesting node</li>
+ *     <li>a summary of the transactions the requesting node shares with the
+ *     receiving node, in which case the receiving node replies with its
+ *     hashes for the buckets that differ</li>
+ *     <li>or the hashes the requesting node found it is missing, in which
+ *     case the receiving node pushes those transactions to it</li>
+ * </ul>
+ */
+@ApiModel
+public class ReconcileRequest {
+
+    @ApiModelProperty("Base64 encoded public keys of the requesting node")
+    private List<String> publicKeys = new ArrayList<>();
+
+    @ApiModelProperty("The number of leading bits of each hash used to pick its bucket in the summary")
+    private int bucketBits = 8;
+
+    @ApiModelProperty("Summary of the transactions shared with the receiving node")
+    private List<HashBucket> buckets = new ArrayList<>();
+
+    @ApiModelProperty("Base64 encoded hashes of transactions to push to the requesting node")
+    private List<String> missing = new ArrayList<>();
+
+    public List<String> getPublicKeys() {
+        return publicKeys;
+    }
+
+    public void setPublicKeys(final List<String> publicKeys) {
+        this.publicKeys = publicKeys;
+    }
+
+    public int getBucketBits() {
+        return bucketBits;
+    }
+
+    public void setBucketBits(final int bucketBits) {
+        this.bucketBits = bucketBits;
+    }
+
+    public List<HashBucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(final List<HashBucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(final List<String> missing) {
+        this.missing = missing;
+    }
+
+}
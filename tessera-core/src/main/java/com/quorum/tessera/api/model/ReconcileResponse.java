@@ -0,0 +1,36 @@
+package com.quorum.tessera.api.model;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Model representation of a JSON body on outgoing HTTP responses
+ *
+ * A response to a {@link ReconcileRequest}, listing the hashes the responding
+ * node holds in each bucket that did not match the summary it was sent
+ */
+@ApiModel
+public class ReconcileResponse {
+
+    @ApiModelProperty("Base64 encoded hashes from the buckets that differ")
+    private List<String> hashes = new ArrayList<>();
+
+    public ReconcileResponse(final List<String> hashes) {
+        this.hashes = hashes;
+    }
+
+    public ReconcileResponse() {
+    }
+
+    public List<String> getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(final List<String> hashes) {
+        this.hashes = hashes;
+    }
+
+}
@@ -10,12 +10,13 @@ import io.swagger.annotations.ApiModelProperty;
  *     <li>the public key who is a recipient</li>
  *     <li>the resend type, whether to send a single transaction or all transactions for the given key</li>
  *     <li>the transaction hash to resend in the case the resend type is for an individual transaction</li>
+ *     <li>the earliest storage time of transactions to resend in the case the resend type is since a time</li>
  * </ul>
  */
 @ApiModel
 public class ResendRequest {
 
-    @ApiModelProperty("Resend type INDIVIDUAL or ALL, to resend a single or all transactions")
+    @ApiModelProperty("Resend type INDIVIDUAL, ALL or SINCE, to resend a single, all or only recent transactions")
     private ResendRequestType type;
 
     @ApiModelProperty("The recipient public key to resend transactions for")
@@ -24,6 +25,9 @@ public class ResendRequest {
     @ApiModelProperty("Base64 encoded transaction hash")
     private String key;
 
+    @ApiModelProperty("Resend transactions stored at or after this time, in milliseconds since the epoch")
+    private Long since;
+
     public ResendRequestType getType() {
         return type;
     }
@@ -48,4 +52,12 @@ public class ResendRequest {
         this.key = key;
     }
 
+    public Long getSince() {
+        return since;
+    }
+
+    public void setSince(final Long since) {
+        this.since = since;
+    }
+
 }
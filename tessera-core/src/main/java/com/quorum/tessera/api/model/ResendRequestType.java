@@ -9,8 +9,11 @@ import io.swagger.annotations.ApiModel;
  * <p>
  * INDIVIDUAL specifies to resend a single transaction (hash is provided) if
  * the given public key is a recipient
+ * <p>
+ * SINCE specifies to resend the transactions for a given recipient public key
+ * that were stored at or after a given time
  */
 @ApiModel
 public enum ResendRequestType {
-    ALL, INDIVIDUAL
+    ALL, INDIVIDUAL, SINCE
 }
@@ -0,0 +1,129 @@
+package com.quorum.tessera.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the failures of calls to a single node, and stops calls to the node
+ * while it is failing
+ * <p>
+ * After enough calls in a row fail, the circuit opens and calls are refused
+ * without contacting the node. Once the backoff has passed a single trial
+ * call is allowed through. If it succeeds the circuit closes again,
+ * otherwise it reopens with double the backoff, up to a maximum. Each
+ * backoff is jittered so that nodes do not all retry at the same moment.
+ * <p>
+ * A trial call that has not finished within the same backoff is given up
+ * on, and another trial is let through, so a trial that hangs cannot keep
+ * the circuit half open forever.
+ */
+public class CircuitBreaker implements CircuitBreakerMBean {
+
+    private final int failureThreshold;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private CircuitState state = CircuitState.CLOSED;
+
+    private int consecutiveFailures;
+
+    private int consecutiveOpens;
+
+    private long retryAt;
+
+    private long backoffMillis;
+
+    private long timesOpened;
+
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public CircuitBreaker(final int failureThreshold, final long initialBackoffMillis, final long maxBackoffMillis) {
+        this.failureThreshold = failureThreshold;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoffMillis);
+        this.backoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Checks whether a call to the node may be made
+     *
+     * @param now the current time in milliseconds
+     * @return true if the call should go ahead, false if it should be refused
+     */
+    public synchronized boolean tryAcquire(final long now) {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+
+        //a half open circuit is still waiting on its trial until the retry time
+        if (now >= retryAt) {
+            state = CircuitState.HALF_OPEN;
+            retryAt = now + backoffMillis;
+            return true;
+        }
+
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        consecutiveOpens = 0;
+    }
+
+    public synchronized void recordFailure(final long now) {
+        consecutiveFailures++;
+
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            final long backoff = Math.min(initialBackoffMillis << Math.min(consecutiveOpens, 30), maxBackoffMillis);
+            final long halfBackoff = backoff / 2;
+
+            state = CircuitState.OPEN;
+            backoffMillis = backoff;
+            retryAt = now + halfBackoff + ThreadLocalRandom.current().nextLong(backoff - halfBackoff + 1);
+            consecutiveOpens++;
+            timesOpened++;
+        }
+    }
+
+    public synchronized CircuitState getCircuitState() {
+        return state;
+    }
+
+    /**
+     * @return the time at which a trial call will next be let through, if the
+     * circuit is open or its trial call has not finished
+     */
+    public synchronized long getRetryAt() {
+        return retryAt;
+    }
+
+    @Override
+    public String getState() {
+        return getCircuitState().name();
+    }
+
+    @Override
+    public int getStateCode() {
+        return getCircuitState().ordinal();
+    }
+
+    @Override
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.quorum.tessera.client;
+
+/**
+ * The state of the circuit breaker for a single node, as exposed over JMX
+ */
+public interface CircuitBreakerMBean {
+
+    String getState();
+
+    /**
+     * @return 0 when closed, 1 when half open and 2 when open
+     */
+    int getStateCode();
+
+    int getConsecutiveFailures();
+
+    long getTimesOpened();
+
+    long getRejectedCalls();
+
+}
@@ -0,0 +1,146 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.config.CircuitBreakerConfig;
+import com.quorum.tessera.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Holds the circuit breaker for each node that this node calls
+ * <p>
+ * Each breaker is registered as an MBean under the {@code com.quorum.tessera}
+ * domain when it is created, so its state is reported with the other
+ * metrics.
+ */
+public class CircuitBreakerRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    public static final String DOMAIN = "com.quorum.tessera";
+
+    public static final String TYPE = "circuitBreaker";
+
+    static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000L;
+
+    static final long DEFAULT_MAX_BACKOFF_MILLIS = 60000L;
+
+    private final int failureThreshold;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final MBeanServer mBeanServer;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(final int failureThreshold,
+                                  final long initialBackoffMillis,
+                                  final long maxBackoffMillis,
+                                  final MBeanServer mBeanServer) {
+        this.failureThreshold = failureThreshold;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.mBeanServer = Objects.requireNonNull(mBeanServer);
+    }
+
+    /**
+     * Creates a registry from the circuit breaker configuration, using
+     * defaults for any values that are not set
+     *
+     * @param config the node configuration
+     * @return a registry using the configured thresholds
+     */
+    public static CircuitBreakerRegistry from(final Config config) {
+        final Optional<CircuitBreakerConfig> breakerConfig = Optional.ofNullable(config.getCircuitBreakerConfig());
+
+        return new CircuitBreakerRegistry(
+            breakerConfig.map(CircuitBreakerConfig::getFailureThreshold).orElse(DEFAULT_FAILURE_THRESHOLD),
+            valueOf(breakerConfig, CircuitBreakerConfig::getInitialBackoff, DEFAULT_INITIAL_BACKOFF_MILLIS),
+            valueOf(breakerConfig, CircuitBreakerConfig::getMaxBackoff, DEFAULT_MAX_BACKOFF_MILLIS),
+            ManagementFactory.getPlatformMBeanServer()
+        );
+    }
+
+    private static long valueOf(final Optional<CircuitBreakerConfig> config,
+                                final Function<CircuitBreakerConfig, Long> getter,
+                                final long defaultValue) {
+        return config.map(getter).orElse(defaultValue);
+    }
+
+    /**
+     * Fetches the breaker for the given node, creating it if this is the
+     * first call to that node
+     *
+     * @param url the URL of the node being called
+     * @return the breaker for the node
+     */
+    public CircuitBreaker forUrl(final String url) {
+        final CircuitBreaker existing = breakers.get(url);
+        if (existing != null) {
+            return existing;
+        }
+
+        final CircuitBreaker created = new CircuitBreaker(failureThreshold, initialBackoffMillis, maxBackoffMillis);
+        final CircuitBreaker previous = breakers.putIfAbsent(url, created);
+        if (previous != null) {
+            return previous;
+        }
+
+        this.register(url, created);
+
+        return created;
+    }
+
+    /**
+     * @param url the URL of a node
+     * @return the state of the breaker for the node, which is closed if the
+     * node has never been called
+     */
+    public CircuitState getState(final String url) {
+        return Optional.ofNullable(breakers.get(url))
+            .map(CircuitBreaker::getCircuitState)
+            .orElse(CircuitState.CLOSED);
+    }
+
+    /**
+     * @return the state of the breaker for every node that has been called
+     */
+    public Map<String, CircuitState> getStates() {
+        return breakers.entrySet()
+            .stream()
+            .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().getCircuitState()));
+    }
+
+    private void register(final String url, final CircuitBreaker breaker) {
+        final Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", TYPE);
+        properties.put("url", ObjectName.quote(url));
+
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN, properties);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(breaker, objectName);
+            }
+        } catch (final JMException ex) {
+            LOGGER.warn("Unable to register circuit breaker metrics for {}", url);
+            LOGGER.debug(null, ex);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
+import com.quorum.tessera.api.model.ResendRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link P2pClient} that stops calling nodes that keep failing
+ * <p>
+ * A call that throws counts as a failure. A call that returns is a success,
+ * even if the node rejected the request, since the node could still be
+ * reached. Clients must therefore throw when the node cannot be reached,
+ * rather than returning null or false. While the breaker for a node is open, calls to it throw a
+ * {@link CircuitOpenException} without making a connection.
+ */
+public class CircuitBreakingP2pClient implements P2pClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakingP2pClient.class);
+
+    private final P2pClient delegate;
+
+    private final CircuitBreakerRegistry registry;
+
+    public CircuitBreakingP2pClient(final P2pClient delegate, final CircuitBreakerRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.registry = Objects.requireNonNull(registry);
+    }
+
+    @Override
+    public byte[] push(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, () -> delegate.push(targetUrl, data));
+    }
+
+    @Override
+    public byte[] getPartyInfo(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, () -> delegate.getPartyInfo(targetUrl, data));
+    }
+
+    @Override
+    public boolean makeResendRequest(final String targetUrl, final ResendRequest request) {
+        return this.call(targetUrl, () -> delegate.makeResendRequest(targetUrl, request));
+    }
+
+    @Override
+    public boolean streamResend(final String targetUrl,
+                                final ResendRequest request,
+                                final Consumer<byte[]> encodedPayloadConsumer) {
+        return this.call(targetUrl, () -> delegate.streamResend(targetUrl, request, encodedPayloadConsumer));
+    }
+
+    @Override
+    public ReconcileResponse reconcile(final String targetUrl, final ReconcileRequest request) {
+        return this.call(targetUrl, () -> delegate.reconcile(targetUrl, request));
+    }
+
+    private <T> T call(final String targetUrl, final Supplier<T> action) {
+        final CircuitBreaker breaker = registry.forUrl(targetUrl);
+
+        if (!breaker.tryAcquire(System.currentTimeMillis())) {
+            throw new CircuitOpenException("Circuit open for " + targetUrl);
+        }
+
+        final T result;
+        try {
+            result = action.get();
+        } catch (final RuntimeException ex) {
+            breaker.recordFailure(System.currentTimeMillis());
+            if (breaker.getCircuitState() == CircuitState.OPEN) {
+                LOGGER.debug("Circuit open for {} after {} failures", targetUrl, breaker.getConsecutiveFailures());
+            }
+            throw ex;
+        }
+
+        breaker.recordSuccess();
+        return result;
+    }
+
+}
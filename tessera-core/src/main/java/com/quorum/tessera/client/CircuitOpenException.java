@@ -0,0 +1,12 @@
+package com.quorum.tessera.client;
+
+/**
+ * Thrown instead of contacting a node whose circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.quorum.tessera.client;
+
+/**
+ * The state of the circuit breaker for a single node
+ */
+public enum CircuitState {
+
+    /**
+     * Calls are passed through to the node
+     */
+    CLOSED,
+
+    /**
+     * The node has been failing, and a single trial call is being let
+     * through to see if it has recovered
+     */
+    HALF_OPEN,
+
+    /**
+     * The node has been failing, so calls fail straight away without
+     * contacting it
+     */
+    OPEN
+
+}
@@ -1,7 +1,11 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
 import com.quorum.tessera.api.model.ResendRequest;
 
+import java.util.function.Consumer;
+
 public interface P2pClient {
 
     byte[] push(String targetUrl, byte[] data);
@@ -9,5 +13,20 @@ public interface P2pClient {
     byte[] getPartyInfo(String targetUrl, byte[] data);
 
     boolean makeResendRequest(String targetUrl, ResendRequest request);
+
+    /**
+     * Asks the other node to send its transactions back over a single call
+     * instead of pushing each one. Each encoded payload is handed to the
+     * consumer as it arrives, so a slow consumer slows the other node down.
+     *
+     * @return whether every payload was received, false if the other node
+     * refused the request
+     */
+    boolean streamResend(String targetUrl, ResendRequest request, Consumer<byte[]> encodedPayloadConsumer);
+
+    /**
+     * @return the response of the other node, or null if it refused the request
+     */
+    ReconcileResponse reconcile(String targetUrl, ReconcileRequest request);
  
 }
@@ -15,6 +15,8 @@ public interface ConfigService {
 
     boolean isUseWhiteList();
 
+    List<String> getWhiteListRanges();
+
     boolean isDisablePeerDiscovery();
     
     URI getServerUri();
@@ -41,6 +41,11 @@ public class ConfigServiceImpl implements ConfigService {
         return config.isUseWhiteList();
     }
 
+    @Override
+    public List<String> getWhiteListRanges() {
+        return config.getWhiteListRanges();
+    }
+
     @Override
     public boolean isDisablePeerDiscovery() {
         return config.isDisablePeerDiscovery();
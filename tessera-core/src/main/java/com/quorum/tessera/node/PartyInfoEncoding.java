@@ -0,0 +1,174 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.Recipient;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads and writes the binary layout used by {@link PartyInfoParser}
+ * <p>
+ * Messages are written by working out the exact size first and then
+ * filling a single array, and are read directly from the received array
+ * without copying each field out first.
+ */
+final class PartyInfoEncoding {
+
+    /**
+     * The most public keys that are remembered by the decoder
+     * <p>
+     * Each node sees the same keys over and over again, so decoding
+     * hands back the key it made last time rather than a new copy. The
+     * cache is emptied if it grows past this size.
+     */
+    static final int MAX_KNOWN_KEYS = 100_000;
+
+    private static final Map<ByteBuffer, PublicKey> KNOWN_KEYS = new ConcurrentHashMap<>();
+
+    private PartyInfoEncoding() {
+    }
+
+    /**
+     * Encodes the party info, leaving room for a header at the start
+     *
+     * @param partyInfo the party info to encode
+     * @param headerLength the number of bytes to leave empty at the start
+     * @return the encoded party info, with the position of the buffer at the
+     * start of the array
+     */
+    static ByteBuffer write(final PartyInfo partyInfo, final int headerLength) {
+
+        final byte[] url = partyInfo.getUrl().getBytes(UTF_8);
+
+        final Recipient[] recipients = partyInfo.getRecipients().toArray(new Recipient[0]);
+        final byte[][] recipientUrls = new byte[recipients.length][];
+
+        final Party[] parties = partyInfo.getParties().toArray(new Party[0]);
+        final byte[][] partyUrls = new byte[parties.length][];
+
+        long length = headerLength + Long.BYTES + url.length + Long.BYTES + Long.BYTES;
+
+        for (int i = 0; i < recipients.length; i++) {
+            recipientUrls[i] = recipients[i].getUrl().getBytes(UTF_8);
+            length += Long.BYTES + recipients[i].getKey().getKeyBytes().length + Long.BYTES + recipientUrls[i].length;
+        }
+
+        for (int i = 0; i < parties.length; i++) {
+            partyUrls[i] = parties[i].getUrl().getBytes(UTF_8);
+            length += Long.BYTES + partyUrls[i].length;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(toIntExact(length));
+        buffer.position(headerLength);
+
+        putField(buffer, url);
+
+        buffer.putLong(recipients.length);
+        for (int i = 0; i < recipients.length; i++) {
+            putField(buffer, recipients[i].getKey().getKeyBytes());
+            putField(buffer, recipientUrls[i]);
+        }
+
+        buffer.putLong(parties.length);
+        for (final byte[] partyUrl : partyUrls) {
+            putField(buffer, partyUrl);
+        }
+
+        buffer.rewind();
+        return buffer;
+    }
+
+    /**
+     * Decodes party info from the given array, starting at the given offset
+     *
+     * @param encoded the received message
+     * @param offset the position of the party info in the message
+     * @return the decoded party info
+     */
+    static PartyInfo read(final byte[] encoded, final int offset) {
+
+        final ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        buffer.position(offset);
+
+        final String url = getString(buffer);
+
+        final int numberOfRecipients = getLength(buffer);
+        final Set<Recipient> recipients = new HashSet<>();
+        for (int i = 0; i < numberOfRecipients; i++) {
+            final PublicKey key = getKey(buffer);
+            final String recipientUrl = getString(buffer);
+            recipients.add(new Recipient(key, recipientUrl));
+        }
+
+        final int partyCount = getLength(buffer);
+        final Set<Party> parties = new HashSet<>();
+        for (int i = 0; i < partyCount; i++) {
+            parties.add(new Party(getString(buffer)));
+        }
+
+        return new PartyInfo(url, recipients, parties);
+    }
+
+    private static void putField(final ByteBuffer buffer, final byte[] value) {
+        buffer.putLong(value.length).put(value);
+    }
+
+    private static int getLength(final ByteBuffer buffer) {
+        final int length = toIntExact(buffer.getLong());
+        PartyInfoParser.checkLength(length);
+        return length;
+    }
+
+    /**
+     * Moves past the next field, checking it is all there
+     *
+     * @return the position of the start of the field in the array
+     */
+    private static int skipField(final ByteBuffer buffer, final int length) {
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        final int start = buffer.position();
+        buffer.position(start + length);
+        return start;
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final int length = getLength(buffer);
+        final int start = skipField(buffer, length);
+        return new String(buffer.array(), start, length, UTF_8);
+    }
+
+    private static PublicKey getKey(final ByteBuffer buffer) {
+        final int length = getLength(buffer);
+        final int start = skipField(buffer, length);
+
+        final PublicKey known = KNOWN_KEYS.get(ByteBuffer.wrap(buffer.array(), start, length));
+        if (known != null) {
+            return known;
+        }
+
+        final byte[] keyBytes = Arrays.copyOfRange(buffer.array(), start, start + length);
+        final PublicKey key = PublicKey.from(keyBytes);
+
+        if (KNOWN_KEYS.size() >= MAX_KNOWN_KEYS) {
+            KNOWN_KEYS.clear();
+        }
+        KNOWN_KEYS.putIfAbsent(ByteBuffer.wrap(keyBytes), key);
+
+        return key;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.node.model.PartyInfoDelta;
+
+/**
+ * Receives the keys and parties that this node learns about, as soon as
+ * they are merged into its {@link PartyInfoService}
+ */
+@FunctionalInterface
+public interface PartyInfoListener {
+
+    /**
+     * Called after new keys or parties have been stored
+     * <p>
+     * This is called on the thread that performed the update, so
+     * implementations should hand off any slow work.
+     *
+     * @param changes the keys and parties that were added or changed
+     */
+    void onChange(PartyInfoDelta changes);
+
+}
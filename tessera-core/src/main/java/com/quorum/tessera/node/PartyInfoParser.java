@@ -1,27 +1,31 @@
 package com.quorum.tessera.node;
 
 import com.quorum.tessera.enclave.BinaryEncoder;
-import com.quorum.tessera.encryption.PublicKey;
-import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
-import com.quorum.tessera.node.model.Recipient;
-import org.apache.commons.lang3.ArrayUtils;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 
 import java.nio.ByteBuffer;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import static java.lang.Math.toIntExact;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * A parser for PartyInfo node discovery information
  */
 public interface PartyInfoParser extends BinaryEncoder {
 
+    /**
+     * The first 8 bytes of a {@link PartyInfoDelta} message
+     * <p>
+     * A full party info message starts with the length of the URL, which can
+     * never be negative, so nodes that do not understand deltas reject them
+     * instead of misreading them.
+     */
+    long DELTA_MARKER = -1L;
+
+    /**
+     * The marker followed by the generation and version of both nodes
+     */
+    int DELTA_HEADER_LENGTH = 5 * Long.BYTES;
+
     /**
      * Decodes a set of PartyInfo to the format that is shared between nodes
      *
@@ -30,53 +34,7 @@ public interface PartyInfoParser extends BinaryEncoder {
      * information
      */
     default PartyInfo from(final byte[] encoded) {
-
-        final ByteBuffer byteBuffer = ByteBuffer.wrap(encoded);
-
-        final int urlLength = toIntExact(byteBuffer.getLong());
-        checkLength(urlLength);
-
-        final byte[] urlBytes = new byte[urlLength];
-        byteBuffer.get(urlBytes);
-        final String url = new String(urlBytes, UTF_8);
-
-        final int numberOfRecipients = toIntExact(byteBuffer.getLong());
-        checkLength(numberOfRecipients);
-
-        final Set<Recipient> recipients = new HashSet<>();
-        for (int i = 0; i < numberOfRecipients; i++) {
-
-            final int recipientKeyLength = toIntExact(byteBuffer.getLong());
-            checkLength(recipientKeyLength);
-
-            final byte[] recipientKeyBytes = new byte[recipientKeyLength];
-            byteBuffer.get(recipientKeyBytes);
-
-            final int recipientUrlValueLength = toIntExact(byteBuffer.getLong());
-            checkLength(recipientUrlValueLength);
-
-            final byte[] urlValueData = new byte[recipientUrlValueLength];
-
-            byteBuffer.get(urlValueData);
-            final String recipientUrl = new String(urlValueData, UTF_8);
-
-            recipients.add(new Recipient(PublicKey.from(recipientKeyBytes), recipientUrl));
-        }
-
-        final int partyCount = toIntExact(byteBuffer.getLong());
-        checkLength(partyCount);
-
-        final Set<Party> parties = new HashSet<>();
-        for (int i = 0; i < partyCount; i++) {
-            long partyElementLength = byteBuffer.getLong();
-            checkLength(partyElementLength);
-
-            byte[] ptyData = new byte[toIntExact(partyElementLength)];
-            byteBuffer.get(ptyData);
-            parties.add(new Party(new String(ptyData, UTF_8)));
-        }
-
-        return new PartyInfo(url, recipients, parties);
+        return PartyInfoEncoding.read(encoded, 0);
     }
 
     /**
@@ -90,35 +48,61 @@ public interface PartyInfoParser extends BinaryEncoder {
      * @return the encoded result that should be shared with other nodes
      */
     default byte[] to(final PartyInfo partyInfo) {
+        return PartyInfoEncoding.write(partyInfo, 0).array();
+    }
 
-        //prefix and url bytes
-        final byte[] url = encodeField(partyInfo.getUrl().getBytes(UTF_8));
-
-        //each element in the list is one encoded element from the map
-        //so the prefix is always 2 (2 elements) and
-        final byte[] recipients = partyInfo.getRecipients()
-            .stream()
-            .map(r -> {
-                final byte[] encodedKey = encodeField(r.getKey().getKeyBytes());
-                final byte[] encodedUrl = encodeField(r.getUrl().getBytes(UTF_8));
-                return ArrayUtils.addAll(encodedKey, encodedUrl);
-            }).reduce(new byte[0], ArrayUtils::addAll);
-
-        final List<byte[]> parties = partyInfo.getParties()
-            .stream()
-            .map(p -> p.getUrl().getBytes(UTF_8))
-            .collect(Collectors.toList());
-
-        final byte[] partiesBytes = encodeArray(parties);
-
-        return ByteBuffer
-            .allocate(url.length + Long.BYTES + recipients.length + partiesBytes.length)
-            .put(url)
-            .putLong(partyInfo.getRecipients().size())
-            .put(recipients)
-            .put(partiesBytes)
-            .array();
+    /**
+     * Checks whether the encoded message is a {@link PartyInfoDelta} rather
+     * than a full {@link PartyInfo}
+     *
+     * @param encoded the encoded message received from another node
+     * @return true if the message should be read using {@link #fromDelta(byte[])}
+     */
+    default boolean isDelta(final byte[] encoded) {
+        return encoded.length >= DELTA_HEADER_LENGTH && ByteBuffer.wrap(encoded).getLong() == DELTA_MARKER;
+    }
+
+    /**
+     * Decodes a {@link PartyInfoDelta} produced by {@link #toDelta(PartyInfoDelta)}
+     *
+     * @param encoded the encoded delta
+     * @return the decoded delta
+     */
+    default PartyInfoDelta fromDelta(final byte[] encoded) {
 
+        if (!isDelta(encoded)) {
+            throw new PartyInfoParserException("Not a party info delta");
+        }
+
+        final ByteBuffer header = ByteBuffer.wrap(encoded, Long.BYTES, DELTA_HEADER_LENGTH - Long.BYTES);
+
+        final long generation = header.getLong();
+        final long version = header.getLong();
+        final long peerGeneration = header.getLong();
+        final long peerVersion = header.getLong();
+
+        final PartyInfo partyInfo = PartyInfoEncoding.read(encoded, DELTA_HEADER_LENGTH);
+
+        return new PartyInfoDelta(partyInfo, generation, version, peerGeneration, peerVersion);
+    }
+
+    /**
+     * Encodes a {@link PartyInfoDelta}, which is the marker and the versions
+     * followed by the changes in the same layout as {@link #to(PartyInfo)}
+     *
+     * @param delta the delta to encode
+     * @return the encoded delta that should be shared with other nodes
+     */
+    default byte[] toDelta(final PartyInfoDelta delta) {
+
+        return PartyInfoEncoding
+            .write(delta.getPartyInfo(), DELTA_HEADER_LENGTH)
+            .putLong(DELTA_MARKER)
+            .putLong(delta.getGeneration())
+            .putLong(delta.getVersion())
+            .putLong(delta.getPeerGeneration())
+            .putLong(delta.getPeerVersion())
+            .array();
     }
 
     /**
@@ -1,89 +1,420 @@
 package com.quorum.tessera.node;
 
+import com.quorum.tessera.client.CircuitOpenException;
 import com.quorum.tessera.client.P2pClient;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.ConnectException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Polls every so often to all known nodes for any new discoverable nodes This
  * keeps all nodes up-to date and discoverable by other nodes
+ * <p>
+ * All parties are polled concurrently on the provided executor, and each round
+ * is bounded by a deadline so that a slow or unresponsive node cannot hold up
+ * discovery for the rest of the network.
+ * <p>
+ * Parties are sent only the changes they have not yet seen, as a
+ * {@link PartyInfoDelta}. A party that cannot read deltas is sent the full
+ * {@link PartyInfo} instead, and is periodically tried again with a delta in
+ * case it has been upgraded.
+ * <p>
+ * Parties are only polled when the {@link PartyPollSchedule} says they are
+ * due, so stable parties are polled less often and failing parties are
+ * backed off.
  */
 public class PartyInfoPoller implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoPoller.class);
 
+    private static final int SLOWEST_PEERS_TO_REPORT = 5;
+
+    private static final long FULL_FORMAT_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final PartyInfoService partyInfoService;
 
     private final PartyInfoParser partyInfoParser;
 
     private final P2pClient p2pClient;
 
+    private final ExecutorService executor;
+
+    private final long roundTimeoutMillis;
+
+    private final PartyPollSchedule schedule;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, PeerState> peerStates = new ConcurrentHashMap<>();
+
+    private volatile PollRoundSummary lastRoundSummary;
+
+    private volatile EncodedPartyInfo lastEncoded;
+
     public PartyInfoPoller(final PartyInfoService partyInfoService,
                            final PartyInfoParser partyInfoParser,
-                           final P2pClient p2pClient) {
+                           final P2pClient p2pClient,
+                           final ExecutorService executor,
+                           final long roundTimeoutMillis,
+                           final PartyPollSchedule schedule) {
         this.partyInfoService = Objects.requireNonNull(partyInfoService);
         this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
         this.p2pClient = Objects.requireNonNull(p2pClient);
+        this.executor = Objects.requireNonNull(executor);
+        this.roundTimeoutMillis = roundTimeoutMillis;
+        this.schedule = Objects.requireNonNull(schedule);
+    }
+
+    public PartyInfoPoller(final PartyInfoService partyInfoService,
+                           final PartyInfoParser partyInfoParser,
+                           final P2pClient p2pClient,
+                           final ExecutorService executor,
+                           final long roundTimeoutMillis) {
+        this(partyInfoService, partyInfoParser, p2pClient, executor, roundTimeoutMillis, PartyPollSchedule.everyRound());
     }
 
     /**
-     * Iterates over all known parties and contacts them for the current state
-     * of their known node discovery list
+     * Contacts all known parties concurrently for the current state of their
+     * known node discovery list
      * <p>
-     * It then updates this nodes list of data with any new information
-     * collected
+     * Each response is merged into this nodes list of data as soon as it
+     * arrives. Parties that have not responded by the end of the round are
+     * abandoned, and parties still outstanding from a previous round are not
+     * contacted again until they respond. Parties that are not yet due are
+     * left until a later round.
      */
     @Override
     public void run() {
         LOGGER.debug("Polling {}", getClass().getSimpleName());
 
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(roundTimeoutMillis);
+
+        //read before the party info, so a change in between is not missed
+        final long revision = partyInfoService.getPartyInfoRevision();
         final PartyInfo partyInfo = partyInfoService.getPartyInfo();
 
-        final byte[] encodedPartyInfo = partyInfoParser.to(partyInfo);
+        final Supplier<byte[]> encodedPartyInfo = memoize(() -> this.encode(revision, partyInfo));
 
-        partyInfo
+        final List<Party> targets = partyInfo
             .getParties()
             .stream()
             .filter(party -> !party.getUrl().equals(partyInfo.getUrl()))
-            .map(Party::getUrl)
-            .map(url -> pollSingleParty(url, encodedPartyInfo))
-            .filter(Objects::nonNull)
-            .map(partyInfoParser::from)
-            .forEach(partyInfoService::updatePartyInfo);
+            .collect(toList());
+
+        final CompletionService<PollResult> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<PollResult>, PollTask> pending = new HashMap<>();
+
+        final Map<String, Duration> latencies = new HashMap<>();
+        final Set<String> failed = new HashSet<>();
+        final Set<String> timedOut = new HashSet<>();
+        final Set<String> skipped = new HashSet<>();
+        final Set<String> deferred = new HashSet<>();
+
+        RuntimeException unexpected = null;
+
+        try {
+            final long now = System.currentTimeMillis();
+            for (final Party party : targets) {
+                final String url = party.getUrl();
+                if (!schedule.isDue(url, party.getLastContacted(), now)) {
+                    deferred.add(url);
+                    continue;
+                }
+                if (!inFlight.add(url)) {
+                    skipped.add(url);
+                    continue;
+                }
+                final PollTask task = new PollTask(url, encodedPartyInfo);
+                pending.put(completionService.submit(task), task);
+            }
+
+            while (!pending.isEmpty()) {
+                final long remaining = deadline - System.nanoTime();
+                final Future<PollResult> next = completionService.poll(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                pending.remove(next);
 
-        LOGGER.debug("Polled {}. PartyInfo : {}", getClass().getSimpleName(), partyInfo);
+                final PollResult result = getResult(next);
+                latencies.put(result.url, result.latency);
+
+                if (result.error != null) {
+                    failed.add(result.url);
+                    schedule.recordFailure(result.url, System.currentTimeMillis());
+                    if (CircuitOpenException.class.isInstance(result.error)) {
+                        LOGGER.debug("Not polling {}: {}", result.url, result.error.getMessage());
+                    } else if (ConnectException.class.isInstance(result.error.getCause())) {
+                        LOGGER.warn("Server error {} when connecting to {}", result.error.getMessage(), result.url);
+                        LOGGER.debug(null, result.error);
+                    } else {
+                        LOGGER.error("Error thrown while executing poller. ", result.error);
+                        unexpected = (unexpected == null) ? result.error : unexpected;
+                    }
+                } else if (result.response == null) {
+                    failed.add(result.url);
+                    schedule.recordFailure(result.url, System.currentTimeMillis());
+                } else {
+                    final boolean changed = this.merge(result);
+                    schedule.recordSuccess(result.url, changed, System.currentTimeMillis());
+                }
+            }
+        } catch (final InterruptedException ex) {
+            LOGGER.debug("Interrupted while waiting for party info responses");
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.forEach((future, task) -> {
+                future.cancel(true);
+                task.abandon();
+                timedOut.add(task.url);
+                schedule.recordFailure(task.url, System.currentTimeMillis());
+            });
+        }
+
+        final PollRoundSummary summary = new PollRoundSummary(
+            Duration.ofNanos(System.nanoTime() - start),
+            latencies,
+            failed,
+            timedOut,
+            skipped,
+            deferred,
+            schedule.getHealthScores()
+        );
+        this.lastRoundSummary = summary;
+
+        if (!timedOut.isEmpty()) {
+            LOGGER.warn("No party info response within {}ms from {}", roundTimeoutMillis, timedOut);
+        }
+        LOGGER.debug("Slowest parties: {}", summary.slowest(SLOWEST_PEERS_TO_REPORT));
+        LOGGER.debug("Polled {}. PartyInfo : {}, {}", getClass().getSimpleName(), partyInfo, summary);
+
+        if (unexpected != null) {
+            throw unexpected;
+        }
+    }
+
+    /**
+     * @return the summary of the most recently completed polling round, or
+     * null if no round has run yet
+     */
+    public PollRoundSummary getLastRoundSummary() {
+        return lastRoundSummary;
     }
 
     /**
-     * Sends a request for node information to a single target If it cannot
-     * connect to the target, it returns null, otherwise throws any exception
-     * that can be thrown from {@link javax.ws.rs.client.Client}
+     * Merges a response into this nodes party info
      *
-     * @param url              the target URL to call
-     * @param encodedPartyInfo the encoded current party information
-     * @return the encoded partyinfo from the target node, or null is the node
-     * could not be reached
+     * @param result the response from a party
+     * @return whether the response could have contained anything new, which
+     * is always the case for a full party info
+     */
+    private boolean merge(final PollResult result) {
+
+        if (!partyInfoParser.isDelta(result.response)) {
+            partyInfoService.updatePartyInfo(partyInfoParser.from(result.response));
+            return true;
+        }
+
+        final PartyInfoDelta delta = partyInfoParser.fromDelta(result.response);
+        partyInfoService.updatePartyInfo(delta.getPartyInfo());
+
+        final PeerState state = peerStates.computeIfAbsent(result.url, url -> new PeerState());
+        if (state.generation != 0 && state.generation != delta.getGeneration()) {
+            //the peer has restarted and may have lost what we sent it before
+            state.sentVersion = 0;
+        } else {
+            state.sentVersion = result.sentVersion;
+        }
+        state.generation = delta.getGeneration();
+        state.version = delta.getVersion();
+
+        return !delta.getPartyInfo().getRecipients().isEmpty() || !delta.getPartyInfo().getParties().isEmpty();
+    }
+
+    /**
+     * Encodes the full party info, reusing the previous encoding if no key or
+     * party has changed since
+     * <p>
+     * The snapshot is rebuilt every time a party makes contact, so the
+     * revision of the party info is used to tell whether the encoding is
+     * current rather than the snapshot itself.
      */
-    private byte[] pollSingleParty(final String url, final byte[] encodedPartyInfo) {
+    private byte[] encode(final long revision, final PartyInfo partyInfo) {
+        final EncodedPartyInfo previous = this.lastEncoded;
+        if (previous != null && previous.revision == revision) {
+            return previous.encoded;
+        }
+
+        final byte[] encoded = partyInfoParser.to(partyInfo);
+        this.lastEncoded = new EncodedPartyInfo(revision, encoded);
+        return encoded;
+    }
+
+    private static <T> Supplier<T> memoize(final Supplier<T> supplier) {
+        final AtomicReference<T> value = new AtomicReference<>();
+        return () -> {
+            final T existing = value.get();
+            if (existing != null) {
+                return existing;
+            }
+            value.compareAndSet(null, supplier.get());
+            return value.get();
+        };
+    }
 
+    private static PollResult getResult(final Future<PollResult> future) throws InterruptedException {
         try {
-            return p2pClient.getPartyInfo(url, encodedPartyInfo);
-        } catch (final Exception ex) {
+            return future.get();
+        } catch (final ExecutionException ex) {
+            //tasks catch all runtime exceptions, so only errors can get here
+            throw (Error) ex.getCause();
+        }
+    }
+
+    /**
+     * Sends a request for node information to a single target, recording how
+     * long the target took to respond and any exception that was thrown
+     * <p>
+     * A task may be abandoned before it starts, in which case it does not
+     * contact the target. Whoever claims the task first is responsible for
+     * removing the target from the in-flight set.
+     */
+    private class PollTask implements Callable<PollResult> {
+
+        private final String url;
+
+        private final Supplier<byte[]> encodedPartyInfo;
+
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        PollTask(final String url, final Supplier<byte[]> encodedPartyInfo) {
+            this.url = url;
+            this.encodedPartyInfo = encodedPartyInfo;
+        }
 
-            if (ConnectException.class.isInstance(ex.getCause())) {
-                LOGGER.warn("Server error {} when connecting to {}", ex.getMessage(), url);
-                LOGGER.debug(null, ex);
+        @Override
+        public PollResult call() {
+            if (!claimed.compareAndSet(false, true)) {
                 return null;
-            } else {
-                LOGGER.error("Error thrown while executing poller. ", ex);
-                throw ex;
             }
 
+            final long start = System.nanoTime();
+            try {
+                final PeerState state = peerStates.computeIfAbsent(url, key -> new PeerState());
+
+                if (System.currentTimeMillis() >= state.fullFormatUntil) {
+                    final PartyInfoDelta changes = partyInfoService.getPartyInfoSince(state.sentVersion);
+                    final PartyInfoDelta request = new PartyInfoDelta(
+                        changes.getPartyInfo(), changes.getGeneration(), changes.getVersion(),
+                        state.generation, state.version
+                    );
+
+                    final byte[] response = p2pClient.getPartyInfo(url, partyInfoParser.toDelta(request));
+                    if (response != null) {
+                        return new PollResult(url, response, changes.getVersion(), null, elapsedSince(start));
+                    }
+
+                    LOGGER.debug("No response to party info delta from {}, sending full party info", url);
+                    state.fullFormatUntil = System.currentTimeMillis() + FULL_FORMAT_RETRY_MILLIS;
+                }
+
+                final byte[] response = p2pClient.getPartyInfo(url, encodedPartyInfo.get());
+                return new PollResult(url, response, 0, null, elapsedSince(start));
+            } catch (final RuntimeException ex) {
+                return new PollResult(url, null, 0, ex, elapsedSince(start));
+            } finally {
+                inFlight.remove(url);
+            }
+        }
+
+        void abandon() {
+            if (claimed.compareAndSet(false, true)) {
+                inFlight.remove(url);
+            }
+        }
+
+    }
+
+    private static Duration elapsedSince(final long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * What is known about the party info of a single peer, and how much of
+     * ours it has been sent
+     */
+    private static class PeerState {
+
+        private volatile long generation;
+
+        private volatile long version;
+
+        private volatile long sentVersion;
+
+        private volatile long fullFormatUntil;
+
+    }
+
+    private static class EncodedPartyInfo {
+
+        private final long revision;
+
+        private final byte[] encoded;
+
+        EncodedPartyInfo(final long revision, final byte[] encoded) {
+            this.revision = revision;
+            this.encoded = encoded;
+        }
+
+    }
+
+    private static class PollResult {
+
+        private final String url;
+
+        private final byte[] response;
+
+        private final long sentVersion;
+
+        private final RuntimeException error;
+
+        private final Duration latency;
+
+        PollResult(final String url,
+                   final byte[] response,
+                   final long sentVersion,
+                   final RuntimeException error,
+                   final Duration latency) {
+            this.url = url;
+            this.response = response;
+            this.sentVersion = sentVersion;
+            this.error = error;
+            this.latency = latency;
         }
 
     }
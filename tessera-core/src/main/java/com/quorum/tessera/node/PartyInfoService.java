@@ -2,6 +2,7 @@ package com.quorum.tessera.node;
 
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 
 public interface PartyInfoService {
 
@@ -12,6 +13,15 @@ public interface PartyInfoService {
      */
     PartyInfo getPartyInfo();
 
+    /**
+     * Tells callers whether the keys and parties in {@link #getPartyInfo()}
+     * have changed, without comparing their contents
+     *
+     * @return a number that increases whenever a key or party is added or
+     * moved, but not when only the last contact time of a party changes
+     */
+    long getPartyInfoRevision();
+
     /**
      * Update the PartyInfo data store with the provided encoded data.This can happen when endpoint /partyinfo is triggered,
      * or by a response from this node hitting another node /partyinfo endpoint
@@ -21,6 +31,32 @@ public interface PartyInfoService {
      */
     PartyInfo updatePartyInfo(PartyInfo partyInfo);
 
+    /**
+     * Fetch the keys and parties this node has learnt about after the given
+     * version of its PartyInfo
+     *
+     * @param sinceVersion the version of this nodes PartyInfo already shared, or zero for everything
+     * @return the changes along with the current generation and version of this nodes PartyInfo
+     */
+    PartyInfoDelta getPartyInfoSince(long sinceVersion);
+
+    /**
+     * Merge the changes sent by another node, and reply with the changes to
+     * this nodes PartyInfo that the other node has not yet seen
+     *
+     * @param delta the changes sent by the other node
+     * @return the changes the other node is missing, addressed back to it
+     */
+    PartyInfoDelta updatePartyInfo(PartyInfoDelta delta);
+
+    /**
+     * Registers a listener to be told about new keys and parties as soon as
+     * they are stored, rather than waiting for them to be polled
+     *
+     * @param listener the listener to notify of changes
+     */
+    void addListener(PartyInfoListener listener);
+
     /**
      * Retrieves the URL that the node is located at for the given public key
      *
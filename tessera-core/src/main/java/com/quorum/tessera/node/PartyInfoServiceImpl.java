@@ -7,12 +7,15 @@ import com.quorum.tessera.encryption.KeyNotFoundException;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toSet;
@@ -23,6 +26,8 @@ public class PartyInfoServiceImpl implements PartyInfoService {
 
     private final ConfigService configService;
 
+    private final List<PartyInfoListener> listeners = new CopyOnWriteArrayList<>();
+
     private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoServiceImpl.class);
 
     public PartyInfoServiceImpl(final PartyInfoStore partyInfoStore,
@@ -57,13 +62,76 @@ public class PartyInfoServiceImpl implements PartyInfoService {
         return partyInfoStore.getPartyInfo();
     }
 
+    @Override
+    public long getPartyInfoRevision() {
+        return partyInfoStore.getRevision();
+    }
+
     @Override
     public PartyInfo updatePartyInfo(final PartyInfo partyInfo) {
+        this.merge(partyInfo);
+        return partyInfoStore.getPartyInfo();
+    }
+
+    @Override
+    public PartyInfoDelta getPartyInfoSince(final long sinceVersion) {
+        return partyInfoStore.getChangesSince(sinceVersion);
+    }
+
+    @Override
+    public PartyInfoDelta updatePartyInfo(final PartyInfoDelta delta) {
+        this.merge(delta.getPartyInfo());
+
+        //if the sender last saw a previous run of this node, it needs everything
+        final long sinceVersion
+            = (delta.getPeerGeneration() == partyInfoStore.getGeneration()) ? delta.getPeerVersion() : 0;
+
+        final PartyInfoDelta changes = partyInfoStore.getChangesSince(sinceVersion);
+
+        return new PartyInfoDelta(
+            changes.getPartyInfo(), changes.getGeneration(), changes.getVersion(),
+            delta.getGeneration(), delta.getVersion()
+        );
+    }
+
+    @Override
+    public void addListener(final PartyInfoListener listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+    }
+
+    private void merge(final PartyInfo partyInfo) {
+        if (listeners.isEmpty()) {
+            this.store(partyInfo);
+            return;
+        }
+
+        final long versionBefore = partyInfoStore.getVersion();
+
+        this.store(partyInfo);
+
+        if (partyInfoStore.getVersion() == versionBefore) {
+            return;
+        }
+
+        final PartyInfoDelta changes = partyInfoStore.getChangesSince(versionBefore);
+
+        for (final PartyInfoListener listener : listeners) {
+            try {
+                listener.onChange(changes);
+            } catch (final RuntimeException ex) {
+                //a failing listener shouldn't stop the update, the change still reaches peers by polling
+                LOGGER.warn("Unable to notify listener of party info changes: {}", ex.getMessage());
+                LOGGER.debug(null, ex);
+            }
+        }
+    }
+
+    private void store(final PartyInfo partyInfo) {
 
         if (!configService.isDisablePeerDiscovery()) {
             //auto-discovery is on, we can accept all input to us
             this.partyInfoStore.store(partyInfo);
-            return partyInfoStore.getPartyInfo();
+            return;
         }
 
         //auto-discovery is off
@@ -97,22 +165,15 @@ public class PartyInfoServiceImpl implements PartyInfoService {
         final Set<Party> parties = peerUrls.stream().map(Party::new).collect(toSet());
 
         partyInfoStore.store(new PartyInfo(partyInfo.getUrl(), knownRecipients, parties));
-
-        return this.getPartyInfo();
     }
 
     @Override
     public String getURLFromRecipientKey(final PublicKey key) {
 
-        final Recipient retrievedRecipientFromStore = partyInfoStore
-            .getPartyInfo()
-            .getRecipients()
-            .stream()
-            .filter(recipient -> key.equals(recipient.getKey()))
-            .findAny()
+        return partyInfoStore
+            .findRecipientByPublicKey(key)
+            .map(Recipient::getUrl)
             .orElseThrow(() -> new KeyNotFoundException("Recipient not found for key: " + key.encodeToBase64()));
-
-        return retrievedRecipientFromStore.getUrl();
     }
 
 }
@@ -0,0 +1,112 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.PartyInfoConfig;
+import com.quorum.tessera.node.model.PartyInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Saves the contents of the {@link PartyInfoStore} to a local file whenever it
+ * changes, and loads the file back into the store at startup
+ * <p>
+ * Loaded entries are marked as stale in the store, but can be used to route
+ * transactions as soon as the node starts, rather than waiting for polling to
+ * rediscover them. If no snapshot file is configured then nothing is loaded
+ * or saved.
+ */
+public class PartyInfoSnapshot implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoSnapshot.class);
+
+    private final PartyInfoStore partyInfoStore;
+
+    private final PartyInfoParser partyInfoParser;
+
+    private final Path snapshotFile;
+
+    private long savedVersion;
+
+    public PartyInfoSnapshot(final PartyInfoStore partyInfoStore,
+                             final PartyInfoParser partyInfoParser,
+                             final Config config) {
+        this.partyInfoStore = Objects.requireNonNull(partyInfoStore);
+        this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
+        this.snapshotFile = Optional.ofNullable(config.getPartyInfoConfig())
+            .map(PartyInfoConfig::getSnapshotFile)
+            .orElse(null);
+
+        this.load();
+    }
+
+    private void load() {
+        if (snapshotFile == null || Files.notExists(snapshotFile)) {
+            return;
+        }
+
+        try {
+            final PartyInfo saved = partyInfoParser.from(Files.readAllBytes(snapshotFile));
+            partyInfoStore.loadStale(saved);
+
+            LOGGER.info(
+                "Loaded {} keys and {} parties from {}",
+                saved.getRecipients().size(), saved.getParties().size(), snapshotFile
+            );
+        } catch (final IOException | RuntimeException ex) {
+            //a missing or damaged snapshot only slows down discovery, so don't stop the node starting
+            LOGGER.warn("Unable to load party info from {}: {}", snapshotFile, ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    /**
+     * Writes the current contents of the store to the snapshot file if the
+     * store has changed since it was last saved
+     * <p>
+     * The file is written to a temporary location first and then moved into
+     * place, so a crash part way through never leaves a truncated snapshot.
+     */
+    @Override
+    public synchronized void run() {
+        if (snapshotFile == null) {
+            return;
+        }
+
+        final long version = partyInfoStore.getVersion();
+        if (version == savedVersion) {
+            return;
+        }
+
+        final byte[] encoded = partyInfoParser.to(partyInfoStore.getPartyInfo());
+        final Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        try {
+            Files.write(temporaryFile, encoded);
+            Files.move(temporaryFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            this.savedVersion = version;
+            LOGGER.debug("Saved party info version {} to {}", version, snapshotFile);
+        } catch (final IOException ex) {
+            LOGGER.warn("Unable to save party info to {}: {}", snapshotFile, ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    /**
+     * Saves any outstanding changes before the node shuts down
+     */
+    @PreDestroy
+    public void stop() {
+        this.run();
+    }
+
+}
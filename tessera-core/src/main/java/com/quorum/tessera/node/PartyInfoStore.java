@@ -1,51 +1,179 @@
 package com.quorum.tessera.node;
 
 import com.quorum.tessera.core.config.ConfigService;
+import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
-import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Stores a list of all discovered nodes and public keys
+ *
+ * Recipients are indexed by their public key so that lookups do not need to
+ * take a copy of the store. Writes are serialised, and the bulk view returned
+ * by {@link #getPartyInfo()} is an immutable snapshot that is only rebuilt
+ * after the store has changed.
+ *
+ * Every new key or party increments the version of the store, and each entry
+ * remembers the version at which it was last changed, so that other nodes
+ * can be sent only the entries they have not yet seen.
+ *
+ * The revision of the store is separate from the version, and tells readers
+ * whether the keys and parties held have changed. Recording that a party has
+ * just been in contact does not change the revision.
+ *
+ * Entries saved by a previous run of the node can be loaded as stale. Stale
+ * entries are used for lookups straight away, but are not sent to other nodes
+ * as changes until another node has advertised them again.
  */
 public class PartyInfoStore {
 
+    private static final long STALE = 0;
+
     private final String advertisedUrl;
 
-    private final Set<Recipient> recipients;
+    private final long generation;
+
+    private final ConcurrentMap<PublicKey, Versioned<Recipient>> recipients;
+
+    private final ConcurrentMap<String, Versioned<Party>> parties;
+
+    private volatile long version;
 
-    private final Set<Party> parties;
+    private volatile long revision;
+
+    private volatile PartyInfo snapshot;
 
     public PartyInfoStore(final ConfigService configService) {
 
         //TODO: remove the extra "/" when we deprecate backwards compatibility
         this.advertisedUrl = configService.getServerUri().toString() + "/";
 
-        this.recipients = new HashSet<>();
-        this.parties = new HashSet<>();
-        this.parties.add(new Party(this.advertisedUrl));
+        //zero is reserved to mean "no generation seen yet"
+        long randomGeneration;
+        do {
+            randomGeneration = ThreadLocalRandom.current().nextLong();
+        } while (randomGeneration == 0);
+        this.generation = randomGeneration;
+
+        this.recipients = new ConcurrentHashMap<>();
+        this.parties = new ConcurrentHashMap<>();
+        this.version = 1;
+        this.parties.put(this.advertisedUrl, new Versioned<>(new Party(this.advertisedUrl), this.version));
     }
 
     /**
      * Merge an incoming {@link PartyInfo} into the current one, adding any
      * new keys or parties to the current store
+     *
+     * A key that is already known is only moved to a new URL when the
+     * incoming information comes from that URL, so from the node that now
+     * hosts the key. Other nodes pass on every key they hold, including ones
+     * that have since moved, so their view of a known key is ignored.
+     *
      * @param newInfo the incoming information that may contain new nodes/keys
      */
     public synchronized void store(final PartyInfo newInfo) {
-        recipients.addAll(newInfo.getRecipients());
-        parties.addAll(newInfo.getParties());
+        final long nextVersion = this.version + 1;
+        boolean changed = false;
+
+        for (final Recipient recipient : newInfo.getRecipients()) {
+            final Versioned<Recipient> existing = recipients.get(recipient.getKey());
+            final boolean movedByItsHost = existing != null
+                && !existing.value.equals(recipient)
+                && recipient.getUrl().equals(newInfo.getUrl());
+
+            if (existing == null || existing.version == STALE || movedByItsHost) {
+                recipients.put(recipient.getKey(), new Versioned<>(recipient, nextVersion));
+                changed = true;
+            }
+        }
+
+        for (final Party party : newInfo.getParties()) {
+            final Versioned<Party> existing = parties.get(party.getUrl());
+            if (existing == null || existing.version == STALE) {
+                parties.put(party.getUrl(), new Versioned<>(party, nextVersion));
+                changed = true;
+            }
+        }
 
         //update the sender to have been seen recently
         final Party sender = new Party(newInfo.getUrl());
         sender.setLastContacted(Instant.now());
-        parties.remove(sender);
-        parties.add(sender);
+        final Versioned<Party> previous = parties.get(sender.getUrl());
+        if (previous == null || previous.version == STALE) {
+            parties.put(sender.getUrl(), new Versioned<>(sender, nextVersion));
+            changed = true;
+        } else {
+            parties.put(sender.getUrl(), new Versioned<>(sender, previous.version));
+        }
+
+        if (changed) {
+            this.version = nextVersion;
+            this.revision++;
+        }
+
+        this.snapshot = null;
+    }
+
+    /**
+     * Add keys and parties that were saved by a previous run of this node
+     *
+     * The entries are marked as stale, and anything already known is kept in
+     * preference to what was saved.
+     *
+     * @param saved the previously saved information
+     */
+    public synchronized void loadStale(final PartyInfo saved) {
+        boolean added = false;
+
+        for (final Recipient recipient : saved.getRecipients()) {
+            added |= recipients.putIfAbsent(recipient.getKey(), new Versioned<>(recipient, STALE)) == null;
+        }
+
+        for (final Party party : saved.getParties()) {
+            added |= parties.putIfAbsent(party.getUrl(), new Versioned<>(new Party(party.getUrl()), STALE)) == null;
+        }
+
+        if (added) {
+            this.revision++;
+        }
+
+        this.snapshot = null;
+    }
+
+    /**
+     * @return the URLs of parties that were loaded as stale and have not been
+     * heard of from another node since
+     */
+    public Set<String> getStalePartyUrls() {
+        return parties.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().version == STALE)
+            .map(Map.Entry::getKey)
+            .collect(toSet());
+    }
+
+    /**
+     * Look up the recipient that owns the given public key, without taking a
+     * copy of the store
+     *
+     * @param key the public key to search for
+     * @return the recipient for the key, or empty if the key is not known
+     */
+    public Optional<Recipient> findRecipientByPublicKey(final PublicKey key) {
+        return Optional.ofNullable(recipients.get(key)).map(entry -> entry.value);
     }
 
     /**
@@ -53,12 +181,87 @@ public class PartyInfoStore {
      *
      * @return an immutable copy of the current state of the store
      */
-    public synchronized PartyInfo getPartyInfo() {
-        return new PartyInfo(
-            advertisedUrl,
-            unmodifiableSet(new HashSet<>(recipients)),
-            unmodifiableSet(new HashSet<>(parties))
-        );
+    public PartyInfo getPartyInfo() {
+        final PartyInfo current = this.snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (this.snapshot == null) {
+                this.snapshot = new PartyInfo(
+                    advertisedUrl,
+                    recipients.values().stream().map(entry -> entry.value).collect(toSet()),
+                    parties.values().stream().map(entry -> entry.value).collect(toSet())
+                );
+            }
+            return this.snapshot;
+        }
+    }
+
+    /**
+     * Fetch the keys and parties that have changed after the given version of
+     * this store
+     *
+     * The returned delta does not refer to any version of a peers store, so
+     * its peer generation and version are both zero.
+     *
+     * @param sinceVersion the version already seen, or zero for everything
+     * @return the changed entries along with the current generation and version
+     */
+    public synchronized PartyInfoDelta getChangesSince(final long sinceVersion) {
+        final Set<Recipient> changedRecipients = recipients.values()
+            .stream()
+            .filter(entry -> entry.version > sinceVersion)
+            .map(entry -> entry.value)
+            .collect(toSet());
+
+        final Set<Party> changedParties = parties.values()
+            .stream()
+            .filter(entry -> entry.version > sinceVersion)
+            .map(entry -> entry.value)
+            .collect(toSet());
+
+        final PartyInfo changes = new PartyInfo(advertisedUrl, changedRecipients, changedParties);
+
+        return new PartyInfoDelta(changes, generation, version, 0, 0);
+    }
+
+    /**
+     * @return the identifier of this run of the store, which is never zero
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return the version of the store, which increases whenever a new key or
+     * party is added
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the revision of the store, which increases whenever the keys or
+     * parties held change, but not when only the last contact time of a party
+     * is updated
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    private static class Versioned<T> {
+
+        private final T value;
+
+        private final long version;
+
+        Versioned(final T value, final long version) {
+            this.value = value;
+            this.version = version;
+        }
+
     }
 
 }
@@ -0,0 +1,197 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.PartyInfoConfig;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Decides when each party should next be polled for party info
+ * <p>
+ * Parties that keep answering without anything new are polled less and less
+ * often, up to a maximum interval, and go back to the normal interval as soon
+ * as they report a change. Parties that cannot be reached are backed off
+ * exponentially, with jitter, until they respond again or contact this node
+ * themselves.
+ * <p>
+ * Each party also has a health score between 0 and 1, which is a moving
+ * average of recent successes (1) and failures (0).
+ */
+public class PartyPollSchedule {
+
+    static final long DEFAULT_POLL_INTERVAL_MILLIS = 2000L;
+
+    static final long DEFAULT_MAX_POLL_INTERVAL_MILLIS = 30000L;
+
+    static final long DEFAULT_MAX_FAILURE_BACKOFF_MILLIS = 600000L;
+
+    private static final double HEALTH_WEIGHT = 0.2;
+
+    private final long pollIntervalMillis;
+
+    private final long maxPollIntervalMillis;
+
+    private final long maxFailureBackoffMillis;
+
+    private final Map<String, PeerHealth> peers = new ConcurrentHashMap<>();
+
+    public PartyPollSchedule(final long pollIntervalMillis,
+                             final long maxPollIntervalMillis,
+                             final long maxFailureBackoffMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxPollIntervalMillis = Math.max(pollIntervalMillis, maxPollIntervalMillis);
+        this.maxFailureBackoffMillis = Math.max(pollIntervalMillis, maxFailureBackoffMillis);
+    }
+
+    /**
+     * Creates a schedule from the party info configuration, using defaults
+     * for any values that are not set
+     *
+     * @param config the node configuration
+     * @return a schedule using the configured intervals
+     */
+    public static PartyPollSchedule from(final Config config) {
+        final Optional<PartyInfoConfig> partyInfoConfig = Optional.ofNullable(config.getPartyInfoConfig());
+
+        return new PartyPollSchedule(
+            valueOf(partyInfoConfig, PartyInfoConfig::getPollInterval, DEFAULT_POLL_INTERVAL_MILLIS),
+            valueOf(partyInfoConfig, PartyInfoConfig::getMaxPollInterval, DEFAULT_MAX_POLL_INTERVAL_MILLIS),
+            valueOf(partyInfoConfig, PartyInfoConfig::getMaxFailureBackoff, DEFAULT_MAX_FAILURE_BACKOFF_MILLIS)
+        );
+    }
+
+    /**
+     * Creates a schedule where every party is due on every round
+     *
+     * @return a schedule that never delays polling
+     */
+    public static PartyPollSchedule everyRound() {
+        return new PartyPollSchedule(0L, 0L, 0L);
+    }
+
+    private static long valueOf(final Optional<PartyInfoConfig> config,
+                                final Function<PartyInfoConfig, Long> getter,
+                                final long defaultValue) {
+        return config.map(getter).orElse(defaultValue);
+    }
+
+    /**
+     * Checks whether a party should be polled in the current round
+     * <p>
+     * A failing party that has contacted this node since it last failed is
+     * known to be reachable again, so it is polled straight away.
+     *
+     * @param url the URL of the party
+     * @param lastContacted when the party last contacted this node, may be null
+     * @param nowMillis the current time
+     * @return true if the party should be polled now
+     */
+    public boolean isDue(final String url, final Instant lastContacted, final long nowMillis) {
+        final PeerHealth health = peers.get(url);
+        if (health == null || nowMillis >= health.nextPollAt) {
+            return true;
+        }
+
+        return health.consecutiveFailures > 0
+            && lastContacted != null
+            && lastContacted.toEpochMilli() > health.lastFailureAt;
+    }
+
+    /**
+     * Records that a party answered
+     *
+     * @param url the URL of the party
+     * @param changed whether the answer contained anything new
+     * @param nowMillis the current time
+     */
+    public void recordSuccess(final String url, final boolean changed, final long nowMillis) {
+        peers.compute(url, (key, previous) -> {
+            final PeerHealth health = (previous == null) ? new PeerHealth() : previous;
+
+            health.score = health.score * (1 - HEALTH_WEIGHT) + HEALTH_WEIGHT;
+            health.consecutiveFailures = 0;
+            if (changed || previous == null) {
+                health.interval = pollIntervalMillis;
+            } else {
+                health.interval = Math.min(Math.max(health.interval, pollIntervalMillis) * 2, maxPollIntervalMillis);
+            }
+            health.nextPollAt = nowMillis + health.interval;
+
+            return health;
+        });
+    }
+
+    /**
+     * Records that a party could not be polled, and backs it off
+     *
+     * @param url the URL of the party
+     * @param nowMillis the current time
+     */
+    public void recordFailure(final String url, final long nowMillis) {
+        peers.compute(url, (key, previous) -> {
+            final PeerHealth health = (previous == null) ? new PeerHealth() : previous;
+
+            health.score = health.score * (1 - HEALTH_WEIGHT);
+            health.consecutiveFailures++;
+            health.lastFailureAt = nowMillis;
+
+            final int exponent = Math.min(health.consecutiveFailures, 30);
+            final long backoff = Math.min(pollIntervalMillis << exponent, maxFailureBackoffMillis);
+            health.interval = backoff;
+
+            //half the backoff is fixed and half is random, so failing parties are not all retried together
+            final long jitter = (backoff > 1) ? ThreadLocalRandom.current().nextLong(backoff / 2) : 0;
+            health.nextPollAt = nowMillis + backoff - (backoff / 2) + jitter;
+
+            return health;
+        });
+    }
+
+    /**
+     * @return the current health score of every party that has been polled
+     */
+    public Map<String, Double> getHealthScores() {
+        return peers.entrySet()
+            .stream()
+            .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().score));
+    }
+
+    /**
+     * @param url the URL of the party
+     * @return the number of times in a row the party has failed to answer
+     */
+    public int getConsecutiveFailures(final String url) {
+        return Optional.ofNullable(peers.get(url)).map(health -> health.consecutiveFailures).orElse(0);
+    }
+
+    /**
+     * @param url the URL of the party
+     * @return the time at which the party is next due to be polled, or zero
+     * if it has never been polled
+     */
+    public long getNextPollAt(final String url) {
+        return Optional.ofNullable(peers.get(url)).map(health -> health.nextPollAt).orElse(0L);
+    }
+
+    private static class PeerHealth {
+
+        private volatile double score = 1.0;
+
+        private volatile int consecutiveFailures;
+
+        private volatile long lastFailureAt;
+
+        private volatile long interval;
+
+        private volatile long nextPollAt;
+
+    }
+
+}
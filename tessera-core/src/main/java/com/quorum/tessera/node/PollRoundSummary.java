@@ -0,0 +1,128 @@
+package com.quorum.tessera.node;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The outcome of a single round of party info polling
+ *
+ * Records how long each peer took to respond (or to fail), and which peers
+ * did not respond before the round deadline passed
+ */
+public class PollRoundSummary {
+
+    private final Duration roundDuration;
+
+    private final Map<String, Duration> latencies;
+
+    private final Set<String> failed;
+
+    private final Set<String> timedOut;
+
+    private final Set<String> skipped;
+
+    private final Set<String> deferred;
+
+    private final Map<String, Double> healthScores;
+
+    public PollRoundSummary(final Duration roundDuration,
+                            final Map<String, Duration> latencies,
+                            final Set<String> failed,
+                            final Set<String> timedOut,
+                            final Set<String> skipped,
+                            final Set<String> deferred,
+                            final Map<String, Double> healthScores) {
+        this.roundDuration = roundDuration;
+        this.latencies = Collections.unmodifiableMap(new HashMap<>(latencies));
+        this.failed = Collections.unmodifiableSet(new HashSet<>(failed));
+        this.timedOut = Collections.unmodifiableSet(new HashSet<>(timedOut));
+        this.skipped = Collections.unmodifiableSet(new HashSet<>(skipped));
+        this.deferred = Collections.unmodifiableSet(new HashSet<>(deferred));
+        this.healthScores = Collections.unmodifiableMap(new HashMap<>(healthScores));
+    }
+
+    public Duration getRoundDuration() {
+        return roundDuration;
+    }
+
+    /**
+     * @return the time taken by each peer that answered within the deadline,
+     * whether successfully or not
+     */
+    public Map<String, Duration> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return peers that answered within the deadline but could not be polled
+     */
+    public Set<String> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return peers that did not answer before the round deadline
+     */
+    public Set<String> getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return peers that were not polled because a request from an earlier
+     * round was still outstanding
+     */
+    public Set<String> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return peers that were not polled because they were not yet due
+     */
+    public Set<String> getDeferred() {
+        return deferred;
+    }
+
+    /**
+     * @return the health score of each peer after this round, between 0
+     * (always failing) and 1 (always answering)
+     */
+    public Map<String, Double> getHealthScores() {
+        return healthScores;
+    }
+
+    /**
+     * Lists the peers that took the longest to answer, slowest first
+     *
+     * @param limit the maximum number of peers to return
+     * @return the URLs of the slowest peers
+     */
+    public List<String> slowest(final int limit) {
+        return latencies.entrySet()
+            .stream()
+            .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(toList());
+    }
+
+    @Override
+    public String toString() {
+        return "PollRoundSummary{"
+            + "roundDuration=" + roundDuration
+            + ", polled=" + latencies.size()
+            + ", failed=" + failed
+            + ", timedOut=" + timedOut
+            + ", skipped=" + skipped
+            + ", deferred=" + deferred.size()
+            + ", latencies=" + latencies
+            + '}';
+    }
+
+}
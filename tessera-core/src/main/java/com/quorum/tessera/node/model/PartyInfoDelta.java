@@ -0,0 +1,75 @@
+package com.quorum.tessera.node.model;
+
+import java.util.Objects;
+
+/**
+ * A versioned set of changes to a nodes {@link PartyInfo}
+ * <p>
+ * Each node keeps a version number that increases every time its party info
+ * gains a new key or party. The generation identifies a particular run of the
+ * node, so a peer can tell when the version numbers have been reset by a
+ * restart. A delta carries:
+ * - the recipients and parties that changed after some earlier version of
+ * the senders information
+ * - the generation and version of the senders information after the changes
+ * - the generation and version of the receivers information that the sender
+ * has already seen, so the receiver can reply with only what is newer
+ */
+public class PartyInfoDelta {
+
+    private final PartyInfo partyInfo;
+
+    private final long generation;
+
+    private final long version;
+
+    private final long peerGeneration;
+
+    private final long peerVersion;
+
+    public PartyInfoDelta(final PartyInfo partyInfo,
+                          final long generation,
+                          final long version,
+                          final long peerGeneration,
+                          final long peerVersion) {
+        this.partyInfo = Objects.requireNonNull(partyInfo);
+        this.generation = generation;
+        this.version = version;
+        this.peerGeneration = peerGeneration;
+        this.peerVersion = peerVersion;
+    }
+
+    public PartyInfo getPartyInfo() {
+        return partyInfo;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getPeerGeneration() {
+        return peerGeneration;
+    }
+
+    public long getPeerVersion() {
+        return peerVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "PartyInfoDelta{"
+            + "url=" + partyInfo.getUrl()
+            + ", recipients=" + partyInfo.getRecipients().size()
+            + ", parties=" + partyInfo.getParties().size()
+            + ", generation=" + generation
+            + ", version=" + version
+            + ", peerGeneration=" + peerGeneration
+            + ", peerVersion=" + peerVersion
+            + '}';
+    }
+
+}
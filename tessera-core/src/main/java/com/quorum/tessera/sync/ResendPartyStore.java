@@ -30,7 +30,8 @@ public interface ResendPartyStore {
     void addUnseenParties(Collection<Party> partiesToRequestFrom);
 
     /**
-     * Retrieves the next party to contact in the queue
+     * Retrieves the next party to contact in the queue, preferring parties
+     * that have failed fewer times
      *
      * @return Returns {@link Optional#empty()} if there are no parties to
      * contact in the request queue else an Optional containing a party to contact
@@ -46,4 +47,12 @@ public interface ResendPartyStore {
      */
     void incrementFailedAttempt(SyncableParty attemptedParty);
 
+    /**
+     * Puts back a party that was taken from the store but never contacted,
+     * keeping its attempt count as it was
+     *
+     * @param unattemptedParty the party that was not contacted
+     */
+    void requeue(SyncableParty unattemptedParty);
+
 }
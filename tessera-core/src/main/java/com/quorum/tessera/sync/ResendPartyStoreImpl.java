@@ -4,29 +4,44 @@ import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.sync.model.SyncableParty;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.LongSupplier;
 
 /**
  * An in-memory store of outstanding parties to contact for transaction resending
+ *
+ * Parties are served with the fewest failed attempts first, and of those the
+ * one that failed longest ago first, so that new parties are not held up
+ * behind ones that keep failing. The store may be used from many threads.
  */
 public class ResendPartyStoreImpl implements ResendPartyStore {
 
-    private Set<Party> allSeenParties;
+    private static final Comparator<SyncableParty> PRIORITY = Comparator
+        .comparingInt(SyncableParty::getAttempts)
+        .thenComparingLong(SyncableParty::getLastFailure);
 
-    private Queue<SyncableParty> outstandingParties;
+    private final Set<Party> allSeenParties;
+
+    private final Queue<SyncableParty> outstandingParties;
+
+    private final LongSupplier clock;
+
+    public ResendPartyStoreImpl(final LongSupplier clock) {
+        this.outstandingParties = new PriorityBlockingQueue<>(11, PRIORITY);
+        this.allSeenParties = ConcurrentHashMap.newKeySet();
+        this.clock = Objects.requireNonNull(clock);
+    }
 
     public ResendPartyStoreImpl() {
-        this.outstandingParties = new LinkedList<>();
-        this.allSeenParties = new HashSet<>();
+        this(System::currentTimeMillis);
     }
 
     @Override
     public void addUnseenParties(final Collection<Party> partiesToRequestFrom) {
-        final Set<Party> knownParties = new HashSet<>(partiesToRequestFrom);
-        knownParties.removeAll(allSeenParties);
-        this.allSeenParties.addAll(knownParties);
-
-        knownParties
+        partiesToRequestFrom
             .stream()
+            .filter(allSeenParties::add)
             .map(party -> new SyncableParty(party, 0))
             .forEach(outstandingParties::add);
     }
@@ -41,7 +56,7 @@ public class ResendPartyStoreImpl implements ResendPartyStore {
 
         if (attemptedParty.getAttempts() < MAX_ATTEMPTS) {
             final SyncableParty updatedParty = new SyncableParty(
-                attemptedParty.getParty(), attemptedParty.getAttempts() + 1
+                attemptedParty.getParty(), attemptedParty.getAttempts() + 1, clock.getAsLong()
             );
 
             this.outstandingParties.add(updatedParty);
@@ -49,4 +64,9 @@ public class ResendPartyStoreImpl implements ResendPartyStore {
 
     }
 
+    @Override
+    public void requeue(final SyncableParty unattemptedParty) {
+        this.outstandingParties.add(unattemptedParty);
+    }
+
 }
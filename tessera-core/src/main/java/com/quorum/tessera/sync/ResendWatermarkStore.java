@@ -0,0 +1,149 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.SyncConfig;
+import com.quorum.tessera.encryption.PublicKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Records, for each node and each of our public keys, the time up to which
+ * that node is known to have sent us all of its transactions
+ * <p>
+ * A watermark is only set when a node has completed a resend of its
+ * transactions for a key. Being in contact with a node does not show that its
+ * pushes were delivered, as a push can be refused while party info still
+ * flows, so the next resend asks for everything since the last completed
+ * one.
+ * <p>
+ * Watermarks are saved to a file if one is configured, and loaded back at
+ * startup.
+ */
+public class ResendWatermarkStore implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResendWatermarkStore.class);
+
+    private static final char SEPARATOR = '@';
+
+    private final Path watermarkFile;
+
+    private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+
+    private volatile boolean changed;
+
+    public ResendWatermarkStore(final Config config) {
+        this.watermarkFile = Optional.ofNullable(config.getSyncConfig())
+            .map(SyncConfig::getWatermarkFile)
+            .orElse(null);
+
+        this.load();
+    }
+
+    private void load() {
+        if (watermarkFile == null || Files.notExists(watermarkFile)) {
+            return;
+        }
+
+        final Properties saved = new Properties();
+        try (InputStream in = Files.newInputStream(watermarkFile)) {
+            saved.load(in);
+
+            saved.stringPropertyNames().forEach(id -> watermarks.put(id, Long.valueOf(saved.getProperty(id))));
+
+            LOGGER.info("Loaded {} resend watermarks from {}", watermarks.size(), watermarkFile);
+        } catch (final IOException | RuntimeException ex) {
+            //a missing or damaged file only means more transactions are resent, so don't stop the node starting
+            watermarks.clear();
+            LOGGER.warn("Unable to load resend watermarks from {}: {}", watermarkFile, ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    /**
+     * @param url the node that resends the transactions
+     * @param key the recipient key the transactions were resent for
+     * @return the time up to which the node has sent all its transactions for
+     * the key, in milliseconds since the epoch, or empty if never resent
+     */
+    public Optional<Long> getWatermark(final String url, final PublicKey key) {
+        return Optional.ofNullable(watermarks.get(id(url, key)));
+    }
+
+    /**
+     * Records that a node has resent all its transactions for a key up to the
+     * given time. Watermarks never move backwards.
+     *
+     * @param url       the node that resent the transactions
+     * @param key       the recipient key the transactions were resent for
+     * @param timestamp the time the resend was asked for, in milliseconds
+     *                  since the epoch
+     */
+    public void update(final String url, final PublicKey key, final long timestamp) {
+        final String id = id(url, key);
+
+        final Long previous = watermarks.get(id);
+        if (previous != null && previous >= timestamp) {
+            return;
+        }
+
+        watermarks.merge(id, timestamp, Math::max);
+        this.changed = true;
+    }
+
+    /**
+     * Saves the watermarks if they have changed
+     */
+    @Override
+    public synchronized void run() {
+        if (watermarkFile == null || !changed) {
+            return;
+        }
+
+        this.changed = false;
+
+        final Properties toSave = new Properties();
+        watermarks.forEach((id, watermark) -> toSave.setProperty(id, watermark.toString()));
+
+        final Path temporaryFile = watermarkFile.resolveSibling(watermarkFile.getFileName() + ".tmp");
+
+        try {
+            try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                toSave.store(out, null);
+            }
+            Files.move(temporaryFile, watermarkFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            LOGGER.debug("Saved {} resend watermarks to {}", toSave.size(), watermarkFile);
+        } catch (final IOException ex) {
+            this.changed = true;
+            LOGGER.warn("Unable to save resend watermarks to {}: {}", watermarkFile, ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    /**
+     * Saves any outstanding changes before the node shuts down
+     */
+    @PreDestroy
+    public void stop() {
+        this.run();
+    }
+
+    private static String id(final String url, final PublicKey key) {
+        //base64 never contains the separator, so the first one ends the key
+        return key.encodeToBase64() + SEPARATOR + url;
+    }
+
+}
@@ -8,18 +8,32 @@ import com.quorum.tessera.sync.model.SyncableParty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * A poller that will contact all outstanding parties that need to have
  * transactions resent for a single round
+ *
+ * Only a limited number of parties are contacted at once, in the order given
+ * by the {@link ResendPartyStore}. A round waits for a free slot before
+ * contacting the next party. If the round is interrupted or the executor
+ * stops taking tasks, the parties not yet contacted are put back in the store.
  */
 public class SyncPoller implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SyncPoller.class);
 
+    /**
+     * The number of parties contacted at once if not configured
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
     private final ExecutorService executorService;
 
     private final ResendPartyStore resendPartyStore;
@@ -32,57 +46,108 @@ public class SyncPoller implements Runnable {
 
     private final PartyInfoParser partyInfoParser;
 
+    private final Semaphore slots;
+
     public SyncPoller(final ExecutorService executorService,
                       final ResendPartyStore resendPartyStore,
                       final TransactionRequester transactionRequester,
                       final PartyInfoService partyInfoService,
                       final PartyInfoParser partyInfoParser,
-                      final P2pClient p2pClient) {
+                      final P2pClient p2pClient,
+                      final int concurrency) {
         this.executorService = Objects.requireNonNull(executorService);
         this.resendPartyStore = Objects.requireNonNull(resendPartyStore);
         this.transactionRequester = Objects.requireNonNull(transactionRequester);
         this.partyInfoService = Objects.requireNonNull(partyInfoService);
         this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
         this.p2pClient = Objects.requireNonNull(p2pClient);
+        this.slots = new Semaphore(concurrency);
+    }
+
+    public SyncPoller(final ExecutorService executorService,
+                      final ResendPartyStore resendPartyStore,
+                      final TransactionRequester transactionRequester,
+                      final PartyInfoService partyInfoService,
+                      final PartyInfoParser partyInfoParser,
+                      final P2pClient p2pClient) {
+        this(
+            executorService, resendPartyStore, transactionRequester,
+            partyInfoService, partyInfoParser, p2pClient, DEFAULT_CONCURRENCY
+        );
     }
 
     /**
      * Retrieves all of the outstanding parties and makes an attempt to make the resend request
      * asynchronously. If the request fails then the party is submitted back to the store for
      * a later attempt.
+     *
+     * The outstanding parties are taken from the store before any are
+     * contacted, so a party that fails during this round is not retried
+     * until the next one.
      */
     @Override
     public void run() {
 
         this.resendPartyStore.addUnseenParties(partyInfoService.getPartyInfo().getParties());
 
-        Optional<SyncableParty> nextPartyToSend = this.resendPartyStore.getNextParty();
+        final List<SyncableParty> round = new ArrayList<>();
 
+        Optional<SyncableParty> nextPartyToSend = this.resendPartyStore.getNextParty();
         while (nextPartyToSend.isPresent()) {
+            round.add(nextPartyToSend.get());
+            nextPartyToSend = this.resendPartyStore.getNextParty();
+        }
 
-            final SyncableParty requestDetails = nextPartyToSend.get();
-            final String url = requestDetails.getParty().getUrl();
+        for (int i = 0; i < round.size(); i++) {
+            final SyncableParty requestDetails = round.get(i);
+
+            try {
+                this.slots.acquire();
+            } catch (final InterruptedException ex) {
+                LOGGER.debug("Interrupted while waiting to contact {}", requestDetails.getParty().getUrl());
+                Thread.currentThread().interrupt();
+                this.requeue(round.subList(i, round.size()));
+                return;
+            }
 
             final Runnable action = () -> {
+                try {
+                    this.resend(requestDetails);
+                } finally {
+                    this.slots.release();
+                }
+            };
 
-                // perform a getPartyInfo in order to ensure that the target tessera has the current tessera as a recipient
-                boolean allSucceeded = updatePartyInfo(url);
+            try {
+                this.executorService.submit(action);
+            } catch (final RejectedExecutionException ex) {
+                LOGGER.debug("Unable to contact {}: {}", requestDetails.getParty().getUrl(), ex.getMessage());
+                this.slots.release();
+                this.requeue(round.subList(i, round.size()));
+                return;
+            }
 
-                if (allSucceeded) {
-                    allSucceeded = this.transactionRequester.requestAllTransactionsFromNode(url);
-                }
+        }
 
-                if (!allSucceeded) {
-                    this.resendPartyStore.incrementFailedAttempt(requestDetails);
-                }
-            };
+    }
 
-            this.executorService.submit(action);
+    private void requeue(final List<SyncableParty> uncontacted) {
+        uncontacted.forEach(this.resendPartyStore::requeue);
+    }
 
-            nextPartyToSend = this.resendPartyStore.getNextParty();
+    private void resend(final SyncableParty requestDetails) {
+        final String url = requestDetails.getParty().getUrl();
+
+        // perform a getPartyInfo in order to ensure that the target tessera has the current tessera as a recipient
+        boolean allSucceeded = updatePartyInfo(url);
 
+        if (allSucceeded) {
+            allSucceeded = this.transactionRequester.requestAllTransactionsFromNode(url);
         }
 
+        if (!allSucceeded) {
+            this.resendPartyStore.incrementFailedAttempt(requestDetails);
+        }
     }
 
     private boolean updatePartyInfo(String url) {
@@ -0,0 +1,137 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
+import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.Recipient;
+import com.quorum.tessera.transaction.EncryptedTransactionDAO;
+import com.quorum.tessera.transaction.HashSummary;
+import com.quorum.tessera.transaction.SharedTransactionFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Checks with each known node that both hold the same shared transactions,
+ * and fetches any that are missing here
+ * <p>
+ * A summary of the shared transactions is sent first, and the other node
+ * replies with the hashes it holds in the parts of the summary that differ.
+ * Any of those hashes not held here are then asked for, and the other node
+ * pushes them as it would during a resend. Nodes that are in step only
+ * exchange the summary.
+ * <p>
+ * The stored transactions are read once per pass, summarising those shared
+ * with every node at the same time.
+ */
+public class TransactionReconciler implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionReconciler.class);
+
+    private final PartyInfoService partyInfoService;
+
+    private final Enclave enclave;
+
+    private final SharedTransactionFinder sharedTransactionFinder;
+
+    private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private final P2pClient p2pClient;
+
+    public TransactionReconciler(final PartyInfoService partyInfoService,
+                                 final Enclave enclave,
+                                 final SharedTransactionFinder sharedTransactionFinder,
+                                 final EncryptedTransactionDAO encryptedTransactionDAO,
+                                 final P2pClient p2pClient) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.enclave = Objects.requireNonNull(enclave);
+        this.sharedTransactionFinder = Objects.requireNonNull(sharedTransactionFinder);
+        this.encryptedTransactionDAO = Objects.requireNonNull(encryptedTransactionDAO);
+        this.p2pClient = Objects.requireNonNull(p2pClient);
+    }
+
+    @Override
+    public void run() {
+        final PartyInfo partyInfo = partyInfoService.getPartyInfo();
+
+        final Map<String, Set<PublicKey>> keysByUrl = partyInfo.getRecipients()
+            .stream()
+            .filter(recipient -> !Objects.equals(partyInfo.getUrl(), recipient.getUrl()))
+            .collect(groupingBy(Recipient::getUrl, mapping(Recipient::getKey, toSet())));
+
+        if (keysByUrl.isEmpty()) {
+            return;
+        }
+
+        final Set<PublicKey> ownKeys = enclave.getPublicKeys();
+
+        //the stored transactions are read once for all nodes, at the finest summary each might need
+        final Map<String, HashSummary> summaries = new HashMap<>();
+        keysByUrl.keySet().forEach(url -> summaries.put(url, HashSummary.withBucketBits(HashSummary.MAX_BUCKET_BITS)));
+        sharedTransactionFinder.forEachShared(ownKeys, keysByUrl, (url, hash) -> summaries.get(url).add(hash));
+
+        summaries.forEach((url, summary) -> {
+            try {
+                this.reconcileWith(url, ownKeys, summary);
+            } catch (final RuntimeException ex) {
+                LOGGER.debug("Unable to reconcile transactions with {}: {}", url, ex.getMessage());
+            }
+        });
+    }
+
+    private void reconcileWith(final String url, final Set<PublicKey> ownKeys, final HashSummary shared) {
+        final HashSummary summary = shared.foldTo(HashSummary.bucketBitsFor(shared.size()));
+
+        final List<String> encodedOwnKeys = ownKeys.stream().map(PublicKey::encodeToBase64).collect(toList());
+
+        final ReconcileRequest summaryRequest = new ReconcileRequest();
+        summaryRequest.setPublicKeys(encodedOwnKeys);
+        summaryRequest.setBucketBits(summary.getBucketBits());
+        summaryRequest.setBuckets(summary.toBuckets());
+
+        final ReconcileResponse response = p2pClient.reconcile(url, summaryRequest);
+        if (response == null) {
+            LOGGER.debug("Node {} did not accept the reconcile request", url);
+            return;
+        }
+
+        //only the hashes in differing buckets are returned, so each is looked up rather than held
+        final List<String> missing = response.getHashes()
+            .stream()
+            .map(Base64.getDecoder()::decode)
+            .map(MessageHash::new)
+            .filter(hash -> !encryptedTransactionDAO.retrieveByHash(hash).isPresent())
+            .map(MessageHash::getHashBytes)
+            .map(Base64.getEncoder()::encodeToString)
+            .collect(toList());
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        LOGGER.info("Requesting {} missing transactions from {}", missing.size(), url);
+
+        final ReconcileRequest missingRequest = new ReconcileRequest();
+        missingRequest.setPublicKeys(encodedOwnKeys);
+        missingRequest.setMissing(missing);
+
+        p2pClient.reconcile(url, missingRequest);
+    }
+
+}
@@ -2,26 +2,91 @@ package com.quorum.tessera.sync;
 
 import com.quorum.tessera.api.model.ResendRequest;
 import com.quorum.tessera.api.model.ResendRequestType;
+import com.quorum.tessera.client.CircuitOpenException;
 import com.quorum.tessera.client.P2pClient;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.threading.TokenBucket;
+import com.quorum.tessera.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 public class TransactionRequesterImpl implements TransactionRequester {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionRequesterImpl.class);
 
+    /**
+     * How far before a watermark to ask for transactions from, to allow for
+     * differences between the clocks of the two nodes
+     */
+    static final long WATERMARK_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * How many streamed payloads are stored together in one database
+     * transaction
+     */
+    static final int STREAM_BATCH_SIZE = 100;
+
     private final Enclave enclave;
 
     private final P2pClient client;
 
-    public TransactionRequesterImpl(final Enclave enclave, final P2pClient client) {
+    private final long retryDelayMillis;
+
+    private final TokenBucket rateLimiter;
+
+    private final TokenBucket payloadLimiter;
+
+    private final ResendWatermarkStore watermarkStore;
+
+    private final TransactionManager transactionManager;
+
+    /**
+     * Creates a requester that streams the resent transactions back and
+     * stores them in batches, falling back to having them pushed one at a
+     * time by nodes that do not support streaming
+     * <p>
+     * The request limiter is taken from once per resend request. The payload
+     * limiter is taken from once per streamed transaction, and the next one
+     * is not read until it has been, so a node streaming back a large backlog
+     * is slowed down to the rate this node is willing to store at. Transactions pushed back by
+     * nodes that do not support streaming arrive as ordinary pushes and are
+     * not limited.
+     */
+    public TransactionRequesterImpl(final Enclave enclave,
+                                    final P2pClient client,
+                                    final long retryDelayMillis,
+                                    final TokenBucket rateLimiter,
+                                    final TokenBucket payloadLimiter,
+                                    final ResendWatermarkStore watermarkStore,
+                                    final TransactionManager transactionManager) {
         this.enclave = Objects.requireNonNull(enclave);
         this.client = Objects.requireNonNull(client);
+        this.retryDelayMillis = retryDelayMillis;
+        this.rateLimiter = Objects.requireNonNull(rateLimiter);
+        this.payloadLimiter = payloadLimiter;
+        this.watermarkStore = Objects.requireNonNull(watermarkStore);
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Creates a requester that always has the transactions pushed one at a
+     * time
+     */
+    public TransactionRequesterImpl(final Enclave enclave,
+                                    final P2pClient client,
+                                    final long retryDelayMillis,
+                                    final TokenBucket rateLimiter,
+                                    final ResendWatermarkStore watermarkStore) {
+        this(enclave, client, retryDelayMillis, rateLimiter, null, watermarkStore, null);
     }
 
     @Override
@@ -29,17 +94,48 @@ public class TransactionRequesterImpl implements TransactionRequester {
 
         LOGGER.debug("Requesting transactions get resent for {}", uri);
 
+        final long started = System.currentTimeMillis();
+
         return this.enclave
             .getPublicKeys()
             .stream()
-            .map(this::createRequestAllEntity)
-            .allMatch(req -> this.makeRequest(uri, req));
+            .allMatch(key -> this.requestTransactions(uri, key, started));
+
+    }
+
+    /**
+     * Asks for the transactions for a single key, only asking for those
+     * stored since the last resend if there was one
+     * <p>
+     * Nodes that do not understand a request for recent transactions reject
+     * it, so all transactions are asked for instead if that fails.
+     *
+     * @param uri     the URI to call
+     * @param key     the recipient key to resend transactions for
+     * @param started the time the resend was started
+     * @return whether the transactions were resent
+     */
+    private boolean requestTransactions(final String uri, final PublicKey key, final long started) {
+        final boolean resent = this.watermarkStore
+            .getWatermark(uri, key)
+            .map(watermark -> this.makeRequest(uri, this.createRequestSinceEntity(key, watermark)))
+            .filter(Boolean::booleanValue)
+            .orElseGet(() -> this.makeRequest(uri, this.createRequestAllEntity(key)));
 
+        if (resent) {
+            this.watermarkStore.update(uri, key, started);
+        }
+
+        return resent;
     }
 
     /**
      * Will make the desired request until succeeds or max tries has been
-     * reached
+     * reached, waiting a little longer between each try
+     * <p>
+     * Stops early if the node is known to be down, since retrying would
+     * only be refused again. Every attempt, including the first, waits for
+     * the shared rate limit.
      *
      * @param uri     the URI to call
      * @param request the request object to send
@@ -47,24 +143,120 @@ public class TransactionRequesterImpl implements TransactionRequester {
     private boolean makeRequest(final String uri, final ResendRequest request) {
         LOGGER.debug("Requesting a resend for key {}", request.getPublicKey());
 
-        boolean success;
-        int numberOfTries = 0;
+        for (int numberOfTries = 0; numberOfTries < MAX_ATTEMPTS; numberOfTries++) {
+
+            if (numberOfTries > 0 && !this.waitBeforeRetry(numberOfTries)) {
+                return false;
+            }
 
-        do {
+            if (!this.waitForPermit()) {
+                return false;
+            }
 
             try {
-                success = client.makeResendRequest(uri, request);
+                if (this.streamResend(uri, request) || client.makeResendRequest(uri, request)) {
+                    return true;
+                }
+            } catch (final CircuitOpenException ex) {
+                LOGGER.debug("Not requesting resend from node {}: {}", uri, ex.getMessage());
+                return false;
             } catch (final Exception ex) {
-                success = false;
                 LOGGER.debug("Failed to make resend request to node {} for key {}", uri, request.getPublicKey());
             }
 
-            numberOfTries++;
+        }
 
-        } while (!success && (numberOfTries < MAX_ATTEMPTS));
+        return false;
 
-        return success;
+    }
 
+    /**
+     * Asks for the transactions to be sent back in a single response,
+     * storing them in batches as they arrive. Payloads that arrived before
+     * a failure are kept, since asking again will skip them.
+     *
+     * @param uri     the URI to call
+     * @param request the request object to send
+     * @return false if streaming is not used or the node refused the request
+     */
+    private boolean streamResend(final String uri, final ResendRequest request) {
+        if (transactionManager == null) {
+            return false;
+        }
+
+        final List<byte[]> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try {
+            return client.streamResend(uri, request, payload -> {
+                this.waitForPayloadPermit();
+                batch.add(payload);
+                if (batch.size() >= STREAM_BATCH_SIZE) {
+                    this.store(batch);
+                }
+            });
+        } finally {
+            this.store(batch);
+        }
+    }
+
+    private void store(final List<byte[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionManager.storePayloads(new ArrayList<>(batch));
+        batch.clear();
+    }
+
+    /**
+     * Waits for a jittered, exponentially increasing delay
+     *
+     * @param numberOfTries the number of attempts made so far
+     * @return false if the thread was interrupted while waiting
+     */
+    private boolean waitBeforeRetry(final int numberOfTries) {
+        final long delay = retryDelayMillis << (numberOfTries - 1);
+        if (delay <= 0) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay - delay / 2 + 1));
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the rate limit allows another request
+     *
+     * @return false if the thread was interrupted while waiting
+     */
+    private boolean waitForPermit() {
+        try {
+            this.rateLimiter.acquire();
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the payload limit allows another streamed transaction to
+     * be read
+     *
+     * @throws CancellationException if the thread is interrupted while
+     * waiting, which ends the stream
+     */
+    private void waitForPayloadPermit() {
+        try {
+            this.payloadLimiter.acquire();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting to read resent transactions");
+        }
     }
 
     /**
@@ -83,4 +275,21 @@ public class TransactionRequesterImpl implements TransactionRequester {
         return request;
     }
 
+    /**
+     * Creates the entity asking for the transactions stored since a watermark
+     *
+     * @param key       the public key that transactions should be resent for
+     * @param watermark the time up to which transactions have already been sent
+     * @return the request to be sent
+     */
+    private ResendRequest createRequestSinceEntity(final PublicKey key, final long watermark) {
+
+        final ResendRequest request = new ResendRequest();
+        request.setPublicKey(key.encodeToBase64());
+        request.setType(ResendRequestType.SINCE);
+        request.setSince(Math.max(0L, watermark - WATERMARK_OVERLAP_MILLIS));
+
+        return request;
+    }
+
 }
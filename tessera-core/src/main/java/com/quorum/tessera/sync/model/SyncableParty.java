@@ -5,7 +5,7 @@ import com.quorum.tessera.node.model.Party;
 /**
  * A SyncableParty is a {@link Party} that is to be contacted for transaction
  * synchronisation. The number of contact attempts is stored alongside the
- * party.
+ * party, as well as when the last attempt failed.
  */
 public class SyncableParty {
 
@@ -13,9 +13,16 @@ public class SyncableParty {
 
     private final int attempts;
 
-    public SyncableParty(final Party party, final int attempts) {
+    private final long lastFailure;
+
+    public SyncableParty(final Party party, final int attempts, final long lastFailure) {
         this.party = party;
         this.attempts = attempts;
+        this.lastFailure = lastFailure;
+    }
+
+    public SyncableParty(final Party party, final int attempts) {
+        this(party, attempts, 0L);
     }
 
     public Party getParty() {
@@ -26,4 +33,12 @@ public class SyncableParty {
         return attempts;
     }
 
+    /**
+     * @return the time the last attempt to contact the party failed, in
+     * milliseconds since the epoch, or zero if it has not failed
+     */
+    public long getLastFailure() {
+        return lastFailure;
+    }
+
 }
@@ -3,6 +3,7 @@ package com.quorum.tessera.transaction;
 import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.transaction.model.EncryptedTransaction;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,15 @@ public interface EncryptedTransactionDAO {
      */
     EncryptedTransaction save(EncryptedTransaction entity);
 
+    /**
+     * Saves a batch of transactions in a single database transaction,
+     * skipping any that are already stored
+     *
+     * @param entities the entities to be persisted
+     * @return the entities that were newly persisted
+     */
+    List<EncryptedTransaction> saveAll(Collection<EncryptedTransaction> entities);
+
     /**
      * Retrieve a transaction based on its hash
      *
@@ -35,6 +45,40 @@ public interface EncryptedTransactionDAO {
      */
     List<EncryptedTransaction> retrieveAllTransactions();
 
+    /**
+     * Retrieves a page of transactions in hash order, so that the whole table
+     * can be read without holding all of it at once
+     *
+     * @param after      the hash of the last transaction of the previous page,
+     *                   or null to start from the first transaction
+     * @param maxResults the most transactions to return
+     * @return the transactions whose hash comes after the given one
+     */
+    List<EncryptedTransaction> retrieveTransactionsAfter(MessageHash after, int maxResults);
+
+    /**
+     * Retrieves the transactions that were stored at or after the given time
+     *
+     * @param timestamp the earliest storage time to include, in milliseconds
+     *                  since the epoch
+     * @return the rows stored since the given time
+     */
+    List<EncryptedTransaction> retrieveTransactionsSince(long timestamp);
+
+    /**
+     * Retrieves a page of the transactions stored at or after the given time,
+     * in hash order
+     *
+     * @param timestamp  the earliest storage time to include, in milliseconds
+     *                   since the epoch
+     * @param after      the hash of the last transaction of the previous page,
+     *                   or null to start from the first transaction
+     * @param maxResults the most transactions to return
+     * @return the rows stored since the given time whose hash comes after the
+     * given one
+     */
+    List<EncryptedTransaction> retrieveTransactionsSince(long timestamp, MessageHash after, int maxResults);
+
     /**
      * Deletes a transaction that has the given hash as its digest
      *
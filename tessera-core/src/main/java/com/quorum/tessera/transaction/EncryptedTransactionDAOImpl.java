@@ -8,8 +8,13 @@ import org.slf4j.LoggerFactory;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import javax.transaction.Transactional;
 
 /**
@@ -25,6 +30,21 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
 
     private static final String FIND_ALL = "SELECT et FROM EncryptedTransaction et";
 
+    private static final String FIND_FIRST_PAGE
+            = "SELECT et FROM EncryptedTransaction et ORDER BY et.hash.hashBytes";
+
+    private static final String FIND_PAGE_AFTER
+            = "SELECT et FROM EncryptedTransaction et WHERE et.hash.hashBytes > :hash ORDER BY et.hash.hashBytes";
+
+    private static final String FIND_SINCE
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp >= :timestamp";
+
+    private static final String FIND_FIRST_PAGE_SINCE
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp >= :timestamp ORDER BY et.hash.hashBytes";
+
+    private static final String FIND_PAGE_SINCE_AFTER = "SELECT et FROM EncryptedTransaction et "
+            + "WHERE et.timestamp >= :timestamp AND et.hash.hashBytes > :hash ORDER BY et.hash.hashBytes";
+
     @PersistenceContext(unitName = "tessera")
     private EntityManager entityManager;
 
@@ -35,6 +55,24 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
         return entity;
     }
 
+    @Override
+    public List<EncryptedTransaction> saveAll(final Collection<EncryptedTransaction> entities) {
+        final Set<MessageHash> seen = new HashSet<>();
+        final List<EncryptedTransaction> saved = new ArrayList<>(entities.size());
+
+        for (final EncryptedTransaction entity : entities) {
+            if (!seen.add(entity.getHash()) || this.retrieveByHash(entity.getHash()).isPresent()) {
+                continue;
+            }
+
+            entityManager.persist(entity);
+            saved.add(entity);
+        }
+
+        LOGGER.info("Stored {} of {} transactions", saved.size(), entities.size());
+        return saved;
+    }
+
     @Override
     public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
         LOGGER.info("Retrieving payload with hash {}", hash);
@@ -55,6 +93,54 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 .getResultList();
     }
 
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsAfter(final MessageHash after, final int maxResults) {
+        LOGGER.debug("Fetching up to {} EncryptedTransaction database rows after {}", maxResults, after);
+
+        final TypedQuery<EncryptedTransaction> query;
+        if (after == null) {
+            query = entityManager.createQuery(FIND_FIRST_PAGE, EncryptedTransaction.class);
+        } else {
+            query = entityManager
+                    .createQuery(FIND_PAGE_AFTER, EncryptedTransaction.class)
+                    .setParameter("hash", after.getHashBytes());
+        }
+
+        return query.setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        LOGGER.info("Fetching EncryptedTransaction database rows stored since {}", timestamp);
+
+        return entityManager
+                .createQuery(FIND_SINCE, EncryptedTransaction.class)
+                .setParameter("timestamp", timestamp)
+                .getResultList();
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp,
+                                                                final MessageHash after,
+                                                                final int maxResults) {
+        LOGGER.debug("Fetching up to {} EncryptedTransaction database rows stored since {} after {}",
+                maxResults, timestamp, after);
+
+        final TypedQuery<EncryptedTransaction> query;
+        if (after == null) {
+            query = entityManager.createQuery(FIND_FIRST_PAGE_SINCE, EncryptedTransaction.class);
+        } else {
+            query = entityManager
+                    .createQuery(FIND_PAGE_SINCE_AFTER, EncryptedTransaction.class)
+                    .setParameter("hash", after.getHashBytes());
+        }
+
+        return query
+                .setParameter("timestamp", timestamp)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
     @Override
     public void delete(final MessageHash hash) {
         LOGGER.info("Deleting transaction with hash {}", hash);
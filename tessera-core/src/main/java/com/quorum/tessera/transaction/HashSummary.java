@@ -0,0 +1,238 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.api.model.HashBucket;
+import com.quorum.tessera.enclave.model.MessageHash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A compact summary of a set of transaction hashes
+ *
+ * The hashes are split into buckets by their leading bits. Each bucket keeps
+ * a count and a digest of its hashes, made by combining the SHA-256 of each
+ * hash with XOR. The digest does not depend on the order hashes are added
+ * in, so a summary is built a hash at a time while the transactions are read
+ * in pages, and a fine summary can be folded into a coarser one without
+ * seeing the hashes again. Comparing two summaries finds the buckets that
+ * differ, and only the hashes in those buckets need to be exchanged.
+ *
+ * The number of buckets grows with the number of hashes, so that a differing
+ * bucket holds only a few hashes. A summary is not safe to use from more
+ * than one thread.
+ */
+public final class HashSummary {
+
+    public static final int MIN_BUCKET_BITS = 8;
+
+    public static final int MAX_BUCKET_BITS = 12;
+
+    /**
+     * The number of hashes each bucket should hold at most, if the number of
+     * buckets allows it
+     */
+    private static final int TARGET_BUCKET_SIZE = 16;
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private final int bucketBits;
+
+    private final int[] counts;
+
+    private final byte[][] digests;
+
+    private final MessageDigest sha256 = sha256();
+
+    private HashSummary(final int bucketBits) {
+        if (bucketBits < MIN_BUCKET_BITS || bucketBits > MAX_BUCKET_BITS) {
+            throw new IllegalArgumentException(
+                "Hash buckets must use between " + MIN_BUCKET_BITS + " and " + MAX_BUCKET_BITS + " bits"
+            );
+        }
+        this.bucketBits = bucketBits;
+        this.counts = new int[1 << bucketBits];
+        this.digests = new byte[1 << bucketBits][];
+    }
+
+    /**
+     * @param bucketBits the number of leading bits of each hash used to pick
+     *                   its bucket
+     * @return an empty summary to add hashes to
+     * @throws IllegalArgumentException if the number of bits is not within range
+     */
+    public static HashSummary withBucketBits(final int bucketBits) {
+        return new HashSummary(bucketBits);
+    }
+
+    /**
+     * Summarises the given hashes, using as many buckets as suit their number
+     *
+     * @param hashes the hashes to summarise, without duplicates
+     * @return the summary of the hashes
+     */
+    public static HashSummary of(final Collection<MessageHash> hashes) {
+        final HashSummary summary = new HashSummary(bucketBitsFor(hashes.size()));
+        hashes.forEach(summary::add);
+        return summary;
+    }
+
+    /**
+     * Rebuilds a summary that was sent by another node
+     *
+     * @param bucketBits the number of bits the other node bucketed on
+     * @param buckets    the non-empty buckets of the summary
+     * @return the summary the buckets describe
+     * @throws IllegalArgumentException if the number of bits or a bucket is
+     *                                  not within range
+     */
+    public static HashSummary from(final int bucketBits, final Collection<HashBucket> buckets) {
+        final HashSummary summary = new HashSummary(bucketBits);
+
+        for (final HashBucket bucket : buckets) {
+            if (bucket.getIndex() < 0 || bucket.getIndex() >= summary.counts.length) {
+                throw new IllegalArgumentException("Hash bucket " + bucket.getIndex() + " is out of range");
+            }
+
+            summary.counts[bucket.getIndex()] = bucket.getCount();
+            summary.digests[bucket.getIndex()] = Base64.getDecoder().decode(bucket.getDigest());
+        }
+
+        return summary;
+    }
+
+    /**
+     * @param hashCount the number of hashes to summarise
+     * @return the fewest bucket bits that keep buckets near their target size
+     */
+    public static int bucketBitsFor(final long hashCount) {
+        int bits = MIN_BUCKET_BITS;
+        while (bits < MAX_BUCKET_BITS && hashCount > ((long) TARGET_BUCKET_SIZE << bits)) {
+            bits++;
+        }
+        return bits;
+    }
+
+    /**
+     * Adds a hash to the summary
+     *
+     * @param hash the hash to add, which must not already be in the summary
+     */
+    public void add(final MessageHash hash) {
+        final int bucket = this.bucketOf(hash);
+        final byte[] hashDigest = sha256.digest(hash.getHashBytes());
+
+        counts[bucket]++;
+        if (digests[bucket] == null) {
+            digests[bucket] = new byte[DIGEST_LENGTH];
+        }
+        xor(digests[bucket], hashDigest);
+    }
+
+    /**
+     * Combines neighbouring buckets to give a summary with fewer of them
+     *
+     * @param coarserBits the number of bucket bits to fold to, which must not
+     *                    be more than this summary uses
+     * @return the folded summary
+     */
+    public HashSummary foldTo(final int coarserBits) {
+        if (coarserBits > bucketBits) {
+            throw new IllegalArgumentException("Cannot fold " + bucketBits + " bucket bits to " + coarserBits);
+        }
+
+        final HashSummary folded = new HashSummary(coarserBits);
+        final int shift = bucketBits - coarserBits;
+
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+
+            final int target = i >>> shift;
+            folded.counts[target] += counts[i];
+            if (folded.digests[target] == null) {
+                folded.digests[target] = new byte[DIGEST_LENGTH];
+            }
+            xor(folded.digests[target], digests[i]);
+        }
+
+        return folded;
+    }
+
+    /**
+     * @return the number of hashes in the summary
+     */
+    public long size() {
+        return Arrays.stream(counts).asLongStream().sum();
+    }
+
+    public int getBucketBits() {
+        return bucketBits;
+    }
+
+    /**
+     * @return the buckets that contain at least one hash
+     */
+    public List<HashBucket> toBuckets() {
+        final List<HashBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.add(new HashBucket(i, counts[i], Base64.getEncoder().encodeToString(digests[i])));
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * @param other the summary to compare against, which must use the same
+     *              number of bucket bits
+     * @return the buckets whose hashes are not the same in both summaries
+     */
+    public Set<Integer> differingBuckets(final HashSummary other) {
+        if (other.bucketBits != bucketBits) {
+            throw new IllegalArgumentException(
+                "Cannot compare summaries using " + bucketBits + " and " + other.bucketBits + " bucket bits"
+            );
+        }
+
+        return IntStream.range(0, counts.length)
+            .filter(i -> counts[i] != other.counts[i] || !Arrays.equals(digests[i], other.digests[i]))
+            .boxed()
+            .collect(toSet());
+    }
+
+    /**
+     * @param hash the hash to place
+     * @return the bucket the hash belongs in
+     */
+    public int bucketOf(final MessageHash hash) {
+        final byte[] bytes = hash.getHashBytes();
+        final int first = bytes.length > 0 ? bytes[0] & 0xFF : 0;
+        final int second = bytes.length > 1 ? bytes[1] & 0xFF : 0;
+        return ((first << 8) | second) >>> (16 - bucketBits);
+    }
+
+    private static void xor(final byte[] target, final byte[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] ^= source[i];
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Reads stored transactions a page at a time in hash order, only fetching
+ * the next page once the previous one has been used up
+ *
+ * Each page is read in its own database transaction when not called from
+ * within one, so pages that have been used up can be released.
+ */
+class PagedTransactions implements Iterator<EncryptedTransaction> {
+
+    static final int PAGE_SIZE = 100;
+
+    private final BiFunction<MessageHash, Integer, List<EncryptedTransaction>> pageReader;
+
+    private Iterator<EncryptedTransaction> page = Collections.emptyIterator();
+
+    private MessageHash last;
+
+    private boolean lastPage;
+
+    /**
+     * @param pageReader reads the page after the given hash, or the first page
+     *                   when given null, of at most the given size
+     */
+    PagedTransactions(final BiFunction<MessageHash, Integer, List<EncryptedTransaction>> pageReader) {
+        this.pageReader = Objects.requireNonNull(pageReader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !lastPage) {
+            final List<EncryptedTransaction> next = pageReader.apply(last, PAGE_SIZE);
+            lastPage = next.size() < PAGE_SIZE;
+            page = next.iterator();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public EncryptedTransaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final EncryptedTransaction transaction = page.next();
+        last = transaction.getHash();
+        return transaction;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the summary of the transactions shared with each set of keys that
+ * has asked to reconcile, so that answering a request does not read and
+ * decode every stored transaction
+ *
+ * A summary is built by reading the store once, and is then kept up to date
+ * by adding each transaction as it is stored. A transaction that is being
+ * stored while a summary is built is counted exactly once, whether or not
+ * the read comes across it. Anything that changes transactions in other ways,
+ * such as a delete, throws the summaries away so they are built again.
+ *
+ * Summaries are kept at the finest bucket size and folded to whatever size
+ * is asked for. A summary is also built again once it reaches its maximum
+ * age, in case a store was rolled back after it was counted.
+ */
+class SharedSummaryCache {
+
+    static final int MAX_ENTRIES = 64;
+
+    static final long DEFAULT_MAX_AGE_MILLIS = 10 * 60 * 1000L;
+
+    private final SharedTransactionFinder sharedTransactionFinder;
+
+    private final long maxAgeMillis;
+
+    private final Map<Set<PublicKey>, Entry> entries = new LinkedHashMap<Set<PublicKey>, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Set<PublicKey>, Entry> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    };
+
+    private final List<Build> builds = new ArrayList<>();
+
+    private final Map<MessageHash, EncodedPayload> storing = new HashMap<>();
+
+    SharedSummaryCache(final SharedTransactionFinder sharedTransactionFinder, final long maxAgeMillis) {
+        this.sharedTransactionFinder = Objects.requireNonNull(sharedTransactionFinder);
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    SharedSummaryCache(final SharedTransactionFinder sharedTransactionFinder) {
+        this(sharedTransactionFinder, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    /**
+     * @param ownKeys    the public keys of this node
+     * @param peerKeys   the public keys of the other node
+     * @param bucketBits the number of bucket bits to summarise with
+     * @return the summary of the transactions shared with the other node
+     */
+    HashSummary summaryFor(final Set<PublicKey> ownKeys, final Set<PublicKey> peerKeys, final int bucketBits) {
+        final Build build;
+
+        synchronized (this) {
+            final Entry cached = entries.get(peerKeys);
+            final boolean fresh = cached != null && System.currentTimeMillis() - cached.builtAt < maxAgeMillis;
+            if (fresh && cached.ownKeys.equals(ownKeys)) {
+                return cached.summary.foldTo(bucketBits);
+            }
+
+            build = new Build(new HashSet<>(ownKeys), new HashSet<>(peerKeys));
+            build.announced.putAll(storing);
+            builds.add(build);
+        }
+
+        final HashSummary summary = HashSummary.withBucketBits(HashSummary.MAX_BUCKET_BITS);
+        final Set<MessageHash> seen = new HashSet<>();
+        try {
+            sharedTransactionFinder.forEachShared(build.ownKeys, build.peerKeys, hash -> {
+                summary.add(hash);
+                if (build.announced.containsKey(hash)) {
+                    seen.add(hash);
+                }
+            });
+        } catch (final RuntimeException ex) {
+            synchronized (this) {
+                builds.remove(build);
+            }
+            throw ex;
+        }
+
+        synchronized (this) {
+            builds.remove(build);
+
+            //a transaction stored after the read went past where it belongs is added now
+            final Set<MessageHash> counted = new HashSet<>();
+            build.announced.forEach((hash, payload) -> {
+                if (!seen.contains(hash) && SharedTransactionFinder.isShared(payload, build.ownKeys, build.peerKeys)) {
+                    summary.add(hash);
+                }
+                if (storing.containsKey(hash)) {
+                    counted.add(hash);
+                }
+            });
+
+            if (!build.abandoned) {
+                entries.put(build.peerKeys, new Entry(summary, build.ownKeys, counted, System.currentTimeMillis()));
+            }
+        }
+
+        return summary.foldTo(bucketBits);
+    }
+
+    /**
+     * Announces a transaction that is about to be stored, so that summaries
+     * being built count it whether or not their read comes across it
+     *
+     * @param hash    the hash of the transaction
+     * @param payload the decoded transaction
+     */
+    synchronized void storing(final MessageHash hash, final EncodedPayload payload) {
+        storing.put(hash, payload);
+        builds.forEach(build -> build.announced.put(hash, payload));
+    }
+
+    /**
+     * Adds a transaction that has been stored to the held summaries
+     *
+     * @param hash    the hash of the transaction
+     * @param payload the decoded transaction
+     */
+    synchronized void stored(final MessageHash hash, final EncodedPayload payload) {
+        storing.remove(hash);
+
+        entries.forEach((peerKeys, entry) -> {
+            //a summary built while the transaction was being stored already counts it
+            if (!entry.counted.remove(hash) && SharedTransactionFinder.isShared(payload, entry.ownKeys, peerKeys)) {
+                entry.summary.add(hash);
+            }
+        });
+    }
+
+    /**
+     * Forgets a transaction that was announced but not stored, either because
+     * it was already held or because storing it failed
+     *
+     * @param hash the hash of the transaction
+     */
+    synchronized void notStored(final MessageHash hash) {
+        storing.remove(hash);
+        builds.forEach(build -> build.announced.remove(hash));
+        entries.values().forEach(entry -> entry.counted.remove(hash));
+    }
+
+    /**
+     * Throws away all summaries, including those being built, so that each
+     * is read again from the store when next asked for
+     */
+    synchronized void invalidate() {
+        entries.clear();
+        builds.forEach(build -> build.abandoned = true);
+    }
+
+    private static final class Entry {
+
+        private final HashSummary summary;
+
+        private final Set<PublicKey> ownKeys;
+
+        /**
+         * Transactions still being stored that the summary already counts
+         */
+        private final Set<MessageHash> counted;
+
+        private final long builtAt;
+
+        private Entry(final HashSummary summary,
+                      final Set<PublicKey> ownKeys,
+                      final Set<MessageHash> counted,
+                      final long builtAt) {
+            this.summary = summary;
+            this.ownKeys = ownKeys;
+            this.counted = counted;
+            this.builtAt = builtAt;
+        }
+
+    }
+
+    private static final class Build {
+
+        private final Set<PublicKey> ownKeys;
+
+        private final Set<PublicKey> peerKeys;
+
+        private final Map<MessageHash, EncodedPayload> announced = new ConcurrentHashMap<>();
+
+        private boolean abandoned;
+
+        private Build(final Set<PublicKey> ownKeys, final Set<PublicKey> peerKeys) {
+            this.ownKeys = ownKeys;
+            this.peerKeys = peerKeys;
+        }
+
+    }
+
+}
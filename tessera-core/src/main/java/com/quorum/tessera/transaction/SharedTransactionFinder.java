@@ -0,0 +1,97 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Finds the transactions that both this node and another node should hold
+ *
+ * A node only keeps the sender key of the transactions it receives, so the
+ * shared transactions are those sent by one of the other node's keys, and
+ * those sent by one of our keys to one of the other node's keys. Both nodes
+ * work out the same set when given each other's keys.
+ *
+ * The stored transactions are read a page at a time, and each is decoded
+ * once however many nodes it is checked against.
+ */
+public class SharedTransactionFinder {
+
+    private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private final PayloadEncoder payloadEncoder;
+
+    public SharedTransactionFinder(final EncryptedTransactionDAO encryptedTransactionDAO,
+                                   final PayloadEncoder payloadEncoder) {
+        this.encryptedTransactionDAO = Objects.requireNonNull(encryptedTransactionDAO);
+        this.payloadEncoder = Objects.requireNonNull(payloadEncoder);
+    }
+
+    /**
+     * Reads every stored transaction once, and passes the hash of each one
+     * to every node it is shared with
+     *
+     * @param ownKeys  the public keys of this node
+     * @param peerKeys the public keys of each of the other nodes
+     * @param action   called with the node and hash of each shared transaction
+     * @param <T>      the type identifying the other nodes
+     */
+    public <T> void forEachShared(final Collection<PublicKey> ownKeys,
+                                  final Map<T, ? extends Collection<PublicKey>> peerKeys,
+                                  final BiConsumer<T, MessageHash> action) {
+        final Iterator<EncryptedTransaction> transactions
+            = new PagedTransactions(encryptedTransactionDAO::retrieveTransactionsAfter);
+
+        while (transactions.hasNext()) {
+            final EncryptedTransaction transaction = transactions.next();
+            final EncodedPayload payload = payloadEncoder.decode(transaction.getEncodedPayload());
+
+            peerKeys.forEach((peer, keys) -> {
+                if (isShared(payload, ownKeys, keys)) {
+                    action.accept(peer, transaction.getHash());
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads every stored transaction once, and passes the hash of each one
+     * shared with the given node
+     *
+     * @param ownKeys  the public keys of this node
+     * @param peerKeys the public keys of the other node
+     * @param action   called with the hash of each shared transaction
+     */
+    public void forEachShared(final Collection<PublicKey> ownKeys,
+                              final Collection<PublicKey> peerKeys,
+                              final Consumer<MessageHash> action) {
+        this.forEachShared(ownKeys, Collections.singletonMap(peerKeys, peerKeys), (peer, hash) -> action.accept(hash));
+    }
+
+    /**
+     * @param payload  the transaction to check
+     * @param ownKeys  the public keys of this node
+     * @param peerKeys the public keys of the other node
+     * @return whether both nodes should hold the transaction
+     */
+    public static boolean isShared(final EncodedPayload payload,
+                                   final Collection<PublicKey> ownKeys,
+                                   final Collection<PublicKey> peerKeys) {
+        final boolean sentByPeer = peerKeys.contains(payload.getSenderKey());
+        final boolean sentToPeer = ownKeys.contains(payload.getSenderKey())
+            && payload.getRecipientKeys().stream().anyMatch(peerKeys::contains);
+
+        return sentByPeer || sentToPeer;
+    }
+
+}
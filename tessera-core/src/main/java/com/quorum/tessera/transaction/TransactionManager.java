@@ -3,6 +3,9 @@ package com.quorum.tessera.transaction;
 import com.quorum.tessera.api.model.*;
 import com.quorum.tessera.enclave.model.MessageHash;
 
+import java.util.Iterator;
+import java.util.List;
+
 
 public interface TransactionManager {
 
@@ -14,11 +17,29 @@ public interface TransactionManager {
 
     ResendResponse resend(ResendRequest request);
 
+    /**
+     * Gives each payload that would be resent for an ALL or SINCE request,
+     * encoded and ready to be stored by the requester, instead of pushing
+     * each one separately
+     *
+     * The request is checked straight away, but the stored transactions are
+     * only read a page at a time as the payloads are taken.
+     */
+    Iterator<byte[]> streamResend(ResendRequest request);
+
     MessageHash storePayload(byte[] toByteArray);
 
+    /**
+     * Stores a batch of pushed payloads, writing those from other nodes in a
+     * single database transaction
+     */
+    void storePayloads(List<byte[]> encodedPayloads);
+
     ReceiveResponse receive(ReceiveRequest request);
     
     StoreRawResponse store(StoreRawRequest storeRequest);
 
+    ReconcileResponse reconcile(ReconcileRequest request);
+
     
 }
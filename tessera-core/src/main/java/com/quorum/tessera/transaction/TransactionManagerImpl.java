@@ -21,11 +21,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Delegate/Mediator object to normalise calls/interactions between Enclave and
@@ -52,6 +60,10 @@ public class TransactionManagerImpl implements TransactionManager {
 
     private final ResendManager resendManager;
 
+    private final SharedTransactionFinder sharedTransactionFinder;
+
+    private final SharedSummaryCache sharedSummaries;
+
     private final MessageHashFactory messageHashFactory = MessageHashFactory.create();
 
     public TransactionManagerImpl(
@@ -70,6 +82,8 @@ public class TransactionManagerImpl implements TransactionManager {
         this.enclave = Objects.requireNonNull(enclave);
         this.encryptedRawTransactionDAO = Objects.requireNonNull(encryptedRawTransactionDAO);
         this.resendManager = Objects.requireNonNull(resendManager);
+        this.sharedTransactionFinder = new SharedTransactionFinder(encryptedTransactionDAO, payloadEncoder);
+        this.sharedSummaries = new SharedSummaryCache(sharedTransactionFinder);
     }
 
     @Override
@@ -108,15 +122,7 @@ public class TransactionManagerImpl implements TransactionManager {
                 .map(EncodedPayload::getCipherText)
                 .map(messageHashFactory::createFromCipherText).get();
 
-        final EncryptedTransaction newTransaction
-            = new EncryptedTransaction(transactionHash, this.payloadEncoder.encode(payload));
-
-        this.encryptedTransactionDAO.save(newTransaction);
-
-        recipientList.forEach(recipient -> {
-            final EncodedPayload outgoing = payloadEncoder.forRecipient(payload, recipient);
-            payloadPublisher.publishPayload(outgoing, recipient);
-        });
+        this.saveAndPublish(transactionHash, payload, recipientList);
 
         final byte[] key = transactionHash.getHashBytes();
 
@@ -153,15 +159,7 @@ public class TransactionManagerImpl implements TransactionManager {
             = enclave.encryptPayload(encryptedRawTransaction.toRawTransaction(), recipientList);
 
 
-        final EncryptedTransaction newTransaction
-            = new EncryptedTransaction(messageHash, this.payloadEncoder.encode(payload));
-
-        this.encryptedTransactionDAO.save(newTransaction);
-
-        recipientList.forEach(recipient -> {
-            final EncodedPayload toPublish = payloadEncoder.forRecipient(payload, recipient);
-            payloadPublisher.publishPayload(toPublish, recipient);
-        });
+        this.saveAndPublish(messageHash, payload, recipientList);
 
         final byte[] key = messageHash.getHashBytes();
 
@@ -170,44 +168,21 @@ public class TransactionManagerImpl implements TransactionManager {
         return new SendResponse(encodedKey);
     }
 
+    /**
+     * Not run in a single database transaction, so that each page of stored
+     * transactions can be released once it has been resent
+     */
     @Override
-    @Transactional
     public ResendResponse resend(ResendRequest request) {
 
         validateEnclaveStatus();
         
         final byte[] publicKeyData = base64Decoder.decode(request.getPublicKey());
         PublicKey recipientPublicKey = PublicKey.from(publicKeyData);
-        if (request.getType() == ResendRequestType.ALL) {
+        if (request.getType() == ResendRequestType.ALL || request.getType() == ResendRequestType.SINCE) {
 
-            encryptedTransactionDAO
-                .retrieveAllTransactions()
-                .stream()
-                .map(EncryptedTransaction::getEncodedPayload)
-                .map(payloadEncoder::decode)
-                .filter(payload -> {
-                    final boolean isRecipient = payload.getRecipientKeys().contains(recipientPublicKey);
-                    final boolean isSender = Objects.equals(payload.getSenderKey(), recipientPublicKey);
-                    return isRecipient || isSender;
-                }).forEach(payload -> {
-                    if (Objects.equals(payload.getSenderKey(), recipientPublicKey)) {
-                        final PublicKey decryptedKey = searchForRecipientKey(payload).orElseThrow(
-                            () -> {
-                                final MessageHash hash = MessageHashFactory.create()
-                                    .createFromCipherText(payload.getCipherText());
-                                return new KeyNotFoundException("No key found as recipient of message " + hash);
-                            }
-                        );
-                        payload.getRecipientKeys().add(decryptedKey);
-                    }
-
-                    try {
-                        payloadPublisher.publishPayload(payload, recipientPublicKey);
-                    } catch (PublishPayloadException ex) {
-                        LOGGER.warn("Unable to publish payload to recipient {} during resend", recipientPublicKey.encodeToBase64());
-                    }
-
-                });
+            this.payloadsToResend(request, recipientPublicKey)
+                .forEach(payload -> this.resendTo(payload, recipientPublicKey));
 
             return new ResendResponse();
         } else {
@@ -235,6 +210,50 @@ public class TransactionManagerImpl implements TransactionManager {
         }
     }
 
+    @Override
+    public Iterator<byte[]> streamResend(ResendRequest request) {
+
+        validateEnclaveStatus();
+
+        if (request.getType() != ResendRequestType.ALL && request.getType() != ResendRequestType.SINCE) {
+            throw new IllegalArgumentException("Only ALL and SINCE resend requests can be streamed");
+        }
+
+        final PublicKey recipientPublicKey = PublicKey.from(base64Decoder.decode(request.getPublicKey()));
+
+        return this.payloadsToResend(request, recipientPublicKey)
+            .map(payload -> this.prepareForResend(payload, recipientPublicKey))
+            .map(payloadEncoder::encode)
+            .iterator();
+    }
+
+    /**
+     * @return the stored payloads the given key is a party to, limited to
+     * those stored since the requested time for a SINCE request, read a page
+     * at a time as the stream is used
+     */
+    private Stream<EncodedPayload> payloadsToResend(final ResendRequest request, final PublicKey recipientPublicKey) {
+        final Iterator<EncryptedTransaction> transactions;
+        if (request.getType() == ResendRequestType.SINCE && request.getSince() != null) {
+            final long since = request.getSince();
+            transactions = new PagedTransactions(
+                (after, maxResults) -> encryptedTransactionDAO.retrieveTransactionsSince(since, after, maxResults)
+            );
+        } else {
+            transactions = new PagedTransactions(encryptedTransactionDAO::retrieveTransactionsAfter);
+        }
+
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(transactions, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .map(EncryptedTransaction::getEncodedPayload)
+            .map(payloadEncoder::decode)
+            .filter(payload -> {
+                final boolean isRecipient = payload.getRecipientKeys().contains(recipientPublicKey);
+                final boolean isSender = Objects.equals(payload.getSenderKey(), recipientPublicKey);
+                return isRecipient || isSender;
+            });
+    }
+
     @Override
     public MessageHash storePayload(byte[] input) {
 
@@ -248,12 +267,21 @@ public class TransactionManagerImpl implements TransactionManager {
 
         if (enclave.getPublicKeys().contains(payload.getSenderKey())) {
 
+            //merging in recipients can change who the transaction is shared with
+            this.sharedSummaries.invalidate();
             this.resendManager.acceptOwnMessage(input);
 
         } else {
 
             //this is a tx from someone else
-            this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, input));
+            this.sharedSummaries.storing(transactionHash, payload);
+            try {
+                this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, input));
+            } catch (RuntimeException ex) {
+                this.sharedSummaries.notStored(transactionHash);
+                throw ex;
+            }
+            this.sharedSummaries.stored(transactionHash, payload);
             LOGGER.info("Stored payload with hash {}", transactionHash);
 
         }
@@ -261,6 +289,51 @@ public class TransactionManagerImpl implements TransactionManager {
         return transactionHash;
     }
 
+    @Override
+    public void storePayloads(List<byte[]> encodedPayloads) {
+
+        validateEnclaveStatus();
+
+        final Set<PublicKey> ownKeys = enclave.getPublicKeys();
+        final List<EncryptedTransaction> fromOthers = new ArrayList<>(encodedPayloads.size());
+        final Map<MessageHash, EncodedPayload> decoded = new HashMap<>();
+
+        for (final byte[] input : encodedPayloads) {
+            final EncodedPayload payload = payloadEncoder.decode(input);
+
+            if (ownKeys.contains(payload.getSenderKey())) {
+                //each of our own messages is merged separately, so one bad message doesn't lose the batch
+                this.sharedSummaries.invalidate();
+                try {
+                    this.resendManager.acceptOwnMessage(input);
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Unable to accept resent payload: {}", ex.getMessage());
+                }
+            } else {
+                final MessageHash transactionHash = messageHashFactory.createFromCipherText(payload.getCipherText());
+                fromOthers.add(new EncryptedTransaction(transactionHash, input));
+                decoded.put(transactionHash, payload);
+                this.sharedSummaries.storing(transactionHash, payload);
+            }
+        }
+
+        if (!fromOthers.isEmpty()) {
+            final List<EncryptedTransaction> saved;
+            try {
+                saved = this.encryptedTransactionDAO.saveAll(fromOthers);
+            } catch (RuntimeException ex) {
+                decoded.keySet().forEach(sharedSummaries::notStored);
+                throw ex;
+            }
+
+            //any not saved were already held
+            saved.forEach(tx -> this.sharedSummaries.stored(tx.getHash(), decoded.remove(tx.getHash())));
+            decoded.keySet().forEach(sharedSummaries::notStored);
+
+            LOGGER.info("Stored {} payloads from a batch of {}", saved.size(), encodedPayloads.size());
+        }
+    }
+
     @Override
     @Transactional
     public void delete(DeleteRequest request) {
@@ -269,6 +342,7 @@ public class TransactionManagerImpl implements TransactionManager {
 
         LOGGER.info("Received request to delete message with hash {}", messageHash);
         this.encryptedTransactionDAO.delete(messageHash);
+        this.sharedSummaries.invalidate();
 
     }
 
@@ -308,6 +382,127 @@ public class TransactionManagerImpl implements TransactionManager {
 
     }
 
+    /**
+     * Publishes a stored payload back to one of its parties, adding our own
+     * recipient key if the party is the sender so that they can decrypt it
+     */
+    private void resendTo(final EncodedPayload payload, final PublicKey recipientPublicKey) {
+        this.prepareForResend(payload, recipientPublicKey);
+
+        try {
+            payloadPublisher.publishPayload(payload, recipientPublicKey);
+        } catch (PublishPayloadException ex) {
+            LOGGER.warn("Unable to publish payload to recipient {} during resend", recipientPublicKey.encodeToBase64());
+        }
+    }
+
+    private EncodedPayload prepareForResend(final EncodedPayload payload, final PublicKey recipientPublicKey) {
+        if (Objects.equals(payload.getSenderKey(), recipientPublicKey)) {
+            final PublicKey decryptedKey = searchForRecipientKey(payload).orElseThrow(
+                () -> {
+                    final MessageHash hash = MessageHashFactory.create()
+                        .createFromCipherText(payload.getCipherText());
+                    return new KeyNotFoundException("No key found as recipient of message " + hash);
+                }
+            );
+            payload.getRecipientKeys().add(decryptedKey);
+        }
+        return payload;
+    }
+
+    /**
+     * Saves a new transaction of our own and publishes it to each recipient.
+     * A failure rolls back the database transaction, so the cached summaries
+     * are thrown away rather than left counting it.
+     */
+    private void saveAndPublish(final MessageHash hash,
+                                final EncodedPayload payload,
+                                final List<PublicKey> recipientList) {
+        final EncryptedTransaction newTransaction = new EncryptedTransaction(hash, this.payloadEncoder.encode(payload));
+
+        this.sharedSummaries.storing(hash, payload);
+        try {
+            this.encryptedTransactionDAO.save(newTransaction);
+
+            recipientList.forEach(recipient -> {
+                final EncodedPayload outgoing = payloadEncoder.forRecipient(payload, recipient);
+                payloadPublisher.publishPayload(outgoing, recipient);
+            });
+        } catch (RuntimeException ex) {
+            this.sharedSummaries.notStored(hash);
+            this.sharedSummaries.invalidate();
+            throw ex;
+        }
+        this.sharedSummaries.stored(hash, payload);
+    }
+
+    /**
+     * Not run in a single database transaction, so each page of stored
+     * transactions can be released once it has been summarised
+     */
+    @Override
+    public ReconcileResponse reconcile(ReconcileRequest request) {
+
+        validateEnclaveStatus();
+
+        final Set<PublicKey> ownKeys = enclave.getPublicKeys();
+
+        final Set<PublicKey> peerKeys = request.getPublicKeys()
+            .stream()
+            .map(base64Decoder::decode)
+            .map(PublicKey::from)
+            .collect(Collectors.toSet());
+
+        if (!request.getMissing().isEmpty()) {
+            //only hand over transactions the other node was a party to
+            request.getMissing()
+                .stream()
+                .map(base64Decoder::decode)
+                .map(MessageHash::new)
+                .map(encryptedTransactionDAO::retrieveByHash)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .map(EncryptedTransaction::getEncodedPayload)
+                .map(payloadEncoder::decode)
+                .filter(payload -> SharedTransactionFinder.isShared(payload, ownKeys, peerKeys))
+                .forEach(payload -> this.resendTo(payload, peerKeyOf(payload, peerKeys)));
+
+            return new ReconcileResponse();
+        }
+
+        final HashSummary theirs = HashSummary.from(request.getBucketBits(), request.getBuckets());
+
+        final HashSummary ours = sharedSummaries.summaryFor(ownKeys, peerKeys, theirs.getBucketBits());
+
+        final Set<Integer> differingBuckets = ours.differingBuckets(theirs);
+        if (differingBuckets.isEmpty()) {
+            return new ReconcileResponse();
+        }
+
+        //the hashes are only read, rather than held, when there is a difference to report
+        final List<String> hashes = new ArrayList<>();
+        sharedTransactionFinder.forEachShared(ownKeys, peerKeys, hash -> {
+            if (differingBuckets.contains(ours.bucketOf(hash))) {
+                hashes.add(base64Decoder.encodeToString(hash.getHashBytes()));
+            }
+        });
+
+        LOGGER.debug("{} buckets differ, returning {} hashes", differingBuckets.size(), hashes.size());
+
+        return new ReconcileResponse(hashes);
+    }
+
+    /**
+     * @return the sender key if the other node sent the transaction, or else
+     * the first of its keys the transaction was sent to
+     */
+    private static PublicKey peerKeyOf(final EncodedPayload payload, final Set<PublicKey> peerKeys) {
+        if (peerKeys.contains(payload.getSenderKey())) {
+            return payload.getSenderKey();
+        }
+        return payload.getRecipientKeys().stream().filter(peerKeys::contains).findFirst().get();
+    }
+
     private Optional<PublicKey> searchForRecipientKey(final EncodedPayload payload) {
         for (final PublicKey potentialMatchingKey : enclave.getPublicKeys()) {
             try {
@@ -0,0 +1,76 @@
+package com.quorum.tessera.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes and reads a sequence of payloads on a single stream
+ *
+ * Each payload is written as a four byte big-endian length followed by the
+ * payload bytes. The stream ends cleanly when there are no more bytes where
+ * the next length would start.
+ */
+public final class PayloadFraming {
+
+    /**
+     * The largest payload read when no other limit is configured
+     */
+    public static final int DEFAULT_MAX_LENGTH = 64 * 1024 * 1024;
+
+    private PayloadFraming() {
+        throw new UnsupportedOperationException("This object should not be constructed.");
+    }
+
+    /**
+     * @param out     the stream to write to
+     * @param payload the payload to write
+     * @throws IOException if the stream could not be written to
+     */
+    public static void write(final OutputStream out, final byte[] payload) throws IOException {
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(payload.length);
+        dataOut.write(payload);
+    }
+
+    /**
+     * @param in        the stream to read from
+     * @param maxLength the largest payload to accept, so that a bad length
+     *                  does not cause a large allocation
+     * @return the next payload, or null if the stream has ended
+     * @throws IOException if the stream ends part way through a payload,
+     *                     gives a length over the limit or could not be read
+     */
+    public static byte[] read(final InputStream in, final int maxLength) throws IOException {
+        final int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+
+        final DataInputStream dataIn = new DataInputStream(in);
+        int length = first;
+        for (int i = 0; i < 3; i++) {
+            length = (length << 8) | dataIn.readUnsignedByte();
+        }
+
+        if (length < 0) {
+            throw new IOException("Invalid payload length " + length);
+        }
+
+        if (length > maxLength) {
+            throw new IOException("Payload length " + length + " is over the limit of " + maxLength + " bytes");
+        }
+
+        final byte[] payload = new byte[length];
+        try {
+            dataIn.readFully(payload);
+        } catch (final EOFException ex) {
+            throw new EOFException("Stream ended part way through a payload of " + length + " bytes");
+        }
+        return payload;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.quorum.tessera.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+    private CircuitBreaker breaker;
+
+    @Before
+    public void onSetUp() {
+        this.breaker = new CircuitBreaker(3, 1000L, 4000L);
+    }
+
+    @Test
+    public void closedBreakerAllowsCalls() {
+        assertThat(breaker.tryAcquire(0L)).isTrue();
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(breaker.getState()).isEqualTo("CLOSED");
+        assertThat(breaker.getStateCode()).isZero();
+    }
+
+    @Test
+    public void opensAfterThresholdIsReached() {
+        breaker.recordFailure(0L);
+        breaker.recordFailure(0L);
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+
+        breaker.recordFailure(0L);
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.getStateCode()).isEqualTo(2);
+        assertThat(breaker.getRetryAt()).isBetween(500L, 1000L);
+        assertThat(breaker.getTimesOpened()).isEqualTo(1L);
+
+        assertThat(breaker.tryAcquire(499L)).isFalse();
+        assertThat(breaker.getRejectedCalls()).isEqualTo(1L);
+    }
+
+    @Test
+    public void successResetsFailureCount() {
+        breaker.recordFailure(0L);
+        breaker.recordFailure(0L);
+        breaker.recordSuccess();
+        breaker.recordFailure(0L);
+
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void onlyOneTrialCallIsAllowedWhenHalfOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure(0L);
+        }
+
+        assertThat(breaker.tryAcquire(1000L)).isTrue();
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(breaker.getStateCode()).isEqualTo(1);
+
+        assertThat(breaker.tryAcquire(1000L)).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(breaker.tryAcquire(1000L)).isTrue();
+    }
+
+    @Test
+    public void trialThatDoesNotFinishIsReplacedAfterBackoff() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure(0L);
+        }
+
+        assertThat(breaker.tryAcquire(1000L)).isTrue();
+        assertThat(breaker.getRetryAt()).isEqualTo(2000L);
+
+        assertThat(breaker.tryAcquire(1999L)).isFalse();
+        assertThat(breaker.tryAcquire(2000L)).isTrue();
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(breaker.tryAcquire(2000L)).isFalse();
+    }
+
+    @Test
+    public void failedTrialReopensWithLongerBackoff() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure(0L);
+        }
+
+        assertThat(breaker.tryAcquire(1000L)).isTrue();
+        breaker.recordFailure(1000L);
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.getRetryAt()).isBetween(2000L, 3000L);
+
+        assertThat(breaker.tryAcquire(3000L)).isTrue();
+        breaker.recordFailure(3000L);
+        assertThat(breaker.getRetryAt()).isBetween(5000L, 7000L);
+
+        assertThat(breaker.tryAcquire(7000L)).isTrue();
+        breaker.recordFailure(7000L);
+        assertThat(breaker.getRetryAt()).isBetween(9000L, 11000L);
+        assertThat(breaker.getTimesOpened()).isEqualTo(4L);
+    }
+
+}
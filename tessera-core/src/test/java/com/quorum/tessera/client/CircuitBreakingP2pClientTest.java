@@ -0,0 +1,153 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
+import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.config.CircuitBreakerConfig;
+import com.quorum.tessera.config.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Hashtable;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class CircuitBreakingP2pClientTest {
+
+    private static final String URL = "http://other.com:8080/";
+
+    private static final byte[] DATA = "data".getBytes();
+
+    private P2pClient delegate;
+
+    private MBeanServer mBeanServer;
+
+    private CircuitBreakerRegistry registry;
+
+    private CircuitBreakingP2pClient client;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(P2pClient.class);
+        this.mBeanServer = MBeanServerFactory.newMBeanServer();
+        this.registry = new CircuitBreakerRegistry(2, 60000L, 60000L, mBeanServer);
+        this.client = new CircuitBreakingP2pClient(delegate, registry);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void successfulCallsArePassedThrough() {
+        final ResendRequest request = new ResendRequest();
+        final ReconcileRequest reconcileRequest = new ReconcileRequest();
+        final ReconcileResponse reconcileResponse = new ReconcileResponse();
+        doReturn(DATA).when(delegate).push(URL, DATA);
+        doReturn(DATA).when(delegate).getPartyInfo(URL, DATA);
+        doReturn(true).when(delegate).makeResendRequest(URL, request);
+        doReturn(reconcileResponse).when(delegate).reconcile(URL, reconcileRequest);
+        final Consumer<byte[]> consumer = bytes -> {};
+        doReturn(true).when(delegate).streamResend(URL, request, consumer);
+
+        assertThat(client.push(URL, DATA)).isSameAs(DATA);
+        assertThat(client.getPartyInfo(URL, DATA)).isSameAs(DATA);
+        assertThat(client.makeResendRequest(URL, request)).isTrue();
+        assertThat(client.reconcile(URL, reconcileRequest)).isSameAs(reconcileResponse);
+        assertThat(client.streamResend(URL, request, consumer)).isTrue();
+
+        verify(delegate).push(URL, DATA);
+        verify(delegate).getPartyInfo(URL, DATA);
+        verify(delegate).makeResendRequest(URL, request);
+        verify(delegate).reconcile(URL, reconcileRequest);
+        verify(delegate).streamResend(URL, request, consumer);
+        assertThat(registry.getStates()).containsEntry(URL, CircuitState.CLOSED);
+    }
+
+    @Test
+    public void rejectedRequestsDoNotOpenTheCircuit() {
+        doReturn(null).when(delegate).getPartyInfo(URL, DATA);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.getPartyInfo(URL, DATA)).isNull();
+        }
+
+        verify(delegate, times(3)).getPartyInfo(URL, DATA);
+        assertThat(registry.getState(URL)).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void failingNodeIsNotCalledOnceCircuitIsOpen() {
+        final RuntimeException connectionRefused = new RuntimeException("Connection refused");
+        doThrow(connectionRefused).when(delegate).push(URL, DATA);
+
+        assertThat(catchThrowable(() -> client.push(URL, DATA))).isSameAs(connectionRefused);
+        assertThat(catchThrowable(() -> client.push(URL, DATA))).isSameAs(connectionRefused);
+
+        final Throwable throwable = catchThrowable(() -> client.push(URL, DATA));
+
+        assertThat(throwable)
+            .isInstanceOf(CircuitOpenException.class)
+            .hasMessage("Circuit open for " + URL);
+
+        verify(delegate, times(2)).push(URL, DATA);
+        assertThat(registry.getState(URL)).isEqualTo(CircuitState.OPEN);
+        assertThat(registry.getState("http://unknown.com/")).isEqualTo(CircuitState.CLOSED);
+        assertThat(registry.forUrl(URL).getRejectedCalls()).isEqualTo(1L);
+    }
+
+    @Test
+    public void breakerIsRegisteredAsMBean() throws Exception {
+        doReturn(DATA).when(delegate).push(URL, DATA);
+
+        client.push(URL, DATA);
+
+        final Hashtable<String, String> properties = new Hashtable<>();
+        properties.put("type", CircuitBreakerRegistry.TYPE);
+        properties.put("url", ObjectName.quote(URL));
+        final ObjectName objectName = new ObjectName(CircuitBreakerRegistry.DOMAIN, properties);
+
+        assertThat(mBeanServer.isRegistered(objectName)).isTrue();
+        assertThat(mBeanServer.getAttribute(objectName, "StateCode")).isEqualTo(0);
+
+        verify(delegate).push(URL, DATA);
+    }
+
+    @Test
+    public void registryUsesDefaultsWhenNotConfigured() {
+        final CircuitBreakerRegistry defaults = CircuitBreakerRegistry.from(new Config());
+        final CircuitBreaker breaker = defaults.forUrl("http://defaults.com/");
+
+        for (int i = 1; i < CircuitBreakerRegistry.DEFAULT_FAILURE_THRESHOLD; i++) {
+            breaker.recordFailure(0L);
+        }
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.CLOSED);
+
+        breaker.recordFailure(0L);
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.getRetryAt()).isBetween(
+            CircuitBreakerRegistry.DEFAULT_INITIAL_BACKOFF_MILLIS / 2, CircuitBreakerRegistry.DEFAULT_INITIAL_BACKOFF_MILLIS
+        );
+    }
+
+    @Test
+    public void registryUsesConfiguredValues() {
+        final Config config = new Config();
+        config.setCircuitBreakerConfig(new CircuitBreakerConfig(1, 10L, 10L));
+
+        final CircuitBreaker breaker = CircuitBreakerRegistry.from(config).forUrl("http://configured.com/");
+        breaker.recordFailure(0L);
+
+        assertThat(breaker.getCircuitState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.getRetryAt()).isBetween(5L, 10L);
+    }
+
+}
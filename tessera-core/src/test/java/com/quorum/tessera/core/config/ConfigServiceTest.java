@@ -13,6 +13,7 @@ import org.junit.Test;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -65,6 +66,15 @@ public class ConfigServiceTest {
         verify(config).getPeers();
     }
 
+    @Test
+    public void getWhiteListRanges() {
+        when(config.getWhiteListRanges()).thenReturn(singletonList("10.0.0.0/8"));
+
+        assertThat(configService.getWhiteListRanges()).containsExactly("10.0.0.0/8");
+
+        verify(config).getWhiteListRanges();
+    }
+
     @Test
     public void isDisablePeerDiscovery() {
         when(config.isDisablePeerDiscovery()).thenReturn(false);
@@ -3,14 +3,21 @@ package com.quorum.tessera.node;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Set;
+import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 public class PartyInfoParserTest {
 
@@ -164,6 +171,91 @@ public class PartyInfoParserTest {
 
     }
 
+    @Test
+    public void deltaRoundTrips() {
+
+        final PartyInfo partyInfo = partyInfoParser.from(dataOne);
+        final PartyInfoDelta delta = new PartyInfoDelta(partyInfo, 1L, 2L, 3L, 4L);
+
+        final byte[] encoded = partyInfoParser.toDelta(delta);
+
+        assertThat(partyInfoParser.isDelta(encoded)).isTrue();
+
+        final PartyInfoDelta result = partyInfoParser.fromDelta(encoded);
+
+        assertThat(result.getGeneration()).isEqualTo(1L);
+        assertThat(result.getVersion()).isEqualTo(2L);
+        assertThat(result.getPeerGeneration()).isEqualTo(3L);
+        assertThat(result.getPeerVersion()).isEqualTo(4L);
+        assertThat(result.getPartyInfo().getUrl()).isEqualTo(partyInfo.getUrl());
+        assertThat(result.getPartyInfo().getRecipients()).isEqualTo(partyInfo.getRecipients());
+        assertThat(result.getPartyInfo().getParties()).isEqualTo(partyInfo.getParties());
+    }
+
+    @Test
+    public void fullPartyInfoIsNotDelta() {
+        assertThat(partyInfoParser.isDelta(dataOne)).isFalse();
+        assertThat(partyInfoParser.isDelta(new byte[0])).isFalse();
+
+        final Throwable throwable = catchThrowable(() -> partyInfoParser.fromDelta(dataOne));
+
+        assertThat(throwable).isInstanceOf(PartyInfoParserException.class);
+    }
+
+    @Test
+    public void deltaIsRejectedByFullPartyInfoDecoder() {
+        final PartyInfo partyInfo = partyInfoParser.from(dataOne);
+        final byte[] encoded = partyInfoParser.toDelta(new PartyInfoDelta(partyInfo, 1L, 2L, 3L, 4L));
+
+        final Throwable throwable = catchThrowable(() -> partyInfoParser.from(encoded));
+
+        assertThat(throwable).isInstanceOf(PartyInfoParserException.class);
+    }
+
+    @Test
+    public void manyRecipientsRoundTrip() {
+
+        final Set<Recipient> recipients = IntStream.range(0, 1000)
+            .mapToObj(i -> new Recipient(PublicKey.from(ByteBuffer.allocate(32).putInt(i).array()), "http://node" + i + ".com/"))
+            .collect(toSet());
+        final Set<Party> parties = IntStream.range(0, 100)
+            .mapToObj(i -> new Party("http://node" + i + ".com/"))
+            .collect(toSet());
+        final PartyInfo partyInfo = new PartyInfo("http://localhost:8000/", recipients, parties);
+
+        final byte[] encoded = partyInfoParser.to(partyInfo);
+
+        final int expectedLength = Long.BYTES + partyInfo.getUrl().length()
+            + Long.BYTES + recipients.stream().mapToInt(r -> 2 * Long.BYTES + 32 + r.getUrl().length()).sum()
+            + Long.BYTES + parties.stream().mapToInt(p -> Long.BYTES + p.getUrl().length()).sum();
+        assertThat(encoded).hasSize(expectedLength);
+
+        final PartyInfo result = partyInfoParser.from(encoded);
+
+        assertThat(result.getUrl()).isEqualTo(partyInfo.getUrl());
+        assertThat(result.getRecipients()).isEqualTo(recipients);
+        assertThat(result.getParties()).isEqualTo(parties);
+    }
+
+    @Test
+    public void decodingReusesKeysAlreadySeen() {
+
+        final PublicKey first = partyInfoParser.from(dataOne).getRecipients().iterator().next().getKey();
+        final PublicKey second = partyInfoParser.from(dataOne).getRecipients().iterator().next().getKey();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void truncatedDataIsRejected() {
+
+        final byte[] truncated = Arrays.copyOf(dataOne, 40);
+
+        final Throwable throwable = catchThrowable(() -> partyInfoParser.from(truncated));
+
+        assertThat(throwable).isInstanceOf(BufferUnderflowException.class);
+    }
+
     @Test
     public void checkLengthZero() {
         PartyInfoParser.checkLength(0);
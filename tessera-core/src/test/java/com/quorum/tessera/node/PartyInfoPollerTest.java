@@ -1,158 +1,419 @@
 package com.quorum.tessera.node;
 
+import com.quorum.tessera.client.CircuitOpenException;
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.config.Peer;
+import com.quorum.tessera.core.config.ConfigService;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import com.quorum.tessera.node.model.Recipient;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 
 import java.net.ConnectException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class PartyInfoPollerTest {
 
-    private static final String OWN_URL = "http://own.com:8080";
+    private static final String OWN_URL = "http://own.com:8080/";
 
-    private static final String TARGET_URL = "http://bogus.com:9878";
+    private static final String TARGET_URL = "http://bogus.com:9878/";
 
-    private static final byte[] RESPONSE = "BOGUS".getBytes();
+    private static final long GENERATION = 1234L;
 
-    private PartyInfoService partyInfoService;
+    private static final long PEER_GENERATION = 5678L;
+
+    private static final Recipient OWN_KEY = new Recipient(PublicKey.from("own-key".getBytes()), OWN_URL);
 
-    private PartyInfoParser partyInfoParser;
+    private final PartyInfoParser partyInfoParser = PartyInfoParser.create();
+
+    private PartyInfoService partyInfoService;
 
     private PartyInfoPoller partyInfoPoller;
 
     private P2pClient p2pClient;
 
+    private ExecutorService executor;
+
+    private PartyInfo partyInfo;
+
     @Before
     public void setUp() {
         this.partyInfoService = mock(PartyInfoService.class);
-        this.partyInfoParser = mock(PartyInfoParser.class);
         this.p2pClient = mock(P2pClient.class);
-        this.partyInfoPoller = new PartyInfoPoller(partyInfoService, partyInfoParser, p2pClient);
+        this.executor = Executors.newFixedThreadPool(2);
+        this.partyInfoPoller = new PartyInfoPoller(partyInfoService, partyInfoParser, p2pClient, executor, 500L);
+
+        this.partyInfo = new PartyInfo(OWN_URL, singleton(OWN_KEY), singleton(new Party(TARGET_URL)));
+        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
+        doAnswer(invocation -> ourChangesSince(invocation.getArgument(0)))
+            .when(partyInfoService).getPartyInfoSince(anyLong());
     }
 
     @After
     public void tearDown() {
-        verifyNoMoreInteractions(partyInfoService, partyInfoParser, p2pClient);
+        executor.shutdownNow();
+        verifyNoMoreInteractions(partyInfoService, p2pClient);
     }
 
     @Test
-    public void run() {
+    public void deltaIsSentAndResponseMerged() {
 
-        doReturn(RESPONSE).when(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        final PartyInfo peerInfo = new PartyInfo(TARGET_URL, emptySet(), singleton(new Party("http://new.com/")));
+        doReturn(peerDelta(peerInfo, 3L)).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
-        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
-        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
+        partyInfoPoller.run();
 
-        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+        verify(partyInfoService).getPartyInfo();
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(partyInfoService).updatePartyInfo(argThat((PartyInfo p) -> p.getUrl().equals(TARGET_URL)
+            && p.getParties().equals(peerInfo.getParties())));
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), argThat(sentDelta(0L, 0L, 0L)));
+    }
+
+    @Test
+    public void laterRoundsOnlyAskForUnseenChanges() {
 
-        final PartyInfo updatedPartyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
-        doReturn(updatedPartyInfo).when(partyInfoParser).from(RESPONSE);
+        final PartyInfo peerInfo = new PartyInfo(TARGET_URL, emptySet(), emptySet());
+        doReturn(peerDelta(peerInfo, 3L)).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
+        partyInfoPoller.run();
         partyInfoPoller.run();
 
-        verify(partyInfoService).getPartyInfo();
-        verify(partyInfoService).updatePartyInfo(updatedPartyInfo);
+        verify(partyInfoService, times(2)).getPartyInfo();
+        verify(partyInfoService, times(2)).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(partyInfoService).getPartyInfoSince(7L);
+        verify(partyInfoService, times(2)).updatePartyInfo(any(PartyInfo.class));
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), argThat(sentDelta(0L, 0L, 0L)));
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), argThat(sentDelta(7L, PEER_GENERATION, 3L)));
+    }
 
-        verify(partyInfoParser).from(RESPONSE);
-        verify(partyInfoParser).to(partyInfo);
+    @Test
+    public void peerRestartCausesEverythingToBeSentAgain() {
+
+        final PartyInfo peerInfo = new PartyInfo(TARGET_URL, emptySet(), emptySet());
+        doReturn(peerDelta(peerInfo, 3L))
+            .doReturn(partyInfoParser.toDelta(new PartyInfoDelta(peerInfo, PEER_GENERATION + 1, 1L, 0L, 0L)))
+            .when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+
+        partyInfoPoller.run();
+        partyInfoPoller.run();
+        partyInfoPoller.run();
 
-        verify(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        verify(partyInfoService, times(3)).getPartyInfo();
+        verify(partyInfoService, times(3)).getPartyInfoRevision();
+        verify(partyInfoService, times(2)).getPartyInfoSince(0L);
+        verify(partyInfoService).getPartyInfoSince(7L);
+        verify(partyInfoService, times(3)).updatePartyInfo(any(PartyInfo.class));
+        verify(p2pClient, times(3)).getPartyInfo(eq(TARGET_URL), any(byte[].class));
     }
 
     @Test
-    public void testWhenURLIsOwn() {
+    public void peerThatCannotReadDeltasIsSentFullPartyInfo() {
 
-        doReturn(RESPONSE).when(p2pClient).getPartyInfo(OWN_URL, RESPONSE);
+        final PartyInfo peerInfo = new PartyInfo(TARGET_URL, emptySet(), emptySet());
+        final byte[] fullRequest = partyInfoParser.to(partyInfo);
 
-        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(OWN_URL)));
-        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
-        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+        doReturn(null).when(p2pClient).getPartyInfo(eq(TARGET_URL), argThat(partyInfoParser::isDelta));
+        doReturn(partyInfoParser.to(peerInfo)).when(p2pClient).getPartyInfo(TARGET_URL, fullRequest);
 
-        final PartyInfo updatedPartyInfo = mock(PartyInfo.class);
-        doReturn(updatedPartyInfo).when(partyInfoParser).from(RESPONSE);
+        partyInfoPoller.run();
+        partyInfoPoller.run();
+
+        verify(partyInfoService, times(2)).getPartyInfo();
+        verify(partyInfoService, times(2)).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(partyInfoService, times(2)).updatePartyInfo(any(PartyInfo.class));
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), argThat(partyInfoParser::isDelta));
+        verify(p2pClient, times(2)).getPartyInfo(TARGET_URL, fullRequest);
+    }
+
+    @Test
+    public void fullPartyInfoIsOnlyEncodedAgainWhenItChanges() {
+
+        doReturn(null).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        doReturn(1L).when(partyInfoService).getPartyInfoRevision();
 
+        partyInfoPoller.run();
         partyInfoPoller.run();
 
-        verify(partyInfoParser).to(partyInfo);
-        verify(partyInfoService).getPartyInfo();
+        final PartyInfo changed = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
+        doReturn(changed).when(partyInfoService).getPartyInfo();
+        doReturn(2L).when(partyInfoService).getPartyInfoRevision();
+
+        partyInfoPoller.run();
+
+        final ArgumentCaptor<byte[]> requests = ArgumentCaptor.forClass(byte[].class);
+        verify(p2pClient, times(4)).getPartyInfo(eq(TARGET_URL), requests.capture());
+
+        final List<byte[]> fullRequests = requests.getAllValues()
+            .stream()
+            .filter(request -> !partyInfoParser.isDelta(request))
+            .collect(toList());
+
+        assertThat(fullRequests).hasSize(3);
+        assertThat(fullRequests.get(1)).isSameAs(fullRequests.get(0));
+        assertThat(fullRequests.get(2)).isNotSameAs(fullRequests.get(0)).isEqualTo(partyInfoParser.to(changed));
+
+        verify(partyInfoService, times(3)).getPartyInfo();
+        verify(partyInfoService, times(3)).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
     }
 
     @Test
-    public void testWhenPostFails() {
+    public void encodingIsReusedWhenOnlyLastContactChanges() throws Exception {
 
-        doReturn(null).when(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        final ConfigService configService = mock(ConfigService.class);
+        doReturn(new URI("http://own.com:8080")).when(configService).getServerUri();
+        doReturn(singletonList(new Peer(TARGET_URL))).when(configService).getPeers();
+        final Enclave enclave = mock(Enclave.class);
+        doReturn(singleton(OWN_KEY.getKey())).when(enclave).getPublicKeys();
 
-        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
+        final PartyInfoStore store = new PartyInfoStore(configService);
+        final PartyInfoService service = new PartyInfoServiceImpl(store, configService, enclave);
+        final PartyInfoPoller poller = new PartyInfoPoller(service, partyInfoParser, p2pClient, executor, 500L);
 
-        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
-        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+        doReturn(null).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
-        final PartyInfo updatedPartyInfo = mock(PartyInfo.class);
-        doReturn(updatedPartyInfo).when(partyInfoParser).from(RESPONSE);
+        poller.run();
+        store.store(new PartyInfo(TARGET_URL, emptySet(), emptySet()));
+        poller.run();
+
+        final ArgumentCaptor<byte[]> requests = ArgumentCaptor.forClass(byte[].class);
+        verify(p2pClient, times(3)).getPartyInfo(eq(TARGET_URL), requests.capture());
+
+        final List<byte[]> fullRequests = requests.getAllValues()
+            .stream()
+            .filter(request -> !partyInfoParser.isDelta(request))
+            .collect(toList());
+
+        assertThat(fullRequests).hasSize(2);
+        assertThat(fullRequests.get(1)).isSameAs(fullRequests.get(0));
+    }
+
+    @Test
+    public void testWhenURLIsOwn() {
+
+        doReturn(new PartyInfo(OWN_URL, emptySet(), singleton(new Party(OWN_URL))))
+            .when(partyInfoService).getPartyInfo();
 
         partyInfoPoller.run();
 
-        verify(partyInfoParser, never()).from(RESPONSE);
-        verify(partyInfoParser).to(partyInfo);
         verify(partyInfoService).getPartyInfo();
-        verify(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        verify(partyInfoService).getPartyInfoRevision();
     }
 
     @Test
-    public void runThrowsException() {
+    public void testWhenPostFails() {
 
-        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
+        doReturn(null).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
-        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
-        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+        partyInfoPoller.run();
 
-        PartyInfo updatedPartyInfo = mock(PartyInfo.class);
-        doReturn(updatedPartyInfo).when(partyInfoParser).from(RESPONSE);
+        assertThat(partyInfoPoller.getLastRoundSummary().getFailed()).containsExactly(TARGET_URL);
 
-        doThrow(UnsupportedOperationException.class).when(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        verify(partyInfoService).getPartyInfo();
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(p2pClient, times(2)).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+    }
+
+    @Test
+    public void runThrowsException() {
+
+        doThrow(UnsupportedOperationException.class).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
         final Throwable throwable = catchThrowable(partyInfoPoller::run);
         assertThat(throwable).isInstanceOf(UnsupportedOperationException.class);
 
-        verify(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
-
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
         verify(partyInfoService).getPartyInfo();
-        verify(partyInfoService, never()).updatePartyInfo(updatedPartyInfo);
-        verify(partyInfoParser, never()).from(RESPONSE);
-        verify(partyInfoParser).to(partyInfo);
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
     }
 
     @Test
     public void runThrowsConnectionExceptionAndDoesNotThrow() {
 
-        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
+        final RuntimeException connectionException = new RuntimeException(new ConnectException("OUCH"));
+        doThrow(connectionException).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+
+        partyInfoPoller.run();
 
-        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
-        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+        assertThat(partyInfoPoller.getLastRoundSummary().getFailed()).containsExactly(TARGET_URL);
 
-        final PartyInfo updatedPartyInfo = mock(PartyInfo.class);
-        doReturn(updatedPartyInfo).when(partyInfoParser).from(RESPONSE);
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        verify(partyInfoService).getPartyInfo();
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+    }
 
-        final RuntimeException connectionException = new RuntimeException(new ConnectException("OUCH"));
-        doThrow(connectionException).when(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+    @Test
+    public void openCircuitIsTreatedAsFailureAndDoesNotThrow() {
+
+        doThrow(new CircuitOpenException("Circuit open for " + TARGET_URL))
+            .when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
 
         partyInfoPoller.run();
 
-        verify(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+        assertThat(partyInfoPoller.getLastRoundSummary().getFailed()).containsExactly(TARGET_URL);
 
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
         verify(partyInfoService).getPartyInfo();
-        verify(partyInfoService, never()).updatePartyInfo(updatedPartyInfo);
-        verify(partyInfoParser, never()).from(RESPONSE);
-        verify(partyInfoParser).to(partyInfo);
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+    }
+
+    @Test
+    public void allPartiesArePolledAndMerged() {
+
+        final String otherUrl = "http://other.com:9878/";
+
+        doReturn(new PartyInfo(OWN_URL, emptySet(), new HashSet<>(Arrays.asList(new Party(TARGET_URL), new Party(otherUrl)))))
+            .when(partyInfoService).getPartyInfo();
+
+        doReturn(peerDelta(new PartyInfo(TARGET_URL, emptySet(), emptySet()), 1L))
+            .when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        doReturn(peerDelta(new PartyInfo(otherUrl, emptySet(), emptySet()), 1L))
+            .when(p2pClient).getPartyInfo(eq(otherUrl), any(byte[].class));
+
+        partyInfoPoller.run();
+
+        final PollRoundSummary summary = partyInfoPoller.getLastRoundSummary();
+        assertThat(summary.getLatencies()).containsOnlyKeys(TARGET_URL, otherUrl);
+        assertThat(summary.getFailed()).isEmpty();
+        assertThat(summary.getTimedOut()).isEmpty();
+        assertThat(summary.slowest(1)).hasSize(1);
+
+        verify(partyInfoService).getPartyInfo();
+        verify(partyInfoService).getPartyInfoRevision();
+        verify(partyInfoService, times(2)).getPartyInfoSince(0L);
+        verify(partyInfoService).updatePartyInfo(argThat((PartyInfo p) -> p.getUrl().equals(TARGET_URL)));
+        verify(partyInfoService).updatePartyInfo(argThat((PartyInfo p) -> p.getUrl().equals(otherUrl)));
+        verify(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        verify(p2pClient).getPartyInfo(eq(otherUrl), any(byte[].class));
+    }
+
+    @Test
+    public void slowPartyIsAbandonedAtDeadlineAndSkippedWhileOutstanding() throws InterruptedException {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            try {
+                release.await();
+            } catch (final InterruptedException ex) {
+                //ignore interrupts, like a blocking socket read
+                release.await();
+            }
+            finished.countDown();
+            return null;
+        }).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+
+        partyInfoPoller.run();
+
+        assertThat(partyInfoPoller.getLastRoundSummary().getTimedOut()).containsExactly(TARGET_URL);
+        assertThat(partyInfoPoller.getLastRoundSummary().getLatencies()).isEmpty();
+
+        partyInfoPoller.run();
+
+        assertThat(partyInfoPoller.getLastRoundSummary().getSkipped()).containsExactly(TARGET_URL);
+        assertThat(partyInfoPoller.getLastRoundSummary().getTimedOut()).isEmpty();
+
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        verify(partyInfoService, times(2)).getPartyInfo();
+        verify(partyInfoService, times(2)).getPartyInfoRevision();
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(p2pClient, atLeastOnce()).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+    }
+
+    @Test
+    public void failingPartyIsBackedOffAndStablePartyDeferred() {
+
+        final PartyPollSchedule schedule = new PartyPollSchedule(60000L, 120000L, 600000L);
+        final PartyInfoPoller scheduledPoller
+            = new PartyInfoPoller(partyInfoService, partyInfoParser, p2pClient, executor, 500L, schedule);
+
+        final String stableUrl = "http://stable.com:9878/";
+        doReturn(new PartyInfo(OWN_URL, emptySet(), new HashSet<>(Arrays.asList(new Party(TARGET_URL), new Party(stableUrl)))))
+            .when(partyInfoService).getPartyInfo();
+
+        doReturn(null).when(p2pClient).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        doReturn(peerDelta(new PartyInfo(stableUrl, emptySet(), emptySet()), 1L))
+            .when(p2pClient).getPartyInfo(eq(stableUrl), any(byte[].class));
+
+        scheduledPoller.run();
+
+        assertThat(scheduledPoller.getLastRoundSummary().getFailed()).containsExactly(TARGET_URL);
+        assertThat(scheduledPoller.getLastRoundSummary().getHealthScores()).containsOnlyKeys(TARGET_URL, stableUrl);
+        assertThat(schedule.getConsecutiveFailures(TARGET_URL)).isEqualTo(1);
+
+        scheduledPoller.run();
+
+        assertThat(scheduledPoller.getLastRoundSummary().getDeferred()).containsExactlyInAnyOrder(TARGET_URL, stableUrl);
+        assertThat(scheduledPoller.getLastRoundSummary().getLatencies()).isEmpty();
+
+        verify(partyInfoService, times(2)).getPartyInfo();
+        verify(partyInfoService, times(2)).getPartyInfoRevision();
+        verify(partyInfoService, times(2)).getPartyInfoSince(0L);
+        verify(partyInfoService).updatePartyInfo(any(PartyInfo.class));
+        verify(p2pClient, times(2)).getPartyInfo(eq(TARGET_URL), any(byte[].class));
+        verify(p2pClient).getPartyInfo(eq(stableUrl), any(byte[].class));
+    }
+
+    private PartyInfoDelta ourChangesSince(final long sinceVersion) {
+        final PartyInfo changes = (sinceVersion < 7L) ? partyInfo : new PartyInfo(OWN_URL, emptySet(), emptySet());
+        return new PartyInfoDelta(changes, GENERATION, 7L, 0L, 0L);
+    }
+
+    private byte[] peerDelta(final PartyInfo peerInfo, final long peerVersion) {
+        return partyInfoParser.toDelta(new PartyInfoDelta(peerInfo, PEER_GENERATION, peerVersion, GENERATION, 7L));
+    }
+
+    private ArgumentMatcher<byte[]> sentDelta(final long sinceVersion,
+                                                          final long peerGeneration,
+                                                          final long peerVersion) {
+        return data -> {
+            if (!partyInfoParser.isDelta(data)) {
+                return false;
+            }
+            final PartyInfoDelta delta = partyInfoParser.fromDelta(data);
+            final int recipientCount = (sinceVersion < 7L) ? 1 : 0;
+            return delta.getGeneration() == GENERATION
+                && delta.getVersion() == 7L
+                && delta.getPeerGeneration() == peerGeneration
+                && delta.getPeerVersion() == peerVersion
+                && delta.getPartyInfo().getRecipients().size() == recipientCount;
+        };
     }
 
 }
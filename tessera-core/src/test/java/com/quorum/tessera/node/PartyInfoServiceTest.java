@@ -7,6 +7,7 @@ import com.quorum.tessera.encryption.KeyNotFoundException;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import org.junit.After;
 import org.junit.Before;
@@ -18,6 +19,7 @@ import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -99,29 +101,39 @@ public class PartyInfoServiceTest {
             );
     }
 
+    @Test
+    public void revisionIsTakenFromStore() {
+
+        doReturn(7L).when(partyInfoStore).getRevision();
+
+        assertThat(partyInfoService.getPartyInfoRevision()).isEqualTo(7L);
+
+        verify(partyInfoStore).getRevision();
+    }
+
     @Test
     public void getRecipientURLFromPartyInfoStore() {
 
-        final Recipient recipient = new Recipient(PublicKey.from("key".getBytes()), "someurl");
-        final PartyInfo partyInfo = new PartyInfo(URI, singleton(recipient), emptySet());
-        doReturn(partyInfo).when(partyInfoStore).getPartyInfo();
+        final PublicKey key = PublicKey.from("key".getBytes());
+        final Recipient recipient = new Recipient(key, "someurl");
+        doReturn(Optional.of(recipient)).when(partyInfoStore).findRecipientByPublicKey(key);
 
-        final String result = partyInfoService.getURLFromRecipientKey(PublicKey.from("key".getBytes()));
+        final String result = partyInfoService.getURLFromRecipientKey(key);
         assertThat(result).isEqualTo("someurl");
 
-        verify(partyInfoStore).getPartyInfo();
+        verify(partyInfoStore).findRecipientByPublicKey(key);
     }
 
     @Test
     public void getRecipientURLFromPartyInfoStoreFailsIfKeyDoesntExist() {
 
-        doReturn(new PartyInfo("", emptySet(), emptySet())).when(partyInfoStore).getPartyInfo();
-
         final PublicKey failingKey = PublicKey.from("otherKey".getBytes());
+        doReturn(Optional.empty()).when(partyInfoStore).findRecipientByPublicKey(failingKey);
+
         final Throwable throwable = catchThrowable(() -> partyInfoService.getURLFromRecipientKey(failingKey));
         assertThat(throwable).isInstanceOf(KeyNotFoundException.class).hasMessage("Recipient not found for key: "+ failingKey.encodeToBase64());
 
-        verify(partyInfoStore).getPartyInfo();
+        verify(partyInfoStore).findRecipientByPublicKey(failingKey);
     }
 
     @Test
@@ -228,4 +240,111 @@ public class PartyInfoServiceTest {
 
     }
 
+    @Test
+    public void getPartyInfoSinceDelegatesToStore() {
+
+        final PartyInfoDelta changes = mock(PartyInfoDelta.class);
+        when(partyInfoStore.getChangesSince(5L)).thenReturn(changes);
+
+        assertThat(partyInfoService.getPartyInfoSince(5L)).isSameAs(changes);
+
+        verify(partyInfoStore).getChangesSince(5L);
+    }
+
+    @Test
+    public void deltaFromSenderThatKnowsOurGenerationGetsChangesSinceItsVersion() {
+
+        final PartyInfo incomingPartyInfo = new PartyInfo("http://other-node.com:8080/", emptySet(), emptySet());
+        final PartyInfoDelta incoming = new PartyInfoDelta(incomingPartyInfo, 99L, 4L, 11L, 7L);
+
+        final PartyInfo changedPartyInfo = new PartyInfo(URI + "/", emptySet(), emptySet());
+        when(configService.isDisablePeerDiscovery()).thenReturn(false);
+        when(partyInfoStore.getGeneration()).thenReturn(11L);
+        when(partyInfoStore.getChangesSince(7L)).thenReturn(new PartyInfoDelta(changedPartyInfo, 11L, 9L, 0L, 0L));
+
+        final PartyInfoDelta result = partyInfoService.updatePartyInfo(incoming);
+
+        assertThat(result.getPartyInfo()).isSameAs(changedPartyInfo);
+        assertThat(result.getGeneration()).isEqualTo(11L);
+        assertThat(result.getVersion()).isEqualTo(9L);
+        assertThat(result.getPeerGeneration()).isEqualTo(99L);
+        assertThat(result.getPeerVersion()).isEqualTo(4L);
+
+        verify(configService).isDisablePeerDiscovery();
+        verify(partyInfoStore).store(incomingPartyInfo);
+        verify(partyInfoStore).getGeneration();
+        verify(partyInfoStore).getChangesSince(7L);
+    }
+
+    @Test
+    public void deltaFromSenderThatKnowsOldGenerationGetsEverything() {
+
+        final PartyInfo incomingPartyInfo = new PartyInfo("http://other-node.com:8080/", emptySet(), emptySet());
+        final PartyInfoDelta incoming = new PartyInfoDelta(incomingPartyInfo, 99L, 4L, 10L, 7L);
+
+        final PartyInfo allPartyInfo = new PartyInfo(URI + "/", emptySet(), emptySet());
+        when(configService.isDisablePeerDiscovery()).thenReturn(false);
+        when(partyInfoStore.getGeneration()).thenReturn(11L);
+        when(partyInfoStore.getChangesSince(0L)).thenReturn(new PartyInfoDelta(allPartyInfo, 11L, 9L, 0L, 0L));
+
+        final PartyInfoDelta result = partyInfoService.updatePartyInfo(incoming);
+
+        assertThat(result.getPartyInfo()).isSameAs(allPartyInfo);
+
+        verify(configService).isDisablePeerDiscovery();
+        verify(partyInfoStore).store(incomingPartyInfo);
+        verify(partyInfoStore).getGeneration();
+        verify(partyInfoStore).getChangesSince(0L);
+    }
+
+    @Test
+    public void listenersAreToldAboutChanges() {
+
+        final PartyInfoListener listener = mock(PartyInfoListener.class);
+        final PartyInfoListener failingListener = mock(PartyInfoListener.class);
+        partyInfoService.addListener(failingListener);
+        partyInfoService.addListener(listener);
+
+        final PartyInfo incomingPartyInfo = new PartyInfo("http://other-node.com:8080/", emptySet(), emptySet());
+        final PartyInfoDelta changes = mock(PartyInfoDelta.class);
+
+        when(configService.isDisablePeerDiscovery()).thenReturn(false);
+        when(partyInfoStore.getVersion()).thenReturn(4L, 6L);
+        when(partyInfoStore.getChangesSince(4L)).thenReturn(changes);
+        doThrow(new IllegalStateException("closed")).when(failingListener).onChange(changes);
+
+        partyInfoService.updatePartyInfo(incomingPartyInfo);
+
+        verify(failingListener).onChange(changes);
+        verify(listener).onChange(changes);
+        verifyNoMoreInteractions(listener, failingListener);
+
+        verify(configService).isDisablePeerDiscovery();
+        verify(partyInfoStore).store(incomingPartyInfo);
+        verify(partyInfoStore, times(2)).getVersion();
+        verify(partyInfoStore).getChangesSince(4L);
+        verify(partyInfoStore).getPartyInfo();
+    }
+
+    @Test
+    public void listenersAreNotToldWhenNothingChanged() {
+
+        final PartyInfoListener listener = mock(PartyInfoListener.class);
+        partyInfoService.addListener(listener);
+
+        final PartyInfo incomingPartyInfo = new PartyInfo("http://other-node.com:8080/", emptySet(), emptySet());
+
+        when(configService.isDisablePeerDiscovery()).thenReturn(false);
+        when(partyInfoStore.getVersion()).thenReturn(4L);
+
+        partyInfoService.updatePartyInfo(incomingPartyInfo);
+
+        verifyZeroInteractions(listener);
+
+        verify(configService).isDisablePeerDiscovery();
+        verify(partyInfoStore).store(incomingPartyInfo);
+        verify(partyInfoStore, times(2)).getVersion();
+        verify(partyInfoStore).getPartyInfo();
+    }
+
 }
@@ -0,0 +1,137 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.PartyInfoConfig;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.Recipient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PartyInfoSnapshotTest {
+
+    private static final String URL = "http://localhost:8080/";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final PartyInfoParser partyInfoParser = PartyInfoParser.create();
+
+    private PartyInfoStore partyInfoStore;
+
+    private Path snapshotFile;
+
+    private Config config;
+
+    @Before
+    public void onSetUp() {
+        this.partyInfoStore = mock(PartyInfoStore.class);
+        this.snapshotFile = temporaryFolder.getRoot().toPath().resolve("partyinfo.dat");
+
+        this.config = new Config();
+        config.setPartyInfoConfig(new PartyInfoConfig(snapshotFile, null, null, null, null, null));
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(partyInfoStore);
+    }
+
+    @Test
+    public void nothingIsLoadedWhenFileDoesNotExist() {
+        new PartyInfoSnapshot(partyInfoStore, partyInfoParser, config);
+    }
+
+    @Test
+    public void nothingIsLoadedOrSavedWhenNotConfigured() {
+        final PartyInfoSnapshot snapshot = new PartyInfoSnapshot(partyInfoStore, partyInfoParser, new Config());
+
+        snapshot.run();
+
+        assertThat(snapshotFile).doesNotExist();
+    }
+
+    @Test
+    public void existingFileIsLoadedAsStale() throws IOException {
+        final PartyInfo saved = new PartyInfo(
+            URL,
+            singleton(new Recipient(PublicKey.from("key".getBytes()), "http://other:8080/")),
+            singleton(new Party("http://other:8080/"))
+        );
+        Files.write(snapshotFile, partyInfoParser.to(saved));
+
+        new PartyInfoSnapshot(partyInfoStore, partyInfoParser, config);
+
+        verify(partyInfoStore).loadStale(argThat(p -> p.getRecipients().equals(saved.getRecipients())
+            && p.getParties().equals(saved.getParties())));
+    }
+
+    @Test
+    public void damagedFileDoesNotPreventStartup() throws IOException {
+        Files.write(snapshotFile, new byte[]{1, 2, 3});
+
+        new PartyInfoSnapshot(partyInfoStore, partyInfoParser, config);
+    }
+
+    @Test
+    public void storeIsSavedOnlyWhenChanged() {
+        final PartyInfo current = new PartyInfo(
+            URL,
+            singleton(new Recipient(PublicKey.from("key".getBytes()), URL)),
+            singleton(new Party(URL))
+        );
+        when(partyInfoStore.getVersion()).thenReturn(3L);
+        when(partyInfoStore.getPartyInfo()).thenReturn(current);
+
+        final PartyInfoSnapshot snapshot = new PartyInfoSnapshot(partyInfoStore, partyInfoParser, config);
+
+        snapshot.run();
+        snapshot.stop();
+
+        assertThat(snapshotFile).exists();
+        assertThat(snapshotFile.resolveSibling("partyinfo.dat.tmp")).doesNotExist();
+
+        final PartyInfo written = partyInfoParser.from(readAll(snapshotFile));
+        assertThat(written.getRecipients()).isEqualTo(current.getRecipients());
+        assertThat(written.getParties()).isEqualTo(current.getParties());
+
+        verify(partyInfoStore, times(2)).getVersion();
+        verify(partyInfoStore).getPartyInfo();
+    }
+
+    @Test
+    public void savedFileCanBeLoadedByNextRun() {
+        final PartyInfoStore previousRun = mock(PartyInfoStore.class);
+        final PartyInfo current = new PartyInfo(URL, emptySet(), singleton(new Party("http://other:8080/")));
+        when(previousRun.getVersion()).thenReturn(1L);
+        when(previousRun.getPartyInfo()).thenReturn(current);
+
+        new PartyInfoSnapshot(previousRun, partyInfoParser, config).stop();
+
+        new PartyInfoSnapshot(partyInfoStore, partyInfoParser, config);
+
+        verify(partyInfoStore).loadStale(argThat(p -> p.getParties().equals(current.getParties())));
+    }
+
+    private static byte[] readAll(final Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (final IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import com.quorum.tessera.core.config.ConfigService;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
 import org.junit.After;
 import org.junit.Before;
@@ -137,4 +138,158 @@ public class PartyInfoStoreTest {
 
     }
 
+    @Test
+    public void findRecipientByPublicKeyReturnsStoredRecipient() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+
+        partyInfoStore.store(new PartyInfo(uri, singleton(new Recipient(key, "example.com")), emptySet()));
+
+        assertThat(partyInfoStore.findRecipientByPublicKey(key)).contains(new Recipient(key, "example.com"));
+        assertThat(partyInfoStore.findRecipientByPublicKey(PublicKey.from("other-key".getBytes()))).isEmpty();
+    }
+
+    @Test
+    public void knownKeyAdvertisedFromNewUrlIsMoved() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+
+        partyInfoStore.store(new PartyInfo(uri, singleton(new Recipient(key, "old.com")), emptySet()));
+        partyInfoStore.store(new PartyInfo("new.com", singleton(new Recipient(key, "new.com")), emptySet()));
+
+        assertThat(partyInfoStore.findRecipientByPublicKey(key)).contains(new Recipient(key, "new.com"));
+        assertThat(partyInfoStore.getPartyInfo().getRecipients()).containsExactly(new Recipient(key, "new.com"));
+    }
+
+    @Test
+    public void knownKeyAdvertisedAtOtherUrlByThirdPartyIsNotMoved() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+
+        partyInfoStore.store(new PartyInfo("new.com", singleton(new Recipient(key, "new.com")), emptySet()));
+        partyInfoStore.store(new PartyInfo("other.com", emptySet(), emptySet()));
+        final long version = partyInfoStore.getVersion();
+        final long revision = partyInfoStore.getRevision();
+
+        partyInfoStore.store(new PartyInfo("other.com", singleton(new Recipient(key, "old.com")), emptySet()));
+
+        assertThat(partyInfoStore.findRecipientByPublicKey(key)).contains(new Recipient(key, "new.com"));
+        assertThat(partyInfoStore.getVersion()).isEqualTo(version);
+        assertThat(partyInfoStore.getRevision()).isEqualTo(revision);
+    }
+
+    @Test
+    public void snapshotIsReusedUntilStoreChanges() {
+        final PartyInfo first = partyInfoStore.getPartyInfo();
+        final PartyInfo second = partyInfoStore.getPartyInfo();
+
+        assertThat(second).isSameAs(first);
+
+        partyInfoStore.store(new PartyInfo(uri + "/", emptySet(), singleton(new Party("example.com/"))));
+
+        final PartyInfo third = partyInfoStore.getPartyInfo();
+
+        assertThat(third).isNotSameAs(first);
+        assertThat(first.getParties()).containsExactly(new Party(uri + "/"));
+        assertThat(third.getParties()).containsExactlyInAnyOrder(new Party(uri + "/"), new Party("example.com/"));
+    }
+
+    @Test
+    public void versionOnlyIncreasesWhenSomethingNewIsStored() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+        final PartyInfo incoming = new PartyInfo(uri + "/", singleton(new Recipient(key, uri)), emptySet());
+
+        final long initial = partyInfoStore.getVersion();
+
+        partyInfoStore.store(incoming);
+        final long afterFirst = partyInfoStore.getVersion();
+
+        partyInfoStore.store(incoming);
+        final long afterSecond = partyInfoStore.getVersion();
+
+        assertThat(afterFirst).isGreaterThan(initial);
+        assertThat(afterSecond).isEqualTo(afterFirst);
+        assertThat(partyInfoStore.getGeneration()).isNotZero();
+    }
+
+    @Test
+    public void revisionIsUnchangedWhenOnlyLastContactIsUpdated() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+        final PartyInfo incoming = new PartyInfo("http://other.com/", singleton(new Recipient(key, uri)), emptySet());
+
+        partyInfoStore.store(incoming);
+        final long revision = partyInfoStore.getRevision();
+        final PartyInfo before = partyInfoStore.getPartyInfo();
+
+        partyInfoStore.store(incoming);
+
+        assertThat(partyInfoStore.getRevision()).isEqualTo(revision);
+        assertThat(partyInfoStore.getPartyInfo()).isNotSameAs(before);
+
+        partyInfoStore.loadStale(new PartyInfo(uri + "/", emptySet(), singleton(new Party("http://saved.com/"))));
+
+        assertThat(partyInfoStore.getRevision()).isGreaterThan(revision);
+    }
+
+    @Test
+    public void changesSinceOnlyContainNewerEntries() {
+        final PublicKey oldKey = PublicKey.from("old-key".getBytes());
+        final PublicKey newKey = PublicKey.from("new-key".getBytes());
+
+        partyInfoStore.store(new PartyInfo(uri + "/", singleton(new Recipient(oldKey, uri)), emptySet()));
+        final long seen = partyInfoStore.getVersion();
+
+        partyInfoStore.store(
+            new PartyInfo(uri + "/", singleton(new Recipient(newKey, "example.com")), singleton(new Party("example.com/")))
+        );
+
+        final PartyInfoDelta changes = partyInfoStore.getChangesSince(seen);
+
+        assertThat(changes.getPartyInfo().getUrl()).isEqualTo(uri + "/");
+        assertThat(changes.getPartyInfo().getRecipients()).containsExactly(new Recipient(newKey, "example.com"));
+        assertThat(changes.getPartyInfo().getParties()).containsExactly(new Party("example.com/"));
+        assertThat(changes.getGeneration()).isEqualTo(partyInfoStore.getGeneration());
+        assertThat(changes.getVersion()).isEqualTo(partyInfoStore.getVersion());
+
+        final PartyInfoDelta everything = partyInfoStore.getChangesSince(0L);
+
+        assertThat(everything.getPartyInfo().getRecipients()).hasSize(2);
+        assertThat(everything.getPartyInfo().getParties()).hasSize(2);
+
+        assertThat(partyInfoStore.getChangesSince(partyInfoStore.getVersion()).getPartyInfo().getRecipients()).isEmpty();
+    }
+
+    @Test
+    public void loadedEntriesAreUsableButStaleUntilReadvertised() {
+        final PublicKey key = PublicKey.from("saved-key".getBytes());
+        final Recipient savedRecipient = new Recipient(key, "http://saved.com/");
+
+        partyInfoStore.loadStale(
+            new PartyInfo("http://saved.com/", singleton(savedRecipient), singleton(new Party("http://saved.com/")))
+        );
+
+        assertThat(partyInfoStore.findRecipientByPublicKey(key)).contains(savedRecipient);
+        assertThat(partyInfoStore.getPartyInfo().getParties()).contains(new Party("http://saved.com/"));
+        assertThat(partyInfoStore.getStalePartyUrls()).containsExactly("http://saved.com/");
+        assertThat(partyInfoStore.getChangesSince(0L).getPartyInfo().getRecipients()).isEmpty();
+        assertThat(partyInfoStore.getChangesSince(0L).getPartyInfo().getParties()).containsExactly(new Party(uri + "/"));
+
+        final long versionBefore = partyInfoStore.getVersion();
+
+        partyInfoStore.store(new PartyInfo("http://saved.com/", singleton(savedRecipient), emptySet()));
+
+        assertThat(partyInfoStore.getVersion()).isGreaterThan(versionBefore);
+        assertThat(partyInfoStore.getStalePartyUrls()).isEmpty();
+        assertThat(partyInfoStore.getChangesSince(versionBefore).getPartyInfo().getRecipients())
+            .containsExactly(savedRecipient);
+    }
+
+    @Test
+    public void loadingDoesNotReplaceKnownEntries() {
+        final PublicKey key = PublicKey.from("some-key".getBytes());
+
+        partyInfoStore.store(new PartyInfo(uri + "/", singleton(new Recipient(key, "http://live.com/")), emptySet()));
+        partyInfoStore.loadStale(new PartyInfo(uri + "/", singleton(new Recipient(key, "http://old.com/")), emptySet()));
+
+        assertThat(partyInfoStore.findRecipientByPublicKey(key)).contains(new Recipient(key, "http://live.com/"));
+        assertThat(partyInfoStore.getStalePartyUrls()).isEmpty();
+    }
+
 }
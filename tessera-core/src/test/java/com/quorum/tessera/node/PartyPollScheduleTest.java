@@ -0,0 +1,117 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.PartyInfoConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartyPollScheduleTest {
+
+    private static final String URL = "http://other.com:8080/";
+
+    private PartyPollSchedule schedule;
+
+    @Before
+    public void onSetUp() {
+        this.schedule = new PartyPollSchedule(1000L, 8000L, 60000L);
+    }
+
+    @Test
+    public void unknownPartyIsDue() {
+        assertThat(schedule.isDue(URL, null, 0L)).isTrue();
+        assertThat(schedule.getNextPollAt(URL)).isZero();
+        assertThat(schedule.getHealthScores()).isEmpty();
+    }
+
+    @Test
+    public void partyWithNoChangesIsPolledLessOften() {
+        schedule.recordSuccess(URL, false, 0L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(1000L);
+
+        schedule.recordSuccess(URL, false, 1000L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(3000L);
+
+        schedule.recordSuccess(URL, false, 3000L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(7000L);
+
+        schedule.recordSuccess(URL, false, 7000L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(15000L);
+
+        schedule.recordSuccess(URL, false, 15000L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(23000L);
+
+        assertThat(schedule.isDue(URL, null, 22999L)).isFalse();
+        assertThat(schedule.isDue(URL, null, 23000L)).isTrue();
+
+        schedule.recordSuccess(URL, true, 23000L);
+        assertThat(schedule.getNextPollAt(URL)).isEqualTo(24000L);
+    }
+
+    @Test
+    public void failingPartyIsBackedOffWithJitter() {
+        schedule.recordFailure(URL, 0L);
+        assertThat(schedule.getNextPollAt(URL)).isBetween(1000L, 2000L);
+
+        schedule.recordFailure(URL, 0L);
+        assertThat(schedule.getNextPollAt(URL)).isBetween(2000L, 4000L);
+
+        for (int i = 0; i < 20; i++) {
+            schedule.recordFailure(URL, 0L);
+        }
+        assertThat(schedule.getNextPollAt(URL)).isBetween(30000L, 60000L);
+        assertThat(schedule.getConsecutiveFailures(URL)).isEqualTo(22);
+        assertThat(schedule.getHealthScores().get(URL)).isLessThan(0.01);
+
+        schedule.recordSuccess(URL, false, 0L);
+        assertThat(schedule.getConsecutiveFailures(URL)).isZero();
+        assertThat(schedule.getHealthScores().get(URL)).isGreaterThan(0.19);
+    }
+
+    @Test
+    public void failingPartyThatContactsUsIsDueStraightAway() {
+        schedule.recordFailure(URL, 5000L);
+
+        assertThat(schedule.isDue(URL, null, 5001L)).isFalse();
+        assertThat(schedule.isDue(URL, Instant.ofEpochMilli(4000L), 5001L)).isFalse();
+        assertThat(schedule.isDue(URL, Instant.ofEpochMilli(5001L), 5001L)).isTrue();
+    }
+
+    @Test
+    public void everyRoundIsAlwaysDue() {
+        final PartyPollSchedule everyRound = PartyPollSchedule.everyRound();
+
+        everyRound.recordFailure(URL, 100L);
+        assertThat(everyRound.isDue(URL, null, 100L)).isTrue();
+
+        everyRound.recordSuccess(URL, false, 100L);
+        assertThat(everyRound.isDue(URL, null, 100L)).isTrue();
+    }
+
+    @Test
+    public void fromConfigUsesDefaultsWhenNotSet() {
+        final PartyPollSchedule fromDefaults = PartyPollSchedule.from(new Config());
+
+        fromDefaults.recordSuccess(URL, true, 0L);
+        assertThat(fromDefaults.getNextPollAt(URL)).isEqualTo(PartyPollSchedule.DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    @Test
+    public void fromConfigUsesConfiguredValues() {
+        final Config config = new Config();
+        config.setPartyInfoConfig(new PartyInfoConfig(null, 500L, 500L, 500L, null, null));
+
+        final PartyPollSchedule configured = PartyPollSchedule.from(config);
+
+        configured.recordSuccess(URL, false, 0L);
+        configured.recordSuccess(URL, false, 0L);
+        assertThat(configured.getNextPollAt(URL)).isEqualTo(500L);
+
+        configured.recordFailure(URL, 0L);
+        assertThat(configured.getNextPollAt(URL)).isBetween(250L, 500L);
+    }
+
+}
@@ -6,8 +6,16 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -105,4 +113,71 @@ public class ResendPartyStoreTest {
         assertThat(partyOne).isNotPresent();
     }
 
+    @Test
+    public void requeuedPartyKeepsItsAttempts() {
+        final SyncableParty taken = new SyncableParty(new Party("taken.com"), 3, 40L);
+
+        this.resendPartyStore.requeue(taken);
+
+        final Optional<SyncableParty> partyOne = resendPartyStore.getNextParty();
+        assertThat(partyOne).containsSame(taken);
+        assertThat(resendPartyStore.getNextParty()).isNotPresent();
+    }
+
+    @Test
+    public void partiesWithFewerFailuresAreServedFirst() {
+        final SyncableParty failedTwice = new SyncableParty(new Party("twice.com"), 1);
+        final SyncableParty failedOnce = new SyncableParty(new Party("once.com"), 0);
+
+        this.resendPartyStore.incrementFailedAttempt(failedTwice);
+        this.resendPartyStore.incrementFailedAttempt(failedOnce);
+        this.resendPartyStore.addUnseenParties(singletonList(new Party("new.com")));
+
+        assertThat(resendPartyStore.getNextParty().get().getParty()).isEqualTo(new Party("new.com"));
+        assertThat(resendPartyStore.getNextParty().get().getParty()).isEqualTo(new Party("once.com"));
+        assertThat(resendPartyStore.getNextParty().get().getParty()).isEqualTo(new Party("twice.com"));
+        assertThat(resendPartyStore.getNextParty()).isNotPresent();
+    }
+
+    @Test
+    public void partiesThatFailedLongestAgoAreServedFirst() {
+        final AtomicLong now = new AtomicLong(100L);
+        this.resendPartyStore = new ResendPartyStoreImpl(now::get);
+
+        this.resendPartyStore.incrementFailedAttempt(new SyncableParty(new Party("recent.com"), 3));
+        now.set(50L);
+        this.resendPartyStore.incrementFailedAttempt(new SyncableParty(new Party("earlier.com"), 3));
+
+        final SyncableParty first = resendPartyStore.getNextParty().get();
+        assertThat(first.getParty()).isEqualTo(new Party("earlier.com"));
+        assertThat(first.getLastFailure()).isEqualTo(50L);
+
+        final SyncableParty second = resendPartyStore.getNextParty().get();
+        assertThat(second.getParty()).isEqualTo(new Party("recent.com"));
+        assertThat(second.getLastFailure()).isEqualTo(100L);
+    }
+
+    @Test
+    public void concurrentAddsServeEachPartyOnce() throws InterruptedException {
+        final List<Party> peers = IntStream.range(0, 500)
+            .mapToObj(i -> new Party("url" + i + ".com"))
+            .collect(Collectors.toList());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> resendPartyStore.addUnseenParties(peers));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        final Set<Party> served = new HashSet<>();
+        Optional<SyncableParty> next = resendPartyStore.getNextParty();
+        while (next.isPresent()) {
+            assertThat(served.add(next.get().getParty())).isTrue();
+            next = resendPartyStore.getNextParty();
+        }
+
+        assertThat(served).hasSize(500);
+    }
+
 }
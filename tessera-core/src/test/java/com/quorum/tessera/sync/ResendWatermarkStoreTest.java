@@ -0,0 +1,100 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.SyncConfig;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResendWatermarkStoreTest {
+
+    private static final String URL = "http://localhost:8080/";
+
+    private static final String OTHER_URL = "http://localhost:8081/";
+
+    private static final PublicKey KEY = PublicKey.from(new byte[]{1, 2, 3});
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path watermarkFile;
+
+    private Config config;
+
+    @Before
+    public void onSetUp() {
+        this.watermarkFile = temporaryFolder.getRoot().toPath().resolve("watermarks.properties");
+
+        this.config = new Config();
+        config.setSyncConfig(new SyncConfig(null, null, null, null, watermarkFile, null, null));
+    }
+
+    @Test
+    public void unknownNodeHasNoWatermark() {
+        final ResendWatermarkStore store = new ResendWatermarkStore(config);
+
+        assertThat(store.getWatermark(URL, KEY)).isNotPresent();
+    }
+
+    @Test
+    public void watermarkNeverMovesBackwards() {
+        final ResendWatermarkStore store = new ResendWatermarkStore(config);
+
+        store.update(URL, KEY, 200L);
+        store.update(URL, KEY, 100L);
+
+        assertThat(store.getWatermark(URL, KEY)).contains(200L);
+        assertThat(store.getWatermark(OTHER_URL, KEY)).isNotPresent();
+    }
+
+    @Test
+    public void watermarksAreSavedAndLoaded() {
+        final ResendWatermarkStore store = new ResendWatermarkStore(config);
+        store.update(URL, KEY, 200L);
+        store.stop();
+
+        assertThat(watermarkFile).exists();
+
+        final ResendWatermarkStore reloaded = new ResendWatermarkStore(config);
+
+        assertThat(reloaded.getWatermark(URL, KEY)).contains(200L);
+    }
+
+    @Test
+    public void nothingIsSavedWhenNotConfigured() {
+        final ResendWatermarkStore store = new ResendWatermarkStore(new Config());
+        store.update(URL, KEY, 200L);
+        store.run();
+
+        assertThat(store.getWatermark(URL, KEY)).contains(200L);
+        assertThat(watermarkFile).doesNotExist();
+    }
+
+    @Test
+    public void watermarkOnlyMovesWhenResent() {
+        final ResendWatermarkStore store = new ResendWatermarkStore(config);
+        store.update(URL, KEY, 200L);
+        store.run();
+        store.run();
+
+        assertThat(store.getWatermark(URL, KEY)).contains(200L);
+    }
+
+    @Test
+    public void damagedFileIsIgnored() throws IOException {
+        Files.write(watermarkFile, "AQID@http\\://localhost\\:8080/=notanumber".getBytes());
+
+        final ResendWatermarkStore store = new ResendWatermarkStore(config);
+
+        assertThat(store.getWatermark(URL, KEY)).isNotPresent();
+    }
+
+}
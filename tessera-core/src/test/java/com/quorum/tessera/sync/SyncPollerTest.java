@@ -13,8 +13,10 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class SyncPollerTest {
@@ -166,4 +168,87 @@ public class SyncPollerTest {
         verify(partyInfoService, times(2)).getPartyInfo();
     }
 
+    @Test
+    public void onlyConfiguredNumberOfPartiesAreContactedAtOnce() throws InterruptedException {
+
+        final SyncableParty first = new SyncableParty(new Party("first.com"), 0);
+        final SyncableParty second = new SyncableParty(new Party("second.com"), 0);
+        final SyncableParty third = new SyncableParty(new Party("third.com"), 0);
+
+        doReturn(true).when(transactionRequester).requestAllTransactionsFromNode(anyString());
+        doReturn(Optional.of(first), Optional.of(second), Optional.of(third), Optional.empty())
+            .when(resendPartyStore).getNextParty();
+
+        final SyncPoller boundedPoller = new SyncPoller(
+            executorService, resendPartyStore, transactionRequester, partyInfoService, partyInfoParser, p2pClient, 2
+        );
+
+        final Thread round = new Thread(boundedPoller);
+        round.start();
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService, timeout(5000).times(2)).submit(captor.capture());
+
+        round.join(200);
+        assertThat(round.isAlive()).isTrue();
+        verify(executorService, times(2)).submit(any(Runnable.class));
+
+        captor.getAllValues().get(0).run();
+
+        round.join(5000);
+        assertThat(round.isAlive()).isFalse();
+        verify(executorService, times(3)).submit(any(Runnable.class));
+
+        verify(resendPartyStore, times(4)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+        verify(transactionRequester).requestAllTransactionsFromNode("first.com");
+    }
+
+    @Test
+    public void rejectedTaskEndsRound() {
+
+        final SyncableParty first = new SyncableParty(new Party("first.com"), 0);
+        final SyncableParty second = new SyncableParty(new Party("second.com"), 0);
+
+        doReturn(Optional.of(first), Optional.of(second), Optional.empty()).when(resendPartyStore).getNextParty();
+        doThrow(new RejectedExecutionException("shut down")).when(executorService).submit(any(Runnable.class));
+
+        syncPoller.run();
+
+        verify(executorService).submit(any(Runnable.class));
+        verify(resendPartyStore, times(3)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+        verify(resendPartyStore).requeue(first);
+        verify(resendPartyStore).requeue(second);
+    }
+
+    @Test
+    public void interruptedRoundRequeuesUncontactedParties() throws InterruptedException {
+
+        final SyncableParty first = new SyncableParty(new Party("first.com"), 0);
+        final SyncableParty second = new SyncableParty(new Party("second.com"), 0);
+        final SyncableParty third = new SyncableParty(new Party("third.com"), 0);
+
+        doReturn(Optional.of(first), Optional.of(second), Optional.of(third), Optional.empty())
+            .when(resendPartyStore).getNextParty();
+
+        final SyncPoller boundedPoller = new SyncPoller(
+            executorService, resendPartyStore, transactionRequester, partyInfoService, partyInfoParser, p2pClient, 1
+        );
+
+        final Thread round = new Thread(boundedPoller);
+        round.start();
+
+        verify(executorService, timeout(5000)).submit(any(Runnable.class));
+        round.interrupt();
+        round.join(5000);
+        assertThat(round.isAlive()).isFalse();
+
+        verify(resendPartyStore, never()).requeue(first);
+        verify(resendPartyStore).requeue(second);
+        verify(resendPartyStore).requeue(third);
+        verify(resendPartyStore, times(4)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+    }
+
 }
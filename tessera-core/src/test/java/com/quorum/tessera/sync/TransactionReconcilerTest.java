@@ -0,0 +1,211 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.api.model.ReconcileRequest;
+import com.quorum.tessera.api.model.ReconcileResponse;
+import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.Recipient;
+import com.quorum.tessera.transaction.EncryptedTransactionDAO;
+import com.quorum.tessera.transaction.HashSummary;
+import com.quorum.tessera.transaction.SharedTransactionFinder;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TransactionReconcilerTest {
+
+    private static final String OWN_URL = "http://own:8080/";
+
+    private static final String PEER_URL = "http://peer:8080/";
+
+    private static final PublicKey OWN_KEY = PublicKey.from(new byte[]{1});
+
+    private static final PublicKey PEER_KEY = PublicKey.from(new byte[]{2});
+
+    private static final MessageHash SHARED_HASH = new MessageHash(new byte[]{1, 2, 3});
+
+    private static final MessageHash MISSING_HASH = new MessageHash(new byte[]{1, 4, 5});
+
+    private static final MessageHash STORED_HASH = new MessageHash(new byte[]{1, 6, 7});
+
+    private PartyInfoService partyInfoService;
+
+    private Enclave enclave;
+
+    private SharedTransactionFinder sharedTransactionFinder;
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private P2pClient p2pClient;
+
+    private TransactionReconciler reconciler;
+
+    @Before
+    public void onSetUp() {
+        this.partyInfoService = mock(PartyInfoService.class);
+        this.enclave = mock(Enclave.class);
+        this.sharedTransactionFinder = mock(SharedTransactionFinder.class);
+        this.encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+        this.p2pClient = mock(P2pClient.class);
+
+        final PartyInfo partyInfo = new PartyInfo(
+            OWN_URL,
+            new HashSet<>(asList(new Recipient(OWN_KEY, OWN_URL), new Recipient(PEER_KEY, PEER_URL))),
+            emptySet()
+        );
+        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
+        when(enclave.getPublicKeys()).thenReturn(singleton(OWN_KEY));
+
+        this.reconciler = new TransactionReconciler(
+            partyInfoService, enclave, sharedTransactionFinder, encryptedTransactionDAO, p2pClient
+        );
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(sharedTransactionFinder, encryptedTransactionDAO, p2pClient);
+    }
+
+    @Test
+    public void nodesInStepOnlyExchangeSummaries() {
+        shareWithPeer(SHARED_HASH);
+        when(p2pClient.reconcile(eq(PEER_URL), any(ReconcileRequest.class))).thenReturn(new ReconcileResponse());
+
+        reconciler.run();
+
+        final ArgumentCaptor<ReconcileRequest> captor = ArgumentCaptor.forClass(ReconcileRequest.class);
+        verify(p2pClient).reconcile(eq(PEER_URL), captor.capture());
+        verifyScannedOnce();
+
+        final ReconcileRequest request = captor.getValue();
+        assertThat(request.getPublicKeys()).containsExactly(OWN_KEY.encodeToBase64());
+        assertThat(request.getMissing()).isEmpty();
+        assertThat(request.getBucketBits()).isEqualTo(HashSummary.MIN_BUCKET_BITS);
+
+        final HashSummary sent = HashSummary.from(request.getBucketBits(), request.getBuckets());
+        assertThat(sent.differingBuckets(HashSummary.of(singletonList(SHARED_HASH)))).isEmpty();
+    }
+
+    @Test
+    public void onlyHashesNotHeldAreAskedFor() {
+        shareWithPeer(SHARED_HASH);
+        when(encryptedTransactionDAO.retrieveByHash(SHARED_HASH))
+            .thenReturn(Optional.of(new EncryptedTransaction(SHARED_HASH, new byte[0])));
+        when(encryptedTransactionDAO.retrieveByHash(MISSING_HASH)).thenReturn(Optional.empty());
+        when(encryptedTransactionDAO.retrieveByHash(STORED_HASH))
+            .thenReturn(Optional.of(new EncryptedTransaction(STORED_HASH, new byte[0])));
+
+        final ReconcileResponse response = new ReconcileResponse(asList(
+            encode(SHARED_HASH), encode(MISSING_HASH), encode(STORED_HASH)
+        ));
+        when(p2pClient.reconcile(eq(PEER_URL), any(ReconcileRequest.class))).thenReturn(response);
+
+        reconciler.run();
+
+        final ArgumentCaptor<ReconcileRequest> captor = ArgumentCaptor.forClass(ReconcileRequest.class);
+        verify(p2pClient, times(2)).reconcile(eq(PEER_URL), captor.capture());
+        verifyScannedOnce();
+        verify(encryptedTransactionDAO).retrieveByHash(SHARED_HASH);
+        verify(encryptedTransactionDAO).retrieveByHash(MISSING_HASH);
+        verify(encryptedTransactionDAO).retrieveByHash(STORED_HASH);
+
+        final ReconcileRequest missingRequest = captor.getAllValues().get(1);
+        assertThat(missingRequest.getPublicKeys()).containsExactly(OWN_KEY.encodeToBase64());
+        assertThat(missingRequest.getMissing()).containsExactly(encode(MISSING_HASH));
+    }
+
+    @Test
+    public void storeIsReadOnceForAllNodes() {
+        final PublicKey otherKey = PublicKey.from(new byte[]{3});
+        final String otherUrl = "http://other:8080/";
+
+        final PartyInfo partyInfo = new PartyInfo(
+            OWN_URL,
+            new HashSet<>(asList(
+                new Recipient(OWN_KEY, OWN_URL), new Recipient(PEER_KEY, PEER_URL), new Recipient(otherKey, otherUrl)
+            )),
+            emptySet()
+        );
+        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
+
+        reconciler.run();
+
+        final ArgumentCaptor<Map<String, Set<PublicKey>>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(sharedTransactionFinder).forEachShared(eq(singleton(OWN_KEY)), captor.capture(), any(BiConsumer.class));
+        assertThat(captor.getValue())
+            .containsOnlyKeys(PEER_URL, otherUrl)
+            .containsEntry(PEER_URL, singleton(PEER_KEY))
+            .containsEntry(otherUrl, singleton(otherKey));
+
+        verify(p2pClient).reconcile(eq(PEER_URL), any(ReconcileRequest.class));
+        verify(p2pClient).reconcile(eq(otherUrl), any(ReconcileRequest.class));
+    }
+
+    @Test
+    public void noOtherNodesSkipsReadingStore() {
+        when(partyInfoService.getPartyInfo())
+            .thenReturn(new PartyInfo(OWN_URL, singleton(new Recipient(OWN_KEY, OWN_URL)), emptySet()));
+
+        reconciler.run();
+
+        verifyZeroInteractions(enclave);
+    }
+
+    @Test
+    public void refusedRequestIsNotFollowedUp() {
+        reconciler.run();
+
+        verify(p2pClient).reconcile(eq(PEER_URL), any(ReconcileRequest.class));
+        verifyScannedOnce();
+    }
+
+    @Test
+    public void failureIsLoggedAndSwallowed() {
+        when(p2pClient.reconcile(eq(PEER_URL), any(ReconcileRequest.class))).thenThrow(new RuntimeException("down"));
+
+        reconciler.run();
+
+        verify(p2pClient).reconcile(eq(PEER_URL), any(ReconcileRequest.class));
+        verifyScannedOnce();
+    }
+
+    private void shareWithPeer(final MessageHash hash) {
+        doAnswer(invocation -> {
+            final BiConsumer<String, MessageHash> action = invocation.getArgument(2);
+            action.accept(PEER_URL, hash);
+            return null;
+        }).when(sharedTransactionFinder).forEachShared(eq(singleton(OWN_KEY)), anyMap(), any(BiConsumer.class));
+    }
+
+    private void verifyScannedOnce() {
+        verify(sharedTransactionFinder).forEachShared(
+            eq(singleton(OWN_KEY)), eq(singletonMap(PEER_URL, singleton(PEER_KEY))), any(BiConsumer.class)
+        );
+    }
+
+    private static String encode(final MessageHash hash) {
+        return Base64.getEncoder().encodeToString(hash.getHashBytes());
+    }
+
+}
@@ -1,18 +1,25 @@
 package com.quorum.tessera.sync;
 
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
+import com.quorum.tessera.client.CircuitOpenException;
 import com.quorum.tessera.client.P2pClient;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.threading.TokenBucket;
+import com.quorum.tessera.transaction.TransactionManager;
 import java.util.Base64;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import java.util.Collections;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +35,8 @@ public class TransactionRequesterTest {
 
     private P2pClient p2pClient;
 
+    private ResendWatermarkStore watermarkStore;
+
     private TransactionRequester transactionRequester;
 
     @Before
@@ -35,10 +44,11 @@ public class TransactionRequesterTest {
 
         this.enclave = mock(Enclave.class);
         this.p2pClient = mock(P2pClient.class);
+        this.watermarkStore = mock(ResendWatermarkStore.class);
 
         doReturn(true).when(p2pClient).makeResendRequest(anyString(), any(ResendRequest.class));
 
-        this.transactionRequester = new TransactionRequesterImpl(enclave, p2pClient);
+        this.transactionRequester = new TransactionRequesterImpl(enclave, p2pClient, 1L, new TokenBucket(1000), watermarkStore);
     }
 
     @After
@@ -103,4 +113,256 @@ public class TransactionRequesterTest {
         verify(enclave).getPublicKeys();
 
     }
+
+    @Test
+    public void openCircuitStopsRetries() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class)))
+            .thenThrow(new RuntimeException("Connection refused"))
+            .thenThrow(new CircuitOpenException("Circuit open for fakeurl.com"));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isFalse();
+        verify(p2pClient, times(2)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+    }
+
+    @Test
+    public void interruptStopsRetries() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false);
+
+        final TransactionRequester slowRequester = new TransactionRequesterImpl(enclave, p2pClient, 60000L, new TokenBucket(1000), watermarkStore);
+
+        Thread.currentThread().interrupt();
+        final boolean success = slowRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(success).isFalse();
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+    }
+
+    @Test
+    public void everyRequestWaitsForRateLimit() throws InterruptedException {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false, true);
+
+        final TokenBucket rateLimiter = mock(TokenBucket.class);
+        final TransactionRequester limitedRequester = new TransactionRequesterImpl(enclave, p2pClient, 1L, rateLimiter, watermarkStore);
+
+        final boolean success = limitedRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+        verify(rateLimiter, times(2)).acquire();
+        verify(p2pClient, times(2)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+    }
+
+    @Test
+    public void interruptWhileWaitingForRateLimitStopsRequests() throws InterruptedException {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        final TokenBucket rateLimiter = mock(TokenBucket.class);
+        doThrow(InterruptedException.class).when(rateLimiter).acquire();
+        final TransactionRequester limitedRequester = new TransactionRequesterImpl(enclave, p2pClient, 1L, rateLimiter, watermarkStore);
+
+        final boolean success = limitedRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(success).isFalse();
+        verify(enclave).getPublicKeys();
+
+    }
+
+    @Test
+    public void successfulResendRecordsWatermark() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        final long before = System.currentTimeMillis();
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<Long> watermark = ArgumentCaptor.forClass(Long.class);
+        verify(watermarkStore).getWatermark("fakeurl.com", KEY_ONE);
+        verify(watermarkStore).update(eq("fakeurl.com"), eq(KEY_ONE), watermark.capture());
+        assertThat(watermark.getValue()).isBetween(before, System.currentTimeMillis());
+
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void failedResendDoesNotRecordWatermark() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false);
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isFalse();
+        verify(watermarkStore).getWatermark("fakeurl.com", KEY_ONE);
+        verifyNoMoreInteractions(watermarkStore);
+
+        verify(p2pClient, times(5)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void knownWatermarkOnlyRequestsNewerTransactions() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(watermarkStore.getWatermark("fakeurl.com", KEY_ONE)).thenReturn(Optional.of(1_000_000L));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> captor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo(ResendRequestType.SINCE);
+        assertThat(captor.getValue().getSince()).isEqualTo(1_000_000L - TransactionRequesterImpl.WATERMARK_OVERLAP_MILLIS);
+        assertThat(captor.getValue().getPublicKey()).isEqualTo(KEY_ONE.encodeToBase64());
+
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void rejectedSinceRequestFallsBackToAll() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(watermarkStore.getWatermark("fakeurl.com", KEY_ONE)).thenReturn(Optional.of(1_000_000L));
+        when(p2pClient.makeResendRequest(anyString(), argThat(r -> r.getType() == ResendRequestType.SINCE)))
+            .thenReturn(false);
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> captor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient, times(6)).makeResendRequest(eq("fakeurl.com"), captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting("type")
+            .containsExactly(
+                ResendRequestType.SINCE, ResendRequestType.SINCE, ResendRequestType.SINCE,
+                ResendRequestType.SINCE, ResendRequestType.SINCE, ResendRequestType.ALL
+            );
+        verify(watermarkStore).update(eq("fakeurl.com"), eq(KEY_ONE), anyLong());
+
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void streamedPayloadsAreStoredInBatches() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+        final int total = TransactionRequesterImpl.STREAM_BATCH_SIZE + 1;
+
+        doAnswer(invocation -> {
+            final Consumer<byte[]> consumer = invocation.getArgument(2);
+            for (int i = 0; i < total; i++) {
+                consumer.accept(new byte[]{(byte) i});
+            }
+            return true;
+        }).when(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+
+        final TransactionRequester streamingRequester = new TransactionRequesterImpl(
+            enclave, p2pClient, 1L, new TokenBucket(1000), new TokenBucket(1000), watermarkStore, transactionManager
+        );
+
+        final boolean success = streamingRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<byte[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(transactionManager, times(2)).storePayloads(batches.capture());
+        assertThat(batches.getAllValues())
+            .extracting(List::size)
+            .containsExactly(TransactionRequesterImpl.STREAM_BATCH_SIZE, 1);
+
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void everyStreamedPayloadWaitsForPayloadLimit() throws InterruptedException {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+        final TokenBucket payloadLimiter = mock(TokenBucket.class);
+
+        doAnswer(invocation -> {
+            final Consumer<byte[]> consumer = invocation.getArgument(2);
+            consumer.accept(new byte[]{1});
+            consumer.accept(new byte[]{2});
+            return true;
+        }).when(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+
+        final TransactionRequester streamingRequester = new TransactionRequesterImpl(
+            enclave, p2pClient, 1L, new TokenBucket(1000), payloadLimiter, watermarkStore, transactionManager
+        );
+
+        final boolean success = streamingRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+        verify(payloadLimiter, times(2)).acquire();
+        verify(transactionManager).storePayloads(argThat(batch -> batch.size() == 2));
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void refusedStreamFallsBackToPushes() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+
+        final TransactionRequester streamingRequester = new TransactionRequesterImpl(
+            enclave, p2pClient, 1L, new TokenBucket(1000), new TokenBucket(1000), watermarkStore, transactionManager
+        );
+
+        final boolean success = streamingRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+        verifyZeroInteractions(transactionManager);
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void payloadsBeforeStreamFailureAreKept() {
+
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        final TransactionManager transactionManager = mock(TransactionManager.class);
+
+        doAnswer(invocation -> {
+            final Consumer<byte[]> consumer = invocation.getArgument(2);
+            consumer.accept(new byte[]{1});
+            throw new RuntimeException("Connection reset");
+        }).doReturn(true).when(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+
+        final TransactionRequester streamingRequester = new TransactionRequesterImpl(
+            enclave, p2pClient, 1L, new TokenBucket(1000), new TokenBucket(1000), watermarkStore, transactionManager
+        );
+
+        final boolean success = streamingRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+        verify(transactionManager).storePayloads(argThat(batch -> batch.size() == 1));
+        verify(p2pClient, times(2)).streamResend(eq("fakeurl.com"), any(ResendRequest.class), any());
+        verify(enclave).getPublicKeys();
+    }
 }
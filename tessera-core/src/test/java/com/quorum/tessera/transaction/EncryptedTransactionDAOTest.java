@@ -18,6 +18,7 @@ import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -137,6 +138,81 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void fetchingTransactionsSinceExcludesOlderOnes() {
+
+            final EncryptedTransaction encryptedTransaction
+                = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(encryptedTransaction);
+
+            final long timestamp = encryptedTransaction.getTimestamp();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp)).containsExactly(encryptedTransaction);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp + 1)).isEmpty();
+        }
+
+        @Test
+        public void transactionsArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(3, 1, 200, 2)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsAfter(null, 3);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash).containsExactly(
+                new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3})
+            );
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsAfter(firstPage.get(2).getHash(), 3);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{(byte) 200}));
+        }
+
+        @Test
+        public void transactionsSinceArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(4, 2, 3)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final long since = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).min().getAsLong();
+            final long latest = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).max().getAsLong();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(latest + 1, null, 2)).isEmpty();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsSince(since, null, 2);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3}));
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsSince(since, firstPage.get(1).getHash(), 2);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{4}));
+        }
+
+        @Test
+        public void saveAllSkipsTransactionsAlreadyStored() {
+
+            final EncryptedTransaction existing = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(existing);
+
+            final EncryptedTransaction fresh = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction duplicate = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction resent = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+
+            final List<EncryptedTransaction> saved
+                = encryptedTransactionDAO.saveAll(Arrays.asList(resent, fresh, duplicate));
+            entityManager.flush();
+
+            assertThat(saved).containsExactly(fresh);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).hasSize(2);
+        }
+
         @Test
         public void deleteTransactionRemovesFromDatabaseAndReturnsTrue() {
 
@@ -311,6 +387,81 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void fetchingTransactionsSinceExcludesOlderOnes() {
+
+            final EncryptedTransaction encryptedTransaction
+                = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(encryptedTransaction);
+
+            final long timestamp = encryptedTransaction.getTimestamp();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp)).containsExactly(encryptedTransaction);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp + 1)).isEmpty();
+        }
+
+        @Test
+        public void transactionsArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(3, 1, 200, 2)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsAfter(null, 3);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash).containsExactly(
+                new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3})
+            );
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsAfter(firstPage.get(2).getHash(), 3);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{(byte) 200}));
+        }
+
+        @Test
+        public void transactionsSinceArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(4, 2, 3)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final long since = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).min().getAsLong();
+            final long latest = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).max().getAsLong();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(latest + 1, null, 2)).isEmpty();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsSince(since, null, 2);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3}));
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsSince(since, firstPage.get(1).getHash(), 2);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{4}));
+        }
+
+        @Test
+        public void saveAllSkipsTransactionsAlreadyStored() {
+
+            final EncryptedTransaction existing = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(existing);
+
+            final EncryptedTransaction fresh = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction duplicate = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction resent = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+
+            final List<EncryptedTransaction> saved
+                = encryptedTransactionDAO.saveAll(Arrays.asList(resent, fresh, duplicate));
+            entityManager.flush();
+
+            assertThat(saved).containsExactly(fresh);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).hasSize(2);
+        }
+
         @Test
         public void deleteTransactionRemovesFromDatabaseAndReturnsTrue() {
 
@@ -486,6 +637,81 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void fetchingTransactionsSinceExcludesOlderOnes() {
+
+            final EncryptedTransaction encryptedTransaction
+                = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(encryptedTransaction);
+
+            final long timestamp = encryptedTransaction.getTimestamp();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp)).containsExactly(encryptedTransaction);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(timestamp + 1)).isEmpty();
+        }
+
+        @Test
+        public void transactionsArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(3, 1, 200, 2)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsAfter(null, 3);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash).containsExactly(
+                new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3})
+            );
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsAfter(firstPage.get(2).getHash(), 3);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{(byte) 200}));
+        }
+
+        @Test
+        public void transactionsSinceArePagedInHashOrder() {
+
+            final List<EncryptedTransaction> stored = IntStream.of(4, 2, 3)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}))
+                .collect(Collectors.toList());
+            encryptedTransactionDAO.saveAll(stored);
+            entityManager.flush();
+
+            final long since = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).min().getAsLong();
+            final long latest = stored.stream().mapToLong(EncryptedTransaction::getTimestamp).max().getAsLong();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(latest + 1, null, 2)).isEmpty();
+
+            final List<EncryptedTransaction> firstPage = encryptedTransactionDAO.retrieveTransactionsSince(since, null, 2);
+            assertThat(firstPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{2}), new MessageHash(new byte[]{3}));
+
+            final List<EncryptedTransaction> secondPage
+                = encryptedTransactionDAO.retrieveTransactionsSince(since, firstPage.get(1).getHash(), 2);
+            assertThat(secondPage).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{4}));
+        }
+
+        @Test
+        public void saveAllSkipsTransactionsAlreadyStored() {
+
+            final EncryptedTransaction existing = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            encryptedTransactionDAO.save(existing);
+
+            final EncryptedTransaction fresh = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction duplicate = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            final EncryptedTransaction resent = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+
+            final List<EncryptedTransaction> saved
+                = encryptedTransactionDAO.saveAll(Arrays.asList(resent, fresh, duplicate));
+            entityManager.flush();
+
+            assertThat(saved).containsExactly(fresh);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).hasSize(2);
+        }
+
         @Test
         public void deleteTransactionRemovesFromDatabaseAndReturnsTrue() {
 
@@ -0,0 +1,133 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.api.model.HashBucket;
+import com.quorum.tessera.enclave.model.MessageHash;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class HashSummaryTest {
+
+    private static final MessageHash FIRST = new MessageHash(new byte[]{1, 2, 3});
+
+    private static final MessageHash SECOND = new MessageHash(new byte[]{1, 4, 5});
+
+    private static final MessageHash THIRD = new MessageHash(new byte[]{(byte) 200, 6, 7});
+
+    @Test
+    public void hashesAreBucketedByLeadingBits() {
+        final HashSummary summary = HashSummary.of(asList(FIRST, SECOND, THIRD));
+
+        assertThat(summary.getBucketBits()).isEqualTo(HashSummary.MIN_BUCKET_BITS);
+        assertThat(summary.bucketOf(FIRST)).isEqualTo(1);
+        assertThat(summary.bucketOf(THIRD)).isEqualTo(200);
+
+        final List<HashBucket> buckets = summary.toBuckets();
+
+        assertThat(buckets).extracting(HashBucket::getIndex).containsExactly(1, 200);
+        assertThat(buckets).extracting(HashBucket::getCount).containsExactly(2, 1);
+    }
+
+    @Test
+    public void finerBucketsUseMoreOfTheHash() {
+        final HashSummary summary = HashSummary.withBucketBits(12);
+
+        assertThat(summary.bucketOf(FIRST)).isEqualTo(0x010);
+        assertThat(summary.bucketOf(SECOND)).isEqualTo(0x010);
+        assertThat(summary.bucketOf(new MessageHash(new byte[]{1, 0x20}))).isEqualTo(0x012);
+        assertThat(summary.bucketOf(new MessageHash(new byte[0]))).isEqualTo(0);
+    }
+
+    @Test
+    public void bucketsGrowWithNumberOfHashes() {
+        assertThat(HashSummary.bucketBitsFor(0)).isEqualTo(8);
+        assertThat(HashSummary.bucketBitsFor(16 * 256)).isEqualTo(8);
+        assertThat(HashSummary.bucketBitsFor(16 * 256 + 1)).isEqualTo(9);
+        assertThat(HashSummary.bucketBitsFor(Long.MAX_VALUE)).isEqualTo(HashSummary.MAX_BUCKET_BITS);
+    }
+
+    @Test
+    public void orderOfHashesDoesNotMatter() {
+        final HashSummary summary = HashSummary.of(asList(FIRST, SECOND, THIRD));
+        final HashSummary reordered = HashSummary.of(asList(THIRD, SECOND, FIRST));
+
+        assertThat(summary.differingBuckets(reordered)).isEmpty();
+    }
+
+    @Test
+    public void foldedSummaryMatchesOneBuiltAtThatSize() {
+        final HashSummary fine = HashSummary.withBucketBits(HashSummary.MAX_BUCKET_BITS);
+        asList(FIRST, SECOND, THIRD).forEach(fine::add);
+
+        final HashSummary folded = fine.foldTo(HashSummary.MIN_BUCKET_BITS);
+
+        assertThat(folded.size()).isEqualTo(3);
+        assertThat(folded.differingBuckets(HashSummary.of(asList(FIRST, SECOND, THIRD)))).isEmpty();
+    }
+
+    @Test
+    public void cannotFoldToFinerBuckets() {
+        final Throwable throwable = catchThrowable(() -> HashSummary.withBucketBits(8).foldTo(9));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void onlyChangedBucketsDiffer() {
+        final HashSummary summary = HashSummary.of(asList(FIRST, THIRD));
+        final HashSummary other = HashSummary.of(asList(SECOND, THIRD));
+
+        assertThat(summary.differingBuckets(other)).containsExactly(1);
+    }
+
+    @Test
+    public void missingBucketsDifferFromFilledOnes() {
+        final HashSummary summary = HashSummary.of(singletonList(THIRD));
+        final HashSummary empty = HashSummary.of(emptyList());
+
+        assertThat(summary.differingBuckets(empty)).containsExactly(200);
+        assertThat(empty.toBuckets()).isEmpty();
+    }
+
+    @Test
+    public void summariesOfDifferentSizesCannotBeCompared() {
+        final Throwable throwable = catchThrowable(
+            () -> HashSummary.withBucketBits(8).differingBuckets(HashSummary.withBucketBits(9))
+        );
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void summarySurvivesConversionToBuckets() {
+        final HashSummary summary = HashSummary.of(asList(FIRST, SECOND, THIRD));
+
+        final HashSummary rebuilt = HashSummary.from(summary.getBucketBits(), summary.toBuckets());
+
+        assertThat(summary.differingBuckets(rebuilt)).isEmpty();
+    }
+
+    @Test
+    public void bucketOutOfRangeIsRejected() {
+        final Throwable throwable = catchThrowable(
+            () -> HashSummary.from(8, singletonList(new HashBucket(256, 1, "")))
+        );
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void bucketBitsOutOfRangeAreRejected() {
+        assertThat(catchThrowable(() -> HashSummary.from(7, emptyList())))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> HashSummary.withBucketBits(HashSummary.MAX_BUCKET_BITS + 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
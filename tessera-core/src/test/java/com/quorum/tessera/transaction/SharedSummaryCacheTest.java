@@ -0,0 +1,202 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class SharedSummaryCacheTest {
+
+    private static final PublicKey OWN_KEY = PublicKey.from("OWNKEY".getBytes());
+
+    private static final PublicKey PEER_KEY = PublicKey.from("PEERKEY".getBytes());
+
+    private static final Set<PublicKey> OWN_KEYS = singleton(OWN_KEY);
+
+    private static final Set<PublicKey> PEER_KEYS = singleton(PEER_KEY);
+
+    private final MessageHash first = new MessageHash(new byte[]{1, 2, 3});
+
+    private final MessageHash second = new MessageHash(new byte[]{2, 3, 4});
+
+    private EncodedPayload fromPeer;
+
+    private SharedTransactionFinder finder;
+
+    private SharedSummaryCache cache;
+
+    @Before
+    public void onSetUp() {
+        fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(PEER_KEY);
+
+        finder = mock(SharedTransactionFinder.class);
+        cache = new SharedSummaryCache(finder);
+    }
+
+    @Test
+    public void summaryIsReadOnceAndKeptUpToDate() {
+        this.readFinds(consumer -> consumer.accept(first));
+
+        assertThat(this.summary().differingBuckets(summaryOf(first))).isEmpty();
+
+        final EncodedPayload fromOther = mock(EncodedPayload.class);
+        when(fromOther.getSenderKey()).thenReturn(PublicKey.from("OTHERKEY".getBytes()));
+        when(fromOther.getRecipientKeys()).thenReturn(new ArrayList<>());
+
+        cache.storing(second, fromPeer);
+        cache.stored(second, fromPeer);
+        cache.storing(new MessageHash(new byte[]{3}), fromOther);
+        cache.stored(new MessageHash(new byte[]{3}), fromOther);
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+
+        verify(finder).forEachShared(anyCollection(), anyCollection(), any(Consumer.class));
+    }
+
+    @Test
+    public void storeSeenByReadIsCountedOnce() {
+        this.readFinds(consumer -> {
+            cache.storing(second, fromPeer);
+            consumer.accept(first);
+            consumer.accept(second);
+        });
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+
+        cache.stored(second, fromPeer);
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+    }
+
+    @Test
+    public void storeMissedByReadIsCounted() {
+        this.readFinds(consumer -> {
+            consumer.accept(first);
+            cache.storing(second, fromPeer);
+        });
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+
+        cache.stored(second, fromPeer);
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+    }
+
+    @Test
+    public void storeFinishedDuringReadIsCounted() {
+        this.readFinds(consumer -> {
+            consumer.accept(first);
+            cache.storing(second, fromPeer);
+            cache.stored(second, fromPeer);
+        });
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+    }
+
+    @Test
+    public void storeStartedBeforeReadIsCountedOnce() {
+        cache.storing(second, fromPeer);
+
+        this.readFinds(consumer -> {
+            consumer.accept(first);
+            consumer.accept(second);
+        });
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+
+        cache.stored(second, fromPeer);
+
+        assertThat(this.summary().differingBuckets(summaryOf(first, second))).isEmpty();
+    }
+
+    @Test
+    public void failedStoreIsNotCounted() {
+        this.readFinds(consumer -> {
+            consumer.accept(first);
+            cache.storing(second, fromPeer);
+            cache.notStored(second);
+        });
+
+        assertThat(this.summary().differingBuckets(summaryOf(first))).isEmpty();
+    }
+
+    @Test
+    public void invalidateDuringReadIsNotCached() {
+        this.readFinds(consumer -> {
+            consumer.accept(first);
+            cache.invalidate();
+        });
+
+        this.summary();
+        this.summary();
+
+        verify(finder, times(2)).forEachShared(anyCollection(), anyCollection(), any(Consumer.class));
+    }
+
+    @Test
+    public void invalidatedSummaryIsReadAgain() {
+        this.readFinds(consumer -> consumer.accept(first));
+
+        this.summary();
+        cache.invalidate();
+        this.summary();
+
+        verify(finder, times(2)).forEachShared(anyCollection(), anyCollection(), any(Consumer.class));
+    }
+
+    @Test
+    public void expiredSummaryIsReadAgain() {
+        cache = new SharedSummaryCache(finder, 0);
+        this.readFinds(consumer -> consumer.accept(first));
+
+        this.summary();
+        this.summary();
+
+        verify(finder, times(2)).forEachShared(anyCollection(), anyCollection(), any(Consumer.class));
+    }
+
+    @Test
+    public void summaryIsFoldedToRequestedBuckets() {
+        this.readFinds(consumer -> consumer.accept(first));
+
+        final HashSummary fine = cache.summaryFor(OWN_KEYS, PEER_KEYS, HashSummary.MAX_BUCKET_BITS);
+        final HashSummary coarse = cache.summaryFor(OWN_KEYS, PEER_KEYS, HashSummary.MIN_BUCKET_BITS);
+
+        assertThat(fine.getBucketBits()).isEqualTo(HashSummary.MAX_BUCKET_BITS);
+        assertThat(coarse.getBucketBits()).isEqualTo(HashSummary.MIN_BUCKET_BITS);
+        assertThat(coarse.differingBuckets(fine.foldTo(HashSummary.MIN_BUCKET_BITS))).isEmpty();
+        assertThat(coarse.differingBuckets(summaryOf(first))).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readFinds(final Consumer<Consumer<MessageHash>> read) {
+        doAnswer(invocation -> {
+            read.accept(invocation.getArgument(2));
+            return null;
+        }).when(finder).forEachShared(anyCollection(), anyCollection(), any(Consumer.class));
+    }
+
+    private HashSummary summary() {
+        return cache.summaryFor(OWN_KEYS, PEER_KEYS, HashSummary.MIN_BUCKET_BITS);
+    }
+
+    private static HashSummary summaryOf(final MessageHash... hashes) {
+        final HashSummary summary = HashSummary.withBucketBits(HashSummary.MIN_BUCKET_BITS);
+        Arrays.stream(hashes).forEach(summary::add);
+        return summary;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SharedTransactionFinderTest {
+
+    private static final PublicKey OWN_KEY = PublicKey.from("OWNKEY".getBytes());
+
+    private static final PublicKey PEER_KEY = PublicKey.from("PEERKEY".getBytes());
+
+    private static final PublicKey OTHER_KEY = PublicKey.from("OTHERKEY".getBytes());
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private PayloadEncoder payloadEncoder;
+
+    private SharedTransactionFinder finder;
+
+    @Before
+    public void onSetUp() {
+        this.encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+        this.payloadEncoder = mock(PayloadEncoder.class);
+        this.finder = new SharedTransactionFinder(encryptedTransactionDAO, payloadEncoder);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(encryptedTransactionDAO, payloadEncoder);
+    }
+
+    @Test
+    public void eachTransactionIsDecodedOnceForAllNodes() {
+        final MessageHash fromPeer = new MessageHash(new byte[]{1});
+        final MessageHash fromOther = new MessageHash(new byte[]{2});
+        final MessageHash toBoth = new MessageHash(new byte[]{3});
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(asList(
+            new EncryptedTransaction(fromPeer, "FROMPEER".getBytes()),
+            new EncryptedTransaction(fromOther, "FROMOTHER".getBytes()),
+            new EncryptedTransaction(toBoth, "TOBOTH".getBytes())
+        ));
+        final EncodedPayload sentByPeer = payload(PEER_KEY);
+        final EncodedPayload sentByOther = payload(OTHER_KEY);
+        final EncodedPayload sentToBoth = payload(OWN_KEY, PEER_KEY, OTHER_KEY);
+        when(payloadEncoder.decode("FROMPEER".getBytes())).thenReturn(sentByPeer);
+        when(payloadEncoder.decode("FROMOTHER".getBytes())).thenReturn(sentByOther);
+        when(payloadEncoder.decode("TOBOTH".getBytes())).thenReturn(sentToBoth);
+
+        final Map<String, Set<PublicKey>> peers = new HashMap<>();
+        peers.put("peer", singleton(PEER_KEY));
+        peers.put("other", singleton(OTHER_KEY));
+
+        final Map<String, List<MessageHash>> found = new HashMap<>();
+        finder.forEachShared(
+            singleton(OWN_KEY), peers, (peer, hash) -> found.computeIfAbsent(peer, k -> new ArrayList<>()).add(hash)
+        );
+
+        assertThat(found.get("peer")).containsExactly(fromPeer, toBoth);
+        assertThat(found.get("other")).containsExactly(fromOther, toBoth);
+
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+        verify(payloadEncoder, times(3)).decode(any(byte[].class));
+    }
+
+    @Test
+    public void pagesAreReadUntilOneIsNotFull() {
+        final List<EncryptedTransaction> firstPage = IntStream.range(0, 100)
+            .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{0, (byte) i}), "PAYLOAD".getBytes()))
+            .collect(Collectors.toList());
+        final MessageHash lastOfFirstPage = firstPage.get(99).getHash();
+        final EncryptedTransaction last = new EncryptedTransaction(new MessageHash(new byte[]{1}), "PAYLOAD".getBytes());
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(firstPage);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(lastOfFirstPage, 100)).thenReturn(singletonList(last));
+        final EncodedPayload sentByPeer = payload(PEER_KEY);
+        when(payloadEncoder.decode("PAYLOAD".getBytes())).thenReturn(sentByPeer);
+
+        final List<MessageHash> found = new ArrayList<>();
+        finder.forEachShared(singleton(OWN_KEY), singleton(PEER_KEY), found::add);
+
+        assertThat(found).hasSize(101).endsWith(last.getHash());
+
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(lastOfFirstPage, 100);
+        verify(payloadEncoder, times(101)).decode(any(byte[].class));
+    }
+
+    @Test
+    public void ownTransactionsNotSentToPeerAreNotShared() {
+        assertThat(SharedTransactionFinder.isShared(payload(OWN_KEY, OTHER_KEY), singleton(OWN_KEY), singleton(PEER_KEY)))
+            .isFalse();
+        assertThat(SharedTransactionFinder.isShared(payload(OTHER_KEY, PEER_KEY), singleton(OWN_KEY), singleton(PEER_KEY)))
+            .isFalse();
+        assertThat(SharedTransactionFinder.isShared(payload(OWN_KEY, PEER_KEY), singleton(OWN_KEY), singleton(PEER_KEY)))
+            .isTrue();
+    }
+
+    private static EncodedPayload payload(final PublicKey sender, final PublicKey... recipients) {
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getSenderKey()).thenReturn(sender);
+        when(payload.getRecipientKeys()).thenReturn(recipients.length == 0 ? emptyList() : asList(recipients));
+        return payload;
+    }
+
+}
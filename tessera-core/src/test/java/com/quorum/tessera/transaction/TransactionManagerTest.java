@@ -25,6 +25,9 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.*;
@@ -226,7 +229,7 @@ public class TransactionManagerTest {
 
         when(payload.getSenderKey()).thenReturn(senderKey);
         when(payload.getRecipientKeys()).thenReturn(new ArrayList<>());
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(singletonList(tx));
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(singletonList(tx));
         when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
         when(enclave.getPublicKeys()).thenReturn(singleton(recipientKey));
         when(enclave.unencryptTransaction(payload, recipientKey)).thenReturn(new byte[0]);
@@ -239,7 +242,7 @@ public class TransactionManagerTest {
 
         assertThat(result).isNotNull();
 
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(payloadEncoder).decode(encodedData);
         verify(payloadPublisher).publishPayload(any(EncodedPayload.class), eq(senderKey));
         verify(enclave).getPublicKeys();
@@ -257,7 +260,7 @@ public class TransactionManagerTest {
         final EncodedPayload payload = mock(EncodedPayload.class);
         when(payload.getRecipientKeys()).thenReturn(emptyList());
 
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(singletonList(tx));
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(singletonList(tx));
         when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
 
         final ResendRequest resendRequest = new ResendRequest();
@@ -268,11 +271,58 @@ public class TransactionManagerTest {
 
         assertThat(result).isNotNull();
 
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(payloadEncoder).decode(encodedData);
         verify(enclave).status();
     }
 
+    @Test
+    public void resendSinceOnlyFetchesNewerTransactions() {
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENTKEY".getBytes());
+        final byte[] encodedData = "transaction".getBytes();
+
+        final EncryptedTransaction tx = new EncryptedTransaction(mock(MessageHash.class), encodedData);
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getRecipientKeys()).thenReturn(singletonList(recipientKey));
+
+        when(encryptedTransactionDAO.retrieveTransactionsSince(1000L, null, 100)).thenReturn(singletonList(tx));
+        when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(recipientKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+        resendRequest.setSince(1000L);
+
+        ResendResponse result = transactionManager.resend(resendRequest);
+
+        assertThat(result).isNotNull();
+
+        verify(encryptedTransactionDAO).retrieveTransactionsSince(1000L, null, 100);
+        verify(payloadEncoder).decode(encodedData);
+        verify(payloadPublisher).publishPayload(payload, recipientKey);
+        verify(enclave).status();
+    }
+
+    @Test
+    public void resendSinceWithoutTimeFetchesAllTransactions() {
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENTKEY".getBytes());
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(emptyList());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(recipientKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+
+        ResendResponse result = transactionManager.resend(resendRequest);
+
+        assertThat(result).isNotNull();
+
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+        verify(enclave).status();
+    }
+
     @Test
     public void resendAllWhereRequestedIsRecipient() {
 
@@ -282,7 +332,7 @@ public class TransactionManagerTest {
         final EncodedPayload payload = mock(EncodedPayload.class);
         when(payload.getRecipientKeys()).thenReturn(singletonList(recipientKey));
 
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(singletonList(tx));
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(singletonList(tx));
         when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
 
         final ResendRequest resendRequest = new ResendRequest();
@@ -293,7 +343,7 @@ public class TransactionManagerTest {
 
         assertThat(result).isNotNull();
 
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(payloadEncoder).decode(encodedData);
         verify(payloadPublisher).publishPayload(any(EncodedPayload.class), eq(recipientKey));
         verify(enclave).status();
@@ -309,7 +359,7 @@ public class TransactionManagerTest {
 
         when(payload.getSenderKey()).thenReturn(senderKey);
         when(payload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(singletonList(tx));
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(singletonList(tx));
         when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
         when(payload.getRecipientKeys()).thenReturn(new ArrayList<>());
         when(enclave.getPublicKeys()).thenReturn(emptySet());
@@ -324,7 +374,7 @@ public class TransactionManagerTest {
                 .isInstanceOf(KeyNotFoundException.class)
                 .hasMessage("No key found as recipient of message Q0lQSEVSVEVYVA==");
 
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(payloadEncoder).decode(encodedData);
         verify(enclave).getPublicKeys();
         verify(enclave).status();
@@ -336,7 +386,7 @@ public class TransactionManagerTest {
         EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
         List<EncryptedTransaction> allDbTransactions = Collections.singletonList(encryptedTransaction);
 
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(allDbTransactions);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(allDbTransactions);
 
         byte[] transactionBytes = "TRANSACTION".getBytes();
         when(encryptedTransaction.getEncodedPayload()).thenReturn(transactionBytes);
@@ -360,7 +410,7 @@ public class TransactionManagerTest {
 
         verify(payloadPublisher).publishPayload(encodedPayload, publicKey);
         verify(payloadEncoder).decode(any(byte[].class));
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(enclave).status();
 
     }
@@ -371,7 +421,7 @@ public class TransactionManagerTest {
         EncryptedTransaction otherEncryptedTransaction = mock(EncryptedTransaction.class);
         List<EncryptedTransaction> allDbTransactions = Arrays.asList(encryptedTransaction, otherEncryptedTransaction);
 
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(allDbTransactions);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(allDbTransactions);
 
         byte[] transactionBytes = "TRANSACTION".getBytes();
         byte[] otherTransactionBytes = "OTHER_TRANSACTION".getBytes();
@@ -401,7 +451,7 @@ public class TransactionManagerTest {
         verify(payloadPublisher).publishPayload(encodedPayload, publicKey);
         verify(payloadPublisher).publishPayload(otherEncodedPayload, publicKey);
         verify(payloadEncoder, times(2)).decode(any(byte[].class));
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(enclave).status();
     }
 
@@ -411,7 +461,7 @@ public class TransactionManagerTest {
         EncryptedTransaction otherEncryptedTransaction = mock(EncryptedTransaction.class);
         List<EncryptedTransaction> allDbTransactions = Arrays.asList(encryptedTransaction, otherEncryptedTransaction);
 
-        when(encryptedTransactionDAO.retrieveAllTransactions()).thenReturn(allDbTransactions);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(allDbTransactions);
 
         byte[] transactionBytes = "TRANSACTION".getBytes();
         byte[] otherTransactionBytes = "OTHER_TRANSACTION".getBytes();
@@ -441,7 +491,7 @@ public class TransactionManagerTest {
 
         transactionManager.resend(resendRequest);
 
-        verify(encryptedTransactionDAO).retrieveAllTransactions();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
         verify(payloadPublisher).publishPayload(encodedPayload, publicKey);
         verify(payloadPublisher).publishPayload(otherEncodedPayload, publicKey);
         verify(payloadEncoder, times(2)).decode(any(byte[].class));
@@ -842,4 +892,413 @@ public class TransactionManagerTest {
         }
 
     }
+
+    @Test
+    public void reconcileReturnsSharedHashesInDifferingBuckets() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final MessageHash sharedHash = new MessageHash(new byte[]{1, 2, 3});
+        final MessageHash matchingHash = new MessageHash(new byte[]{2, 3, 4});
+        final MessageHash unsharedHash = new MessageHash(new byte[]{1, 5, 6});
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+        final EncodedPayload toPeer = mock(EncodedPayload.class);
+        when(toPeer.getSenderKey()).thenReturn(ownKey);
+        when(toPeer.getRecipientKeys()).thenReturn(new ArrayList<>(singletonList(peerKey)));
+        final EncodedPayload fromOther = mock(EncodedPayload.class);
+        when(fromOther.getSenderKey()).thenReturn(otherKey);
+        when(fromOther.getRecipientKeys()).thenReturn(new ArrayList<>());
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(Arrays.asList(
+            new EncryptedTransaction(sharedHash, "SHARED".getBytes()),
+            new EncryptedTransaction(matchingHash, "MATCHING".getBytes()),
+            new EncryptedTransaction(unsharedHash, "UNSHARED".getBytes())
+        ));
+        when(payloadEncoder.decode("SHARED".getBytes())).thenReturn(fromPeer);
+        when(payloadEncoder.decode("MATCHING".getBytes())).thenReturn(toPeer);
+        when(payloadEncoder.decode("UNSHARED".getBytes())).thenReturn(fromOther);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setBucketBits(HashSummary.MIN_BUCKET_BITS);
+        request.setBuckets(HashSummary.of(singletonList(matchingHash)).toBuckets());
+
+        final ReconcileResponse response = transactionManager.reconcile(request);
+
+        assertThat(response.getHashes()).containsExactly(Base64.getEncoder().encodeToString(sharedHash.getHashBytes()));
+
+        //read once to summarise and once more to collect the differing hashes
+        verify(encryptedTransactionDAO, times(2)).retrieveTransactionsAfter(null, 100);
+        verify(payloadEncoder, times(6)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).status();
+    }
+
+    @Test
+    public void reconcileMissingResendsOnlySharedTransactions() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final MessageHash fromPeerHash = new MessageHash(new byte[]{1, 2, 3});
+        final MessageHash toPeerHash = new MessageHash(new byte[]{2, 3, 4});
+        final MessageHash unsharedHash = new MessageHash(new byte[]{3, 4, 5});
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+        when(fromPeer.getRecipientKeys()).thenReturn(new ArrayList<>());
+        final EncodedPayload toPeer = mock(EncodedPayload.class);
+        when(toPeer.getSenderKey()).thenReturn(ownKey);
+        when(toPeer.getRecipientKeys()).thenReturn(new ArrayList<>(Arrays.asList(otherKey, peerKey)));
+        final EncodedPayload fromOther = mock(EncodedPayload.class);
+        when(fromOther.getSenderKey()).thenReturn(otherKey);
+        when(fromOther.getRecipientKeys()).thenReturn(new ArrayList<>());
+
+        Stream.of(
+            new EncryptedTransaction(fromPeerHash, "FROMPEER".getBytes()),
+            new EncryptedTransaction(toPeerHash, "TOPEER".getBytes()),
+            new EncryptedTransaction(unsharedHash, "UNSHARED".getBytes())
+        ).forEach(tx -> when(encryptedTransactionDAO.retrieveByHash(tx.getHash())).thenReturn(Optional.of(tx)));
+        when(payloadEncoder.decode("FROMPEER".getBytes())).thenReturn(fromPeer);
+        when(payloadEncoder.decode("TOPEER".getBytes())).thenReturn(toPeer);
+        when(payloadEncoder.decode("UNSHARED".getBytes())).thenReturn(fromOther);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+        when(enclave.unencryptTransaction(fromPeer, ownKey)).thenReturn(new byte[0]);
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setMissing(Arrays.asList(
+            Base64.getEncoder().encodeToString(fromPeerHash.getHashBytes()),
+            Base64.getEncoder().encodeToString(toPeerHash.getHashBytes()),
+            Base64.getEncoder().encodeToString(unsharedHash.getHashBytes())
+        ));
+
+        final ReconcileResponse response = transactionManager.reconcile(request);
+
+        assertThat(response.getHashes()).isEmpty();
+        assertThat(fromPeer.getRecipientKeys()).containsExactly(ownKey);
+
+        verify(payloadPublisher).publishPayload(fromPeer, peerKey);
+        verify(payloadPublisher).publishPayload(toPeer, peerKey);
+        verify(encryptedTransactionDAO).retrieveByHash(fromPeerHash);
+        verify(encryptedTransactionDAO).retrieveByHash(toPeerHash);
+        verify(encryptedTransactionDAO).retrieveByHash(unsharedHash);
+        verify(payloadEncoder, times(3)).decode(any(byte[].class));
+        verify(enclave, times(2)).getPublicKeys();
+        verify(enclave).unencryptTransaction(fromPeer, ownKey);
+        verify(enclave).status();
+    }
+
+    @Test
+    public void reconcileInStepReadsStoreOnce() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+        final MessageHash sharedHash = new MessageHash(new byte[]{1, 2, 3});
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100))
+            .thenReturn(singletonList(new EncryptedTransaction(sharedHash, "SHARED".getBytes())));
+        when(payloadEncoder.decode("SHARED".getBytes())).thenReturn(fromPeer);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setBucketBits(HashSummary.MAX_BUCKET_BITS);
+
+        final HashSummary fine = HashSummary.withBucketBits(HashSummary.MAX_BUCKET_BITS);
+        fine.add(sharedHash);
+        request.setBuckets(fine.toBuckets());
+
+        final ReconcileResponse response = transactionManager.reconcile(request);
+
+        assertThat(response.getHashes()).isEmpty();
+
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+        verify(payloadEncoder).decode("SHARED".getBytes());
+        verify(enclave).getPublicKeys();
+        verify(enclave).status();
+    }
+
+    @Test
+    public void reconcileAgainDoesNotReadSlowStore() {
+
+        final long readMillis = 500;
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+        final MessageHash sharedHash = new MessageHash(new byte[]{1, 2, 3});
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+
+        final EncodedPayload newFromPeer = mock(EncodedPayload.class);
+        when(newFromPeer.getSenderKey()).thenReturn(peerKey);
+        when(newFromPeer.getCipherText()).thenReturn("NEWCIPHERTEXT".getBytes());
+        final MessageHash newHash = messageHashFactory.createFromCipherText("NEWCIPHERTEXT".getBytes());
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenAnswer(invocation -> {
+            Thread.sleep(readMillis);
+            return singletonList(new EncryptedTransaction(sharedHash, "SHARED".getBytes()));
+        });
+        when(payloadEncoder.decode("SHARED".getBytes())).thenReturn(fromPeer);
+        when(payloadEncoder.decode("NEW".getBytes())).thenReturn(newFromPeer);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        final HashSummary theirs = HashSummary.withBucketBits(HashSummary.MIN_BUCKET_BITS);
+        theirs.add(sharedHash);
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setBucketBits(HashSummary.MIN_BUCKET_BITS);
+        request.setBuckets(theirs.toBuckets());
+
+        assertThat(transactionManager.reconcile(request).getHashes()).isEmpty();
+
+        //a payload stored since is counted without reading the store again
+        transactionManager.storePayload("NEW".getBytes());
+        theirs.add(newHash);
+        request.setBuckets(theirs.toBuckets());
+
+        final long start = System.currentTimeMillis();
+        assertThat(transactionManager.reconcile(request).getHashes()).isEmpty();
+        assertThat(System.currentTimeMillis() - start).isLessThan(readMillis);
+
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+        verify(payloadEncoder).decode("SHARED".getBytes());
+        verify(payloadEncoder).decode("NEW".getBytes());
+        verify(enclave, times(3)).getPublicKeys();
+        verify(enclave, times(3)).status();
+    }
+
+    @Test
+    public void reconcileAfterDeleteReadsStoreAgain() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+        final MessageHash sharedHash = new MessageHash(new byte[]{1, 2, 3});
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100))
+            .thenReturn(singletonList(new EncryptedTransaction(sharedHash, "SHARED".getBytes())))
+            .thenReturn(emptyList());
+        when(payloadEncoder.decode("SHARED".getBytes())).thenReturn(fromPeer);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setBucketBits(HashSummary.MIN_BUCKET_BITS);
+
+        final HashSummary theirs = HashSummary.withBucketBits(HashSummary.MIN_BUCKET_BITS);
+        theirs.add(sharedHash);
+        request.setBuckets(theirs.toBuckets());
+
+        assertThat(transactionManager.reconcile(request).getHashes()).isEmpty();
+
+        final DeleteRequest deleteRequest = new DeleteRequest();
+        deleteRequest.setKey(Base64.getEncoder().encodeToString(sharedHash.getHashBytes()));
+        transactionManager.delete(deleteRequest);
+
+        request.setBuckets(emptyList());
+        assertThat(transactionManager.reconcile(request).getHashes()).isEmpty();
+
+        verify(encryptedTransactionDAO, times(2)).retrieveTransactionsAfter(null, 100);
+        verify(encryptedTransactionDAO).delete(sharedHash);
+        verify(payloadEncoder).decode("SHARED".getBytes());
+        verify(enclave, times(2)).getPublicKeys();
+        verify(enclave, times(2)).status();
+    }
+
+    @Test
+    public void reconcilePagesThroughStore() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey peerKey = PublicKey.from("PEERKEY".getBytes());
+
+        final EncodedPayload fromPeer = mock(EncodedPayload.class);
+        when(fromPeer.getSenderKey()).thenReturn(peerKey);
+
+        final List<EncryptedTransaction> firstPage = IntStream.range(0, 100)
+            .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{0, (byte) i}), "PAYLOAD".getBytes()))
+            .collect(Collectors.toList());
+        final EncryptedTransaction last = new EncryptedTransaction(new MessageHash(new byte[]{1}), "PAYLOAD".getBytes());
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(firstPage);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(firstPage.get(99).getHash(), 100))
+            .thenReturn(singletonList(last));
+        when(payloadEncoder.decode("PAYLOAD".getBytes())).thenReturn(fromPeer);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        final HashSummary theirs = HashSummary.withBucketBits(HashSummary.MIN_BUCKET_BITS);
+        firstPage.stream().map(EncryptedTransaction::getHash).forEach(theirs::add);
+
+        final ReconcileRequest request = new ReconcileRequest();
+        request.setPublicKeys(singletonList(peerKey.encodeToBase64()));
+        request.setBucketBits(HashSummary.MIN_BUCKET_BITS);
+        request.setBuckets(theirs.toBuckets());
+
+        final ReconcileResponse response = transactionManager.reconcile(request);
+
+        assertThat(response.getHashes()).containsExactly(Base64.getEncoder().encodeToString(new byte[]{1}));
+
+        verify(encryptedTransactionDAO, times(2)).retrieveTransactionsAfter(null, 100);
+        verify(encryptedTransactionDAO, times(2)).retrieveTransactionsAfter(firstPage.get(99).getHash(), 100);
+        verify(payloadEncoder, times(202)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).status();
+    }
+
+    @Test
+    public void streamResendEncodesPayloadsForRequester() {
+
+        final PublicKey senderKey = PublicKey.from("SENDERKEY".getBytes());
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final EncodedPayload fromRequester = mock(EncodedPayload.class);
+        when(fromRequester.getSenderKey()).thenReturn(senderKey);
+        when(fromRequester.getRecipientKeys()).thenReturn(new ArrayList<>());
+        final EncodedPayload unrelated = mock(EncodedPayload.class);
+        when(unrelated.getSenderKey()).thenReturn(otherKey);
+        when(unrelated.getRecipientKeys()).thenReturn(new ArrayList<>());
+
+        when(encryptedTransactionDAO.retrieveTransactionsSince(100L, null, 100)).thenReturn(Arrays.asList(
+            new EncryptedTransaction(new MessageHash(new byte[]{1}), "FROMREQUESTER".getBytes()),
+            new EncryptedTransaction(new MessageHash(new byte[]{2}), "UNRELATED".getBytes())
+        ));
+        when(payloadEncoder.decode("FROMREQUESTER".getBytes())).thenReturn(fromRequester);
+        when(payloadEncoder.decode("UNRELATED".getBytes())).thenReturn(unrelated);
+        when(payloadEncoder.encode(fromRequester)).thenReturn("ENCODED".getBytes());
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+        when(enclave.unencryptTransaction(fromRequester, ownKey)).thenReturn(new byte[0]);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(senderKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+        resendRequest.setSince(100L);
+
+        final Iterator<byte[]> streamed = transactionManager.streamResend(resendRequest);
+
+        //nothing is read until the first payload is asked for
+        verify(enclave).status();
+        verifyNoMoreInteractions(encryptedTransactionDAO);
+
+        assertThat(streamed).containsExactly("ENCODED".getBytes());
+        assertThat(fromRequester.getRecipientKeys()).containsExactly(ownKey);
+
+        verify(encryptedTransactionDAO).retrieveTransactionsSince(100L, null, 100);
+        verify(payloadEncoder, times(2)).decode(any(byte[].class));
+        verify(payloadEncoder).encode(fromRequester);
+        verify(enclave).getPublicKeys();
+        verify(enclave).unencryptTransaction(fromRequester, ownKey);
+    }
+
+    @Test
+    public void streamResendReadsFurtherPagesAsPayloadsAreTaken() {
+
+        final PublicKey senderKey = PublicKey.from("SENDERKEY".getBytes());
+
+        final EncodedPayload toRequester = mock(EncodedPayload.class);
+        when(toRequester.getSenderKey()).thenReturn(PublicKey.from("OTHERKEY".getBytes()));
+        when(toRequester.getRecipientKeys()).thenReturn(new ArrayList<>(singletonList(senderKey)));
+
+        final List<EncryptedTransaction> firstPage = IntStream.range(0, 100)
+            .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{0, (byte) i}), "PAYLOAD".getBytes()))
+            .collect(Collectors.toList());
+        final MessageHash lastOfFirstPage = firstPage.get(99).getHash();
+
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(null, 100)).thenReturn(firstPage);
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(lastOfFirstPage, 100)).thenReturn(emptyList());
+        when(payloadEncoder.decode("PAYLOAD".getBytes())).thenReturn(toRequester);
+        when(payloadEncoder.encode(toRequester)).thenReturn("ENCODED".getBytes());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(senderKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.ALL);
+
+        final Iterator<byte[]> streamed = transactionManager.streamResend(resendRequest);
+
+        streamed.next();
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(null, 100);
+
+        int count = 1;
+        while (streamed.hasNext()) {
+            streamed.next();
+            count++;
+        }
+
+        assertThat(count).isEqualTo(100);
+        verify(encryptedTransactionDAO).retrieveTransactionsAfter(lastOfFirstPage, 100);
+        verify(payloadEncoder, times(100)).decode(any(byte[].class));
+        verify(payloadEncoder, times(100)).encode(toRequester);
+        verify(enclave).status();
+    }
+
+    @Test
+    public void streamResendRejectsIndividualRequests() {
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(PublicKey.from("KEY".getBytes()).encodeToBase64());
+        resendRequest.setType(ResendRequestType.INDIVIDUAL);
+
+        final Throwable throwable = catchThrowable(() -> transactionManager.streamResend(resendRequest));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+        verify(enclave).status();
+    }
+
+    @Test
+    public void storePayloadsSavesOthersInOneBatch() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final byte[] own = "OWN".getBytes();
+        final byte[] badOwn = "BADOWN".getBytes();
+        final byte[] first = "FIRST".getBytes();
+        final byte[] second = "SECOND".getBytes();
+
+        when(payloadEncoder.decode(own)).thenReturn(
+            new EncodedPayload(ownKey, "OWNCIPHER".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(payloadEncoder.decode(badOwn)).thenReturn(
+            new EncodedPayload(ownKey, "BADCIPHER".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(payloadEncoder.decode(first)).thenReturn(
+            new EncodedPayload(otherKey, "FIRSTCIPHER".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(payloadEncoder.decode(second)).thenReturn(
+            new EncodedPayload(otherKey, "SECONDCIPHER".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+        doThrow(new IllegalArgumentException("rubbish")).when(resendManager).acceptOwnMessage(badOwn);
+        when(encryptedTransactionDAO.saveAll(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+
+        transactionManager.storePayloads(Arrays.asList(own, badOwn, first, second));
+
+        verify(resendManager).acceptOwnMessage(own);
+        verify(resendManager).acceptOwnMessage(badOwn);
+        verify(encryptedTransactionDAO).saveAll(argThat(transactions -> {
+            assertThat(transactions).extracting(EncryptedTransaction::getEncodedPayload).containsExactly(first, second);
+            assertThat(transactions).extracting(EncryptedTransaction::getHash).containsExactly(
+                messageHashFactory.createFromCipherText("FIRSTCIPHER".getBytes()),
+                messageHashFactory.createFromCipherText("SECONDCIPHER".getBytes())
+            );
+            return true;
+        }));
+        verify(payloadEncoder, times(4)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).status();
+    }
 }
@@ -0,0 +1,76 @@
+package com.quorum.tessera.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PayloadFramingTest {
+
+    @Test
+    public void payloadsAreReadBackInOrder() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayloadFraming.write(out, "FIRST".getBytes());
+        PayloadFraming.write(out, new byte[300]);
+
+        final InputStream in = new ByteArrayInputStream(out.toByteArray());
+
+        assertThat(PayloadFraming.read(in, 300)).isEqualTo("FIRST".getBytes());
+        assertThat(PayloadFraming.read(in, 300)).isEqualTo(new byte[300]);
+        assertThat(PayloadFraming.read(in, 300)).isNull();
+    }
+
+    @Test
+    public void streamEndingPartWayThroughThrows() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayloadFraming.write(out, "FIRST".getBytes());
+
+        final byte[] truncated = Arrays.copyOf(out.toByteArray(), 6);
+
+        final Throwable throwable = catchThrowable(() -> PayloadFraming.read(new ByteArrayInputStream(truncated), 300));
+
+        assertThat(throwable).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void negativeLengthIsRejected() {
+        final byte[] invalid = new byte[]{(byte) 0xFF, 0, 0, 0};
+
+        final Throwable throwable = catchThrowable(() -> PayloadFraming.read(new ByteArrayInputStream(invalid), 300));
+
+        assertThat(throwable).isInstanceOf(IOException.class).hasMessageContaining("Invalid payload length");
+    }
+
+    @Test
+    public void lengthOverLimitIsRejectedBeforeReading() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayloadFraming.write(out, new byte[301]);
+
+        final Throwable throwable = catchThrowable(
+            () -> PayloadFraming.read(new ByteArrayInputStream(out.toByteArray()), 300)
+        );
+
+        assertThat(throwable).isInstanceOf(IOException.class).hasMessageContaining("over the limit of 300 bytes");
+    }
+
+    @Test
+    public void constructUnsupported() throws Exception {
+        final Constructor<PayloadFraming> constructor = PayloadFraming.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        final Throwable throwable = catchThrowable(constructor::newInstance);
+
+        assertThat(throwable).isInstanceOf(InvocationTargetException.class)
+            .hasCauseInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
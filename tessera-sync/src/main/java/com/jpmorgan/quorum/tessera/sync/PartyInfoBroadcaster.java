@@ -0,0 +1,146 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.node.PartyInfoListener;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.websocket.CloseReason;
+import javax.websocket.ContainerProvider;
+import javax.websocket.DeploymentException;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes changes to this nodes party info to its peers as soon as they happen
+ *
+ * Keeps a sync session open to every known party, and tracks the sessions
+ * that peers have opened to this node. Whenever new keys or parties are
+ * stored, the changes are sent down every open session. A peer that learns
+ * something new from a push passes it on to its own peers in the same way.
+ *
+ * Sessions are (re)opened each time this is run, so it should be scheduled
+ * to run periodically. Party info polling still runs alongside, to catch
+ * anything missed while a session was down.
+ */
+public class PartyInfoBroadcaster implements PartyInfoListener, Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoBroadcaster.class);
+
+
+    private final PartyInfoService partyInfoService;
+
+    private final WebSocketContainer container;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, Session> connections = new ConcurrentHashMap<>();
+
+    public PartyInfoBroadcaster(PartyInfoService partyInfoService) {
+        this(partyInfoService, ContainerProvider.getWebSocketContainer());
+    }
+
+    public PartyInfoBroadcaster(PartyInfoService partyInfoService, WebSocketContainer container) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.container = Objects.requireNonNull(container);
+        partyInfoService.addListener(this);
+    }
+
+    /**
+     * Opens a sync session to each known party that does not already have one
+     */
+    @Override
+    public void run() {
+        final PartyInfo partyInfo = partyInfoService.getPartyInfo();
+
+        for (Party party : partyInfo.getParties()) {
+            final String url = party.getUrl();
+            if (Objects.equals(url, partyInfo.getUrl())) {
+                continue;
+            }
+
+            final Session existing = connections.get(url);
+            if (existing != null && existing.isOpen()) {
+                continue;
+            }
+
+            try {
+                final PartyInfoClientEndpoint client = new PartyInfoClientEndpoint(partyInfoService, this);
+                final Session session = container.connectToServer(client, toSyncUri(url));
+                connections.put(url, session);
+            } catch (DeploymentException | IOException | RuntimeException ex) {
+                LOGGER.debug("Unable to open sync session to {}: {}", url, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onChange(PartyInfoDelta changes) {
+        LOGGER.debug("Pushing {} to {} sessions", changes, sessions.size());
+
+        for (Session session : sessions.values()) {
+            if (session.isOpen()) {
+                session.getAsyncRemote().sendObject(changes);
+            }
+        }
+    }
+
+    public void register(Session session) {
+        sessions.put(session.getId(), session);
+    }
+
+    public void unregister(Session session) {
+        sessions.remove(session.getId());
+    }
+
+    public Collection<Session> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * Closes all open sync sessions, both those opened by peers and those
+     * opened by this node
+     */
+    public void stop() {
+        final CloseReason reason = new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "Node shutting down");
+
+        final Set<Session> open = Collections.newSetFromMap(new IdentityHashMap<>());
+        open.addAll(sessions.values());
+        open.addAll(connections.values());
+
+        for (Session session : open) {
+            try {
+                session.close(reason);
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to close session {}: {}", session.getId(), ex.getMessage());
+            }
+        }
+
+        sessions.clear();
+        connections.clear();
+    }
+
+    static URI toSyncUri(String url) {
+        final URI uri = URI.create(url);
+        final String scheme = "https".equalsIgnoreCase(uri.getScheme()) ? "wss" : "ws";
+
+        String path = Objects.toString(uri.getPath(), "");
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        return URI.create(scheme + "://" + uri.getRawAuthority() + path + PartyInfoEndpoint.PATH);
+    }
+
+}
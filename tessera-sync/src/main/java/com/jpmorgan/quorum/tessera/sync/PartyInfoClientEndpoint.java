@@ -1,5 +1,8 @@
 package com.jpmorgan.quorum.tessera.sync;
 
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.util.Objects;
 import javax.websocket.ClientEndpoint;
 import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
@@ -9,24 +12,49 @@ import javax.websocket.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@ClientEndpoint(decoders = PartyInfoCodec.class, encoders = PartyInfoCodec.class)
+/**
+ * A sync session opened by this node to one of its peers
+ *
+ * Sends everything this node knows as soon as the session opens, then
+ * merges whatever the peer sends back or pushes later.
+ */
+@ClientEndpoint(decoders = PartyInfoDeltaCodec.class, encoders = PartyInfoDeltaCodec.class)
 public class PartyInfoClientEndpoint {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoClientEndpoint.class);
 
+    private final PartyInfoService partyInfoService;
+
+    private final PartyInfoBroadcaster broadcaster;
+
+    public PartyInfoClientEndpoint(PartyInfoService partyInfoService, PartyInfoBroadcaster broadcaster) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.broadcaster = Objects.requireNonNull(broadcaster);
+    }
+
     @OnOpen
     public void onOpen(Session session) {
         LOGGER.info("Session id : {}", session.getId());
+        broadcaster.register(session);
+        session.getAsyncRemote().sendObject(partyInfoService.getPartyInfoSince(0L));
     }
 
     @OnMessage
-    public void onMessage(Session session,String message) {
-        LOGGER.info("Client received message: {} {}",session.getId(), message);
+    public void onMessage(Session session, PartyInfoDelta delta) {
+        LOGGER.debug("Session {} received {}", session.getId(), delta);
+
+        try {
+            partyInfoService.updatePartyInfo(delta.getPartyInfo());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to merge party info from {}: {}", delta.getPartyInfo().getUrl(), ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
     }
 
     @OnClose
     public void onClose(Session session, CloseReason reason) {
         LOGGER.info("Closing session : {} because {}", session.getId(), reason);
+        broadcaster.unregister(session);
     }
 
 }
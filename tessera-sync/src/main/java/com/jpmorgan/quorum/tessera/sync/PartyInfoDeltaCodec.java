@@ -0,0 +1,63 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.node.PartyInfoParser;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EncodeException;
+import javax.websocket.Encoder;
+import javax.websocket.EndpointConfig;
+
+/**
+ * Reads and writes the party info messages sent over a sync session
+ *
+ * Messages are written in the same delta format used when polling. A
+ * message in the full party info format is read as a delta containing
+ * everything the sender knows.
+ */
+public class PartyInfoDeltaCodec implements Decoder.Binary<PartyInfoDelta>, Encoder.Binary<PartyInfoDelta> {
+
+    private final PartyInfoParser partyInfoParser;
+
+    public PartyInfoDeltaCodec() {
+        this(PartyInfoParser.create());
+    }
+
+    public PartyInfoDeltaCodec(PartyInfoParser partyInfoParser) {
+        this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
+    }
+
+    @Override
+    public ByteBuffer encode(PartyInfoDelta delta) throws EncodeException {
+        return ByteBuffer.wrap(partyInfoParser.toDelta(delta));
+    }
+
+    @Override
+    public PartyInfoDelta decode(ByteBuffer buffer) throws DecodeException {
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+
+        if (partyInfoParser.isDelta(data)) {
+            return partyInfoParser.fromDelta(data);
+        }
+
+        final PartyInfo partyInfo = partyInfoParser.from(data);
+        return new PartyInfoDelta(partyInfo, 0L, 0L, 0L, 0L);
+    }
+
+    @Override
+    public boolean willDecode(ByteBuffer buffer) {
+        return true;
+    }
+
+    @Override
+    public void init(EndpointConfig ec) {
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -1,10 +1,15 @@
 package com.jpmorgan.quorum.tessera.sync;
 
-import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import com.quorum.tessera.server.RequestLimiter;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
 import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
@@ -13,35 +18,93 @@ import javax.websocket.server.ServerEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@ServerEndpoint(value = "/sync",
-        decoders = PartyInfoCodec.class,
-        encoders = PartyInfoCodec.class)
+/**
+ * Accepts sync sessions from other nodes
+ *
+ * The first message on a session is the peers full party info, which is
+ * answered with everything the peer is missing. Every later message is a
+ * change pushed by the peer, and is merged without a reply.
+ *
+ * The container creates the endpoint through the
+ * {@link PartyInfoSyncConfigurator} it is deployed on the P2P server with,
+ * which also checks the caller during the handshake. A session whose caller
+ * was refused is closed as soon as it opens.
+ */
+@ServerEndpoint(value = PartyInfoEndpoint.PATH,
+        decoders = PartyInfoDeltaCodec.class,
+        encoders = PartyInfoDeltaCodec.class)
 public class PartyInfoEndpoint {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoEndpoint.class);
-    
-    private final Map<String,Session> sessions = new HashMap<>();
-    
+
+    static final String PATH = "/sync";
+
+    static final String SYNCED = "partyinfo.synced";
+
+    static final String REFUSED = "partyinfo.refused";
+
+    static final String PERMIT = "partyinfo.permit";
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private final PartyInfoService partyInfoService;
+
+    private final PartyInfoBroadcaster broadcaster;
+
+    public PartyInfoEndpoint(PartyInfoService partyInfoService, PartyInfoBroadcaster broadcaster) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.broadcaster = Objects.requireNonNull(broadcaster);
+    }
+
     @OnOpen
-    public void onOpen(Session session) {
-        LOGGER.info("Open session : {}, {}",session.getId());
+    public void onOpen(Session session) throws IOException {
+        final Object refused = session.getUserProperties().get(REFUSED);
+        if (refused instanceof CloseReason) {
+            LOGGER.debug("Closing refused session {}", session.getId());
+            session.close((CloseReason) refused);
+            return;
+        }
+
+        LOGGER.info("Open session : {}", session.getId());
         sessions.put(session.getId(), session);
-    } 
-    
+        broadcaster.register(session);
+    }
+
     @OnMessage
-    public void onSync(Session session, PartyInfo partyInfo) {
-        LOGGER.info("Message {}",partyInfo.getUrl());
-        session.getAsyncRemote().sendText("ACK");
+    public void onSync(Session session, PartyInfoDelta delta) {
+        if (session.getUserProperties().containsKey(REFUSED)) {
+            return;
+        }
+
+        LOGGER.debug("Session {} received {}", session.getId(), delta);
+
+        try {
+            if (session.getUserProperties().putIfAbsent(SYNCED, Boolean.TRUE) == null) {
+                final PartyInfoDelta missing = partyInfoService.updatePartyInfo(delta);
+                session.getAsyncRemote().sendObject(missing);
+            } else {
+                partyInfoService.updatePartyInfo(delta.getPartyInfo());
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to merge party info from {}: {}", delta.getPartyInfo().getUrl(), ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
     }
-    
+
     @OnClose
     public void onClose(Session session) {
-        LOGGER.info("Close session: {}",session.getId());
+        LOGGER.info("Close session: {}", session.getId());
         sessions.remove(session.getId());
-    } 
+        broadcaster.unregister(session);
+
+        final Object permit = session.getUserProperties().get(PERMIT);
+        if (permit instanceof RequestLimiter.Permit) {
+            ((RequestLimiter.Permit) permit).release();
+        }
+    }
 
     public Collection<Session> getSessions() {
         return Collections.unmodifiableCollection(sessions.values());
     }
-    
+
 }
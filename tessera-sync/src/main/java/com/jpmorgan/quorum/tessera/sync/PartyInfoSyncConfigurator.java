@@ -0,0 +1,111 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.config.RateLimitKey;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.server.RequestLimiter;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javax.websocket.CloseReason;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the {@link PartyInfoEndpoint}s for sync sessions, and decides
+ * during the handshake whether the caller may open one
+ *
+ * The endpoint is deployed on the P2P server outside of Jersey, so the
+ * whitelist and rate limit that guard the P2P resources are checked here
+ * instead. The outcome is kept with the session, and the endpoint closes a
+ * refused session as soon as it opens, before any message is read from it.
+ */
+public class PartyInfoSyncConfigurator extends ServerEndpointConfig.Configurator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoSyncConfigurator.class);
+
+    /**
+     * The property the websocket container keeps the caller's address in
+     */
+    static final String REMOTE_ADDRESS = "javax.websocket.endpoint.remoteAddress";
+
+    private final PartyInfoService partyInfoService;
+
+    private final PartyInfoBroadcaster broadcaster;
+
+    private final Predicate<String> whitelist;
+
+    private final RequestLimiter requestLimiter;
+
+    /**
+     * @param partyInfoService the service sessions merge party info into
+     * @param broadcaster      the broadcaster to register sessions with
+     * @param whitelist        whether a caller at an address may connect
+     * @param requestLimiter   the rate limit of the P2P server
+     */
+    public PartyInfoSyncConfigurator(final PartyInfoService partyInfoService,
+                                     final PartyInfoBroadcaster broadcaster,
+                                     final Predicate<String> whitelist,
+                                     final RequestLimiter requestLimiter) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.broadcaster = Objects.requireNonNull(broadcaster);
+        this.whitelist = Objects.requireNonNull(whitelist);
+        this.requestLimiter = Objects.requireNonNull(requestLimiter);
+    }
+
+    @Override
+    public void modifyHandshake(final ServerEndpointConfig config,
+                                final HandshakeRequest request,
+                                final HandshakeResponse response) {
+        final Map<String, Object> properties = config.getUserProperties();
+        final String remoteAddress = remoteAddress(properties.get(REMOTE_ADDRESS));
+
+        if (!whitelist.test(remoteAddress)) {
+            LOGGER.warn("Refusing sync session from {}, which is not whitelisted", remoteAddress);
+            properties.put(PartyInfoEndpoint.REFUSED,
+                    new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Not whitelisted"));
+            return;
+        }
+
+        final String key = requestLimiter.getKeyType() == RateLimitKey.ENDPOINT ? PartyInfoEndpoint.PATH : remoteAddress;
+        final Optional<RequestLimiter.Permit> permit = requestLimiter.tryAcquire(key);
+
+        if (!permit.isPresent()) {
+            LOGGER.debug("Turning away sync session from {}", remoteAddress);
+            properties.put(PartyInfoEndpoint.REFUSED,
+                    new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too many requests"));
+            return;
+        }
+
+        properties.put(PartyInfoEndpoint.PERMIT, permit.get());
+    }
+
+    @Override
+    public <T> T getEndpointInstance(final Class<T> endpointClass) {
+        return endpointClass.cast(new PartyInfoEndpoint(partyInfoService, broadcaster));
+    }
+
+    /**
+     * @return the configuration to deploy the endpoint with
+     */
+    public ServerEndpointConfig serverEndpointConfig() {
+        return ServerEndpointConfig.Builder.create(PartyInfoEndpoint.class, PartyInfoEndpoint.PATH)
+                .decoders(Collections.singletonList(PartyInfoDeltaCodec.class))
+                .encoders(Collections.singletonList(PartyInfoDeltaCodec.class))
+                .configurator(this)
+                .build();
+    }
+
+    private static String remoteAddress(final Object address) {
+        if (address instanceof InetSocketAddress) {
+            return ((InetSocketAddress) address).getAddress().getHostAddress();
+        }
+        return Objects.toString(address, "");
+    }
+
+}
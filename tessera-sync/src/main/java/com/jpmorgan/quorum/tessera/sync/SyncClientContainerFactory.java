@@ -0,0 +1,53 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.ssl.context.ClientSSLContextFactory;
+import java.util.concurrent.TimeUnit;
+import javax.websocket.WebSocketContainer;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.websocket.api.WebSocketPolicy;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.eclipse.jetty.websocket.common.scopes.SimpleContainerScope;
+import org.eclipse.jetty.websocket.jsr356.ClientContainer;
+
+/**
+ * Creates the websocket client that opens sync sessions to other nodes
+ *
+ * Sessions are opened to the P2P urls of other nodes, so the client uses the
+ * same TLS settings as the node's other P2P requests. The container is
+ * started, and stopping it stops the client.
+ */
+public final class SyncClientContainerFactory {
+
+    static final long CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private SyncClientContainerFactory() {
+        throw new UnsupportedOperationException("This object should not be constructed.");
+    }
+
+    public static WebSocketContainer create(Config config) throws Exception {
+        return create(config.getP2PServerConfig());
+    }
+
+    static WebSocketContainer create(ServerConfig p2pServerConfig) throws Exception {
+        final SslContextFactory sslContextFactory = new SslContextFactory();
+        if (p2pServerConfig.isSsl()) {
+            sslContextFactory.setSslContext(ClientSSLContextFactory.create()
+                    .from(p2pServerConfig.getServerUri().toString(), p2pServerConfig.getSslConfig()));
+            sslContextFactory.setEndpointIdentificationAlgorithm("HTTPS");
+        }
+
+        final SimpleContainerScope scope = new SimpleContainerScope(WebSocketPolicy.newClientPolicy());
+        scope.setSslContextFactory(sslContextFactory);
+
+        final ClientContainer container = new ClientContainer(scope);
+        final WebSocketClient client = container.getClient();
+        client.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+
+        container.addBean(client, true);
+        container.start();
+        return container;
+    }
+
+}
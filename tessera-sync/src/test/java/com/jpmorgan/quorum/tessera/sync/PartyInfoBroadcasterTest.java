@@ -0,0 +1,145 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import javax.websocket.CloseReason;
+import javax.websocket.DeploymentException;
+import javax.websocket.RemoteEndpoint.Async;
+import javax.websocket.Session;
+import javax.websocket.WebSocketContainer;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PartyInfoBroadcasterTest {
+
+    private static final String OWN_URL = "http://own.com:8080/";
+
+    private static final String PEER_URL = "https://peer.com:8443/";
+
+    private PartyInfoService partyInfoService;
+
+    private WebSocketContainer container;
+
+    private PartyInfoBroadcaster broadcaster;
+
+    @Before
+    public void onSetUp() {
+        partyInfoService = mock(PartyInfoService.class);
+        container = mock(WebSocketContainer.class);
+        broadcaster = new PartyInfoBroadcaster(partyInfoService, container);
+        verify(partyInfoService).addListener(broadcaster);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(partyInfoService, container);
+    }
+
+    @Test
+    public void runConnectsToPartiesWithoutAnOpenSession() throws Exception {
+
+        PartyInfo partyInfo = new PartyInfo(OWN_URL, Collections.emptySet(),
+                new HashSet<>(Arrays.asList(new Party(OWN_URL), new Party(PEER_URL))));
+        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
+
+        Session session = mock(Session.class);
+        when(session.isOpen()).thenReturn(true);
+        when(container.connectToServer(any(PartyInfoClientEndpoint.class), any(URI.class))).thenReturn(session);
+
+        broadcaster.run();
+        broadcaster.run();
+
+        verify(partyInfoService, times(2)).getPartyInfo();
+        verify(container).connectToServer(any(PartyInfoClientEndpoint.class), eq(URI.create("wss://peer.com:8443/sync")));
+    }
+
+    @Test
+    public void runRetriesClosedAndFailedSessions() throws Exception {
+
+        PartyInfo partyInfo = new PartyInfo(OWN_URL, Collections.emptySet(), Collections.singleton(new Party(PEER_URL)));
+        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
+
+        Session session = mock(Session.class);
+        when(session.isOpen()).thenReturn(false);
+        when(container.connectToServer(any(PartyInfoClientEndpoint.class), any(URI.class)))
+                .thenThrow(new DeploymentException("Connection refused"))
+                .thenReturn(session);
+
+        broadcaster.run();
+        broadcaster.run();
+        broadcaster.run();
+
+        verify(partyInfoService, times(3)).getPartyInfo();
+        verify(container, times(3)).connectToServer(any(PartyInfoClientEndpoint.class), any(URI.class));
+    }
+
+    @Test
+    public void changesArePushedToOpenSessions() {
+
+        Async async = mock(Async.class);
+        Session open = mockSession("open", true, async);
+        Session closed = mockSession("closed", false, async);
+
+        broadcaster.register(open);
+        broadcaster.register(closed);
+        assertThat(broadcaster.getSessions()).containsOnly(open, closed);
+
+        PartyInfoDelta changes = new PartyInfoDelta(
+                new PartyInfo(OWN_URL, Collections.emptySet(), Collections.emptySet()), 1L, 2L, 0L, 0L);
+        broadcaster.onChange(changes);
+
+        verify(async).sendObject(changes);
+        verifyNoMoreInteractions(async);
+
+        broadcaster.unregister(closed);
+        assertThat(broadcaster.getSessions()).containsOnly(open);
+    }
+
+    @Test
+    public void stopClosesAllSessions() throws IOException {
+
+        Session session = mockSession("one", true, null);
+        Session failing = mockSession("two", true, null);
+        doThrow(new IOException("Already gone")).when(failing).close(any(CloseReason.class));
+
+        broadcaster.register(session);
+        broadcaster.register(failing);
+
+        broadcaster.stop();
+
+        verify(session).close(any(CloseReason.class));
+        verify(failing).close(any(CloseReason.class));
+        assertThat(broadcaster.getSessions()).isEmpty();
+    }
+
+    @Test
+    public void syncUriUsesWebsocketScheme() {
+        assertThat(PartyInfoBroadcaster.toSyncUri("http://localhost:8080/"))
+                .isEqualTo(URI.create("ws://localhost:8080/sync"));
+        assertThat(PartyInfoBroadcaster.toSyncUri("http://localhost:8080"))
+                .isEqualTo(URI.create("ws://localhost:8080/sync"));
+        assertThat(PartyInfoBroadcaster.toSyncUri("https://localhost:8080/tessera"))
+                .isEqualTo(URI.create("wss://localhost:8080/tessera/sync"));
+    }
+
+    private static Session mockSession(String id, boolean open, Async async) {
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(open);
+        when(session.getAsyncRemote()).thenReturn(async);
+        return session;
+    }
+
+}
@@ -1,38 +1,81 @@
 package com.jpmorgan.quorum.tessera.sync;
 
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.util.Collections;
 import javax.websocket.CloseReason;
 import javax.websocket.CloseReason.CloseCodes;
+import javax.websocket.RemoteEndpoint.Async;
 import javax.websocket.Session;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 public class PartyInfoClientEndpointTest {
 
     private PartyInfoClientEndpoint partyInfoClientEndpoint;
 
+    private PartyInfoService partyInfoService;
+
+    private PartyInfoBroadcaster broadcaster;
+
+    private Session session;
+
     @Before
     public void onSetUp() {
-        partyInfoClientEndpoint = new PartyInfoClientEndpoint();
+        partyInfoService = mock(PartyInfoService.class);
+        broadcaster = mock(PartyInfoBroadcaster.class);
+        session = mock(Session.class);
+        partyInfoClientEndpoint = new PartyInfoClientEndpoint(partyInfoService, broadcaster);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(partyInfoService, broadcaster);
     }
 
     @Test
-    public void onOpen() {
-        Session session = mock(Session.class);
+    public void onOpenSendsEverythingWeKnow() {
+        Async async = mock(Async.class);
+        when(session.getAsyncRemote()).thenReturn(async);
+
+        PartyInfoDelta everything = mock(PartyInfoDelta.class);
+        when(partyInfoService.getPartyInfoSince(0L)).thenReturn(everything);
+
         partyInfoClientEndpoint.onOpen(session);
+
+        verify(broadcaster).register(session);
+        verify(partyInfoService).getPartyInfoSince(0L);
+        verify(async).sendObject(everything);
     }
 
     @Test
-    public void onMEssage() {
-        Session session = mock(Session.class);
-        partyInfoClientEndpoint.onMessage(session, "HELLOW");
+    public void onMessageMergesPartyInfo() {
+        PartyInfo partyInfo = new PartyInfo("http://bogus.com:9999/", Collections.emptySet(), Collections.emptySet());
+
+        partyInfoClientEndpoint.onMessage(session, new PartyInfoDelta(partyInfo, 1L, 1L, 0L, 0L));
+
+        verify(partyInfoService).updatePartyInfo(partyInfo);
+    }
+
+    @Test
+    public void onMessageIgnoresFailureToMerge() {
+        PartyInfo partyInfo = new PartyInfo("http://bogus.com:9999/", Collections.emptySet(), Collections.emptySet());
+        when(partyInfoService.updatePartyInfo(partyInfo)).thenThrow(new IllegalStateException("Not a known peer"));
+
+        partyInfoClientEndpoint.onMessage(session, new PartyInfoDelta(partyInfo, 1L, 1L, 0L, 0L));
+
+        verify(partyInfoService).updatePartyInfo(partyInfo);
     }
 
     @Test
     public void onClose() {
-        Session session = mock(Session.class);
         CloseReason reason = new CloseReason(CloseCodes.CANNOT_ACCEPT, "WHAT YOU TALKIN' ABOUT WILLIS?");
         partyInfoClientEndpoint.onClose(session, reason);
+
+        verify(broadcaster).unregister(session);
     }
 
 }
@@ -0,0 +1,104 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.node.PartyInfoParser;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import java.nio.ByteBuffer;
+import javax.websocket.DecodeException;
+import javax.websocket.EncodeException;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.*;
+
+public class PartyInfoDeltaCodecTest {
+
+    private PartyInfoDeltaCodec codec;
+
+    private PartyInfoParser parser;
+
+    @Before
+    public void onSetUp() {
+        parser = mock(PartyInfoParser.class);
+        codec = new PartyInfoDeltaCodec(parser);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(parser);
+    }
+
+    @Test
+    public void encode() throws EncodeException {
+
+        byte[] data = "ILOVESPARROWS".getBytes();
+
+        PartyInfoDelta delta = mock(PartyInfoDelta.class);
+
+        when(parser.toDelta(delta)).thenReturn(data);
+
+        ByteBuffer result = codec.encode(delta);
+
+        assertThat(result.array()).isEqualTo(data);
+
+        verify(parser).toDelta(delta);
+
+    }
+
+    @Test
+    public void decodeDelta() throws DecodeException {
+
+        byte[] data = "GIVEMELARD".getBytes();
+
+        PartyInfoDelta delta = mock(PartyInfoDelta.class);
+
+        when(parser.isDelta(data)).thenReturn(true);
+        when(parser.fromDelta(data)).thenReturn(delta);
+
+        PartyInfoDelta result = codec.decode(ByteBuffer.wrap(data));
+
+        assertThat(result).isSameAs(delta);
+
+        verify(parser).isDelta(data);
+        verify(parser).fromDelta(data);
+
+    }
+
+    @Test
+    public void decodeFullPartyInfoReadOnlyRemainingBytes() throws DecodeException {
+
+        byte[] data = "GIVEMELARD".getBytes();
+
+        ByteBuffer buffer = ByteBuffer.allocate(data.length + 4);
+        buffer.putInt(0).put(data).flip();
+        buffer.position(4);
+
+        PartyInfo partyInfo = mock(PartyInfo.class);
+
+        when(parser.isDelta(data)).thenReturn(false);
+        when(parser.from(data)).thenReturn(partyInfo);
+
+        PartyInfoDelta result = codec.decode(buffer);
+
+        assertThat(result.getPartyInfo()).isSameAs(partyInfo);
+        assertThat(result.getGeneration()).isZero();
+        assertThat(result.getVersion()).isZero();
+
+        verify(parser).isDelta(data);
+        verify(parser).from(data);
+
+    }
+
+    @Test
+    public void createDefaultInstance() {
+        assertThat(new PartyInfoDeltaCodec()).isNotNull();
+    }
+
+    @Test
+    public void willDecodeAlwaysReturnsTrue() {
+        codec.init(null);
+        codec.destroy();
+        assertThat(codec.willDecode(ByteBuffer.allocate(1))).isTrue();
+    }
+}
@@ -1,53 +1,146 @@
 package com.jpmorgan.quorum.tessera.sync;
 
+import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
+import com.quorum.tessera.server.RequestLimiter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint.Async;
 import javax.websocket.Session;
 import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class PartyInfoEndpointTest {
 
     private PartyInfoEndpoint partyInfoEndpoint;
 
+    private PartyInfoService partyInfoService;
+
+    private PartyInfoBroadcaster broadcaster;
+
     private Session session;
 
+    private Async async;
+
     @Before
     public void onSetUp() {
-        partyInfoEndpoint = new PartyInfoEndpoint();
+        partyInfoService = mock(PartyInfoService.class);
+        broadcaster = mock(PartyInfoBroadcaster.class);
+        partyInfoEndpoint = new PartyInfoEndpoint(partyInfoService, broadcaster);
+
+        final Map<String, Object> userProperties = new HashMap<>();
+        async = mock(Async.class);
         session = mock(Session.class);
         when(session.getId()).thenReturn(UUID.randomUUID().toString());
+        when(session.getUserProperties()).thenReturn(userProperties);
+        when(session.getAsyncRemote()).thenReturn(async);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(partyInfoService, broadcaster, async);
     }
 
     @Test
-    public void onOpenAndThenClose() {
+    public void onOpenAndThenClose() throws Exception {
 
         partyInfoEndpoint.onOpen(session);
 
         assertThat(partyInfoEndpoint.getSessions()).containsOnly(session);
+        verify(broadcaster).register(session);
 
         partyInfoEndpoint.onClose(session);
         assertThat(partyInfoEndpoint.getSessions()).isEmpty();
+        verify(broadcaster).unregister(session);
+
+    }
+
+    @Test
+    public void refusedSessionIsClosedWithoutBeingRegistered() throws Exception {
+
+        CloseReason reason = new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Not whitelisted");
+        session.getUserProperties().put(PartyInfoEndpoint.REFUSED, reason);
+
+        partyInfoEndpoint.onOpen(session);
+
+        verify(session).close(reason);
+        assertThat(partyInfoEndpoint.getSessions()).isEmpty();
+
+    }
+
+    @Test
+    public void messagesOnRefusedSessionAreIgnored() {
+
+        session.getUserProperties().put(PartyInfoEndpoint.REFUSED,
+                new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Not whitelisted"));
+
+        partyInfoEndpoint.onSync(session, new PartyInfoDelta(partyInfo(), 5L, 2L, 0L, 0L));
+
+        verifyZeroInteractions(async);
+
+    }
+
+    @Test
+    public void placeIsGivenBackWhenSessionCloses() {
+
+        RequestLimiter requestLimiter = new RequestLimiter(null, null, null, 1, System::nanoTime);
+        session.getUserProperties().put(PartyInfoEndpoint.PERMIT, requestLimiter.tryAcquire("A").get());
+        assertThat(requestLimiter.tryAcquire("B")).isNotPresent();
+
+        partyInfoEndpoint.onClose(session);
+
+        verify(broadcaster).unregister(session);
+        assertThat(requestLimiter.tryAcquire("B")).isPresent();
 
     }
 
     @Test
-    public void onSync() {
+    public void firstMessageIsAnsweredWithWhatThePeerIsMissing() {
+
+        PartyInfoDelta delta = new PartyInfoDelta(partyInfo(), 5L, 2L, 0L, 0L);
+        PartyInfoDelta missing = mock(PartyInfoDelta.class);
+        when(partyInfoService.updatePartyInfo(delta)).thenReturn(missing);
+
+        partyInfoEndpoint.onSync(session, delta);
 
-        Async aync = mock(Async.class);
-        when(session.getAsyncRemote()).thenReturn(aync);
+        verify(partyInfoService).updatePartyInfo(delta);
+        verify(async).sendObject(missing);
 
-        PartyInfo partyInfo = mock(PartyInfo.class);
-        partyInfoEndpoint.onSync(session, partyInfo);
+    }
+
+    @Test
+    public void laterMessagesAreMergedWithoutReply() {
 
-        verify(aync).sendText("ACK");
-        verify(session).getAsyncRemote();
+        PartyInfoDelta delta = new PartyInfoDelta(partyInfo(), 5L, 2L, 0L, 0L);
+        session.getUserProperties().put(PartyInfoEndpoint.SYNCED, Boolean.TRUE);
+
+        partyInfoEndpoint.onSync(session, delta);
+
+        verify(partyInfoService).updatePartyInfo(delta.getPartyInfo());
+
+    }
+
+    @Test
+    public void failureToMergeIsNotPropagated() {
+
+        PartyInfoDelta delta = new PartyInfoDelta(partyInfo(), 5L, 2L, 0L, 0L);
+        when(partyInfoService.updatePartyInfo(delta)).thenThrow(new IllegalStateException("Not a known peer"));
+
+        partyInfoEndpoint.onSync(session, delta);
+
+        verify(partyInfoService).updatePartyInfo(delta);
+
+    }
 
+    private static PartyInfo partyInfo() {
+        return new PartyInfo("http://bogus.com:9999/", Collections.emptySet(), Collections.emptySet());
     }
 
 }
@@ -0,0 +1,88 @@
+package com.jpmorgan.quorum.tessera.sync;
+
+import com.quorum.tessera.config.RateLimitKey;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.server.RequestLimiter;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.websocket.CloseReason;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Before;
+import org.junit.Test;
+import static org.mockito.Mockito.*;
+
+public class PartyInfoSyncConfiguratorTest {
+
+    private ServerEndpointConfig config;
+
+    private Map<String, Object> userProperties;
+
+    @Before
+    public void onSetUp() {
+        userProperties = new HashMap<>();
+        userProperties.put(PartyInfoSyncConfigurator.REMOTE_ADDRESS, new InetSocketAddress("10.0.0.1", 9000));
+
+        config = mock(ServerEndpointConfig.class);
+        when(config.getUserProperties()).thenReturn(userProperties);
+    }
+
+    @Test
+    public void whitelistedCallerIsGivenAPlace() {
+        PartyInfoSyncConfigurator configurator = configurator("10.0.0.1"::equals, unlimited());
+
+        configurator.modifyHandshake(config, mock(HandshakeRequest.class), mock(HandshakeResponse.class));
+
+        assertThat(userProperties).doesNotContainKey(PartyInfoEndpoint.REFUSED);
+        assertThat(userProperties.get(PartyInfoEndpoint.PERMIT)).isInstanceOf(RequestLimiter.Permit.class);
+    }
+
+    @Test
+    public void callerNotInWhitelistIsRefused() {
+        PartyInfoSyncConfigurator configurator = configurator("10.0.0.2"::equals, unlimited());
+
+        configurator.modifyHandshake(config, mock(HandshakeRequest.class), mock(HandshakeResponse.class));
+
+        CloseReason reason = (CloseReason) userProperties.get(PartyInfoEndpoint.REFUSED);
+        assertThat(reason.getCloseCode()).isEqualTo(CloseReason.CloseCodes.VIOLATED_POLICY);
+        assertThat(userProperties).doesNotContainKey(PartyInfoEndpoint.PERMIT);
+    }
+
+    @Test
+    public void callerOverTheRateLimitIsRefused() {
+        RequestLimiter requestLimiter = new RequestLimiter(RateLimitKey.REMOTE_ADDRESS, 1, 1, null, () -> 0L);
+        requestLimiter.tryAcquire("10.0.0.1");
+        PartyInfoSyncConfigurator configurator = configurator(address -> true, requestLimiter);
+
+        configurator.modifyHandshake(config, mock(HandshakeRequest.class), mock(HandshakeResponse.class));
+
+        CloseReason reason = (CloseReason) userProperties.get(PartyInfoEndpoint.REFUSED);
+        assertThat(reason.getCloseCode()).isEqualTo(CloseReason.CloseCodes.TRY_AGAIN_LATER);
+    }
+
+    @Test
+    public void endpointsAreCreatedWithTheServicesOfTheNode() {
+        PartyInfoSyncConfigurator configurator = configurator(address -> true, unlimited());
+
+        assertThat(configurator.getEndpointInstance(PartyInfoEndpoint.class)).isNotNull();
+
+        ServerEndpointConfig endpointConfig = configurator.serverEndpointConfig();
+        assertThat(endpointConfig.getPath()).isEqualTo(PartyInfoEndpoint.PATH);
+        assertThat(endpointConfig.getConfigurator()).isSameAs(configurator);
+    }
+
+    private static PartyInfoSyncConfigurator configurator(Predicate<String> whitelist,
+                                                          RequestLimiter requestLimiter) {
+        return new PartyInfoSyncConfigurator(
+                mock(PartyInfoService.class), mock(PartyInfoBroadcaster.class), whitelist, requestLimiter);
+    }
+
+    private static RequestLimiter unlimited() {
+        return new RequestLimiter(null, null, null, null, () -> 0L);
+    }
+
+}
@@ -1,61 +1,145 @@
 package com.jpmorgan.quorum.tessera.sync;
 
+import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.InetServerSocket;
+import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.PartyInfoDelta;
 import com.quorum.tessera.node.model.Recipient;
-import java.net.URI;
+import com.quorum.tessera.server.JerseyServer;
+import com.quorum.tessera.server.RequestLimiter;
 import java.util.Base64;
 import java.util.Collections;
-import javax.websocket.ContainerProvider;
-import javax.websocket.Session;
+import java.util.function.Predicate;
 import javax.websocket.WebSocketContainer;
+import javax.ws.rs.core.Application;
 import static org.assertj.core.api.Assertions.assertThat;
-import org.glassfish.tyrus.server.Server;
+import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
 public class PartyInfoSyncIT {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoSyncIT.class);
-    
-    private Server server;
+    private static final String SERVER_URL = "http://localhost:8025/";
+
+    private ServerConfig serverConfig;
+
+    private JerseyServer server;
+
+    private PartyInfoService serverService;
+
+    private PartyInfoBroadcaster serverBroadcaster;
+
+    private WebSocketContainer container;
+
+    private PartyInfoService clientService;
+
+    private PartyInfoBroadcaster clientBroadcaster;
 
     @Before
     public void onSetUp() throws Exception {
-        server = new Server("localhost", 8025, "/", null, PartyInfoEndpoint.class);
-        server.start();
+        serverConfig = new ServerConfig();
+        serverConfig.setCommunicationType(CommunicationType.REST);
+        serverConfig.setServerSocket(new InetServerSocket("http://localhost", 8025));
+
+        serverService = mock(PartyInfoService.class);
+        serverBroadcaster = new PartyInfoBroadcaster(serverService, mock(WebSocketContainer.class));
+
+        container = SyncClientContainerFactory.create(serverConfig);
+        clientService = mock(PartyInfoService.class);
+        clientBroadcaster = new PartyInfoBroadcaster(clientService, container);
     }
 
     @After
-    public void onTearDown() {
+    public void onTearDown() throws Exception {
+        clientBroadcaster.stop();
+        serverBroadcaster.stop();
+        LifeCycle.class.cast(container).stop();
         server.stop();
     }
 
+    private void startServer(Predicate<String> whitelist) throws Exception {
+        PartyInfoSyncConfigurator configurator = new PartyInfoSyncConfigurator(serverService, serverBroadcaster,
+                whitelist, new RequestLimiter(null, null, null, null, System::nanoTime));
+
+        server = new JerseyServer(serverConfig, new Application(),
+                Collections.singletonList(configurator.serverEndpointConfig()));
+        server.start();
+    }
+
     @Test
-    public void doStuff() throws Exception {
-
-        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
-        
-        PartyInfoClientEndpoint client = new PartyInfoClientEndpoint();
-        
-        Session clientSession = container.connectToServer(client, URI.create("ws://localhost:8025/sync"));
-        LOGGER.info("Client sesssion : {}",clientSession.getId());
+    public void pushedChangesReachPeerThroughP2PServer() throws Exception {
+        startServer(address -> true);
+
         PublicKey publicKey = PublicKey.from(Base64.getDecoder().decode("ROAZBWtSacxXQrOe3FGAqJDyJjFePR5ce4TSIzmJ0Bc="));
-        
-        PartyInfo partyInfo = new PartyInfo("http://bogus.com:9999",
-                Collections.singleton(new Recipient(publicKey,"http://bogus.com:9998")),
-                Collections.singleton(new Party("http://bogus.com:9997")));
-        
-        clientSession.getBasicRemote().sendObject(partyInfo);
 
-        
-        
-        assertThat(server).isNotNull();
+        PartyInfo clientPartyInfo = new PartyInfo("http://bogus.com:9999/",
+                Collections.singleton(new Recipient(publicKey, "http://bogus.com:9999/")),
+                Collections.singleton(new Party(SERVER_URL)));
+        PartyInfoDelta clientDelta = new PartyInfoDelta(clientPartyInfo, 3L, 1L, 0L, 0L);
+
+        PartyInfo serverPartyInfo = new PartyInfo(SERVER_URL, Collections.emptySet(), Collections.singleton(new Party(SERVER_URL)));
+        PartyInfoDelta serverDelta = new PartyInfoDelta(serverPartyInfo, 7L, 2L, 3L, 1L);
+
+        when(clientService.getPartyInfo()).thenReturn(clientPartyInfo);
+        when(clientService.getPartyInfoSince(0L)).thenReturn(clientDelta);
+        when(serverService.updatePartyInfo(any(PartyInfoDelta.class))).thenReturn(serverDelta);
+
+        clientBroadcaster.run();
+
+        verify(serverService, timeout(5000)).updatePartyInfo(any(PartyInfoDelta.class));
+        verify(clientService, timeout(5000)).updatePartyInfo(sameAs(serverPartyInfo));
+
+        PartyInfo pushed = new PartyInfo(SERVER_URL,
+                Collections.singleton(new Recipient(publicKey, SERVER_URL)), Collections.emptySet());
+        assertThat(serverBroadcaster.getSessions()).hasSize(1);
+        serverBroadcaster.onChange(new PartyInfoDelta(pushed, 7L, 3L, 0L, 0L));
+
+        verify(clientService, timeout(5000)).updatePartyInfo(sameAs(pushed));
+
+        clientBroadcaster.onChange(new PartyInfoDelta(clientPartyInfo, 3L, 2L, 0L, 0L));
+
+        verify(serverService, timeout(5000)).updatePartyInfo(sameAs(clientPartyInfo));
+    }
+
+    @Test
+    public void callerNotInWhitelistIsRefused() throws Exception {
+        startServer(address -> false);
+
+        PartyInfo clientPartyInfo = new PartyInfo("http://bogus.com:9999/",
+                Collections.emptySet(), Collections.singleton(new Party(SERVER_URL)));
+        when(clientService.getPartyInfo()).thenReturn(clientPartyInfo);
+        when(clientService.getPartyInfoSince(0L)).thenReturn(new PartyInfoDelta(clientPartyInfo, 3L, 1L, 0L, 0L));
+
+        clientBroadcaster.run();
+
+        verify(clientService, timeout(5000)).getPartyInfoSince(0L);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!clientBroadcaster.getSessions().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(clientBroadcaster.getSessions()).isEmpty();
+        assertThat(serverBroadcaster.getSessions()).isEmpty();
+        verify(serverService, never()).updatePartyInfo(any(PartyInfoDelta.class));
+        verify(serverService, never()).updatePartyInfo(any(PartyInfo.class));
+    }
 
+    /**
+     * Matches party info that has been through the codec, which doesn't
+     * keep object identity
+     */
+    private static PartyInfo sameAs(PartyInfo expected) {
+        return argThat(actual -> actual.getUrl().equals(expected.getUrl())
+                && actual.getRecipients().size() == expected.getRecipients().size()
+                && actual.getParties().size() == expected.getParties().size());
     }
 
 }
@@ -0,0 +1,81 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EnclaveImpl;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.encryption.KeyManagerImpl;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.nacl.NaclFacade;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures end to end encryption and decryption of a transaction through the
+ * enclave, for each payload size and number of recipients
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnclaveBenchmark {
+
+    @Param({"JNACL", "KALIUM", "PURE_JAVA"})
+    private NaclProvider provider;
+
+    @Param({"100", "10240", "1048576"})
+    private int payloadSize;
+
+    @Param({"1", "10", "100"})
+    private int recipientCount;
+
+    private Enclave enclave;
+
+    private PublicKey sender;
+
+    private List<PublicKey> recipients;
+
+    private byte[] message;
+
+    private EncodedPayload payload;
+
+    @Setup
+    public void setUp() {
+        final NaclFacade nacl = provider.create();
+
+        final KeyPair senderKeys = nacl.generateNewKeys();
+
+        this.enclave = new EnclaveImpl(
+            nacl, new KeyManagerImpl(Collections.singletonList(senderKeys), Collections.emptyList())
+        );
+
+        this.sender = senderKeys.getPublicKey();
+        this.recipients = IntStream.range(0, recipientCount)
+            .mapToObj(i -> nacl.generateNewKeys().getPublicKey())
+            .collect(Collectors.toList());
+
+        this.message = new byte[payloadSize];
+        new Random(payloadSize).nextBytes(message);
+
+        this.payload = enclave.encryptPayload(message, sender, recipients);
+    }
+
+    @Benchmark
+    public EncodedPayload encryptPayload() {
+        return enclave.encryptPayload(message, sender, recipients);
+    }
+
+    @Benchmark
+    public byte[] unencryptTransaction() {
+        return enclave.unencryptTransaction(payload, sender);
+    }
+
+}
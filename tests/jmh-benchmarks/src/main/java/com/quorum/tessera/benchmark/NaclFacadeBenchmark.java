@@ -0,0 +1,105 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.MasterKey;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.Nonce;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the raw crypto operations of each {@link NaclProvider} across a
+ * range of payload sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NaclFacadeBenchmark {
+
+    @Param({"JNACL", "KALIUM", "PURE_JAVA"})
+    private NaclProvider provider;
+
+    @Param({"100", "10240", "1048576"})
+    private int payloadSize;
+
+    private NaclFacade nacl;
+
+    private KeyPair sender;
+
+    private KeyPair recipient;
+
+    private SharedKey sharedKey;
+
+    private MasterKey masterKey;
+
+    private Nonce nonce;
+
+    private byte[] message;
+
+    private ByteBuffer messageBuffer;
+
+    private byte[] sealed;
+
+    private byte[] sealedWithMasterKey;
+
+    @Setup
+    public void setUp() {
+        this.nacl = provider.create();
+
+        this.sender = nacl.generateNewKeys();
+        this.recipient = nacl.generateNewKeys();
+        this.sharedKey = nacl.computeSharedKey(recipient.getPublicKey(), sender.getPrivateKey());
+        this.masterKey = nacl.createMasterKey();
+        this.nonce = nacl.randomNonce();
+
+        this.message = new byte[payloadSize];
+        new Random(payloadSize).nextBytes(message);
+
+        this.messageBuffer = ByteBuffer.allocate(NaclFacade.ZERO_BYTES + payloadSize);
+
+        this.sealed = nacl.seal(message, nonce, recipient.getPublicKey(), sender.getPrivateKey());
+        this.sealedWithMasterKey = nacl.sealAfterPrecomputation(message, nonce, masterKey);
+    }
+
+    @Benchmark
+    public SharedKey computeSharedKey() {
+        return nacl.computeSharedKey(recipient.getPublicKey(), sender.getPrivateKey());
+    }
+
+    @Benchmark
+    public byte[] seal() {
+        return nacl.seal(message, nonce, recipient.getPublicKey(), sender.getPrivateKey());
+    }
+
+    @Benchmark
+    public byte[] open() {
+        return nacl.open(sealed, nonce, sender.getPublicKey(), recipient.getPrivateKey());
+    }
+
+    @Benchmark
+    public byte[] sealAfterPrecomputation() {
+        return nacl.sealAfterPrecomputation(message, nonce, sharedKey);
+    }
+
+    @Benchmark
+    public ByteBuffer sealBufferAfterPrecomputation() {
+        messageBuffer.clear();
+        messageBuffer.position(NaclFacade.ZERO_BYTES);
+        messageBuffer.put(message);
+        messageBuffer.position(NaclFacade.ZERO_BYTES);
+        return nacl.sealAfterPrecomputation(messageBuffer, nonce, masterKey);
+    }
+
+    @Benchmark
+    public byte[] openAfterPrecomputation() {
+        return nacl.openAfterPrecomputation(sealedWithMasterKey, nonce, masterKey);
+    }
+
+}
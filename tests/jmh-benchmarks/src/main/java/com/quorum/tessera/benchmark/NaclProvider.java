@@ -0,0 +1,29 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.nacl.NaclFacade;
+import com.quorum.tessera.nacl.NaclFacadeFactory;
+import com.quorum.tessera.nacl.jnacl.JnaclFactory;
+import com.quorum.tessera.nacl.kalium.KaliumFactory;
+import com.quorum.tessera.nacl.purejava.PureJavaNaclFactory;
+
+/**
+ * The {@link NaclFacade} implementations that can be benchmarked against each
+ * other. Kalium requires libsodium to be installed on the benchmark host.
+ */
+public enum NaclProvider {
+
+    JNACL(new JnaclFactory()),
+    KALIUM(new KaliumFactory()),
+    PURE_JAVA(new PureJavaNaclFactory());
+
+    private final NaclFacadeFactory factory;
+
+    NaclProvider(final NaclFacadeFactory factory) {
+        this.factory = factory;
+    }
+
+    public NaclFacade create() {
+        return factory.create();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.PartyInfoParser;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import com.quorum.tessera.node.model.Recipient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures encoding and decoding of the party info that is exchanged between
+ * nodes, for networks of increasing size. Each peer contributes one recipient
+ * key and one party URL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartyInfoParserBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int peerCount;
+
+    private final PartyInfoParser partyInfoParser = PartyInfoParser.create();
+
+    private PartyInfo partyInfo;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(peerCount);
+
+        final Set<Recipient> recipients = IntStream.range(0, peerCount)
+            .mapToObj(i -> {
+                final byte[] key = new byte[32];
+                random.nextBytes(key);
+                return new Recipient(PublicKey.from(key), url(i));
+            })
+            .collect(Collectors.toSet());
+
+        final Set<Party> parties = IntStream.range(0, peerCount)
+            .mapToObj(i -> new Party(url(i)))
+            .collect(Collectors.toSet());
+
+        this.partyInfo = new PartyInfo(url(peerCount), recipients, parties);
+        this.encoded = partyInfoParser.to(partyInfo);
+    }
+
+    @Benchmark
+    public byte[] to() {
+        return partyInfoParser.to(partyInfo);
+    }
+
+    @Benchmark
+    public PartyInfo from() {
+        return partyInfoParser.from(encoded);
+    }
+
+    private static String url(final int index) {
+        return "http://node" + index + ".tessera.example.com:9000/";
+    }
+
+}
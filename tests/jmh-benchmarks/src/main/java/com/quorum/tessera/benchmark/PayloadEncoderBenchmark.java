@@ -0,0 +1,90 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.nacl.Nonce;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures encoding and decoding of payloads for each payload size and number
+ * of recipients
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadEncoderBenchmark {
+
+    @Param({"100", "10240", "1048576"})
+    private int payloadSize;
+
+    @Param({"1", "10", "100"})
+    private int recipientCount;
+
+    private final PayloadEncoder payloadEncoder = PayloadEncoder.create();
+
+    private EncodedPayload payload;
+
+    private byte[] encoded;
+
+    private PublicKey recipient;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(payloadSize * 31L + recipientCount);
+
+        final byte[] cipherText = new byte[payloadSize];
+        random.nextBytes(cipherText);
+
+        final List<PublicKey> recipientKeys = IntStream.range(0, recipientCount)
+            .mapToObj(i -> PublicKey.from(randomBytes(random, 32)))
+            .collect(Collectors.toList());
+
+        final List<byte[]> recipientBoxes = IntStream.range(0, recipientCount)
+            .mapToObj(i -> randomBytes(random, 48))
+            .collect(Collectors.toList());
+
+        this.payload = new EncodedPayload(
+            PublicKey.from(randomBytes(random, 32)),
+            cipherText,
+            new Nonce(randomBytes(random, 24)),
+            recipientBoxes,
+            new Nonce(randomBytes(random, 24)),
+            recipientKeys
+        );
+
+        this.encoded = payloadEncoder.encode(payload);
+        this.recipient = recipientKeys.get(recipientCount - 1);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return payloadEncoder.encode(payload);
+    }
+
+    @Benchmark
+    public EncodedPayload decode() {
+        return payloadEncoder.decode(encoded);
+    }
+
+    @Benchmark
+    public EncodedPayload forRecipient() {
+        return payloadEncoder.forRecipient(payload, recipient);
+    }
+
+    private static byte[] randomBytes(final Random random, final int length) {
+        final byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+}